@@ -193,6 +193,7 @@ package am.ik.yavi.arguments;
 
 $(if [ "${i}" != "1" ];then
 cat <<EOD
+import java.util.List;
 import java.util.Locale;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -201,6 +202,7 @@ import am.ik.yavi.core.ConstraintContext;
 import am.ik.yavi.core.ConstraintGroup;
 import am.ik.yavi.core.ConstraintViolationsException;
 import am.ik.yavi.core.Validated;
+import am.ik.yavi.core.ValidatedBatch;
 import am.ik.yavi.core.ValueValidator;
 import am.ik.yavi.jsr305.Nullable;
 EOD
@@ -360,7 +362,45 @@ $(cat <<EOD
 		return this.validate(${as}, locale, constraintContext)
 				.orElseThrow(ConstraintViolationsException::new);
 	}
-EOD)
+EOD
+)
+$(if [ "${i}" != "1" ];then
+cat <<EOD
+
+	/**
+	 * Validate all the given arguments at once and collect the results into one batch
+	 * result, in which the names of the violations are not indexed.
+	 *
+	 * @param values arguments to validate
+	 * @param locale the locale targeted for the violation messages
+	 * @param constraintContext constraint context to validate
+	 * @return the batch result
+	 * @since 0.12.0
+	 */
+	default ValidatedBatch<X> validateAll(List<? extends ${arguments}> values,
+			Locale locale, ConstraintContext constraintContext) {
+		return this.<${arguments}> compose(Function.identity()).validateAll(values,
+				locale, constraintContext);
+	}
+
+	/**
+	 * @see #validateAll(List, Locale, ConstraintContext)
+	 * @since 0.12.0
+	 */
+	default ValidatedBatch<X> validateAll(List<? extends ${arguments}> values) {
+		return this.validateAll(values, Locale.getDefault(), ConstraintGroup.DEFAULT);
+	}
+
+	/**
+	 * @see #validateAll(List, Locale, ConstraintContext)
+	 * @since 0.12.0
+	 */
+	default ValidatedBatch<X> validateAll(List<? extends ${arguments}> values,
+			ConstraintContext constraintContext) {
+		return this.validateAll(values, Locale.getDefault(), constraintContext);
+	}
+EOD
+fi)
 $(if [ "${i}" == "1" ];then
 cat <<EOD
 	/**
@@ -15,6 +15,7 @@
  */
 package am.ik.yavi.arguments;
 
+import java.util.List;
 import java.util.Locale;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -23,6 +24,7 @@ import am.ik.yavi.core.ConstraintContext;
 import am.ik.yavi.core.ConstraintGroup;
 import am.ik.yavi.core.ConstraintViolationsException;
 import am.ik.yavi.core.Validated;
+import am.ik.yavi.core.ValidatedBatch;
 import am.ik.yavi.core.ValueValidator;
 import am.ik.yavi.jsr305.Nullable;
 
@@ -139,4 +141,42 @@ public interface Arguments10Validator<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, X
 				.orElseThrow(ConstraintViolationsException::new);
 	}
 
+	/**
+	 * Validate all the given arguments at once and collect the results into one batch
+	 * result, in which the names of the violations are not indexed.
+	 *
+	 * @param values arguments to validate
+	 * @param locale the locale targeted for the violation messages
+	 * @param constraintContext constraint context to validate
+	 * @return the batch result
+	 * @since 0.12.0
+	 */
+	default ValidatedBatch<X> validateAll(
+			List<? extends Arguments10<? extends A1, ? extends A2, ? extends A3, ? extends A4, ? extends A5, ? extends A6, ? extends A7, ? extends A8, ? extends A9, ? extends A10>> values,
+			Locale locale, ConstraintContext constraintContext) {
+		return this
+				.<Arguments10<? extends A1, ? extends A2, ? extends A3, ? extends A4, ? extends A5, ? extends A6, ? extends A7, ? extends A8, ? extends A9, ? extends A10>> compose(
+						Function.identity())
+				.validateAll(values, locale, constraintContext);
+	}
+
+	/**
+	 * @see #validateAll(List, Locale, ConstraintContext)
+	 * @since 0.12.0
+	 */
+	default ValidatedBatch<X> validateAll(
+			List<? extends Arguments10<? extends A1, ? extends A2, ? extends A3, ? extends A4, ? extends A5, ? extends A6, ? extends A7, ? extends A8, ? extends A9, ? extends A10>> values) {
+		return this.validateAll(values, Locale.getDefault(), ConstraintGroup.DEFAULT);
+	}
+
+	/**
+	 * @see #validateAll(List, Locale, ConstraintContext)
+	 * @since 0.12.0
+	 */
+	default ValidatedBatch<X> validateAll(
+			List<? extends Arguments10<? extends A1, ? extends A2, ? extends A3, ? extends A4, ? extends A5, ? extends A6, ? extends A7, ? extends A8, ? extends A9, ? extends A10>> values,
+			ConstraintContext constraintContext) {
+		return this.validateAll(values, Locale.getDefault(), constraintContext);
+	}
+
 }
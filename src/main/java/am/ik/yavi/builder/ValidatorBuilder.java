@@ -28,10 +28,14 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -68,6 +72,11 @@ import am.ik.yavi.constraint.array.IntArrayConstraint;
 import am.ik.yavi.constraint.array.LongArrayConstraint;
 import am.ik.yavi.constraint.array.ObjectArrayConstraint;
 import am.ik.yavi.constraint.array.ShortArrayConstraint;
+import am.ik.yavi.core.AsyncBatchConstraint;
+import am.ik.yavi.core.AsyncCollectionConstraint;
+import am.ik.yavi.core.AsyncConstraint;
+import am.ik.yavi.core.AsyncConstraintPredicates;
+import am.ik.yavi.core.AsyncValidator;
 import am.ik.yavi.core.BiValidator;
 import am.ik.yavi.core.CollectionValidator;
 import am.ik.yavi.core.Constraint;
@@ -87,6 +96,7 @@ import am.ik.yavi.core.ValueValidator;
 import am.ik.yavi.core.ViolatedArguments;
 import am.ik.yavi.core.ViolationMessage;
 import am.ik.yavi.fn.Pair;
+import am.ik.yavi.jsr305.Nullable;
 import am.ik.yavi.message.MessageFormatter;
 import am.ik.yavi.message.SimpleMessageFormatter;
 import am.ik.yavi.meta.BigDecimalConstraintMeta;
@@ -121,10 +131,21 @@ public class ValidatorBuilder<T> implements Cloneable {
 
 	final List<ConstraintPredicates<T, ?>> predicatesList = new ArrayList<>();
 
+	final List<AsyncConstraintPredicates<T, ?>> asyncPredicatesList = new ArrayList<>();
+
+	final List<AsyncCollectionConstraint<T, ?, ?>> asyncCollectionConstraints = new ArrayList<>();
+
 	MessageFormatter messageFormatter;
 
 	boolean failFast = false;
 
+	boolean sharedEmptyViolations = false;
+
+	int parallelThreshold = Integer.MAX_VALUE;
+
+	@Nullable
+	Executor parallelExecutor;
+
 	public ValidatorBuilder() {
 		this(DEFAULT_SEPARATOR);
 	}
@@ -143,8 +164,13 @@ public class ValidatorBuilder<T> implements Cloneable {
 		this.collectionValidators.addAll(cloningSource.collectionValidators);
 		this.conditionalValidators.addAll(cloningSource.conditionalValidators);
 		this.predicatesList.addAll(cloningSource.predicatesList);
+		this.asyncPredicatesList.addAll(cloningSource.asyncPredicatesList);
+		this.asyncCollectionConstraints.addAll(cloningSource.asyncCollectionConstraints);
 		this.messageFormatter = cloningSource.messageFormatter;
 		this.failFast = cloningSource.failFast;
+		this.sharedEmptyViolations = cloningSource.sharedEmptyViolations;
+		this.parallelThreshold = cloningSource.parallelThreshold;
+		this.parallelExecutor = cloningSource.parallelExecutor;
 	}
 
 	@SuppressWarnings("unchecked")
@@ -186,13 +212,41 @@ public class ValidatorBuilder<T> implements Cloneable {
 	}
 
 	public Validator<T> build() {
-		return new Validator<>(messageKeySeparator, this.predicatesList,
-				this.collectionValidators, this.conditionalValidators,
+		if (!this.asyncPredicatesList.isEmpty()
+				|| !this.asyncCollectionConstraints.isEmpty()) {
+			throw new IllegalStateException(
+					"Asynchronous constraints are registered. Use buildAsync() instead.");
+		}
+		return this.buildSync();
+	}
+
+	/**
+	 * Create an <code>AsyncValidator</code> instance that checks the asynchronous
+	 * constraints in addition to the synchronous ones.
+	 *
+	 * @return <code>AsyncValidator</code> instance
+	 * @since 0.12.0
+	 */
+	public AsyncValidator<T> buildAsync() {
+		final Validator<T> validator = this.buildSync();
+		return new AsyncValidator<>(validator, this.asyncPredicatesList,
+				this.asyncCollectionConstraints, this.messageKeySeparator,
 				this.messageFormatter == null ? new SimpleMessageFormatter()
 						: this.messageFormatter,
 				this.failFast);
 	}
 
+	private Validator<T> buildSync() {
+		final Validator<T> validator = new Validator<>(messageKeySeparator,
+				this.predicatesList, this.collectionValidators,
+				this.conditionalValidators,
+				this.messageFormatter == null ? new SimpleMessageFormatter()
+						: this.messageFormatter,
+				this.failFast, this.sharedEmptyViolations);
+		return this.parallelExecutor == null ? validator
+				: validator.parallel(this.parallelThreshold, this.parallelExecutor);
+	}
+
 	/**
 	 * Create a <code>BiValidator</code> instance using the given constraints.
 	 *
@@ -819,6 +873,49 @@ public class ValidatorBuilder<T> implements Cloneable {
 		return this.constraint(Function.identity(), name, c, ObjectConstraint::new);
 	}
 
+	/**
+	 * Add an asynchronous constraint on the value. The constraint is checked by the
+	 * validator built by {@link #buildAsync()}.
+	 *
+	 * @param f function to the value to check
+	 * @param name name of the value
+	 * @param constraint asynchronous constraint
+	 * @param <V> the type of the value
+	 * @return builder
+	 * @since 0.12.0
+	 */
+	public <V> ValidatorBuilder<T> constraintAsync(Function<T, V> f, String name,
+			AsyncConstraint<V> constraint) {
+		this.asyncPredicatesList.add(new AsyncConstraintPredicates<>(f, name,
+				Collections.singletonList(constraint)));
+		return this;
+	}
+
+	/**
+	 * Add an asynchronous constraint on a value of each element of the collection. The
+	 * values of all elements are checked with a single call of the constraint, for
+	 * example to look up all SKUs of the lines of an order at once. A violation is named
+	 * like <code>lines[1].sku</code>.
+	 *
+	 * @param toCollection function to the collection
+	 * @param name name of the collection
+	 * @param toValue function from an element to the value to check
+	 * @param valueName name of the value in an element
+	 * @param constraint asynchronous batch constraint
+	 * @param <L> the type of the collection
+	 * @param <E> the type of the elements
+	 * @param <V> the type of the value
+	 * @return builder
+	 * @since 0.12.0
+	 */
+	public <L extends Collection<E>, E, V> ValidatorBuilder<T> forEachAsync(
+			ToCollection<T, L, E> toCollection, String name, Function<E, V> toValue,
+			String valueName, AsyncBatchConstraint<V> constraint) {
+		this.asyncCollectionConstraints.add(new AsyncCollectionConstraint<>(toCollection,
+				name, toValue, valueName, constraint));
+		return this;
+	}
+
 	public <L extends Collection<E>, E> ValidatorBuilder<T> forEach(
 			ToCollection<T, L, E> toCollection, String name, Validator<E> validator) {
 		return this.forEach(toCollection, name, validator, NullAs.INVALID);
@@ -902,6 +999,50 @@ public class ValidatorBuilder<T> implements Cloneable {
 		return this;
 	}
 
+	/**
+	 * Set whether to return a shared immutable empty <code>ConstraintViolations</code>
+	 * when the target is valid. If enabled, validating a valid target does not allocate
+	 * the result, but the returned <code>ConstraintViolations</code> can not be modified.
+	 *
+	 * @param sharedEmptyViolations whether to return a shared empty instance
+	 * @since 0.12.0
+	 */
+	public ValidatorBuilder<T> sharedEmptyViolations(boolean sharedEmptyViolations) {
+		this.sharedEmptyViolations = sharedEmptyViolations;
+		return this;
+	}
+
+	/**
+	 * Validate the elements of collections defined by <code>forEach</code> in parallel
+	 * when a collection has at least <code>threshold</code> elements.
+	 *
+	 * @param threshold the minimum size of a collection to validate in parallel
+	 * @param executor executor to validate chunks on
+	 * @see Validator#parallel(int, Executor)
+	 * @since 0.12.0
+	 */
+	public ValidatorBuilder<T> parallel(int threshold, Executor executor) {
+		if (threshold < 1) {
+			throw new IllegalArgumentException("threshold must be positive");
+		}
+		this.parallelThreshold = threshold;
+		this.parallelExecutor = Objects.requireNonNull(executor);
+		return this;
+	}
+
+	/**
+	 * Validate the elements of collections defined by <code>forEach</code> in parallel on
+	 * the common <code>ForkJoinPool</code> when a collection has at least
+	 * <code>threshold</code> elements.
+	 *
+	 * @param threshold the minimum size of a collection to validate in parallel
+	 * @see Validator#parallel(int, Executor)
+	 * @since 0.12.0
+	 */
+	public ValidatorBuilder<T> parallel(int threshold) {
+		return this.parallel(threshold, ForkJoinPool.commonPool());
+	}
+
 	public <N> ValidatorBuilder<T> nest(Function<T, N> nested, String name,
 			Validator<N> validator) {
 		return this.nest(nested, name, validator, NullAs.INVALID);
@@ -979,6 +1120,10 @@ public class ValidatorBuilder<T> implements Cloneable {
 				.forEach(this.appendNestedConditionalValidator(nested, name));
 		builder.collectionValidators
 				.forEach(appendNestedCollectionValidator(nested, name));
+		builder.asyncPredicatesList
+				.forEach(this.appendNestedAsyncPredicates(nested, name));
+		builder.asyncCollectionConstraints
+				.forEach(this.appendNestedAsyncCollectionConstraint(nested, name));
 		return this;
 	}
 
@@ -1002,11 +1147,46 @@ public class ValidatorBuilder<T> implements Cloneable {
 			String nestedName = name + this.messageKeySeparator + predicates.name();
 			ConstraintPredicates<T, ?> constraintPredicates = new NestedConstraintPredicates(
 					this.toNestedValue(nested, predicates), nestedName,
-					predicates.predicates(), this.toNestedFunction(nested, predicates));
+					predicates.predicates(), this.toNestedFunction(nested, predicates),
+					this.toNestedToValue(predicates));
 			this.predicatesList.add(constraintPredicates);
 		};
 	}
 
+	private <N> Consumer<AsyncConstraintPredicates<N, ?>> appendNestedAsyncPredicates(
+			Function<T, N> nested, String name) {
+		return predicates -> this.asyncPredicatesList
+				.add(this.toNestedAsyncPredicates(nested, name, predicates));
+	}
+
+	private <N, V> AsyncConstraintPredicates<T, V> toNestedAsyncPredicates(
+			Function<T, N> nested, String name,
+			AsyncConstraintPredicates<N, V> predicates) {
+		final Function<N, V> toValue = predicates.toValue();
+		return new AsyncConstraintPredicates<>(target -> {
+			final N nestedValue = nested.apply(target);
+			return nestedValue == null ? null : toValue.apply(nestedValue);
+		}, name + this.messageKeySeparator + predicates.name(), predicates.constraints());
+	}
+
+	private <N> Consumer<AsyncCollectionConstraint<N, ?, ?>> appendNestedAsyncCollectionConstraint(
+			Function<T, N> nested, String name) {
+		return constraint -> this.asyncCollectionConstraints
+				.add(this.toNestedAsyncCollectionConstraint(nested, name, constraint));
+	}
+
+	private <N, E, V> AsyncCollectionConstraint<T, E, V> toNestedAsyncCollectionConstraint(
+			Function<T, N> nested, String name,
+			AsyncCollectionConstraint<N, E, V> constraint) {
+		final Function<N, ? extends Collection<E>> toCollection = constraint
+				.toCollection();
+		return new AsyncCollectionConstraint<>(target -> {
+			final N nestedValue = nested.apply(target);
+			return nestedValue == null ? null : toCollection.apply(nestedValue);
+		}, name + this.messageKeySeparator + constraint.name(), constraint.toValue(),
+				constraint.valueName(), constraint.constraint());
+	}
+
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	private <N> Function<T, ?> toNestedFunction(Function<T, N> nested,
 			ConstraintPredicates<N, ?> predicates) {
@@ -1023,6 +1203,14 @@ public class ValidatorBuilder<T> implements Cloneable {
 		return nested;
 	}
 
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private <N> Function<?, ?> toNestedToValue(ConstraintPredicates<N, ?> predicates) {
+		if (predicates instanceof NestedConstraintPredicates) {
+			return ((NestedConstraintPredicates) predicates).nestedToValue();
+		}
+		return predicates.toValue();
+	}
+
 	private <N> Consumer<Pair<ConstraintCondition<N>, Validatable<N>>> appendNestedConditionalValidator(
 			Function<T, N> nested, String name) {
 		return conditionalValidator -> {
@@ -15,10 +15,6 @@
  */
 package am.ik.yavi.constraint;
 
-import java.math.BigDecimal;
-import java.math.BigInteger;
-import java.net.MalformedURLException;
-import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.text.Normalizer;
@@ -27,6 +23,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.function.ToIntFunction;
 import java.util.regex.Pattern;
@@ -38,8 +35,16 @@ import am.ik.yavi.constraint.charsequence.CodePoints.CodePointsRanges;
 import am.ik.yavi.constraint.charsequence.CodePoints.CodePointsSet;
 import am.ik.yavi.constraint.charsequence.CodePoints.Range;
 import am.ik.yavi.constraint.charsequence.CodePointsConstraint;
+import am.ik.yavi.constraint.charsequence.CompiledCodePoints;
+import am.ik.yavi.constraint.charsequence.EmailAddress;
+import am.ik.yavi.constraint.charsequence.Emoji;
 import am.ik.yavi.constraint.charsequence.EmojiConstraint;
+import am.ik.yavi.constraint.charsequence.GuardedPattern;
+import am.ik.yavi.constraint.charsequence.MemoizedPattern;
+import am.ik.yavi.constraint.charsequence.NumericRepresentation;
+import am.ik.yavi.constraint.charsequence.Url;
 import am.ik.yavi.constraint.charsequence.variant.VariantOptions;
+import am.ik.yavi.constraint.inetaddress.InetAddressRanges;
 import am.ik.yavi.constraint.inetaddress.InetAddressUtils;
 import am.ik.yavi.constraint.password.CharSequencePasswordPoliciesBuilder;
 import am.ik.yavi.core.ConstraintPredicate;
@@ -51,17 +56,6 @@ import static am.ik.yavi.core.ViolationMessage.Default.*;
 
 public class CharSequenceConstraint<T, E extends CharSequence>
 		extends ContainerConstraintBase<T, E, CharSequenceConstraint<T, E>> {
-	private static final String EMAIL_PART = "[^\\x00-\\x1F()<>@,;:\\\\\".\\[\\]\\s]";
-
-	private static final String DOMAIN_PATTERN = EMAIL_PART + "+(\\." + EMAIL_PART
-			+ "+)*";
-
-	private static final Pattern VALID_EMAIL_ADDRESS_REGEX = Pattern
-			.compile(
-					"^" + EMAIL_PART + "+(\\." + EMAIL_PART + "+)*@(" + DOMAIN_PATTERN
-							+ "|" + InetAddressUtils.IPV4_REGEX + ")$",
-					Pattern.CASE_INSENSITIVE);
-
 	private static final Pattern VALID_UUID_REGEX = Pattern
 			.compile("\\p{XDigit}{8}(-\\p{XDigit}{4}){4}\\p{XDigit}{8}");
 
@@ -69,6 +63,8 @@ public class CharSequenceConstraint<T, E extends CharSequence>
 
 	protected final VariantOptions variantOptions;
 
+	private final ToIntFunction<E> size = this::computeSize;
+
 	public CharSequenceConstraint() {
 		this(Normalizer.Form.NFC, VariantOptions.builder().build());
 	}
@@ -105,16 +101,14 @@ public class CharSequenceConstraint<T, E extends CharSequence>
 	}
 
 	public CodePointsConstraint.Builder<T, E> codePoints(Range range, Range... ranges) {
-		return this.codePoints((CodePointsRanges<E>) () -> {
-			List<Range> list = new ArrayList<>();
-			list.add(range);
-			list.addAll(Arrays.asList(ranges));
-			return list;
-		});
+		List<Range> list = new ArrayList<>();
+		list.add(range);
+		list.addAll(Arrays.asList(ranges));
+		return this.codePoints(CompiledCodePoints.ofRanges(list));
 	}
 
 	public CharSequenceConstraint<T, E> contains(CharSequence s) {
-		this.predicates().add(ConstraintPredicate.of(x -> x.toString().contains(s),
+		this.predicates().add(ConstraintPredicate.of(x -> contains(x, s),
 				CHAR_SEQUENCE_CONTAINS, () -> new Object[] { s }, VALID));
 		return this;
 	}
@@ -127,7 +121,7 @@ public class CharSequenceConstraint<T, E extends CharSequence>
 	public CharSequenceConstraint<T, E> startsWith(CharSequence prefix) {
 		this.predicates()
 				.add(ConstraintPredicate.of(
-						x -> x.toString().startsWith(prefix.toString()),
+						x -> x.length() >= prefix.length() && regionMatches(x, 0, prefix),
 						CHAR_SEQUENCE_STARTSWITH, () -> new Object[] { prefix }, VALID));
 		return this;
 	}
@@ -139,18 +133,37 @@ public class CharSequenceConstraint<T, E extends CharSequence>
 	 */
 	public CharSequenceConstraint<T, E> endsWith(CharSequence suffix) {
 		this.predicates()
-				.add(ConstraintPredicate.of(x -> x.toString().endsWith(suffix.toString()),
+				.add(ConstraintPredicate.of(
+						x -> x.length() >= suffix.length()
+								&& regionMatches(x, x.length() - suffix.length(), suffix),
 						CHAR_SEQUENCE_ENDSWITH, () -> new Object[] { suffix }, VALID));
 		return this;
 	}
 
+	/**
+	 * Check if the value is an email address in a loose syntax: a local part and a domain
+	 * separated by <code>@</code>, each of which consists of atoms separated by single
+	 * dots. The check runs in linear time.
+	 *
+	 * @see EmailAddress#isEmail(CharSequence)
+	 */
 	public CharSequenceConstraint<T, E> email() {
-		this.predicates().add(ConstraintPredicate.of(x -> {
-			if (size().applyAsInt(x) == 0) {
-				return true;
-			}
-			return VALID_EMAIL_ADDRESS_REGEX.matcher(x).matches();
-		}, CHAR_SEQUENCE_EMAIL, () -> new Object[] {}, VALID));
+		this.predicates().add(ConstraintPredicate.of(this.emptyOr(EmailAddress::isEmail),
+				CHAR_SEQUENCE_EMAIL, () -> new Object[] {}, VALID));
+		return this;
+	}
+
+	/**
+	 * Check if the value is a mailbox defined by RFC 5321. Unlike {@link #email()}, only
+	 * ASCII is allowed and the domain has to be a valid host name or an address literal.
+	 *
+	 * @see EmailAddress#isRfc5321Mailbox(CharSequence)
+	 * @since 0.12.0
+	 */
+	public CharSequenceConstraint<T, E> strictEmail() {
+		this.predicates()
+				.add(ConstraintPredicate.of(this.emptyOr(EmailAddress::isRfc5321Mailbox),
+						CHAR_SEQUENCE_EMAIL, () -> new Object[] {}, VALID));
 		return this;
 	}
 
@@ -165,83 +178,99 @@ public class CharSequenceConstraint<T, E extends CharSequence>
 		return this;
 	}
 
-	private <U> CharSequenceConstraint<T, E> isValidRepresentationOf(
-			Function<String, U> converter, ViolationMessage message) {
-		this.predicates().add(ConstraintPredicate.of(x -> {
-			if (size().applyAsInt(x) == 0) {
-				return true;
-			}
-			try {
-				converter.apply(x.toString());
-				return true;
-			}
-			catch (NumberFormatException ignored) {
-				return false;
-			}
-		}, message, () -> new Object[] {}, VALID));
+	private CharSequenceConstraint<T, E> isValidRepresentationOf(
+			Predicate<CharSequence> recognizer, ViolationMessage message) {
+		this.predicates().add(ConstraintPredicate.of(this.emptyOr(recognizer), message,
+				() -> new Object[] {}, VALID));
 		return this;
 	}
 
+	private Predicate<E> emptyOr(Predicate<CharSequence> recognizer) {
+		// an empty value is valid. The value is empty after normalization only if all
+		// of its characters are ignored variation selectors.
+		return x -> x.length() == 0 || recognizer.test(x)
+				|| this.variantOptions.ignored(x).length() == 0;
+	}
+
 	/**
 	 * @since 0.6.0
 	 */
 	public CharSequenceConstraint<T, E> isByte() {
-		return this.isValidRepresentationOf(Byte::parseByte, CHAR_SEQUENCE_BYTE);
+		return this.isValidRepresentationOf(NumericRepresentation::isByte,
+				CHAR_SEQUENCE_BYTE);
 	}
 
 	/**
 	 * @since 0.6.0
 	 */
 	public CharSequenceConstraint<T, E> isShort() {
-		return this.isValidRepresentationOf(Short::parseShort, CHAR_SEQUENCE_SHORT);
+		return this.isValidRepresentationOf(NumericRepresentation::isShort,
+				CHAR_SEQUENCE_SHORT);
 	}
 
 	/**
 	 * @since 0.6.0
 	 */
 	public CharSequenceConstraint<T, E> isInteger() {
-		return this.isValidRepresentationOf(Integer::parseInt, CHAR_SEQUENCE_INTEGER);
+		return this.isValidRepresentationOf(NumericRepresentation::isInteger,
+				CHAR_SEQUENCE_INTEGER);
 	}
 
 	/**
 	 * @since 0.6.0
 	 */
 	public CharSequenceConstraint<T, E> isLong() {
-		return this.isValidRepresentationOf(Long::parseLong, CHAR_SEQUENCE_LONG);
+		return this.isValidRepresentationOf(NumericRepresentation::isLong,
+				CHAR_SEQUENCE_LONG);
 	}
 
 	/**
 	 * @since 0.6.0
 	 */
 	public CharSequenceConstraint<T, E> isFloat() {
-		return this.isValidRepresentationOf(Float::parseFloat, CHAR_SEQUENCE_FLOAT);
+		return this.isValidRepresentationOf(NumericRepresentation::isFloat,
+				CHAR_SEQUENCE_FLOAT);
 	}
 
 	/**
 	 * @since 0.6.0
 	 */
 	public CharSequenceConstraint<T, E> isDouble() {
-		return this.isValidRepresentationOf(Double::parseDouble, CHAR_SEQUENCE_DOUBLE);
+		return this.isValidRepresentationOf(NumericRepresentation::isDouble,
+				CHAR_SEQUENCE_DOUBLE);
 	}
 
 	/**
 	 * @since 0.6.0
 	 */
 	public CharSequenceConstraint<T, E> isBigInteger() {
-		return this.isValidRepresentationOf(BigInteger::new, CHAR_SEQUENCE_BIGINTEGER);
+		return this.isValidRepresentationOf(NumericRepresentation::isBigInteger,
+				CHAR_SEQUENCE_BIGINTEGER);
 	}
 
 	/**
 	 * @since 0.6.0
 	 */
 	public CharSequenceConstraint<T, E> isBigDecimal() {
-		return this.isValidRepresentationOf(BigDecimal::new, CHAR_SEQUENCE_BIGDECIMAL);
+		return this.isValidRepresentationOf(NumericRepresentation::isBigDecimal,
+				CHAR_SEQUENCE_BIGDECIMAL);
 	}
 
 	public EmojiConstraint<T, E> emoji() {
 		return new EmojiConstraint<>(this, this.normalizerForm, this.variantOptions);
 	}
 
+	/**
+	 * Count the size as the number of extended grapheme clusters.
+	 *
+	 * @see Emoji#graphemeClusterCount(String)
+	 * @since 0.12.0
+	 */
+	public EmojiConstraint<T, E> graphemeClusters() {
+		return new EmojiConstraint<>(this, this.normalizerForm, this.variantOptions,
+				true);
+	}
+
 	public CharSequenceConstraint<T, E> normalizer(Normalizer.Form normalizerForm) {
 		CharSequenceConstraint<T, E> constraint = new CharSequenceConstraint<>(
 				normalizerForm, this.variantOptions);
@@ -250,15 +279,18 @@ public class CharSequenceConstraint<T, E extends CharSequence>
 	}
 
 	public CharSequenceConstraint<T, E> notBlank() {
-		this.predicates()
-				.add(ConstraintPredicate.of(
-						x -> x != null && trim(x.toString()).length() != 0,
-						CHAR_SEQUENCE_NOT_BLANK, () -> new Object[] {}, INVALID));
+		this.predicates().add(ConstraintPredicate.of(x -> x != null && !isBlank(x),
+				CHAR_SEQUENCE_NOT_BLANK, () -> new Object[] {}, INVALID));
 		return this;
 	}
 
+	/**
+	 * Check if the given value matches the regular expression. The regular expression is
+	 * compiled once when the constraint is defined.
+	 */
 	public CharSequenceConstraint<T, E> pattern(String regex) {
-		this.predicates().add(ConstraintPredicate.of(x -> Pattern.matches(regex, x),
+		final Pattern pattern = Pattern.compile(regex);
+		this.predicates().add(ConstraintPredicate.of(x -> pattern.matcher(x).matches(),
 				CHAR_SEQUENCE_PATTERN, () -> new Object[] { regex }, VALID));
 		return this;
 	}
@@ -273,13 +305,61 @@ public class CharSequenceConstraint<T, E extends CharSequence>
 	}
 
 	/**
+	 * Check if the given value matches the supplied regular expression. The supplier is
+	 * called on every validation. If you want to cache the supplied pattern, use
+	 * {@link #pattern(Supplier, boolean)} instead.
+	 *
 	 * @since 0.11.1
 	 */
 	public CharSequenceConstraint<T, E> pattern(Supplier<Pattern> regexSupplier) {
+		return this.pattern(regexSupplier, false);
+	}
+
+	/**
+	 * Check if the given value matches the supplied regular expression. <br>
+	 * You can specify whether to memoize the result of the supplier by using the argument
+	 * <code>memoize</code>. A memoized pattern is reused until it is invalidated. To be
+	 * able to invalidate it, pass a {@link MemoizedPattern} and call
+	 * {@link MemoizedPattern#invalidate()}.
+	 *
+	 * @param regexSupplier the supplier providing the pattern
+	 * @param memoize whether to memoize the result of supplier
+	 * @since 0.12.0
+	 */
+	public CharSequenceConstraint<T, E> pattern(Supplier<Pattern> regexSupplier,
+			boolean memoize) {
+		final Supplier<Pattern> supplier = memoize ? MemoizedPattern.of(regexSupplier)
+				: regexSupplier;
 		this.predicates()
-				.add(ConstraintPredicate.of(x -> regexSupplier.get().matcher(x).matches(),
+				.add(ConstraintPredicate.of(x -> supplier.get().matcher(x).matches(),
 						CHAR_SEQUENCE_PATTERN,
-						() -> new Object[] { regexSupplier.get().pattern() }, VALID));
+						() -> new Object[] { supplier.get().pattern() }, VALID));
+		return this;
+	}
+
+	/**
+	 * Check if the given value matches the guarded regular expression. Unlike the other
+	 * <code>pattern</code> constraints, the matching gives up when the budget of the
+	 * pattern is exhausted. In that case the value violates both this constraint and
+	 * {@link ViolationMessage.Default#CHAR_SEQUENCE_PATTERN_EXHAUSTED}, so that the
+	 * exhaustion can be told from a mismatch.
+	 *
+	 * @param regex the guarded pattern
+	 * @see GuardedPattern
+	 * @since 0.12.0
+	 */
+	public CharSequenceConstraint<T, E> pattern(GuardedPattern regex) {
+		// both predicates share the outcome, which is computed once per validation
+		final Function<E, GuardedPattern.Outcome> outcome = regex::outcome;
+		this.predicates()
+				.add(ConstraintPredicate.of(outcome,
+						o -> o != GuardedPattern.Outcome.EXHAUSTED,
+						CHAR_SEQUENCE_PATTERN_EXHAUSTED,
+						() -> new Object[] { regex.pattern() }, VALID));
+		this.predicates()
+				.add(ConstraintPredicate.of(outcome,
+						o -> o == GuardedPattern.Outcome.MATCHED, CHAR_SEQUENCE_PATTERN,
+						() -> new Object[] { regex.pattern() }, VALID));
 		return this;
 	}
 
@@ -288,7 +368,8 @@ public class CharSequenceConstraint<T, E extends CharSequence>
 	 */
 	public CharSequenceConstraint<T, E> ipv4() {
 		this.predicates()
-				.add(ConstraintPredicate.of(x -> InetAddressUtils.isIpv4(x.toString()),
+				.add(ConstraintPredicate.of(
+						x -> InetAddressUtils.isIpv4(x, 0, x.length()),
 						CHAR_SEQUENCE_IPV4, () -> new Object[] {}, VALID));
 		return this;
 	}
@@ -298,24 +379,138 @@ public class CharSequenceConstraint<T, E extends CharSequence>
 	 */
 	public CharSequenceConstraint<T, E> ipv6() {
 		this.predicates()
-				.add(ConstraintPredicate.of(x -> InetAddressUtils.isIpv6(x.toString()),
+				.add(ConstraintPredicate.of(
+						x -> InetAddressUtils.isIpv6(x, 0, x.length()),
 						CHAR_SEQUENCE_IPV6, () -> new Object[] {}, VALID));
 		return this;
 	}
 
+	/**
+	 * Check if the value is an IPv4 or IPv6 address in any of the given CIDR blocks like
+	 * <code>10.0.0.0/8</code>. The blocks are parsed once when the constraint is defined.
+	 *
+	 * @param cidrs CIDR blocks
+	 * @since 0.12.0
+	 */
+	public CharSequenceConstraint<T, E> inCidr(String... cidrs) {
+		return this.inCidr(InetAddressRanges.ofCidrs(cidrs));
+	}
+
+	/**
+	 * Check if the value is an IPv4 or IPv6 address in the given set. Use this to share a
+	 * large allow list among constraints.
+	 *
+	 * @param ranges set of addresses
+	 * @since 0.12.0
+	 */
+	public CharSequenceConstraint<T, E> inCidr(InetAddressRanges ranges) {
+		this.predicates().add(ConstraintPredicate.of(ranges::contains,
+				CHAR_SEQUENCE_IN_CIDR, () -> new Object[] { ranges }, VALID));
+		return this;
+	}
+
+	/**
+	 * Check if the value is not an address in any of the given CIDR blocks like
+	 * <code>10.0.0.0/8</code>. A value which is not an address is not in the blocks, so
+	 * combine this with {@link #ipv4()} or {@link #ipv6()} if needed.
+	 *
+	 * @param cidrs CIDR blocks
+	 * @since 0.12.0
+	 */
+	public CharSequenceConstraint<T, E> notInCidr(String... cidrs) {
+		return this.notInCidr(InetAddressRanges.ofCidrs(cidrs));
+	}
+
+	/**
+	 * Check if the value is not an address in the given set. Use this to share a large
+	 * deny list among constraints.
+	 *
+	 * @param ranges set of addresses
+	 * @since 0.12.0
+	 */
+	public CharSequenceConstraint<T, E> notInCidr(InetAddressRanges ranges) {
+		this.predicates().add(ConstraintPredicate.of(x -> !ranges.contains(x),
+				CHAR_SEQUENCE_NOT_IN_CIDR, () -> new Object[] { ranges }, VALID));
+		return this;
+	}
+
+	/**
+	 * Check if the value is an IPv4 address from <code>first</code> to <code>last</code>,
+	 * both inclusive.
+	 *
+	 * @param first the first IPv4 address
+	 * @param last the last IPv4 address
+	 * @since 0.12.0
+	 */
+	public CharSequenceConstraint<T, E> ipv4Range(String first, String last) {
+		if (!InetAddressUtils.isIpv4(first) || !InetAddressUtils.isIpv4(last)) {
+			throw new IllegalArgumentException(
+					"Invalid IPv4 address range: " + first + " - " + last);
+		}
+		return this.ipRange(first, last);
+	}
+
+	/**
+	 * Check if the value is an IPv6 address from <code>first</code> to <code>last</code>,
+	 * both inclusive. A zone id of the value is ignored.
+	 *
+	 * @param first the first IPv6 address
+	 * @param last the last IPv6 address
+	 * @since 0.12.0
+	 */
+	public CharSequenceConstraint<T, E> ipv6Range(String first, String last) {
+		if (InetAddressUtils.isIpv4(first) || InetAddressUtils.isIpv4(last)) {
+			throw new IllegalArgumentException(
+					"Invalid IPv6 address range: " + first + " - " + last);
+		}
+		return this.ipRange(first, last);
+	}
+
+	private CharSequenceConstraint<T, E> ipRange(String first, String last) {
+		final InetAddressRanges range = InetAddressRanges.ofRange(first, last);
+		this.predicates().add(ConstraintPredicate.of(range::contains,
+				CHAR_SEQUENCE_IP_RANGE, () -> new Object[] { first, last }, VALID));
+		return this;
+	}
+
+	/**
+	 * Check if the value is not a private, loopback or link-local address. A value which
+	 * is not an address is not rejected, so combine this with {@link #ipv4()} or
+	 * {@link #ipv6()} if needed.
+	 *
+	 * @see InetAddressRanges#privateLoopbackAndLinkLocal()
+	 * @since 0.12.0
+	 */
+	public CharSequenceConstraint<T, E> notPrivateIp() {
+		final InetAddressRanges ranges = InetAddressRanges.privateLoopbackAndLinkLocal();
+		this.predicates().add(ConstraintPredicate.of(x -> !ranges.contains(x),
+				CHAR_SEQUENCE_NOT_PRIVATE_IP, () -> new Object[] {}, VALID));
+		return this;
+	}
+
+	/**
+	 * Check if the value is accepted by <code>java.net.URL</code>. URLs of the common
+	 * protocols are checked without constructing a <code>java.net.URL</code>.
+	 *
+	 * @see Url#isUrl(CharSequence)
+	 */
 	public CharSequenceConstraint<T, E> url() {
-		this.predicates().add(ConstraintPredicate.of(x -> {
-			if (size().applyAsInt(x) == 0) {
-				return true;
-			}
-			try {
-				new URL(x.toString());
-				return true;
-			}
-			catch (MalformedURLException e) {
-				return false;
-			}
-		}, CHAR_SEQUENCE_URL, () -> new Object[] {}, VALID));
+		this.predicates().add(ConstraintPredicate.of(this.emptyOr(Url::isUrl),
+				CHAR_SEQUENCE_URL, () -> new Object[] {}, VALID));
+		return this;
+	}
+
+	/**
+	 * Check if the value is an absolute URI defined by RFC 3986, optionally followed by a
+	 * fragment. Unlike {@link #url()}, any scheme is allowed, while characters outside of
+	 * the URI syntax have to be percent-encoded.
+	 *
+	 * @see Url#isRfc3986Uri(CharSequence)
+	 * @since 0.12.0
+	 */
+	public CharSequenceConstraint<T, E> strictUrl() {
+		this.predicates().add(ConstraintPredicate.of(this.emptyOr(Url::isRfc3986Uri),
+				CHAR_SEQUENCE_URL, () -> new Object[] {}, VALID));
 		return this;
 	}
 
@@ -323,12 +518,10 @@ public class CharSequenceConstraint<T, E extends CharSequence>
 	 * @since 0.10.0
 	 */
 	public CharSequenceConstraint<T, E> uuid() {
-		this.predicates().add(ConstraintPredicate.of(x -> {
-			if (size().applyAsInt(x) == 0) {
-				return true;
-			}
-			return VALID_UUID_REGEX.matcher(x).matches();
-		}, CHAR_SEQUENCE_UUID, () -> new Object[] {}, VALID));
+		this.predicates()
+				.add(ConstraintPredicate.of(
+						this.emptyOr(x -> VALID_UUID_REGEX.matcher(x).matches()),
+						CHAR_SEQUENCE_UUID, () -> new Object[] {}, VALID));
 		return this;
 	}
 
@@ -376,6 +569,10 @@ public class CharSequenceConstraint<T, E extends CharSequence>
 	}
 
 	protected String normalize(String s) {
+		if (s != null && isAscii(s)) {
+			// ASCII is affected neither by normalization nor by variation selectors
+			return s;
+		}
 		String str = this.variantOptions.ignored(s);
 		return this.normalizerForm == null ? str
 				: Normalizer.normalize(str, this.normalizerForm);
@@ -383,23 +580,106 @@ public class CharSequenceConstraint<T, E extends CharSequence>
 
 	@Override
 	protected ToIntFunction<E> size() {
-		return cs -> {
-			String s = this.normalize(cs.toString());
+		return this.size;
+	}
+
+	private int computeSize(E cs) {
+		if (cs instanceof String) {
+			final String s = this.normalize((String) cs);
 			return s.codePointCount(0, s.length());
-		};
+		}
+		// not copied into a string unless it has to be normalized
+		return this.computeSizeOfCharSequence(cs);
 	}
 
-	private static String trim(String s) {
-		if (s.length() == 0) {
-			return s;
+	private int computeSizeOfCharSequence(CharSequence value) {
+		if (isAscii(value)) {
+			return value.length();
+		}
+		// the value is copied only if it has a selector to remove or may not be
+		// normalized, since java.text.Normalizer works on strings
+		final CharSequence s = this.variantOptions.ignored(value);
+		if (this.normalizerForm == null
+				|| (this.normalizerForm == Normalizer.Form.NFC && isStableInNfc(s))) {
+			return Character.codePointCount(s, 0, s.length());
+		}
+		final String normalized = Normalizer.normalize(s, this.normalizerForm);
+		return normalized.codePointCount(0, normalized.length());
+	}
+
+	/**
+	 * A conservative quick check for NFC. The blocks below consist of characters which
+	 * are not changed by NFC and neither combine with nor reorder around their neighbors:
+	 * Latin up to the combining diacritical marks, kana except the combining sound marks,
+	 * CJK unified ideographs including the supplementary ones before the compatibility
+	 * ideographs (U+20000 to U+2F7FF), Hangul syllables and half-width and full-width
+	 * forms.
+	 */
+	private static boolean isStableInNfc(CharSequence s) {
+		final int length = s.length();
+		for (int i = 0; i < length; i++) {
+			final char c = s.charAt(i);
+			if (c >= '\uD840' && c <= '\uD87D' && i + 1 < length
+					&& Character.isLowSurrogate(s.charAt(i + 1))) {
+				i++;
+			}
+			else if (!(c < '\u0300' || (c >= '\u3040' && c < '\u3099')
+					|| (c >= '\u309B' && c < '\u3100') || (c >= '\u4E00' && c < '\uA000')
+					|| (c >= '\uAC00' && c < '\uD7A4')
+					|| (c >= '\uFF01' && c < '\uFFEF'))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isAscii(CharSequence s) {
+		for (int i = 0; i < s.length(); i++) {
+			if (s.charAt(i) >= 0x80) {
+				return false;
+			}
 		}
-		StringBuilder sb = new StringBuilder(s);
-		while (sb.length() > 0 && Character.isWhitespace(sb.charAt(0))) {
-			sb.deleteCharAt(0);
+		return true;
+	}
+
+	private static boolean isBlank(CharSequence s) {
+		// blank if nothing is left after trimming whitespace on both ends
+		for (int i = 0; i < s.length(); i++) {
+			if (!Character.isWhitespace(s.charAt(i))) {
+				return false;
+			}
 		}
-		while (sb.length() > 0 && Character.isWhitespace(sb.charAt(sb.length() - 1))) {
-			sb.deleteCharAt(sb.length() - 1);
+		return true;
+	}
+
+	private static boolean contains(CharSequence s, CharSequence target) {
+		if (s instanceof String && target instanceof String) {
+			return ((String) s).contains(target);
+		}
+		final int last = s.length() - target.length();
+		for (int i = 0; i <= last; i++) {
+			if (regionMatches(s, i, target)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Check if {@code s} has {@code target} at the given offset. The caller guarantees
+	 * that {@code target} fits into {@code s} from the offset.
+	 */
+	private static boolean regionMatches(CharSequence s, int offset,
+			CharSequence target) {
+		if (s instanceof String && target instanceof String) {
+			return ((String) s).startsWith((String) target, offset);
+		}
+		final int length = target.length();
+		for (int i = 0; i < length; i++) {
+			if (s.charAt(offset + i) != target.charAt(i)) {
+				return false;
+			}
 		}
-		return sb.toString();
+		return true;
 	}
 }
@@ -17,6 +17,7 @@ package am.ik.yavi.constraint.base;
 
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.IntPredicate;
 import java.util.function.Predicate;
 import java.util.function.ToIntFunction;
 
@@ -36,56 +37,55 @@ import am.ik.yavi.core.ViolatedValue;
 public abstract class ContainerConstraintBase<T, V, C extends Constraint<T, V, C>>
 		extends ConstraintBase<T, V, C> {
 
+	/**
+	 * The size shared among the size constraints, so that a value is measured once per
+	 * validation however many of them are declared.
+	 */
+	private final Function<V, Integer> sizeAnalysis = v -> this.size().applyAsInt(v);
+
 	public C fixedSize(int size) {
 		this.predicates()
-				.add(ConstraintPredicate.withViolatedValue(
-						this.checkSizePredicate(x -> size().applyAsInt(x) == size,
-								this.size()),
-						CONTAINER_FIXED_SIZE, () -> new Object[] { size }, VALID));
+				.add(ConstraintPredicate.withViolatedValue(this.sizeAnalysis,
+						checkSize(s -> s == size), CONTAINER_FIXED_SIZE,
+						() -> new Object[] { size }, VALID));
 		return cast();
 	}
 
 	public C greaterThan(int min) {
 		this.predicates()
-				.add(ConstraintPredicate.withViolatedValue(
-						this.checkSizePredicate(x -> size().applyAsInt(x) > min,
-								this.size()),
-						CONTAINER_GREATER_THAN, () -> new Object[] { min }, VALID));
+				.add(ConstraintPredicate.withViolatedValue(this.sizeAnalysis,
+						checkSize(s -> s > min), CONTAINER_GREATER_THAN,
+						() -> new Object[] { min }, VALID));
 		return cast();
 	}
 
 	public C greaterThanOrEqual(int min) {
 		this.predicates()
-				.add(ConstraintPredicate.withViolatedValue(
-						this.checkSizePredicate(x -> size().applyAsInt(x) >= min,
-								this.size()),
-						CONTAINER_GREATER_THAN_OR_EQUAL, () -> new Object[] { min },
-						VALID));
+				.add(ConstraintPredicate.withViolatedValue(this.sizeAnalysis,
+						checkSize(s -> s >= min), CONTAINER_GREATER_THAN_OR_EQUAL,
+						() -> new Object[] { min }, VALID));
 		return cast();
 	}
 
 	public C lessThan(int max) {
 		this.predicates()
-				.add(ConstraintPredicate.withViolatedValue(
-						this.checkSizePredicate(x -> size().applyAsInt(x) < max,
-								this.size()),
-						CONTAINER_LESS_THAN, () -> new Object[] { max }, VALID));
+				.add(ConstraintPredicate.withViolatedValue(this.sizeAnalysis,
+						checkSize(s -> s < max), CONTAINER_LESS_THAN,
+						() -> new Object[] { max }, VALID));
 		return cast();
 	}
 
 	public C lessThanOrEqual(int max) {
 		this.predicates()
-				.add(ConstraintPredicate.withViolatedValue(
-						this.checkSizePredicate(x -> size().applyAsInt(x) <= max,
-								this.size()),
-						CONTAINER_LESS_THAN_OR_EQUAL, () -> new Object[] { max }, VALID));
+				.add(ConstraintPredicate.withViolatedValue(this.sizeAnalysis,
+						checkSize(s -> s <= max), CONTAINER_LESS_THAN_OR_EQUAL,
+						() -> new Object[] { max }, VALID));
 		return cast();
 	}
 
 	public C notEmpty() {
-		this.predicates()
-				.add(ConstraintPredicate.of(x -> x != null && size().applyAsInt(x) != 0,
-						CONTAINER_NOT_EMPTY, () -> new Object[] {}, INVALID));
+		this.predicates().add(ConstraintPredicate.of(this.sizeAnalysis, s -> s != 0,
+				CONTAINER_NOT_EMPTY, () -> new Object[] {}, INVALID));
 		return cast();
 	}
 
@@ -100,5 +100,11 @@ public abstract class ContainerConstraintBase<T, V, C extends Constraint<T, V, C
 		};
 	}
 
+	private static Function<Integer, Optional<ViolatedValue>> checkSize(
+			IntPredicate predicate) {
+		return s -> predicate.test(s) ? Optional.empty()
+				: Optional.of(new ViolatedValue(s));
+	}
+
 	protected abstract ToIntFunction<V> size();
 }
@@ -15,7 +15,13 @@
  */
 package am.ik.yavi.constraint.charsequence;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 
 import static am.ik.yavi.core.NullAs.VALID;
 import static am.ik.yavi.core.ViolationMessage.Default.BYTE_SIZE_FIXED_SIZE;
@@ -87,6 +93,68 @@ public class ByteSizeConstraint<T, E extends CharSequence>
 	}
 
 	private int size(E x) {
-		return x.toString().getBytes(charset).length;
+		if (StandardCharsets.UTF_8.equals(this.charset)) {
+			return utf8Size(x);
+		}
+		if (x instanceof String) {
+			return ((String) x).getBytes(this.charset).length;
+		}
+		return encodedSize(x, this.charset);
+	}
+
+	/**
+	 * Count the bytes of the given value encoded in UTF-8 without encoding it. An
+	 * unpaired surrogate counts as one byte since it is replaced with <code>?</code> like
+	 * {@link String#getBytes(Charset)} does.
+	 */
+	static int utf8Size(CharSequence s) {
+		final int length = s.length();
+		int size = length;
+		for (int i = 0; i < length; i++) {
+			final char c = s.charAt(i);
+			if (c < 0x80) {
+				continue;
+			}
+			if (c < 0x800) {
+				size += 1;
+			}
+			else if (!Character.isSurrogate(c)) {
+				size += 2;
+			}
+			else if (Character.isHighSurrogate(c) && i + 1 < length
+					&& Character.isLowSurrogate(s.charAt(i + 1))) {
+				// four bytes for two chars
+				size += 2;
+				i++;
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Count the bytes of the given value encoded in the given charset through a small
+	 * buffer instead of copying the whole value into a string and an array.
+	 */
+	static int encodedSize(CharSequence s, Charset charset) {
+		final CharsetEncoder encoder = charset.newEncoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		final CharBuffer in = CharBuffer.wrap(s);
+		final ByteBuffer out = ByteBuffer.allocate(256);
+		int size = 0;
+		CoderResult result;
+		do {
+			result = encoder.encode(in, out, true);
+			size += out.position();
+			out.clear();
+		}
+		while (result.isOverflow());
+		do {
+			result = encoder.flush(out);
+			size += out.position();
+			out.clear();
+		}
+		while (result.isOverflow());
+		return size;
 	}
 }
@@ -28,6 +28,33 @@ public interface CodePoints<E extends CharSequence> {
 
 	Set<Integer> allExcludedCodePoints(E s);
 
+	/**
+	 * @param s string to check
+	 * @return whether all code points in the given string are included
+	 * @since 0.12.0
+	 */
+	default boolean allIncluded(E s) {
+		return this.allExcludedCodePoints(s).isEmpty();
+	}
+
+	/**
+	 * @param s string to check
+	 * @return whether no code point in the given string is included
+	 * @since 0.12.0
+	 */
+	default boolean noneIncluded(E s) {
+		final Set<Integer> excluded = this.allExcludedCodePoints(s);
+		final int len = s.length();
+		for (int i = 0; i < len;) {
+			final int codePoint = Character.codePointAt(s, i);
+			if (!excluded.contains(codePoint)) {
+				return false;
+			}
+			i += Character.charCount(codePoint);
+		}
+		return true;
+	}
+
 	@FunctionalInterface
 	interface CodePointsRanges<E extends CharSequence> extends CodePoints<E> {
 		@Override
@@ -35,13 +62,12 @@ public interface CodePoints<E extends CharSequence> {
 			if (s == null || s.length() == 0) {
 				return Collections.emptySet();
 			}
-			String str = s.toString();
 			Set<Integer> excludedCodePoints = new LinkedHashSet<>();
-			int len = str.length();
-			Integer codePoint;
+			int len = s.length();
+			int codePoint;
 			List<Range> ranges = this.asRanges();
 			for (int i = 0; i < len; i += Character.charCount(codePoint)) {
-				codePoint = str.codePointAt(i);
+				codePoint = Character.codePointAt(s, i);
 				boolean included = false;
 				for (Range range : ranges) {
 					if (range.begin() <= codePoint && codePoint <= range.end()) {
@@ -67,13 +93,12 @@ public interface CodePoints<E extends CharSequence> {
 			if (s == null || s.length() == 0) {
 				return Collections.emptySet();
 			}
-			String str = s.toString();
 			Set<Integer> excludedCodePoints = new LinkedHashSet<>();
-			int len = str.length();
-			Integer codePoint;
+			int len = s.length();
+			int codePoint;
 			Set<Integer> set = this.asSet();
 			for (int i = 0; i < len; i += Character.charCount(codePoint)) {
-				codePoint = str.codePointAt(i);
+				codePoint = Character.codePointAt(s, i);
 				if (!set.contains(codePoint)) {
 					excludedCodePoints.add(codePoint);
 				}
@@ -42,15 +42,25 @@ public class CodePointsConstraint<T, E extends CharSequence>
 
 	public CodePointsConstraint<T, E> asBlackList() {
 		this.predicates().add(ConstraintPredicate.withViolatedValue(x -> {
-			Set<Integer> excludedFromBlackList = this.codePoints.allExcludedCodePoints(x);
-			Integer codePoint;
-			String str = x.toString();
-			int len = str.length();
-			Set<Integer> included = new LinkedHashSet<>();
-			for (int i = 0; i < len; i += Character.charCount(codePoint)) {
-				codePoint = str.codePointAt(i);
-				if (!excludedFromBlackList.contains(codePoint)) {
-					included.add(codePoint);
+			if (this.codePoints.noneIncluded(x)) {
+				return Optional.empty();
+			}
+			final Set<Integer> included;
+			if (this.codePoints instanceof CompiledCodePoints) {
+				included = ((CompiledCodePoints<E>) this.codePoints)
+						.allIncludedCodePoints(x);
+			}
+			else {
+				Set<Integer> excludedFromBlackList = this.codePoints
+						.allExcludedCodePoints(x);
+				int codePoint;
+				int len = x.length();
+				included = new LinkedHashSet<>();
+				for (int i = 0; i < len; i += Character.charCount(codePoint)) {
+					codePoint = Character.codePointAt(x, i);
+					if (!excludedFromBlackList.contains(codePoint)) {
+						included.add(codePoint);
+					}
 				}
 			}
 			if (included.isEmpty()) {
@@ -66,6 +76,9 @@ public class CodePointsConstraint<T, E extends CharSequence>
 
 	public CodePointsConstraint<T, E> asWhiteList() {
 		this.predicates().add(ConstraintPredicate.withViolatedValue(x -> {
+			if (this.codePoints.allIncluded(x)) {
+				return Optional.empty();
+			}
 			Set<Integer> excludedFromWhiteList = this.codePoints.allExcludedCodePoints(x);
 			if (excludedFromWhiteList.isEmpty()) {
 				return Optional.empty();
@@ -0,0 +1,225 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.charsequence;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import am.ik.yavi.jsr305.Nullable;
+
+/**
+ * Code points compiled into a sorted table of disjoint ranges, which is looked up by
+ * binary search without boxing.<br>
+ * {@link CodePointsRanges} and {@link CodePointsSet} are compiled by
+ * {@link #compile(CodePoints)}. The ranges or the set are read only once, so later
+ * changes to them are not reflected, and any overridden method of them is not called.
+ * <code>CodePointsConstraint</code> uses the given code points as they are, so compile
+ * them explicitly to opt in.
+ *
+ * @since 0.12.0
+ */
+public final class CompiledCodePoints<E extends CharSequence>
+		implements CodePoints.CodePointsRanges<E> {
+	private final int[] begins;
+
+	private final int[] ends;
+
+	private final List<Range> ranges;
+
+	private CompiledCodePoints(List<Range> ranges) {
+		final List<Range> sorted = new ArrayList<>(ranges);
+		sorted.sort(Comparator.comparingInt(Range::begin));
+		final List<Range> merged = new ArrayList<>();
+		for (Range range : sorted) {
+			if (!merged.isEmpty()) {
+				final Range last = merged.get(merged.size() - 1);
+				if ((long) last.end() + 1 >= range.begin()) {
+					if (range.end() > last.end()) {
+						merged.set(merged.size() - 1,
+								Range.of(last.begin(), range.end()));
+					}
+					continue;
+				}
+			}
+			merged.add(range);
+		}
+		this.begins = new int[merged.size()];
+		this.ends = new int[merged.size()];
+		for (int i = 0; i < merged.size(); i++) {
+			this.begins[i] = merged.get(i).begin();
+			this.ends[i] = merged.get(i).end();
+		}
+		this.ranges = Collections.unmodifiableList(merged);
+	}
+
+	/**
+	 * Compile the given code points if they are {@link CodePointsRanges} or
+	 * {@link CodePointsSet}. Any other code points are returned as they are.
+	 *
+	 * @param codePoints code points to compile
+	 * @return compiled code points if possible, otherwise the given code points
+	 */
+	public static <E extends CharSequence> CodePoints<E> compile(
+			CodePoints<E> codePoints) {
+		if (codePoints instanceof CompiledCodePoints) {
+			return codePoints;
+		}
+		if (codePoints instanceof CodePointsRanges) {
+			return ofRanges(((CodePointsRanges<E>) codePoints).asRanges());
+		}
+		if (codePoints instanceof CodePointsSet) {
+			return ofSet(((CodePointsSet<E>) codePoints).asSet());
+		}
+		return codePoints;
+	}
+
+	public static <E extends CharSequence> CompiledCodePoints<E> ofRanges(
+			Collection<? extends Range> ranges) {
+		return new CompiledCodePoints<>(new ArrayList<>(ranges));
+	}
+
+	public static <E extends CharSequence> CompiledCodePoints<E> ofSet(
+			Collection<Integer> codePoints) {
+		final List<Range> ranges = new ArrayList<>(codePoints.size());
+		for (Integer codePoint : codePoints) {
+			ranges.add(Range.single(codePoint));
+		}
+		return new CompiledCodePoints<>(ranges);
+	}
+
+	/**
+	 * @param codePoint code point to check
+	 * @return whether the given code point is included
+	 */
+	public boolean includes(int codePoint) {
+		int low = 0;
+		int high = this.begins.length - 1;
+		while (low <= high) {
+			final int mid = (low + high) >>> 1;
+			if (codePoint < this.begins[mid]) {
+				high = mid - 1;
+			}
+			else if (codePoint > this.ends[mid]) {
+				low = mid + 1;
+			}
+			else {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean allIncluded(@Nullable E s) {
+		if (s == null) {
+			return true;
+		}
+		final int len = s.length();
+		for (int i = 0; i < len;) {
+			final int codePoint = Character.codePointAt(s, i);
+			if (!this.includes(codePoint)) {
+				return false;
+			}
+			i += Character.charCount(codePoint);
+		}
+		return true;
+	}
+
+	@Override
+	public boolean noneIncluded(@Nullable E s) {
+		if (s == null) {
+			return true;
+		}
+		final int len = s.length();
+		for (int i = 0; i < len;) {
+			final int codePoint = Character.codePointAt(s, i);
+			if (this.includes(codePoint)) {
+				return false;
+			}
+			i += Character.charCount(codePoint);
+		}
+		return true;
+	}
+
+	@Override
+	public Set<Integer> allExcludedCodePoints(@Nullable E s) {
+		if (s == null) {
+			return Collections.emptySet();
+		}
+		Set<Integer> excludedCodePoints = null;
+		final int len = s.length();
+		for (int i = 0; i < len;) {
+			final int codePoint = Character.codePointAt(s, i);
+			if (!this.includes(codePoint)) {
+				if (excludedCodePoints == null) {
+					excludedCodePoints = new LinkedHashSet<>();
+				}
+				excludedCodePoints.add(codePoint);
+			}
+			i += Character.charCount(codePoint);
+		}
+		return excludedCodePoints == null ? Collections.emptySet() : excludedCodePoints;
+	}
+
+	/**
+	 * @param s string to check
+	 * @return all code points in the given string that are included, in the order of
+	 * appearance
+	 */
+	public Set<Integer> allIncludedCodePoints(@Nullable E s) {
+		if (s == null) {
+			return Collections.emptySet();
+		}
+		Set<Integer> includedCodePoints = null;
+		final int len = s.length();
+		for (int i = 0; i < len;) {
+			final int codePoint = Character.codePointAt(s, i);
+			if (this.includes(codePoint)) {
+				if (includedCodePoints == null) {
+					includedCodePoints = new LinkedHashSet<>();
+				}
+				includedCodePoints.add(codePoint);
+			}
+			i += Character.charCount(codePoint);
+		}
+		return includedCodePoints == null ? Collections.emptySet() : includedCodePoints;
+	}
+
+	/**
+	 * @return the sorted and merged ranges
+	 */
+	@Override
+	public List<Range> asRanges() {
+		return this.ranges;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder("CompiledCodePoints[");
+		for (int i = 0; i < this.begins.length; i++) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			sb.append(String.format("U+%04X-U+%04X", this.begins[i], this.ends[i]));
+		}
+		return sb.append(']').toString();
+	}
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.charsequence;
+
+import am.ik.yavi.constraint.inetaddress.InetAddressUtils;
+
+/**
+ * Linear-time recognizers for email addresses. They scan the characters once without
+ * backtracking and without allocating.
+ *
+ * @since 0.12.0
+ */
+public final class EmailAddress {
+	private static final int MAX_LOCAL_PART_LENGTH = 64;
+
+	private static final int MAX_DOMAIN_LENGTH = 255;
+
+	private static final int MAX_LABEL_LENGTH = 63;
+
+	private EmailAddress() {
+	}
+
+	/**
+	 * Check the loose syntax used by <code>CharSequenceConstraint#email()</code>: a local
+	 * part and a domain separated by <code>@</code>, each of which is a sequence of atoms
+	 * separated by single dots. An atom is any character except controls, spaces and
+	 * <code>()&lt;&gt;@,;:\".[]</code>.
+	 *
+	 * @param s string to check
+	 * @return whether the given string is an email address
+	 */
+	public static boolean isEmail(CharSequence s) {
+		int at = -1;
+		// whether the current atom is empty
+		boolean emptyAtom = true;
+		for (int i = 0; i < s.length(); i++) {
+			final char c = s.charAt(i);
+			if (c == '@') {
+				if (at >= 0 || emptyAtom) {
+					return false;
+				}
+				at = i;
+			}
+			else if (c == '.') {
+				if (emptyAtom) {
+					return false;
+				}
+			}
+			else if (isSpecial(c)) {
+				return false;
+			}
+			else {
+				emptyAtom = false;
+				continue;
+			}
+			emptyAtom = true;
+		}
+		return at >= 0 && !emptyAtom;
+	}
+
+	/**
+	 * Check the <code>Mailbox</code> syntax of
+	 * <a href="https://datatracker.ietf.org/doc/html/rfc5321#section-4.1.2">RFC 5321</a>:
+	 * a dot-string or quoted-string local part of at most 64 octets, and a domain name of
+	 * at most 255 octets whose labels consist of letters, digits and inner hyphens, or an
+	 * IPv4 or IPv6 address literal. Only ASCII is allowed.
+	 *
+	 * @param s string to check
+	 * @return whether the given string is an RFC 5321 mailbox
+	 */
+	public static boolean isRfc5321Mailbox(CharSequence s) {
+		final int length = s.length();
+		final int at = localPartEnd(s, length);
+		if (at < 0 || at > MAX_LOCAL_PART_LENGTH || at + 1 >= length
+				|| s.charAt(at) != '@') {
+			return false;
+		}
+		final int domainStart = at + 1;
+		if (s.charAt(domainStart) == '[') {
+			return isAddressLiteral(s, domainStart, length);
+		}
+		return isDomain(s, domainStart, length);
+	}
+
+	/**
+	 * @return the index after the local part, or <code>-1</code> if it is invalid
+	 */
+	private static int localPartEnd(CharSequence s, int length) {
+		if (length == 0) {
+			return -1;
+		}
+		int i = 0;
+		if (s.charAt(0) == '"') {
+			// Quoted-string
+			for (i = 1; i < length; i++) {
+				final char c = s.charAt(i);
+				if (c == '"') {
+					return i + 1;
+				}
+				if (c == '\\') {
+					i++;
+					if (i == length || s.charAt(i) < 32 || s.charAt(i) > 126) {
+						return -1;
+					}
+				}
+				else if (c < 32 || c > 126) {
+					return -1;
+				}
+			}
+			return -1;
+		}
+		// Dot-string
+		boolean emptyAtom = true;
+		for (; i < length; i++) {
+			final char c = s.charAt(i);
+			if (c == '.') {
+				if (emptyAtom) {
+					return -1;
+				}
+				emptyAtom = true;
+			}
+			else if (isAtext(c)) {
+				emptyAtom = false;
+			}
+			else {
+				break;
+			}
+		}
+		return emptyAtom ? -1 : i;
+	}
+
+	private static boolean isDomain(CharSequence s, int start, int end) {
+		if (end - start > MAX_DOMAIN_LENGTH) {
+			return false;
+		}
+		int labelStart = start;
+		for (int i = start; i <= end; i++) {
+			if (i == end || s.charAt(i) == '.') {
+				final int labelLength = i - labelStart;
+				if (labelLength == 0 || labelLength > MAX_LABEL_LENGTH
+						|| s.charAt(labelStart) == '-' || s.charAt(i - 1) == '-') {
+					return false;
+				}
+				labelStart = i + 1;
+			}
+			else if (!isLetterOrDigit(s.charAt(i)) && s.charAt(i) != '-') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isAddressLiteral(CharSequence s, int start, int end) {
+		if (end - start < 3 || s.charAt(end - 1) != ']') {
+			return false;
+		}
+		final int from = start + 1;
+		final int to = end - 1;
+		if (regionMatches(s, from, to, "IPv6:")) {
+			for (int i = from + 5; i < to; i++) {
+				final char c = s.charAt(i);
+				// neither a zone id nor a prefix length is allowed
+				if (c == '%' || c == '/') {
+					return false;
+				}
+			}
+			return InetAddressUtils.isIpv6(s, from + 5, to);
+		}
+		return isIpv4(s, from, to);
+	}
+
+	/**
+	 * Check <code>Snum 3("." Snum)</code> where <code>Snum</code> is one to three digits
+	 * representing a value up to 255.
+	 */
+	private static boolean isIpv4(CharSequence s, int from, int to) {
+		int parts = 0;
+		int digits = 0;
+		int value = 0;
+		for (int i = from; i <= to; i++) {
+			final char c = i == to ? '.' : s.charAt(i);
+			if (c == '.') {
+				if (digits == 0 || value > 255) {
+					return false;
+				}
+				parts++;
+				digits = 0;
+				value = 0;
+			}
+			else if (c >= '0' && c <= '9' && digits < 3) {
+				digits++;
+				value = value * 10 + (c - '0');
+			}
+			else {
+				return false;
+			}
+		}
+		return parts == 4;
+	}
+
+	private static boolean regionMatches(CharSequence s, int from, int to,
+			String prefix) {
+		if (to - from < prefix.length()) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length(); i++) {
+			final char c = s.charAt(from + i);
+			final char upper = (c >= 'a' && c <= 'z') ? (char) (c & ~0x20) : c;
+			if (upper != Character.toUpperCase(prefix.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isSpecial(char c) {
+		switch (c) {
+		case '(':
+		case ')':
+		case '<':
+		case '>':
+		case '@':
+		case ',':
+		case ';':
+		case ':':
+		case '\\':
+		case '"':
+		case '.':
+		case '[':
+		case ']':
+			return true;
+		default:
+			return c <= ' ';
+		}
+	}
+
+	static boolean isLetterOrDigit(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+	}
+
+	private static boolean isAtext(char c) {
+		if (isLetterOrDigit(c)) {
+			return true;
+		}
+		switch (c) {
+		case '!':
+		case '#':
+		case '$':
+		case '%':
+		case '&':
+		case '\'':
+		case '*':
+		case '+':
+		case '-':
+		case '/':
+		case '=':
+		case '?':
+		case '^':
+		case '_':
+		case '`':
+		case '{':
+		case '|':
+		case '}':
+		case '~':
+			return true;
+		default:
+			return false;
+		}
+	}
+}
@@ -15,6 +15,9 @@
  */
 package am.ik.yavi.constraint.charsequence;
 
+import java.text.BreakIterator;
+import java.util.regex.Pattern;
+
 import am.ik.yavi.constraint.charsequence.variant.StandardizedVariationSequence;
 import am.ik.yavi.jsr305.Nullable;
 
@@ -62,6 +65,22 @@ public class Emoji {
 
 	private static final String ZERO_WIDTH_JOINER = "\u200D";
 
+	private static final Pattern VARIATION_SELECTOR_OR_KEYCAP = Pattern.compile(
+			"[" + StandardizedVariationSequence.RANGE + COMBINING_ENCLOSING_KEYCAP + "]");
+
+	private static final Pattern SKIN_TONE_MODIFIED = Pattern
+			.compile("([" + WHITE_UP_POINTING_INDEX + "-" + ELF + E140_SKIN_RANGE + "]["
+					+ SKIN_TONE_SELECTOR_RANGE + "])");
+
+	private static final Pattern JOINED = Pattern.compile("([" + ZERO_WIDTH_JOINER + "]["
+			+ SKUL_AND_CROSSBONES + "-" + PERSON + ADHESIVE_BANDAGE + "])");
+
+	private static final Pattern REGIONAL_INDICATOR_PAIR = Pattern
+			.compile("([" + REGIONAL_INDICATOR_SYMBOL_LETTER_RANGE + "]{2})");
+
+	private static final Pattern JOINED_DUMMIES = Pattern.compile(
+			"(" + DUMMY_REPLACEMENT + ZERO_WIDTH_JOINER + DUMMY_REPLACEMENT + ")");
+
 	/**
 	 * Try to return the length of the given string.<br>
 	 * This method does not grantee the exact length.
@@ -73,23 +92,81 @@ public class Emoji {
 		if (str == null || str.isEmpty()) {
 			return 0;
 		}
-		String s = str
-				.replaceAll("[" + StandardizedVariationSequence.RANGE
-						+ COMBINING_ENCLOSING_KEYCAP + "]", "") //
-				.replaceAll(
-						"([" + WHITE_UP_POINTING_INDEX + "-" + ELF + E140_SKIN_RANGE
-								+ "][" + SKIN_TONE_SELECTOR_RANGE + "])",
-						DUMMY_REPLACEMENT)
-				.replaceAll("([" + ZERO_WIDTH_JOINER + "][" + SKUL_AND_CROSSBONES + "-"
-						+ PERSON + ADHESIVE_BANDAGE + "])", "") //
-				.replaceAll("([" + REGIONAL_INDICATOR_SYMBOL_LETTER_RANGE + "]{2})",
-						DUMMY_REPLACEMENT) //
-				.replace(ENGLAND, DUMMY_REPLACEMENT) //
-				.replace(SCOTLAND, DUMMY_REPLACEMENT) //
-				.replace(WALES, DUMMY_REPLACEMENT) //
-				// Support emojis that contains two skin tone selectors introduced in 12
-				.replaceAll("(" + DUMMY_REPLACEMENT + ZERO_WIDTH_JOINER
-						+ DUMMY_REPLACEMENT + ")", DUMMY_REPLACEMENT);
+		if (!containsSpecialChar(str)) {
+			// none of the patterns below can match
+			return str.length();
+		}
+		String s = VARIATION_SELECTOR_OR_KEYCAP.matcher(str).replaceAll("");
+		s = SKIN_TONE_MODIFIED.matcher(s).replaceAll(DUMMY_REPLACEMENT);
+		final boolean joined = s.indexOf(ZERO_WIDTH_JOINER) >= 0;
+		if (joined) {
+			s = JOINED.matcher(s).replaceAll("");
+		}
+		s = REGIONAL_INDICATOR_PAIR.matcher(s).replaceAll(DUMMY_REPLACEMENT);
+		s = replace(s, ENGLAND);
+		s = replace(s, SCOTLAND);
+		s = replace(s, WALES);
+		if (joined) {
+			// Support emojis that contains two skin tone selectors introduced in 12
+			s = JOINED_DUMMIES.matcher(s).replaceAll(DUMMY_REPLACEMENT);
+		}
 		return s.codePointCount(0, s.length());
 	}
+
+	/**
+	 * Return the number of extended grapheme clusters in the given string, as determined
+	 * by {@link BreakIterator#getCharacterInstance()}.<br>
+	 * How closely this follows <a href="https://unicode.org/reports/tr29/">UAX #29</a>
+	 * depends on the JDK version. Emoji sequences are segmented as extended grapheme
+	 * clusters since JDK 20.
+	 *
+	 * @param str the string to count
+	 * @return the number of grapheme clusters
+	 * @since 0.12.0
+	 */
+	public static int graphemeClusterCount(@Nullable String str) {
+		if (str == null || str.isEmpty()) {
+			return 0;
+		}
+		if (!containsSpecialChar(str) && !containsCombiningChar(str)) {
+			return str.length();
+		}
+		final BreakIterator iterator = BreakIterator.getCharacterInstance();
+		iterator.setText(str);
+		int count = 0;
+		while (iterator.next() != BreakIterator.DONE) {
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Whether the given string contains a surrogate, a zero width joiner, a variation
+	 * selector or a combining enclosing keycap, without which
+	 * {@link #bestEffortCount(String)} is the same as the length.
+	 */
+	private static boolean containsSpecialChar(String s) {
+		for (int i = 0; i < s.length(); i++) {
+			final char c = s.charAt(i);
+			if (c >= '\u200D' && (c == '\u200D' || c == '\u20E3'
+					|| Character.isSurrogate(c) || (c >= '\uFE00' && c <= '\uFE0F'))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean containsCombiningChar(String s) {
+		for (int i = 0; i < s.length(); i++) {
+			final char c = s.charAt(i);
+			if (c >= 0x0300 || c == '\r') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String replace(String s, String target) {
+		return s.contains(target) ? s.replace(target, DUMMY_REPLACEMENT) : s;
+	}
 }
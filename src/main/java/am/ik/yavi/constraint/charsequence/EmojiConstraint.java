@@ -31,9 +31,23 @@ import am.ik.yavi.core.ConstraintPredicate;
 public class EmojiConstraint<T, E extends CharSequence>
 		extends CharSequenceConstraint<T, E> {
 
+	private final boolean graphemeCluster;
+
 	public EmojiConstraint(CharSequenceConstraint<T, E> delegate,
 			Normalizer.Form normalizerForm, VariantOptions variantOptions) {
+		this(delegate, normalizerForm, variantOptions, false);
+	}
+
+	/**
+	 * @param graphemeCluster whether to count extended grapheme clusters instead of the
+	 *     best effort emoji count
+	 * @since 0.12.0
+	 */
+	public EmojiConstraint(CharSequenceConstraint<T, E> delegate,
+			Normalizer.Form normalizerForm, VariantOptions variantOptions,
+			boolean graphemeCluster) {
 		super(normalizerForm, variantOptions);
+		this.graphemeCluster = graphemeCluster;
 		this.predicates().addAll(delegate.predicates());
 	}
 
@@ -82,6 +96,8 @@ public class EmojiConstraint<T, E extends CharSequence>
 	}
 
 	private int size(E x) {
-		return Emoji.bestEffortCount(this.normalize(x.toString()));
+		final String s = this.normalize(x.toString());
+		return this.graphemeCluster ? Emoji.graphemeClusterCount(s)
+				: Emoji.bestEffortCount(s);
 	}
 }
@@ -0,0 +1,235 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.charsequence;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+import am.ik.yavi.jsr305.Nullable;
+
+/**
+ * A regular expression whose matching is bounded, so that a pathological combination of a
+ * pattern and an input can not occupy a thread indefinitely.<br>
+ * A pattern created by {@link #of(Pattern, long)} or {@link #of(Pattern, Duration)} runs
+ * <code>java.util.regex</code> on a view of the input that counts every character read by
+ * the matcher and gives up when the budget is exhausted or the current thread is
+ * interrupted. A pattern created by {@link #linear(String)} runs an engine whose time is
+ * linear to the length of the input and never exhausts.
+ *
+ * @since 0.12.0
+ */
+public final class GuardedPattern {
+	// how many characters are read between checks of the clock and the interrupt flag
+	private static final int CHECK_INTERVAL_MASK = 0x3FF;
+
+	private final String pattern;
+
+	@Nullable
+	private final Pattern regex;
+
+	@Nullable
+	private final LinearPattern linear;
+
+	private final long maxSteps;
+
+	// 0 if not timed
+	private final long timeoutNanos;
+
+	/**
+	 * The outcome of matching an input against a guarded pattern.
+	 */
+	public enum Outcome {
+		MATCHED, NOT_MATCHED, EXHAUSTED
+	}
+
+	private GuardedPattern(String pattern, @Nullable Pattern regex,
+			@Nullable LinearPattern linear, long maxSteps, long timeoutNanos) {
+		this.pattern = pattern;
+		this.regex = regex;
+		this.linear = linear;
+		this.maxSteps = maxSteps;
+		this.timeoutNanos = timeoutNanos;
+	}
+
+	/**
+	 * Compile the given regular expression with the budget of the characters read by the
+	 * matcher. The budget is an approximation of the work, which grows with backtracking.
+	 *
+	 * @param regex regular expression
+	 * @param maxSteps how many times the matcher may read a character of the input
+	 * @return guarded pattern
+	 */
+	public static GuardedPattern of(String regex, long maxSteps) {
+		return of(Pattern.compile(regex), maxSteps);
+	}
+
+	/**
+	 * Guard the given pattern with the budget of the characters read by the matcher. The
+	 * budget is an approximation of the work, which grows with backtracking.
+	 *
+	 * @param regex pattern
+	 * @param maxSteps how many times the matcher may read a character of the input
+	 * @return guarded pattern
+	 */
+	public static GuardedPattern of(Pattern regex, long maxSteps) {
+		Objects.requireNonNull(regex, "regex must not be null");
+		if (maxSteps <= 0) {
+			throw new IllegalArgumentException("maxSteps must be positive");
+		}
+		return new GuardedPattern(regex.pattern(), regex, null, maxSteps, 0);
+	}
+
+	/**
+	 * Guard the given pattern with the time budget of each matching. The clock is checked
+	 * periodically while the matcher reads the input, so a matching may take slightly
+	 * longer than the timeout. Unlike a budget of steps, whether the budget is exhausted
+	 * depends on the load of the machine.
+	 *
+	 * @param regex pattern
+	 * @param timeout the time a matching may take
+	 * @return guarded pattern
+	 */
+	public static GuardedPattern of(Pattern regex, Duration timeout) {
+		Objects.requireNonNull(regex, "regex must not be null");
+		if (timeout.isNegative() || timeout.isZero()) {
+			throw new IllegalArgumentException("timeout must be positive");
+		}
+		return new GuardedPattern(regex.pattern(), regex, null, Long.MAX_VALUE,
+				timeout.toNanos());
+	}
+
+	/**
+	 * Compile the given regular expression with the engine that runs in time linear to
+	 * the length of the input. Only the regular subset of the
+	 * <code>java.util.regex</code> syntax is supported: literals, escapes,
+	 * <code>.</code>, character classes without nesting or intersection,
+	 * <code>\d \D \w \W \s \S</code>, groups, alternations, greedy and reluctant
+	 * quantifiers, and <code>^ $ \A \z \Z</code>. A supported pattern matches the same
+	 * strings as {@link Pattern#matches(String, CharSequence)}.
+	 *
+	 * @param regex regular expression
+	 * @return guarded pattern
+	 * @throws IllegalArgumentException if the regular expression is invalid or uses a
+	 *     construct that needs backtracking, such as back references, lookarounds,
+	 *     possessive quantifiers or flags
+	 */
+	public static GuardedPattern linear(String regex) {
+		return new GuardedPattern(regex, null, LinearPattern.compile(regex),
+				Long.MAX_VALUE, 0);
+	}
+
+	/**
+	 * @return the source of the regular expression
+	 */
+	public String pattern() {
+		return this.pattern;
+	}
+
+	/**
+	 * Match the entire input against the pattern.
+	 *
+	 * @param input the input to match
+	 * @return the outcome of the matching
+	 */
+	public Outcome outcome(CharSequence input) {
+		if (this.linear != null) {
+			return this.linear.matches(input) ? Outcome.MATCHED : Outcome.NOT_MATCHED;
+		}
+		final BudgetedCharSequence budgeted = new BudgetedCharSequence(input,
+				this.maxSteps, this.timeoutNanos);
+		try {
+			return Objects.requireNonNull(this.regex).matcher(budgeted).matches()
+					? Outcome.MATCHED
+					: Outcome.NOT_MATCHED;
+		}
+		catch (BudgetExhaustedException e) {
+			return Outcome.EXHAUSTED;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return this.pattern;
+	}
+
+	/**
+	 * A view of the input that aborts the matching by throwing
+	 * {@link BudgetExhaustedException} from {@link #charAt(int)}.
+	 */
+	private static final class BudgetedCharSequence implements CharSequence {
+		private final CharSequence delegate;
+
+		private final long maxSteps;
+
+		private final long timeoutNanos;
+
+		private final long startNanos;
+
+		private long steps = 0;
+
+		BudgetedCharSequence(CharSequence delegate, long maxSteps, long timeoutNanos) {
+			this.delegate = delegate;
+			this.maxSteps = maxSteps;
+			this.timeoutNanos = timeoutNanos;
+			this.startNanos = timeoutNanos > 0 ? System.nanoTime() : 0;
+		}
+
+		@Override
+		public int length() {
+			return this.delegate.length();
+		}
+
+		@Override
+		public char charAt(int index) {
+			final long steps = ++this.steps;
+			if (steps > this.maxSteps) {
+				throw BudgetExhaustedException.INSTANCE;
+			}
+			if ((steps & CHECK_INTERVAL_MASK) == 0
+					&& (Thread.currentThread().isInterrupted()
+							|| (this.timeoutNanos > 0 && System.nanoTime()
+									- this.startNanos > this.timeoutNanos))) {
+				throw BudgetExhaustedException.INSTANCE;
+			}
+			return this.delegate.charAt(index);
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			return this.delegate.subSequence(start, end);
+		}
+
+		@Override
+		public String toString() {
+			return this.delegate.toString();
+		}
+	}
+
+	/**
+	 * Thrown from the matcher to abort the matching. It is always caught, hence neither a
+	 * stack trace nor a new instance is needed.
+	 */
+	private static final class BudgetExhaustedException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		static final BudgetExhaustedException INSTANCE = new BudgetExhaustedException();
+
+		private BudgetExhaustedException() {
+			super(null, null, false, false);
+		}
+	}
+}
@@ -0,0 +1,759 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.charsequence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A regular expression engine that runs in time linear to the length of the input. The
+ * pattern is compiled into a Thompson NFA, which is simulated by tracking the set of
+ * active states instead of backtracking.<br>
+ * Only the regular subset of the <code>java.util.regex</code> syntax is supported:
+ * literals, escapes, <code>.</code>, character classes without nesting or intersection,
+ * <code>\d \D \w \W \s \S</code>, groups, alternations, greedy and reluctant quantifiers,
+ * and <code>^ $ \A \z \Z</code>. Everything that needs backtracking, such as back
+ * references, lookarounds and possessive quantifiers, is rejected, as well as flags. A
+ * supported pattern matches the same strings as {@link java.util.regex.Pattern}.
+ */
+final class LinearPattern {
+	// the upper bound of the number of instructions, which repetitions are expanded into
+	static final int MAX_PROGRAM_SIZE = 10_000;
+
+	private static final int CLASS = 0;
+
+	private static final int SPLIT = 1;
+
+	private static final int JUMP = 2;
+
+	private static final int BEGIN = 3;
+
+	private static final int END = 4;
+
+	private static final int DOLLAR = 5;
+
+	private static final int MATCH = 6;
+
+	private static final int MAX_CODE_POINT = Character.MAX_CODE_POINT;
+
+	private static final int[] DIGIT = { '0', '9' };
+
+	private static final int[] WORD = { '0', '9', 'A', 'Z', '_', '_', 'a', 'z' };
+
+	private static final int[] SPACE = { '\t', '\r', ' ', ' ' };
+
+	// any character except line terminators
+	private static final int[] DOT = complement(
+			new int[] { '\n', '\n', '\r', '\r', '\u0085', '\u0085', '\u2028', '\u2029' });
+
+	private final int[] ops;
+
+	private final int[] args1;
+
+	private final int[] args2;
+
+	private final int[][] classes;
+
+	private LinearPattern(int[] ops, int[] args1, int[] args2, int[][] classes) {
+		this.ops = ops;
+		this.args1 = args1;
+		this.args2 = args2;
+		this.classes = classes;
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the pattern is invalid or not supported
+	 */
+	static LinearPattern compile(String regex) {
+		final Node node = new Parser(regex).parse();
+		final Program program = new Program(regex);
+		node.emit(program);
+		program.add(MATCH, 0, 0);
+		return program.build();
+	}
+
+	boolean matches(CharSequence s) {
+		final int size = this.ops.length;
+		int[] current = new int[size];
+		int[] next = new int[size];
+		final int[] marks = new int[size];
+		final int[] stack = new int[2 * size + 1];
+		final int length = s.length();
+		int mark = 1;
+		int count = this.addState(current, 0, 0, s, 0, marks, mark, stack);
+		int pos = 0;
+		while (pos < length) {
+			if (count == 0) {
+				return false;
+			}
+			final int cp = Character.codePointAt(s, pos);
+			final int nextPos = pos + Character.charCount(cp);
+			mark++;
+			int nextCount = 0;
+			for (int i = 0; i < count; i++) {
+				final int pc = current[i];
+				if (this.ops[pc] == CLASS && contains(this.classes[this.args1[pc]], cp)) {
+					nextCount = this.addState(next, nextCount, pc + 1, s, nextPos, marks,
+							mark, stack);
+				}
+			}
+			final int[] tmp = current;
+			current = next;
+			next = tmp;
+			count = nextCount;
+			pos = nextPos;
+		}
+		for (int i = 0; i < count; i++) {
+			if (this.ops[current[i]] == MATCH) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Add the given state and all states reachable from it without consuming a character.
+	 *
+	 * @return the new number of the states in the list
+	 */
+	private int addState(int[] list, int count, int start, CharSequence s, int pos,
+			int[] marks, int mark, int[] stack) {
+		int sp = 0;
+		stack[sp++] = start;
+		while (sp > 0) {
+			final int pc = stack[--sp];
+			if (marks[pc] == mark) {
+				continue;
+			}
+			marks[pc] = mark;
+			switch (this.ops[pc]) {
+			case SPLIT:
+				stack[sp++] = this.args2[pc];
+				stack[sp++] = this.args1[pc];
+				break;
+			case JUMP:
+				stack[sp++] = this.args1[pc];
+				break;
+			case BEGIN:
+				if (pos == 0) {
+					stack[sp++] = pc + 1;
+				}
+				break;
+			case END:
+				if (pos == s.length()) {
+					stack[sp++] = pc + 1;
+				}
+				break;
+			case DOLLAR:
+				if (isDollar(s, pos)) {
+					stack[sp++] = pc + 1;
+				}
+				break;
+			default:
+				list[count++] = pc;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Same as <code>$</code> without <code>MULTILINE</code>: the end of the input or
+	 * before the line terminator at the end of the input.
+	 */
+	private static boolean isDollar(CharSequence s, int pos) {
+		final int length = s.length();
+		if (pos == length) {
+			return true;
+		}
+		if (pos == length - 2) {
+			return s.charAt(pos) == '\r' && s.charAt(pos + 1) == '\n';
+		}
+		if (pos == length - 1) {
+			final char c = s.charAt(pos);
+			if (c == '\n') {
+				// not between \r and \n
+				return pos == 0 || s.charAt(pos - 1) != '\r';
+			}
+			return isLineTerminator(c);
+		}
+		return false;
+	}
+
+	private static boolean isLineTerminator(int c) {
+		return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+	}
+
+	private static boolean contains(int[] ranges, int cp) {
+		int low = 0;
+		int high = ranges.length / 2 - 1;
+		while (low <= high) {
+			final int mid = (low + high) >>> 1;
+			if (cp < ranges[2 * mid]) {
+				high = mid - 1;
+			}
+			else if (cp > ranges[2 * mid + 1]) {
+				low = mid + 1;
+			}
+			else {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static final class Program {
+		private final String regex;
+
+		private final List<int[]> classes = new ArrayList<>();
+
+		private int[] ops = new int[16];
+
+		private int[] args1 = new int[16];
+
+		private int[] args2 = new int[16];
+
+		private int size = 0;
+
+		Program(String regex) {
+			this.regex = regex;
+		}
+
+		int size() {
+			return this.size;
+		}
+
+		int add(int op, int arg1, int arg2) {
+			if (this.size == MAX_PROGRAM_SIZE) {
+				throw new IllegalArgumentException(
+						"The pattern is too large for the linear engine: " + this.regex);
+			}
+			if (this.size == this.ops.length) {
+				this.ops = Arrays.copyOf(this.ops, this.size * 2);
+				this.args1 = Arrays.copyOf(this.args1, this.size * 2);
+				this.args2 = Arrays.copyOf(this.args2, this.size * 2);
+			}
+			this.ops[this.size] = op;
+			this.args1[this.size] = arg1;
+			this.args2[this.size] = arg2;
+			return this.size++;
+		}
+
+		void addClass(int[] ranges) {
+			this.add(CLASS, this.classes.size(), 0);
+			this.classes.add(ranges);
+		}
+
+		void setArg1(int pc, int arg) {
+			this.args1[pc] = arg;
+		}
+
+		void setArg2(int pc, int arg) {
+			this.args2[pc] = arg;
+		}
+
+		LinearPattern build() {
+			return new LinearPattern(Arrays.copyOf(this.ops, this.size),
+					Arrays.copyOf(this.args1, this.size),
+					Arrays.copyOf(this.args2, this.size),
+					this.classes.toArray(new int[0][]));
+		}
+	}
+
+	private interface Node {
+		void emit(Program program);
+	}
+
+	private static final class CharClass implements Node {
+		private final int[] ranges;
+
+		CharClass(int[] ranges) {
+			this.ranges = ranges;
+		}
+
+		@Override
+		public void emit(Program program) {
+			program.addClass(this.ranges);
+		}
+	}
+
+	private static final class Assertion implements Node {
+		private final int op;
+
+		Assertion(int op) {
+			this.op = op;
+		}
+
+		@Override
+		public void emit(Program program) {
+			program.add(this.op, 0, 0);
+		}
+	}
+
+	private static final class Concatenation implements Node {
+		private final List<Node> nodes;
+
+		Concatenation(List<Node> nodes) {
+			this.nodes = nodes;
+		}
+
+		@Override
+		public void emit(Program program) {
+			for (Node node : this.nodes) {
+				node.emit(program);
+			}
+		}
+	}
+
+	private static final class Alternation implements Node {
+		private final List<Node> nodes;
+
+		Alternation(List<Node> nodes) {
+			this.nodes = nodes;
+		}
+
+		@Override
+		public void emit(Program program) {
+			final int[] jumps = new int[this.nodes.size() - 1];
+			for (int i = 0; i < jumps.length; i++) {
+				final int split = program.add(SPLIT, 0, 0);
+				program.setArg1(split, program.size());
+				this.nodes.get(i).emit(program);
+				jumps[i] = program.add(JUMP, 0, 0);
+				program.setArg2(split, program.size());
+			}
+			this.nodes.get(jumps.length).emit(program);
+			for (int jump : jumps) {
+				program.setArg1(jump, program.size());
+			}
+		}
+	}
+
+	private static final class Repetition implements Node {
+		private final Node node;
+
+		private final int min;
+
+		// -1 if unbounded
+		private final int max;
+
+		Repetition(Node node, int min, int max) {
+			this.node = node;
+			this.min = min;
+			this.max = max;
+		}
+
+		@Override
+		public void emit(Program program) {
+			for (int i = 0; i < this.min; i++) {
+				this.node.emit(program);
+			}
+			if (this.max < 0) {
+				final int split = program.add(SPLIT, 0, 0);
+				program.setArg1(split, program.size());
+				this.node.emit(program);
+				program.add(JUMP, split, 0);
+				program.setArg2(split, program.size());
+				return;
+			}
+			final int[] splits = new int[this.max - this.min];
+			for (int i = 0; i < splits.length; i++) {
+				splits[i] = program.add(SPLIT, 0, 0);
+				program.setArg1(splits[i], program.size());
+				this.node.emit(program);
+			}
+			for (int split : splits) {
+				program.setArg2(split, program.size());
+			}
+		}
+	}
+
+	private static final class Parser {
+		private final String regex;
+
+		private int pos = 0;
+
+		Parser(String regex) {
+			this.regex = regex;
+		}
+
+		Node parse() {
+			final Node node = this.alternation();
+			if (this.pos < this.regex.length()) {
+				throw this.error("Unmatched closing ')'");
+			}
+			return node;
+		}
+
+		private Node alternation() {
+			final List<Node> nodes = new ArrayList<>();
+			nodes.add(this.concatenation());
+			while (this.pos < this.regex.length() && this.peek() == '|') {
+				this.pos++;
+				nodes.add(this.concatenation());
+			}
+			return nodes.size() == 1 ? nodes.get(0) : new Alternation(nodes);
+		}
+
+		private Node concatenation() {
+			final List<Node> nodes = new ArrayList<>();
+			while (this.pos < this.regex.length() && this.peek() != '|'
+					&& this.peek() != ')') {
+				nodes.add(this.repetition());
+			}
+			return nodes.size() == 1 ? nodes.get(0) : new Concatenation(nodes);
+		}
+
+		private Node repetition() {
+			final Node atom = this.atom();
+			if (this.pos == this.regex.length()) {
+				return atom;
+			}
+			final int min;
+			final int max;
+			switch (this.peek()) {
+			case '*':
+				min = 0;
+				max = -1;
+				break;
+			case '+':
+				min = 1;
+				max = -1;
+				break;
+			case '?':
+				min = 0;
+				max = 1;
+				break;
+			case '{':
+				this.pos++;
+				min = this.number();
+				if (this.pos < this.regex.length() && this.peek() == ',') {
+					this.pos++;
+					max = this.pos < this.regex.length() && this.peek() == '}' ? -1
+							: this.number();
+				}
+				else {
+					max = min;
+				}
+				if (this.pos == this.regex.length() || this.peek() != '}') {
+					throw this.error("Unclosed counted closure");
+				}
+				if (max >= 0 && max < min) {
+					throw this.error("Illegal repetition range");
+				}
+				break;
+			default:
+				return atom;
+			}
+			if (atom instanceof Assertion) {
+				throw this.error("Quantified assertions are not supported");
+			}
+			this.pos++;
+			if (this.pos < this.regex.length()) {
+				if (this.peek() == '+') {
+					throw this.error("Possessive quantifiers are not supported");
+				}
+				if (this.peek() == '?') {
+					// a reluctant quantifier matches the same strings as a greedy one
+					this.pos++;
+				}
+			}
+			if (this.pos < this.regex.length() && isQuantifier(this.peek())) {
+				throw this.error("Dangling meta character");
+			}
+			return new Repetition(atom, min, max);
+		}
+
+		private int number() {
+			final int start = this.pos;
+			long value = 0;
+			while (this.pos < this.regex.length() && this.peek() >= '0'
+					&& this.peek() <= '9') {
+				value = value * 10 + (this.peek() - '0');
+				if (value > MAX_PROGRAM_SIZE) {
+					throw new IllegalArgumentException(
+							"The pattern is too large for the linear engine: "
+									+ this.regex);
+				}
+				this.pos++;
+			}
+			if (this.pos == start) {
+				throw this.error("Illegal repetition");
+			}
+			return (int) value;
+		}
+
+		private Node atom() {
+			final int c = this.regex.codePointAt(this.pos);
+			this.pos += Character.charCount(c);
+			switch (c) {
+			case '(':
+				return this.group();
+			case '[':
+				return new CharClass(this.characterClass());
+			case '.':
+				return new CharClass(DOT);
+			case '^':
+				return new Assertion(BEGIN);
+			case '$':
+				return new Assertion(DOLLAR);
+			case '\\':
+				return this.escape(false);
+			case '*':
+			case '+':
+			case '?':
+			case '{':
+				throw this.error("Dangling meta character");
+			default:
+				return new CharClass(new int[] { c, c });
+			}
+		}
+
+		private Node group() {
+			if (this.pos < this.regex.length() && this.peek() == '?') {
+				this.pos++;
+				if (this.pos < this.regex.length() && this.peek() == ':') {
+					this.pos++;
+				}
+				else if (this.pos + 1 < this.regex.length() && this.peek() == '<'
+						&& isAsciiLetter(this.regex.charAt(this.pos + 1))) {
+					// a named group, which is not captured anyway
+					this.pos++;
+					while (this.pos < this.regex.length()
+							&& isAsciiLetterOrDigit(this.peek())) {
+						this.pos++;
+					}
+					if (this.pos == this.regex.length() || this.peek() != '>') {
+						throw this.error("Named capturing group is missing trailing '>'");
+					}
+					this.pos++;
+				}
+				else {
+					throw this.error(
+							"Lookarounds, atomic groups and flags are not supported");
+				}
+			}
+			final Node node = this.alternation();
+			if (this.pos == this.regex.length() || this.peek() != ')') {
+				throw this.error("Unclosed group");
+			}
+			this.pos++;
+			return node;
+		}
+
+		private int[] characterClass() {
+			boolean negated = false;
+			if (this.pos < this.regex.length() && this.peek() == '^') {
+				negated = true;
+				this.pos++;
+			}
+			final List<int[]> ranges = new ArrayList<>();
+			boolean first = true;
+			while (true) {
+				if (this.pos == this.regex.length()) {
+					throw this.error("Unclosed character class");
+				}
+				final char c = this.peek();
+				if (c == ']' && !first) {
+					this.pos++;
+					break;
+				}
+				if (c == '[' || c == ']'
+						|| (c == '&' && this.pos + 1 < this.regex.length()
+								&& this.regex.charAt(this.pos + 1) == '&')) {
+					throw this.error(
+							"Nested classes, intersections and leading ']' are not supported");
+				}
+				first = false;
+				final int[] start = this.classAtom();
+				if (start.length == 2 && start[0] == start[1]
+						&& this.pos + 1 < this.regex.length() && this.peek() == '-'
+						&& this.regex.charAt(this.pos + 1) != ']') {
+					this.pos++;
+					if (this.peek() == '[') {
+						throw this.error("Illegal character range");
+					}
+					final int[] end = this.classAtom();
+					if (end.length != 2 || end[0] != end[1] || end[0] < start[0]) {
+						throw this.error("Illegal character range");
+					}
+					ranges.add(new int[] { start[0], end[0] });
+				}
+				else {
+					ranges.add(start);
+				}
+			}
+			final int[] merged = merge(ranges);
+			return negated ? complement(merged) : merged;
+		}
+
+		private int[] classAtom() {
+			final int c = this.regex.codePointAt(this.pos);
+			this.pos += Character.charCount(c);
+			if (c != '\\') {
+				return new int[] { c, c };
+			}
+			final Node node = this.escape(true);
+			return ((CharClass) node).ranges;
+		}
+
+		private Node escape(boolean inClass) {
+			if (this.pos == this.regex.length()) {
+				throw this.error("Unexpected internal error");
+			}
+			final int c = this.regex.codePointAt(this.pos);
+			this.pos += Character.charCount(c);
+			switch (c) {
+			case 't':
+				return literal('\t');
+			case 'n':
+				return literal('\n');
+			case 'r':
+				return literal('\r');
+			case 'f':
+				return literal('\f');
+			case 'a':
+				return literal('\u0007');
+			case 'e':
+				return literal('\u001B');
+			case 'x':
+				return literal(this.hex(2));
+			case 'u':
+				return literal(this.hex(4));
+			case 'd':
+				return new CharClass(DIGIT);
+			case 'D':
+				return new CharClass(complement(DIGIT));
+			case 'w':
+				return new CharClass(WORD);
+			case 'W':
+				return new CharClass(complement(WORD));
+			case 's':
+				return new CharClass(SPACE);
+			case 'S':
+				return new CharClass(complement(SPACE));
+			case 'A':
+				if (!inClass) {
+					return new Assertion(BEGIN);
+				}
+				break;
+			case 'z':
+				if (!inClass) {
+					return new Assertion(END);
+				}
+				break;
+			case 'Z':
+				if (!inClass) {
+					return new Assertion(DOLLAR);
+				}
+				break;
+			default:
+				if (!isAsciiLetterOrDigit(c)) {
+					return literal(c);
+				}
+			}
+			throw this.error("Unsupported escape sequence");
+		}
+
+		private int hex(int digits) {
+			if (this.pos + digits > this.regex.length()) {
+				throw this.error("Illegal hexadecimal escape sequence");
+			}
+			int value = 0;
+			for (int i = 0; i < digits; i++) {
+				final int digit = Character.digit(this.regex.charAt(this.pos + i), 16);
+				if (digit < 0 || this.regex.charAt(this.pos + i) > 'f') {
+					throw this.error("Illegal hexadecimal escape sequence");
+				}
+				value = value * 16 + digit;
+			}
+			this.pos += digits;
+			if (digits == 4 && Character.isSurrogate((char) value)) {
+				// Pattern combines escaped surrogate pairs
+				throw this.error("Escaped surrogates are not supported");
+			}
+			return value;
+		}
+
+		private char peek() {
+			return this.regex.charAt(this.pos);
+		}
+
+		private IllegalArgumentException error(String description) {
+			return new IllegalArgumentException(
+					description + " near index " + this.pos + ": " + this.regex);
+		}
+	}
+
+	private static CharClass literal(int c) {
+		return new CharClass(new int[] { c, c });
+	}
+
+	private static boolean isQuantifier(char c) {
+		return c == '*' || c == '+' || c == '?' || c == '{';
+	}
+
+	private static boolean isAsciiLetter(int c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+	}
+
+	private static boolean isAsciiLetterOrDigit(int c) {
+		return isAsciiLetter(c) || (c >= '0' && c <= '9');
+	}
+
+	/**
+	 * Sort and merge the given ranges into <code>[low0, high0, low1, high1, ...]</code>.
+	 */
+	private static int[] merge(List<int[]> ranges) {
+		final List<int[]> pairs = new ArrayList<>();
+		for (int[] r : ranges) {
+			for (int i = 0; i < r.length; i += 2) {
+				pairs.add(new int[] { r[i], r[i + 1] });
+			}
+		}
+		pairs.sort((a, b) -> Integer.compare(a[0], b[0]));
+		final int[] merged = new int[pairs.size() * 2];
+		int size = 0;
+		for (int[] pair : pairs) {
+			if (size > 0 && pair[0] <= merged[size - 1] + 1) {
+				merged[size - 1] = Math.max(merged[size - 1], pair[1]);
+			}
+			else {
+				merged[size++] = pair[0];
+				merged[size++] = pair[1];
+			}
+		}
+		return Arrays.copyOf(merged, size);
+	}
+
+	private static int[] complement(int[] ranges) {
+		final int[] complement = new int[ranges.length + 2];
+		int size = 0;
+		int next = 0;
+		for (int i = 0; i < ranges.length; i += 2) {
+			if (ranges[i] > next) {
+				complement[size++] = next;
+				complement[size++] = ranges[i] - 1;
+			}
+			next = ranges[i + 1] + 1;
+		}
+		if (next <= MAX_CODE_POINT) {
+			complement[size++] = next;
+			complement[size++] = MAX_CODE_POINT;
+		}
+		return Arrays.copyOf(complement, size);
+	}
+}
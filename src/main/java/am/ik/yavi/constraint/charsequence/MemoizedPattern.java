@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.charsequence;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import am.ik.yavi.jsr305.Nullable;
+
+/**
+ * A <code>Supplier&lt;Pattern&gt;</code> that caches the pattern returned by the delegate
+ * until {@link #invalidate()} is called.<br>
+ * This is useful for patterns loaded dynamically (e.g. from a configuration) that should
+ * not be looked up or compiled on every validation but may be reloaded.
+ *
+ * @since 0.12.0
+ */
+public final class MemoizedPattern implements Supplier<Pattern> {
+	private final Supplier<Pattern> delegate;
+
+	@Nullable
+	private volatile Pattern pattern;
+
+	private MemoizedPattern(Supplier<Pattern> delegate) {
+		this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+	}
+
+	/**
+	 * Create a memoizing supplier. If the given supplier is already a
+	 * <code>MemoizedPattern</code>, it is returned as it is.
+	 *
+	 * @param delegate the supplier to memoize
+	 * @return memoizing supplier
+	 */
+	public static MemoizedPattern of(Supplier<Pattern> delegate) {
+		if (delegate instanceof MemoizedPattern) {
+			return (MemoizedPattern) delegate;
+		}
+		return new MemoizedPattern(delegate);
+	}
+
+	@Override
+	public Pattern get() {
+		final Pattern cached = this.pattern;
+		if (cached != null) {
+			return cached;
+		}
+		synchronized (this) {
+			if (this.pattern == null) {
+				this.pattern = Objects.requireNonNull(this.delegate.get(),
+						"supplied pattern must not be null");
+			}
+			return this.pattern;
+		}
+	}
+
+	/**
+	 * Discard the cached pattern so that the next {@link #get()} asks the delegate again.
+	 */
+	public void invalidate() {
+		this.pattern = null;
+	}
+}
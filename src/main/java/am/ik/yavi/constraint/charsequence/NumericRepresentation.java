@@ -0,0 +1,342 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.charsequence;
+
+/**
+ * Recognizers for the string representations of numbers. Each method accepts exactly the
+ * strings that the corresponding JDK parser accepts, but it scans the characters instead
+ * of parsing them, so it never throws and never allocates. Rejecting an invalid string
+ * costs as little as accepting a valid one.
+ *
+ * @since 0.12.0
+ */
+public final class NumericRepresentation {
+	private NumericRepresentation() {
+	}
+
+	/**
+	 * @param s string to check
+	 * @return whether {@link Byte#parseByte(String)} accepts the given string
+	 */
+	public static boolean isByte(CharSequence s) {
+		return isIntegral(s, Byte.MIN_VALUE, Byte.MAX_VALUE);
+	}
+
+	/**
+	 * @param s string to check
+	 * @return whether {@link Short#parseShort(String)} accepts the given string
+	 */
+	public static boolean isShort(CharSequence s) {
+		return isIntegral(s, Short.MIN_VALUE, Short.MAX_VALUE);
+	}
+
+	/**
+	 * @param s string to check
+	 * @return whether {@link Integer#parseInt(String)} accepts the given string
+	 */
+	public static boolean isInteger(CharSequence s) {
+		return isIntegral(s, Integer.MIN_VALUE, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @param s string to check
+	 * @return whether {@link Long#parseLong(String)} accepts the given string
+	 */
+	public static boolean isLong(CharSequence s) {
+		return isIntegral(s, Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+	/**
+	 * @param s string to check
+	 * @return whether {@link Float#parseFloat(String)} accepts the given string
+	 */
+	public static boolean isFloat(CharSequence s) {
+		// both are parsed by the same grammar
+		return isDouble(s);
+	}
+
+	/**
+	 * Check the grammar of {@link Double#valueOf(String)}: optional surrounding
+	 * whitespaces and sign, then <code>NaN</code>, <code>Infinity</code>, a decimal
+	 * floating-point literal or a hexadecimal one, followed by an optional type suffix.
+	 *
+	 * @param s string to check
+	 * @return whether {@link Double#parseDouble(String)} accepts the given string
+	 */
+	public static boolean isDouble(CharSequence s) {
+		// same as String#trim()
+		int start = 0;
+		int end = s.length();
+		while (start < end && s.charAt(start) <= ' ') {
+			start++;
+		}
+		while (start < end && s.charAt(end - 1) <= ' ') {
+			end--;
+		}
+		if (start == end) {
+			return false;
+		}
+		int i = start;
+		final char first = s.charAt(i);
+		if (first == '-' || first == '+') {
+			i++;
+			if (i == end) {
+				return false;
+			}
+		}
+		final char c = s.charAt(i);
+		if (c == 'N') {
+			return regionMatches(s, i, end, "NaN");
+		}
+		if (c == 'I') {
+			return regionMatches(s, i, end, "Infinity");
+		}
+		if (c == '0' && i + 1 < end
+				&& (s.charAt(i + 1) == 'x' || s.charAt(i + 1) == 'X')) {
+			return isHexFloatingPoint(s, i + 2, end);
+		}
+		boolean dot = false;
+		boolean digit = false;
+		for (; i < end; i++) {
+			final char d = s.charAt(i);
+			if (d >= '0' && d <= '9') {
+				digit = true;
+			}
+			else if (d == '.') {
+				if (dot) {
+					return false;
+				}
+				dot = true;
+			}
+			else {
+				break;
+			}
+		}
+		if (!digit) {
+			return false;
+		}
+		if (i < end && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+			i = skipSign(s, i + 1, end);
+			final int exponentStart = i;
+			while (i < end && s.charAt(i) >= '0' && s.charAt(i) <= '9') {
+				i++;
+			}
+			if (i == exponentStart) {
+				return false;
+			}
+		}
+		return i == end || (i == end - 1 && isTypeSuffix(s.charAt(i)));
+	}
+
+	/**
+	 * @param s string to check
+	 * @return whether {@link java.math.BigInteger#BigInteger(String)} accepts the given
+	 * string
+	 */
+	public static boolean isBigInteger(CharSequence s) {
+		final int length = s.length();
+		if (length == 0) {
+			return false;
+		}
+		final int start = skipSign(s, 0, length);
+		if (start == length) {
+			return false;
+		}
+		for (int i = start; i < length; i++) {
+			if (Character.digit(s.charAt(i), 10) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Check the grammar of {@link java.math.BigDecimal#BigDecimal(String)}: an optional
+	 * sign, a significand of decimal digits with an optional decimal point and an
+	 * optional exponent. The resulting scale must fit in an <code>int</code>.
+	 *
+	 * @param s string to check
+	 * @return whether {@link java.math.BigDecimal#BigDecimal(String)} accepts the given
+	 * string
+	 */
+	public static boolean isBigDecimal(CharSequence s) {
+		final int length = s.length();
+		if (length == 0) {
+			return false;
+		}
+		boolean dot = false;
+		boolean digit = false;
+		// the number of digits after the decimal point
+		long scale = 0;
+		int i = skipSign(s, 0, length);
+		for (; i < length; i++) {
+			final char c = s.charAt(i);
+			if ((c >= '0' && c <= '9') || Character.isDigit(c)) {
+				digit = true;
+				if (dot) {
+					scale++;
+				}
+			}
+			else if (c == '.') {
+				if (dot) {
+					return false;
+				}
+				dot = true;
+			}
+			else if (c == 'e' || c == 'E') {
+				break;
+			}
+			else {
+				return false;
+			}
+		}
+		if (i == length) {
+			return digit;
+		}
+		// the exponent consumes the rest of the string
+		final boolean negative = i + 1 < length && s.charAt(i + 1) == '-';
+		final int exponentStart = skipSign(s, i + 1, length);
+		if (exponentStart == length) {
+			return false;
+		}
+		long exponent = 0;
+		for (int j = exponentStart; j < length; j++) {
+			final int d = Character.digit(s.charAt(j), 10);
+			if (d < 0) {
+				return false;
+			}
+			exponent = exponent * 10 + d;
+			if (exponent > (long) Integer.MAX_VALUE + 1) {
+				// overflows the int exponent
+				return false;
+			}
+		}
+		if (negative) {
+			exponent = -exponent;
+		}
+		else if (exponent > Integer.MAX_VALUE) {
+			return false;
+		}
+		if (!digit) {
+			return false;
+		}
+		final long adjustedScale = scale - exponent;
+		return exponent == 0 || (adjustedScale >= Integer.MIN_VALUE
+				&& adjustedScale <= Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Check the grammar of {@link Long#parseLong(String)} and its narrower variants
+	 * without overflowing. The accumulation is negative as in the JDK so that the minimum
+	 * value is covered as well.
+	 */
+	private static boolean isIntegral(CharSequence s, long min, long max) {
+		final int length = s.length();
+		if (length == 0) {
+			return false;
+		}
+		int i = 0;
+		boolean negative = false;
+		final char first = s.charAt(0);
+		if (first < '0') {
+			if (first == '-') {
+				negative = true;
+			}
+			else if (first != '+') {
+				return false;
+			}
+			if (length == 1) {
+				return false;
+			}
+			i++;
+		}
+		final long limit = negative ? min : -max;
+		final long multmin = limit / 10;
+		long result = 0;
+		for (; i < length; i++) {
+			final int digit = Character.digit(s.charAt(i), 10);
+			if (digit < 0 || result < multmin) {
+				return false;
+			}
+			result *= 10;
+			if (result < limit + digit) {
+				return false;
+			}
+			result -= digit;
+		}
+		return true;
+	}
+
+	/**
+	 * Check the rest of a hexadecimal floating-point literal after <code>0x</code>, which
+	 * is
+	 * <code>(\p{XDigit}+\.?|\p{XDigit}*\.\p{XDigit}+)[pP][-+]?\p{Digit}+[fFdD]?</code>.
+	 */
+	private static boolean isHexFloatingPoint(CharSequence s, int start, int end) {
+		int i = start;
+		boolean dot = false;
+		boolean digit = false;
+		for (; i < end; i++) {
+			final char c = s.charAt(i);
+			if ((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f')
+					|| (c >= 'A' && c <= 'F')) {
+				digit = true;
+			}
+			else if (c == '.' && !dot) {
+				dot = true;
+			}
+			else {
+				break;
+			}
+		}
+		if (!digit || i == end || (s.charAt(i) != 'p' && s.charAt(i) != 'P')) {
+			return false;
+		}
+		i = skipSign(s, i + 1, end);
+		final int exponentStart = i;
+		while (i < end && s.charAt(i) >= '0' && s.charAt(i) <= '9') {
+			i++;
+		}
+		if (i == exponentStart) {
+			return false;
+		}
+		return i == end || (i == end - 1 && isTypeSuffix(s.charAt(i)));
+	}
+
+	private static int skipSign(CharSequence s, int i, int end) {
+		if (i < end && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+			return i + 1;
+		}
+		return i;
+	}
+
+	private static boolean isTypeSuffix(char c) {
+		return c == 'f' || c == 'F' || c == 'd' || c == 'D';
+	}
+
+	private static boolean regionMatches(CharSequence s, int start, int end,
+			String expected) {
+		if (end - start != expected.length()) {
+			return false;
+		}
+		for (int i = 0; i < expected.length(); i++) {
+			if (s.charAt(start + i) != expected.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
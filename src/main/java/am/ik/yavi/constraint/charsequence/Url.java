@@ -0,0 +1,420 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.charsequence;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+
+import am.ik.yavi.constraint.inetaddress.InetAddressUtils;
+
+/**
+ * Linear-time recognizers for URLs.
+ *
+ * @since 0.12.0
+ */
+public final class Url {
+	// the characters allowed in addition to unreserved, pct-encoded and sub-delims
+	private static final int REG_NAME = 0;
+
+	// and ":"
+	private static final int USERINFO = 1;
+
+	// and ":", "@" and "/"
+	private static final int PATH = 2;
+
+	// and ":", "@", "/" and "?"
+	private static final int QUERY = 3;
+
+	private Url() {
+	}
+
+	/**
+	 * Check whether {@link URL#URL(String)} accepts the given string.<br>
+	 * URLs with the <code>http</code>, <code>https</code> or <code>ftp</code> protocol
+	 * are checked by scanning the characters once, following the parsing of the default
+	 * protocol handlers. Other protocols, IPv6 literal hosts and authorities with control
+	 * or non-ASCII punctuation characters, whose validity depends on the protocol handler
+	 * or the runtime version, are delegated to {@link URL#URL(String)}.
+	 *
+	 * @param s string to check
+	 * @return whether the given string is a URL
+	 */
+	public static boolean isUrl(CharSequence s) {
+		// same as URL(URL, String, URLStreamHandler)
+		int limit = s.length();
+		int start = 0;
+		while (limit > 0 && s.charAt(limit - 1) <= ' ') {
+			limit--;
+		}
+		while (start < limit && s.charAt(start) <= ' ') {
+			start++;
+		}
+		if (regionMatchesIgnoreCase(s, start, s.length(), "url:")) {
+			start += 4;
+		}
+		if (start < s.length() && s.charAt(start) == '#') {
+			// a relative reference
+			return false;
+		}
+		int colon = -1;
+		for (int i = start; i < limit && s.charAt(i) != '/'; i++) {
+			if (s.charAt(i) == ':') {
+				if (isValidProtocol(s, start, i)) {
+					colon = i;
+				}
+				break;
+			}
+		}
+		if (colon < 0) {
+			return false;
+		}
+		if (!isDefaultHandlerProtocol(s, start, colon)) {
+			return delegate(s);
+		}
+		start = colon + 1;
+		// the reference and the query do not affect the validity
+		for (int i = start; i < limit; i++) {
+			final char c = s.charAt(i);
+			if (c == '#' || c == '?') {
+				limit = i;
+				break;
+			}
+		}
+		// same as URLStreamHandler#parseURL
+		final boolean isUncName = start <= limit - 4 && s.charAt(start) == '/'
+				&& s.charAt(start + 1) == '/' && s.charAt(start + 2) == '/'
+				&& s.charAt(start + 3) == '/';
+		if (isUncName || start > limit - 2 || s.charAt(start) != '/'
+				|| s.charAt(start + 1) != '/') {
+			// no authority
+			return true;
+		}
+		final int authorityStart = start + 2;
+		int authorityEnd = limit;
+		int at = -1;
+		boolean unusual = false;
+		for (int i = authorityStart; i < limit; i++) {
+			final char c = s.charAt(i);
+			if (c == '/') {
+				authorityEnd = i;
+				break;
+			}
+			// recent JDK updates reject some of these characters in the host and the
+			// user info, which depends on the runtime version
+			unusual |= c < ' ' || c == 0x7f || c > 0x2000;
+			if (c == '@') {
+				if (at >= 0) {
+					// the host is ignored if the authority has multiple '@'s
+					at = Integer.MAX_VALUE;
+				}
+				else {
+					at = i;
+				}
+			}
+		}
+		if (at == Integer.MAX_VALUE) {
+			return true;
+		}
+		final int hostStart = at < 0 ? authorityStart : at + 1;
+		if (unusual || (hostStart < authorityEnd && s.charAt(hostStart) == '[')) {
+			return delegate(s);
+		}
+		for (int i = hostStart; i < authorityEnd; i++) {
+			if (s.charAt(i) == ':') {
+				return i + 1 == authorityEnd || isPort(s, i + 1, authorityEnd);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Check the <code>absolute-URI</code> syntax of
+	 * <a href="https://datatracker.ietf.org/doc/html/rfc3986#section-4.3">RFC 3986</a>
+	 * with an optional fragment, which is
+	 * <code>scheme ":" hier-part [ "?" query ] [ "#" fragment ]</code>. Only ASCII is
+	 * allowed and other characters have to be percent-encoded. Surrounding whitespaces
+	 * are not allowed either.
+	 *
+	 * @param s string to check
+	 * @return whether the given string is an RFC 3986 URI
+	 */
+	public static boolean isRfc3986Uri(CharSequence s) {
+		final int length = s.length();
+		// scheme = ALPHA *( ALPHA / DIGIT / "+" / "-" / "." )
+		int i = 0;
+		for (; i < length; i++) {
+			final char c = s.charAt(i);
+			if (isAlpha(c)
+					|| (i > 0 && (isDigit(c) || c == '+' || c == '-' || c == '.'))) {
+				continue;
+			}
+			break;
+		}
+		if (i == 0 || i == length || s.charAt(i) != ':') {
+			return false;
+		}
+		i++;
+		if (i + 1 < length && s.charAt(i) == '/' && s.charAt(i + 1) == '/') {
+			i = authorityEnd(s, i + 2, length);
+			if (i < 0) {
+				return false;
+			}
+		}
+		// path-abempty, path-absolute, path-rootless or path-empty
+		i = scan(s, i, length, PATH);
+		if (i < 0) {
+			return false;
+		}
+		if (i < length && s.charAt(i) == '?') {
+			i = scan(s, i + 1, length, QUERY);
+			if (i < 0) {
+				return false;
+			}
+		}
+		if (i < length && s.charAt(i) == '#') {
+			i = scan(s, i + 1, length, QUERY);
+			if (i < 0) {
+				return false;
+			}
+		}
+		return i == length;
+	}
+
+	/**
+	 * @return the index after the authority, or <code>-1</code> if it is invalid
+	 */
+	private static int authorityEnd(CharSequence s, int start, int length) {
+		int end = start;
+		while (end < length && s.charAt(end) != '/' && s.charAt(end) != '?'
+				&& s.charAt(end) != '#') {
+			end++;
+		}
+		int hostStart = start;
+		for (int i = start; i < end; i++) {
+			if (s.charAt(i) == '@') {
+				// userinfo = *( unreserved / pct-encoded / sub-delims / ":" )
+				if (scan(s, start, i, USERINFO) != i) {
+					return -1;
+				}
+				hostStart = i + 1;
+				break;
+			}
+		}
+		int hostEnd;
+		if (hostStart < end && s.charAt(hostStart) == '[') {
+			// IP-literal = "[" ( IPv6address / IPvFuture ) "]"
+			int close = -1;
+			for (int i = hostStart + 1; i < end; i++) {
+				if (s.charAt(i) == ']') {
+					close = i;
+					break;
+				}
+			}
+			if (close < 0 || !isIpLiteral(s, hostStart + 1, close)) {
+				return -1;
+			}
+			hostEnd = close + 1;
+		}
+		else {
+			// reg-name = *( unreserved / pct-encoded / sub-delims ), which includes
+			// IPv4address
+			hostEnd = scan(s, hostStart, end, REG_NAME);
+			if (hostEnd < 0) {
+				return -1;
+			}
+		}
+		if (hostEnd < end) {
+			// port = *DIGIT
+			if (s.charAt(hostEnd) != ':') {
+				return -1;
+			}
+			for (int i = hostEnd + 1; i < end; i++) {
+				if (!isDigit(s.charAt(i))) {
+					return -1;
+				}
+			}
+		}
+		return end;
+	}
+
+	private static boolean isIpLiteral(CharSequence s, int from, int to) {
+		if (from < to && (s.charAt(from) == 'v' || s.charAt(from) == 'V')) {
+			// IPvFuture = "v" 1*HEXDIG "." 1*( unreserved / sub-delims / ":" )
+			int i = from + 1;
+			while (i < to && isHexDigit(s.charAt(i))) {
+				i++;
+			}
+			if (i == from + 1 || i == to || s.charAt(i) != '.' || i + 1 == to) {
+				return false;
+			}
+			for (i = i + 1; i < to; i++) {
+				final char c = s.charAt(i);
+				if (!isUnreserved(c) && !isSubDelim(c) && c != ':') {
+					return false;
+				}
+			}
+			return true;
+		}
+		for (int i = from; i < to; i++) {
+			final char c = s.charAt(i);
+			if (!isHexDigit(c) && c != ':' && c != '.') {
+				return false;
+			}
+		}
+		return InetAddressUtils.isIpv6(s, from, to);
+	}
+
+	/**
+	 * Scan <code>*( unreserved / pct-encoded / sub-delims )</code> and the additional
+	 * characters of the given mode.
+	 *
+	 * @return the index of the first character that does not match, or <code>-1</code> if
+	 * a percent-encoding is broken
+	 */
+	private static int scan(CharSequence s, int from, int to, int mode) {
+		int i = from;
+		while (i < to) {
+			final char c = s.charAt(i);
+			if (c == '%') {
+				if (i + 2 >= to || !isHexDigit(s.charAt(i + 1))
+						|| !isHexDigit(s.charAt(i + 2))) {
+					return -1;
+				}
+				i += 3;
+			}
+			else if (isUnreserved(c) || isSubDelim(c) || (mode >= USERINFO && c == ':')
+					|| (mode >= PATH && (c == '@' || c == '/'))
+					|| (mode == QUERY && c == '?')) {
+				i++;
+			}
+			else {
+				break;
+			}
+		}
+		return i;
+	}
+
+	private static boolean isPort(CharSequence s, int from, int to) {
+		// same as Integer.parseInt, and the port must not be less than -1
+		int i = from;
+		boolean negative = false;
+		final char first = s.charAt(i);
+		if (first < '0') {
+			if (first == '-') {
+				negative = true;
+			}
+			else if (first != '+') {
+				return false;
+			}
+			i++;
+			if (i == to) {
+				return false;
+			}
+		}
+		long value = 0;
+		for (; i < to; i++) {
+			final int digit = Character.digit(s.charAt(i), 10);
+			if (digit < 0) {
+				return false;
+			}
+			value = value * 10 + digit;
+			if (value > Integer.MAX_VALUE) {
+				return false;
+			}
+		}
+		return !negative || value <= 1;
+	}
+
+	private static boolean isValidProtocol(CharSequence s, int from, int to) {
+		if (from == to || !Character.isLetter(s.charAt(from))) {
+			return false;
+		}
+		for (int i = from + 1; i < to; i++) {
+			final char c = s.charAt(i);
+			if (!Character.isLetterOrDigit(c) && c != '.' && c != '+' && c != '-') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isDefaultHandlerProtocol(CharSequence s, int from, int to) {
+		final int length = to - from;
+		return (length == 4 && regionMatchesIgnoreCase(s, from, to, "http"))
+				|| (length == 5 && regionMatchesIgnoreCase(s, from, to, "https"))
+				|| (length == 3 && regionMatchesIgnoreCase(s, from, to, "ftp"));
+	}
+
+	private static boolean regionMatchesIgnoreCase(CharSequence s, int from, int to,
+			String ascii) {
+		if (to - from < ascii.length()) {
+			return false;
+		}
+		for (int i = 0; i < ascii.length(); i++) {
+			final char c = s.charAt(from + i);
+			final char lower = (c >= 'A' && c <= 'Z') ? (char) (c | 0x20) : c;
+			if (lower != ascii.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean delegate(CharSequence s) {
+		try {
+			new URL(s.toString());
+			return true;
+		}
+		catch (MalformedURLException e) {
+			return false;
+		}
+	}
+
+	private static boolean isAlpha(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static boolean isHexDigit(char c) {
+		return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+	}
+
+	private static boolean isUnreserved(char c) {
+		return isAlpha(c) || isDigit(c) || c == '-' || c == '.' || c == '_' || c == '~';
+	}
+
+	private static boolean isSubDelim(char c) {
+		switch (c) {
+		case '!':
+		case '$':
+		case '&':
+		case '\'':
+		case '(':
+		case ')':
+		case '*':
+		case '+':
+		case ',':
+		case ';':
+		case '=':
+			return true;
+		default:
+			return false;
+		}
+	}
+}
@@ -21,6 +21,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import am.ik.yavi.constraint.charsequence.CodePoints;
+import am.ik.yavi.constraint.charsequence.CompiledCodePoints;
 
 public enum AsciiCodePoints implements CodePoints<String> {
 	ASCII_PRINTABLE_CHARS((CodePointsRanges<String>) () -> {
@@ -38,11 +39,21 @@ public enum AsciiCodePoints implements CodePoints<String> {
 	private final CodePoints<String> delegate;
 
 	AsciiCodePoints(CodePoints<String> delegate) {
-		this.delegate = delegate;
+		this.delegate = CompiledCodePoints.compile(delegate);
 	}
 
 	@Override
 	public Set<Integer> allExcludedCodePoints(String s) {
 		return this.delegate.allExcludedCodePoints(s);
 	}
+
+	@Override
+	public boolean allIncluded(String s) {
+		return this.delegate.allIncluded(s);
+	}
+
+	@Override
+	public boolean noneIncluded(String s) {
+		return this.delegate.noneIncluded(s);
+	}
 }
@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Set;
 
 import am.ik.yavi.constraint.charsequence.CodePoints;
+import am.ik.yavi.constraint.charsequence.CompiledCodePoints;
 
 public class CompositeCodePoints<E extends CharSequence> implements CodePoints<E> {
 	private final List<CodePoints<E>> composite = new ArrayList<>();
@@ -41,11 +42,12 @@ public class CompositeCodePoints<E extends CharSequence> implements CodePoints<E
 				composite.add(points);
 			}
 		}
-		if (!codePointsSet.isEmpty()) {
-			composite.add((CodePointsSet<E>) () -> codePointsSet);
+		for (Integer codePoint : codePointsSet) {
+			ranges.add(Range.single(codePoint));
 		}
 		if (!ranges.isEmpty()) {
-			composite.add((CodePointsRanges<E>) () -> ranges);
+			// a code point is excluded only if it is excluded from all of them
+			composite.add(CompiledCodePoints.ofRanges(ranges));
 		}
 		if (composite.isEmpty()) {
 			throw new IllegalArgumentException("No code point is included");
@@ -69,4 +71,22 @@ public class CompositeCodePoints<E extends CharSequence> implements CodePoints<E
 		}
 		return excluded == null ? Collections.emptySet() : excluded;
 	}
+
+	@Override
+	public boolean allIncluded(E s) {
+		if (this.composite.size() == 1) {
+			return this.composite.get(0).allIncluded(s);
+		}
+		return CodePoints.super.allIncluded(s);
+	}
+
+	@Override
+	public boolean noneIncluded(E s) {
+		for (CodePoints<E> codePoints : this.composite) {
+			if (!codePoints.noneIncluded(s)) {
+				return false;
+			}
+		}
+		return true;
+	}
 }
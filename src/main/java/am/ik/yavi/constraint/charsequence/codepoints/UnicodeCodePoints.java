@@ -20,6 +20,7 @@ import java.util.Collections;
 import java.util.Set;
 
 import am.ik.yavi.constraint.charsequence.CodePoints;
+import am.ik.yavi.constraint.charsequence.CompiledCodePoints;
 
 public enum UnicodeCodePoints implements CodePoints<String> {
 	/**
@@ -46,11 +47,21 @@ public enum UnicodeCodePoints implements CodePoints<String> {
 	private final CodePoints<String> delegate;
 
 	UnicodeCodePoints(CodePoints<String> delegate) {
-		this.delegate = delegate;
+		this.delegate = CompiledCodePoints.compile(delegate);
 	}
 
 	@Override
 	public Set<Integer> allExcludedCodePoints(String s) {
 		return this.delegate.allExcludedCodePoints(s);
 	}
+
+	@Override
+	public boolean allIncluded(String s) {
+		return this.delegate.allIncluded(s);
+	}
+
+	@Override
+	public boolean noneIncluded(String s) {
+		return this.delegate.noneIncluded(s);
+	}
 }
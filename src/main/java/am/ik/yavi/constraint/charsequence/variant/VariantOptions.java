@@ -15,20 +15,34 @@
  */
 package am.ik.yavi.constraint.charsequence.variant;
 
+import java.util.regex.Pattern;
+
 import am.ik.yavi.jsr305.Nullable;
 
 public class VariantOptions {
+	private static final char IVS_HIGH_SURROGATE = Character
+			.highSurrogate(IdeographicVariationSequence.RANGE.codePointAt(0));
+
 	private final MongolianFreeVariationSelector fvs;
 
 	private final IdeographicVariationSequence ivs;
 
 	private final StandardizedVariationSequence svs;
 
+	/**
+	 * The precompiled pattern of the ignored selectors or <code>null</code> if nothing is
+	 * ignored
+	 */
+	@Nullable
+	private final Pattern ignoredPattern;
+
 	public VariantOptions(StandardizedVariationSequence svs,
 			IdeographicVariationSequence ivs, MongolianFreeVariationSelector fvs) {
 		this.svs = svs;
 		this.ivs = ivs;
 		this.fvs = fvs;
+		this.ignoredPattern = this.isNotIgnoreAll() ? null
+				: Pattern.compile(this.ignoredRegex());
 	}
 
 	public static Builder builder() {
@@ -39,13 +53,7 @@ public class VariantOptions {
 		return !this.svs.ignore() && !this.fvs.ignore() && !this.ivs.ignore();
 	}
 
-	public String ignored(@Nullable String s) {
-		if (s == null || s.isEmpty()) {
-			return "";
-		}
-		if (this.isNotIgnoreAll()) {
-			return s;
-		}
+	private String ignoredRegex() {
 		StringBuilder regex = new StringBuilder("[");
 		if (this.svs.ignore()) {
 			regex.append(StandardizedVariationSequence.RANGE);
@@ -57,7 +65,53 @@ public class VariantOptions {
 			regex.append(MongolianFreeVariationSelector.RANGE);
 		}
 		regex.append("]");
-		return regex.length() == 2 ? s : s.replaceAll(regex.toString(), "");
+		return regex.toString();
+	}
+
+	public String ignored(@Nullable String s) {
+		if (s == null || s.isEmpty()) {
+			return "";
+		}
+		if (this.ignoredPattern == null || !this.mayContainIgnored(s)) {
+			return s;
+		}
+		return this.ignoredPattern.matcher(s).replaceAll("");
+	}
+
+	/**
+	 * Remove the ignored selectors from the given char sequence. Unlike
+	 * {@link #ignored(String)}, the given instance itself is returned without being
+	 * copied when it has nothing to remove.
+	 *
+	 * @param s the char sequence to remove the ignored selectors from
+	 * @return the given char sequence or a string without the ignored selectors
+	 * @since 0.12.0
+	 */
+	public CharSequence ignored(CharSequence s) {
+		if (this.ignoredPattern == null || !this.mayContainIgnored(s)) {
+			return s;
+		}
+		return this.ignoredPattern.matcher(s).replaceAll("");
+	}
+
+	/**
+	 * Scan the given string for a character that may be an ignored selector. Any
+	 * supplementary character in the block of the ideographic variation selectors counts
+	 * as a candidate, which is then checked by the pattern.
+	 */
+	private boolean mayContainIgnored(CharSequence s) {
+		for (int i = 0; i < s.length(); i++) {
+			final char c = s.charAt(i);
+			if (c < '\u180B') {
+				continue;
+			}
+			if ((this.svs.ignore() && c >= '\uFE00' && c <= '\uFE0F')
+					|| (this.fvs.ignore() && c <= '\u180D')
+					|| (this.ivs.ignore() && c == IVS_HIGH_SURROGATE)) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	public static class Builder {
@@ -0,0 +1,343 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.inetaddress;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A set of IPv4 and IPv6 addresses, such as an allow list or a deny list of CIDR
+ * blocks.<br>
+ * The blocks are merged into disjoint intervals sorted by their first address when the
+ * set is created. {@link #contains(CharSequence)} parses the address in a single pass and
+ * looks it up by binary search, so the lookup takes <code>O(log n)</code> time for
+ * <code>n</code> blocks. IPv4 addresses and IPv6 addresses are kept separately, hence an
+ * IPv4-mapped IPv6 address such as <code>::ffff:10.0.0.1</code> is contained only if the
+ * set contains it as an IPv6 address.
+ *
+ * @since 0.12.0
+ */
+public final class InetAddressRanges {
+	private static final InetAddressRanges PRIVATE_LOOPBACK_LINK_LOCAL = ofCidrs(
+			// private
+			"10.0.0.0/8", "172.16.0.0/12", "192.168.0.0/16", "fc00::/7",
+			// loopback
+			"127.0.0.0/8", "::1/128",
+			// link-local
+			"169.254.0.0/16", "fe80::/10",
+			// IPv4-mapped IPv6 addresses of the above
+			"::ffff:10.0.0.0/104", "::ffff:172.16.0.0/108", "::ffff:192.168.0.0/112",
+			"::ffff:127.0.0.0/104", "::ffff:169.254.0.0/112");
+
+	private final List<String> sources;
+
+	// inclusive bounds of the IPv4 intervals
+	private final long[] ipv4Firsts;
+
+	private final long[] ipv4Lasts;
+
+	// inclusive bounds of the IPv6 intervals, split into the upper and the lower 64 bits
+	private final long[] ipv6FirstHighs;
+
+	private final long[] ipv6FirstLows;
+
+	private final long[] ipv6LastHighs;
+
+	private final long[] ipv6LastLows;
+
+	private InetAddressRanges(List<String> sources, List<long[]> ipv4Ranges,
+			List<long[]> ipv6Ranges) {
+		this.sources = Collections.unmodifiableList(sources);
+		final List<long[]> ipv4 = merge(ipv4Ranges, 1);
+		this.ipv4Firsts = new long[ipv4.size()];
+		this.ipv4Lasts = new long[ipv4.size()];
+		for (int i = 0; i < ipv4.size(); i++) {
+			this.ipv4Firsts[i] = ipv4.get(i)[0];
+			this.ipv4Lasts[i] = ipv4.get(i)[1];
+		}
+		final List<long[]> ipv6 = merge(ipv6Ranges, 2);
+		this.ipv6FirstHighs = new long[ipv6.size()];
+		this.ipv6FirstLows = new long[ipv6.size()];
+		this.ipv6LastHighs = new long[ipv6.size()];
+		this.ipv6LastLows = new long[ipv6.size()];
+		for (int i = 0; i < ipv6.size(); i++) {
+			this.ipv6FirstHighs[i] = ipv6.get(i)[0];
+			this.ipv6FirstLows[i] = ipv6.get(i)[1];
+			this.ipv6LastHighs[i] = ipv6.get(i)[2];
+			this.ipv6LastLows[i] = ipv6.get(i)[3];
+		}
+	}
+
+	/**
+	 * Create a set of the given CIDR blocks like <code>10.0.0.0/8</code> or
+	 * <code>2001:db8::/32</code>. A block without a prefix length is a single address.
+	 * The bits after the prefix are ignored.
+	 *
+	 * @param cidrs CIDR blocks
+	 * @return set of the addresses in the blocks
+	 * @throws IllegalArgumentException if any of the blocks is invalid
+	 */
+	public static InetAddressRanges ofCidrs(String... cidrs) {
+		return ofCidrs(Arrays.asList(cidrs));
+	}
+
+	/**
+	 * Create a set of the given CIDR blocks like <code>10.0.0.0/8</code> or
+	 * <code>2001:db8::/32</code>. A block without a prefix length is a single address.
+	 * The bits after the prefix are ignored.
+	 *
+	 * @param cidrs CIDR blocks
+	 * @return set of the addresses in the blocks
+	 * @throws IllegalArgumentException if any of the blocks is invalid
+	 */
+	public static InetAddressRanges ofCidrs(Collection<String> cidrs) {
+		final List<long[]> ipv4Ranges = new ArrayList<>();
+		final List<long[]> ipv6Ranges = new ArrayList<>();
+		for (String cidr : cidrs) {
+			final int slash = cidr.indexOf('/');
+			final int end = slash < 0 ? cidr.length() : slash;
+			final boolean ipv6 = cidr.lastIndexOf(':', end) >= 0;
+			final int prefix = slash < 0 ? (ipv6 ? 128 : 32)
+					: parsePrefix(cidr, slash + 1, ipv6 ? 128 : 32);
+			if (ipv6) {
+				final long[] address = new long[2];
+				if (prefix < 0 || !InetAddressUtils.parseIpv6(cidr, 0, end, address)) {
+					throw invalidCidr(cidr);
+				}
+				final long highMask = prefix >= 64 ? -1L
+						: (prefix == 0 ? 0 : -1L << (64 - prefix));
+				final long lowMask = prefix <= 64 ? 0
+						: (prefix == 128 ? -1L : -1L << (128 - prefix));
+				ipv6Ranges.add(new long[] { address[0] & highMask, address[1] & lowMask,
+						address[0] | ~highMask, address[1] | ~lowMask });
+			}
+			else {
+				final long address = InetAddressUtils.parseIpv4(cidr, 0, end);
+				if (prefix < 0 || address < 0) {
+					throw invalidCidr(cidr);
+				}
+				final long hostMask = (1L << (32 - prefix)) - 1;
+				ipv4Ranges.add(new long[] { address & ~hostMask, address | hostMask });
+			}
+		}
+		return new InetAddressRanges(new ArrayList<>(cidrs), ipv4Ranges, ipv6Ranges);
+	}
+
+	/**
+	 * Create a set of the addresses from <code>first</code> to <code>last</code>, both
+	 * inclusive.
+	 *
+	 * @param first the first address
+	 * @param last the last address
+	 * @return set of the addresses in the range
+	 * @throws IllegalArgumentException if the addresses are invalid, are not of the same
+	 *     version or are in the reverse order
+	 */
+	public static InetAddressRanges ofRange(String first, String last) {
+		final long firstIpv4 = InetAddressUtils.parseIpv4(first, 0, first.length());
+		final long lastIpv4 = InetAddressUtils.parseIpv4(last, 0, last.length());
+		final List<String> sources = Arrays.asList(first + "-" + last);
+		if (firstIpv4 >= 0 && lastIpv4 >= 0) {
+			if (firstIpv4 > lastIpv4) {
+				throw invalidRange(first, last);
+			}
+			return new InetAddressRanges(sources,
+					Collections.singletonList(new long[] { firstIpv4, lastIpv4 }),
+					Collections.emptyList());
+		}
+		final long[] firstIpv6 = new long[2];
+		final long[] lastIpv6 = new long[2];
+		if (!InetAddressUtils.parseIpv6(first, 0, first.length(), firstIpv6)
+				|| !InetAddressUtils.parseIpv6(last, 0, last.length(), lastIpv6)
+				|| compare(firstIpv6[0], firstIpv6[1], lastIpv6[0], lastIpv6[1]) > 0) {
+			throw invalidRange(first, last);
+		}
+		return new InetAddressRanges(sources, Collections.emptyList(),
+				Collections.singletonList(new long[] { firstIpv6[0], firstIpv6[1],
+						lastIpv6[0], lastIpv6[1] }));
+	}
+
+	/**
+	 * @return set of the private (<code>10.0.0.0/8</code>, <code>172.16.0.0/12</code>,
+	 * <code>192.168.0.0/16</code>, <code>fc00::/7</code>), loopback
+	 * (<code>127.0.0.0/8</code>, <code>::1</code>) and link-local
+	 * (<code>169.254.0.0/16</code>, <code>fe80::/10</code>) addresses, including the
+	 * IPv4-mapped IPv6 addresses of the IPv4 ones
+	 */
+	public static InetAddressRanges privateLoopbackAndLinkLocal() {
+		return PRIVATE_LOOPBACK_LINK_LOCAL;
+	}
+
+	/**
+	 * Check if the given value is an IPv4 address or an IPv6 address in this set. An IPv6
+	 * address may have a zone id, which is ignored. A value which is not an address, or
+	 * has a prefix length, is not contained.
+	 *
+	 * @param address the address to look up
+	 * @return whether the address is in this set
+	 */
+	public boolean contains(CharSequence address) {
+		final int length = address.length();
+		int end = length;
+		boolean ipv6 = false;
+		for (int i = 0; i < length; i++) {
+			final char c = address.charAt(i);
+			if (c == ':') {
+				ipv6 = true;
+			}
+			else if (c == '/') {
+				return false;
+			}
+			else if (c == '%' && ipv6 && end == length) {
+				end = i;
+			}
+		}
+		if (!ipv6) {
+			final long value = InetAddressUtils.parseIpv4(address, 0, length);
+			return value >= 0 && this.containsIpv4(value);
+		}
+		if (end < length && !InetAddressUtils.isIpv6(address, 0, length)) {
+			// an invalid zone id
+			return false;
+		}
+		final long[] value = new long[2];
+		return InetAddressUtils.parseIpv6(address, 0, end, value)
+				&& this.containsIpv6(value[0], value[1]);
+	}
+
+	private boolean containsIpv4(long value) {
+		// the last interval that starts at or before the value
+		int low = 0;
+		int high = this.ipv4Firsts.length - 1;
+		while (low <= high) {
+			final int mid = (low + high) >>> 1;
+			if (this.ipv4Firsts[mid] <= value) {
+				low = mid + 1;
+			}
+			else {
+				high = mid - 1;
+			}
+		}
+		return high >= 0 && value <= this.ipv4Lasts[high];
+	}
+
+	private boolean containsIpv6(long valueHigh, long valueLow) {
+		int low = 0;
+		int high = this.ipv6FirstHighs.length - 1;
+		while (low <= high) {
+			final int mid = (low + high) >>> 1;
+			if (compare(this.ipv6FirstHighs[mid], this.ipv6FirstLows[mid], valueHigh,
+					valueLow) <= 0) {
+				low = mid + 1;
+			}
+			else {
+				high = mid - 1;
+			}
+		}
+		return high >= 0 && compare(valueHigh, valueLow, this.ipv6LastHighs[high],
+				this.ipv6LastLows[high]) <= 0;
+	}
+
+	/**
+	 * Sort the given intervals and merge the overlapping or adjacent ones. Each interval
+	 * is <code>[first, last]</code> of the given number of words, which are compared as
+	 * unsigned values.
+	 */
+	private static List<long[]> merge(List<long[]> ranges, int words) {
+		final List<long[]> sorted = new ArrayList<>(ranges);
+		sorted.sort((a, b) -> compare(a, 0, b, 0, words));
+		final List<long[]> merged = new ArrayList<>(sorted.size());
+		for (long[] range : sorted) {
+			if (!merged.isEmpty()) {
+				final long[] last = merged.get(merged.size() - 1);
+				if (isAdjacentOrOverlapping(last, range, words)) {
+					if (compare(range, words, last, words, words) > 0) {
+						System.arraycopy(range, words, last, words, words);
+					}
+					continue;
+				}
+			}
+			merged.add(range.clone());
+		}
+		return merged;
+	}
+
+	/**
+	 * @return whether <code>next</code>, which does not start before <code>range</code>,
+	 * starts at most one after the end of <code>range</code>
+	 */
+	private static boolean isAdjacentOrOverlapping(long[] range, long[] next, int words) {
+		// next.first - 1 <= range.last, where next.first is not zero
+		final long[] previous = Arrays.copyOfRange(next, 0, words);
+		for (int i = words - 1; i >= 0; i--) {
+			if (previous[i]-- != 0) {
+				break;
+			}
+			if (i == 0) {
+				// next starts at zero, hence so does range
+				return true;
+			}
+		}
+		return compare(previous, 0, range, words, words) <= 0;
+	}
+
+	private static int compare(long[] a, int aFrom, long[] b, int bFrom, int words) {
+		for (int i = 0; i < words; i++) {
+			final int c = Long.compareUnsigned(a[aFrom + i], b[bFrom + i]);
+			if (c != 0) {
+				return c;
+			}
+		}
+		return 0;
+	}
+
+	private static int compare(long aHigh, long aLow, long bHigh, long bLow) {
+		final int c = Long.compareUnsigned(aHigh, bHigh);
+		return c != 0 ? c : Long.compareUnsigned(aLow, bLow);
+	}
+
+	private static int parsePrefix(String s, int from, int max) {
+		if (from == s.length() || s.length() - from > 3) {
+			return -1;
+		}
+		int value = 0;
+		for (int i = from; i < s.length(); i++) {
+			final char c = s.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			value = value * 10 + (c - '0');
+		}
+		return value > max ? -1 : value;
+	}
+
+	private static IllegalArgumentException invalidCidr(String cidr) {
+		return new IllegalArgumentException("Invalid CIDR block: " + cidr);
+	}
+
+	private static IllegalArgumentException invalidRange(String first, String last) {
+		return new IllegalArgumentException(
+				"Invalid address range: " + first + " - " + last);
+	}
+
+	@Override
+	public String toString() {
+		return this.sources.toString();
+	}
+}
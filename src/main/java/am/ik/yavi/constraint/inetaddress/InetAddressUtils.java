@@ -15,10 +15,7 @@
  */
 package am.ik.yavi.constraint.inetaddress;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.regex.Pattern;
+import am.ik.yavi.jsr305.Nullable;
 
 /**
  * @since 0.7.0
@@ -26,13 +23,9 @@ import java.util.regex.Pattern;
 public class InetAddressUtils {
 	public static final String IPV4_REGEX = "^(?:(?:25[0-5]|2[0-4][0-9]|1[0-9][0-9]|[1-9]?[0-9])\\.){3}(?:25[0-5]|2[0-4][0-9]|1[0-9][0-9]|[1-9]?[0-9])$";
 
-	private static final Pattern IPV4_PATTERN = Pattern.compile(IPV4_REGEX);
+	private static final int MAX_PREFIX_LENGTH = 128;
 
-	private static final int MAX_BYTE = 128;
-
-	private static final int MAX_UNSIGNED_SHORT = 0xffff;
-
-	private static final int BASE_16 = 16;
+	private static final int MAX_UNSIGNED_BYTE = 255;
 
 	// Max number of hex groups (separated by :) in an IPV6 address
 	private static final int IPV6_MAX_HEX_GROUPS = 8;
@@ -41,103 +34,246 @@ public class InetAddressUtils {
 	private static final int IPV6_MAX_HEX_DIGITS_PER_GROUP = 4;
 
 	public static boolean isIpv4(String s) {
-		return IPV4_PATTERN.matcher(s).matches();
+		return isIpv4(s, 0, s.length());
 	}
 
-	// https://github.com/apache/commons-validator/blob/master/src/main/java/org/apache/commons/validator/routines/InetAddressValidator.java
+	/**
+	 * Check if the given range of the char sequence is an IPv4 address in the dotted
+	 * decimal notation, which matches {@link #IPV4_REGEX}.
+	 *
+	 * @since 0.12.0
+	 */
+	public static boolean isIpv4(CharSequence s, int from, int to) {
+		return parseIpv4(s, from, to) >= 0;
+	}
+
+	/**
+	 * Check if the given string is an IPv6 address, optionally followed by a zone id and
+	 * a prefix length, like <code>fe80::1%eth0/64</code>.
+	 */
 	public static boolean isIpv6(String s) {
-		// remove prefix size. This will appear after the zone id (if any)
-		final String[] parts = s.split("/", -1);
-		if (parts.length > 2) {
-			return false; // can only have one prefix specifier
-		}
-		if (parts.length == 2) {
-			if (!parts[1].matches("\\d{1,3}")) {
-				return false; // not a valid number
-			}
-			final int bits = Integer.parseInt(parts[1]); // cannot fail because of RE
-															// check
-			if (bits < 0 || bits > MAX_BYTE) {
-				return false; // out of range
+		return isIpv6(s, 0, s.length());
+	}
+
+	/**
+	 * Check if the given range of the char sequence is an IPv6 address, optionally
+	 * followed by a zone id and a prefix length. The check does not allocate.
+	 *
+	 * @since 0.12.0
+	 */
+	public static boolean isIpv6(CharSequence s, int from, int to) {
+		int end = to;
+		for (int i = from; i < to; i++) {
+			if (s.charAt(i) == '/') {
+				// prefix = 1*3DIGIT, up to 128
+				final int prefix = parseDecimal(s, i + 1, to);
+				if (prefix < 0 || prefix > MAX_PREFIX_LENGTH) {
+					return false;
+				}
+				end = i;
+				break;
 			}
 		}
-		// remove zone-id
-		final String[] partsZoneIdRemoved = parts[0].split("%", -1);
-		if (partsZoneIdRemoved.length > 2) {
-			return false;
-		}
-		// The id syntax is implementation independent, but it presumably cannot allow:
-		// whitespace, '/' or '%'
-		if ((partsZoneIdRemoved.length == 2)
-				&& !partsZoneIdRemoved[1].matches("[^\\s/%]+")) {
-			return false; // invalid id
+		for (int i = from; i < end; i++) {
+			if (s.charAt(i) == '%') {
+				// The id syntax is implementation independent, but it presumably cannot
+				// allow whitespaces, '/' or '%'
+				if (i + 1 == end) {
+					return false;
+				}
+				for (int j = i + 1; j < end; j++) {
+					final char c = s.charAt(j);
+					if (c == '%' || c == ' ' || (c >= '\t' && c <= '\r')) {
+						return false;
+					}
+				}
+				end = i;
+				break;
+			}
 		}
+		return parseIpv6(s, from, end, null);
+	}
 
-		final String firstPart = partsZoneIdRemoved[0];
-		final boolean containsCompressedZeroes = firstPart.contains("::");
-		if (containsCompressedZeroes
-				&& (firstPart.indexOf("::") != firstPart.lastIndexOf("::"))) {
-			return false;
-		}
-		if ((firstPart.startsWith(":") && !firstPart.startsWith("::"))
-				|| (firstPart.endsWith(":") && !firstPart.endsWith("::"))) {
-			return false;
-		}
-		String[] octets = firstPart.split(":");
-		if (containsCompressedZeroes) {
-			final List<String> octetList = new ArrayList<>(Arrays.asList(octets));
-			if (firstPart.endsWith("::")) {
-				// String.split() drops ending empty segments
-				octetList.add("");
+	/**
+	 * Parse an IPv4 address in the dotted decimal notation.
+	 *
+	 * @return the address as an unsigned 32-bit value, or <code>-1</code> if invalid
+	 */
+	static long parseIpv4(CharSequence s, int from, int to) {
+		long address = 0;
+		int octets = 0;
+		int start = from;
+		for (int i = from; i <= to; i++) {
+			if (i < to && s.charAt(i) != '.') {
+				continue;
 			}
-			else if (firstPart.startsWith("::") && !octetList.isEmpty()) {
-				octetList.remove(0);
+			// dec-octet without leading zeros
+			final int length = i - start;
+			if (length > 3 || (length > 1 && s.charAt(start) == '0')) {
+				return -1;
 			}
-			octets = octetList.toArray(new String[0]);
+			final int octet = parseDecimal(s, start, i);
+			if (octet < 0 || octet > MAX_UNSIGNED_BYTE || ++octets > 4) {
+				return -1;
+			}
+			address = (address << 8) | octet;
+			start = i + 1;
 		}
-		if (octets.length > IPV6_MAX_HEX_GROUPS) {
+		return octets == 4 ? address : -1;
+	}
+
+	/**
+	 * Parse an IPv6 address without a zone id and a prefix length.
+	 *
+	 * @param address the array to store the upper and the lower 64 bits of the address
+	 *     into, or <code>null</code> to only validate the address
+	 * @return whether the address is valid
+	 */
+	static boolean parseIpv6(CharSequence s, int from, int to, @Nullable long[] address) {
+		if (from == to) {
 			return false;
 		}
-		int validOctets = 0;
-		int emptyOctets = 0; // consecutive empty chunks
-		for (int index = 0; index < octets.length; index++) {
-			String octet = octets[index];
-			if (octet.isEmpty()) {
-				emptyOctets++;
-				if (emptyOctets > 1) {
-					return false;
-				}
+		// the groups before and after "::", each packed into two longs
+		long headHigh = 0;
+		long headLow = 0;
+		long tailHigh = 0;
+		long tailLow = 0;
+		int groups = 0;
+		int compressedAt = -1;
+		int i = from;
+		if (s.charAt(i) == ':') {
+			if (to - from < 2 || s.charAt(i + 1) != ':') {
+				return false;
 			}
-			else {
-				emptyOctets = 0;
-				// Is last chunk an IPv4 address?
-				if (index == octets.length - 1 && octet.contains(".")) {
-					if (!isIpv4(octet)) {
-						return false;
-					}
-					validOctets += 2;
-					continue;
-				}
-				if (octet.length() > IPV6_MAX_HEX_DIGITS_PER_GROUP) {
+			compressedAt = 0;
+			i += 2;
+		}
+		while (i < to) {
+			int end = i;
+			boolean dotted = false;
+			while (end < to && s.charAt(end) != ':') {
+				dotted |= s.charAt(end) == '.';
+				end++;
+			}
+			final int words;
+			final long value;
+			if (dotted) {
+				// an IPv4 address is allowed only as the last two groups
+				if (end != to) {
 					return false;
 				}
-				int octetInt = 0;
-				try {
-					octetInt = Integer.parseInt(octet, BASE_16);
+				value = parseIpv4(s, i, end);
+				if (value < 0) {
+					return false;
 				}
-				catch (NumberFormatException e) {
+				words = 2;
+			}
+			else {
+				value = parseHexGroup(s, i, end);
+				if (value < 0) {
 					return false;
 				}
-				if (octetInt < 0 || octetInt > MAX_UNSIGNED_SHORT) {
+				words = 1;
+			}
+			groups += words;
+			if (groups > IPV6_MAX_HEX_GROUPS) {
+				return false;
+			}
+			final int bits = 16 * words;
+			if (compressedAt < 0) {
+				headHigh = (headHigh << bits) | (headLow >>> (64 - bits));
+				headLow = (headLow << bits) | value;
+			}
+			else {
+				tailHigh = (tailHigh << bits) | (tailLow >>> (64 - bits));
+				tailLow = (tailLow << bits) | value;
+			}
+			if (end == to) {
+				i = end;
+				break;
+			}
+			// a separator, or "::" which may end the address
+			if (end + 1 < to && s.charAt(end + 1) == ':') {
+				if (compressedAt >= 0) {
 					return false;
 				}
+				compressedAt = groups;
+				i = end + 2;
+			}
+			else if (end + 1 == to) {
+				return false;
+			}
+			else {
+				i = end + 1;
 			}
-			validOctets++;
 		}
-		if (validOctets > IPV6_MAX_HEX_GROUPS
-				|| (validOctets < IPV6_MAX_HEX_GROUPS && !containsCompressedZeroes)) {
+		if (compressedAt < 0 ? groups != IPV6_MAX_HEX_GROUPS
+				: groups + 1 > IPV6_MAX_HEX_GROUPS) {
 			return false;
 		}
+		if (address != null) {
+			// shift the head to the top and put the tail at the bottom
+			final int headGroups = compressedAt < 0 ? groups : compressedAt;
+			final int shift = 16 * (IPV6_MAX_HEX_GROUPS - headGroups);
+			address[0] = shiftLeftHigh(headHigh, headLow, shift) | tailHigh;
+			address[1] = (shift >= 64 ? 0 : headLow << shift) | tailLow;
+		}
 		return true;
 	}
+
+	private static long shiftLeftHigh(long high, long low, int shift) {
+		if (shift == 0) {
+			return high;
+		}
+		if (shift >= 64) {
+			return shift == 128 ? 0 : low << (shift - 64);
+		}
+		return (high << shift) | (low >>> (64 - shift));
+	}
+
+	/**
+	 * @return the value of 1 to 4 hex digits, or <code>-1</code> if invalid
+	 */
+	private static long parseHexGroup(CharSequence s, int from, int to) {
+		if (from == to || to - from > IPV6_MAX_HEX_DIGITS_PER_GROUP) {
+			return -1;
+		}
+		long value = 0;
+		for (int i = from; i < to; i++) {
+			final char c = s.charAt(i);
+			final int digit;
+			if (c >= '0' && c <= '9') {
+				digit = c - '0';
+			}
+			else if (c >= 'a' && c <= 'f') {
+				digit = c - 'a' + 10;
+			}
+			else if (c >= 'A' && c <= 'F') {
+				digit = c - 'A' + 10;
+			}
+			else {
+				return -1;
+			}
+			value = (value << 4) | digit;
+		}
+		return value;
+	}
+
+	/**
+	 * @return the value of 1 to 3 ASCII digits, or <code>-1</code> if invalid
+	 */
+	private static int parseDecimal(CharSequence s, int from, int to) {
+		if (from == to || to - from > 3) {
+			return -1;
+		}
+		int value = 0;
+		for (int i = from; i < to; i++) {
+			final char c = s.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			value = value * 10 + (c - '0');
+		}
+		return value;
+	}
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core;
+
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+
+import am.ik.yavi.jsr305.Nullable;
+
+/**
+ * An asynchronous constraint that checks many values in a single call, such as "the SKUs
+ * exist". {@link AsyncValidator} coalesces the values of all elements of a collection
+ * into one call, so identical values are looked up only once.
+ *
+ * @param <V> the type of the values to check
+ * @since 0.12.0
+ */
+public interface AsyncBatchConstraint<V> extends ViolationMessage, ViolatedArguments<V> {
+	/**
+	 * Checks the given distinct values.
+	 *
+	 * @param values the non-null values to check
+	 * @return a stage completed with the valid values among the given ones
+	 */
+	CompletionStage<? extends Set<? extends V>> validValues(Set<V> values);
+
+	@Override
+	default Object[] arguments(@Nullable V violatedValue) {
+		return CustomConstraint.EMPTY_ARRAY;
+	}
+}
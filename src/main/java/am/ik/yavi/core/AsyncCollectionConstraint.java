@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * An {@link AsyncBatchConstraint} applied to a value of each element of a collection.
+ *
+ * @since 0.12.0
+ */
+public class AsyncCollectionConstraint<T, E, V> {
+	private final Function<T, ? extends Collection<E>> toCollection;
+
+	private final String name;
+
+	private final Function<E, V> toValue;
+
+	private final String valueName;
+
+	private final AsyncBatchConstraint<V> constraint;
+
+	public AsyncCollectionConstraint(Function<T, ? extends Collection<E>> toCollection,
+			String name, Function<E, V> toValue, String valueName,
+			AsyncBatchConstraint<V> constraint) {
+		this.toCollection = toCollection;
+		this.name = name;
+		this.toValue = toValue;
+		this.valueName = valueName;
+		this.constraint = constraint;
+	}
+
+	public Function<T, ? extends Collection<E>> toCollection() {
+		return this.toCollection;
+	}
+
+	public String name() {
+		return this.name;
+	}
+
+	public Function<E, V> toValue() {
+		return this.toValue;
+	}
+
+	public String valueName() {
+		return this.valueName;
+	}
+
+	public AsyncBatchConstraint<V> constraint() {
+		return this.constraint;
+	}
+}
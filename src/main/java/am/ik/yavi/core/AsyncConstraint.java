@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core;
+
+import java.util.concurrent.CompletionStage;
+
+import am.ik.yavi.jsr305.Nullable;
+
+/**
+ * A constraint whose check needs I/O, such as "the username is not taken". The check is
+ * performed asynchronously by {@link AsyncValidator}.
+ *
+ * @param <V> the type of the value to check
+ * @since 0.12.0
+ */
+public interface AsyncConstraint<V> extends ViolationMessage, ViolatedArguments<V> {
+	/**
+	 * Checks the given value. <code>null</code> values are not passed to this method.
+	 *
+	 * @param value the value to check
+	 * @return a stage completed with <code>true</code> if the value is valid
+	 */
+	CompletionStage<Boolean> test(V value);
+
+	@Override
+	default Object[] arguments(@Nullable V violatedValue) {
+		return CustomConstraint.EMPTY_ARRAY;
+	}
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * @since 0.12.0
+ */
+public class AsyncConstraintPredicates<T, V> {
+	private final String name;
+
+	private final List<AsyncConstraint<V>> constraints;
+
+	private final Function<T, V> toValue;
+
+	public AsyncConstraintPredicates(Function<T, V> toValue, String name,
+			List<AsyncConstraint<V>> constraints) {
+		this.toValue = toValue;
+		this.name = name;
+		this.constraints = constraints;
+	}
+
+	public final String name() {
+		return this.name;
+	}
+
+	public final List<AsyncConstraint<V>> constraints() {
+		return this.constraints;
+	}
+
+	public final Function<T, V> toValue() {
+		return this.toValue;
+	}
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+import am.ik.yavi.fn.Validation;
+import am.ik.yavi.message.MessageFormatter;
+
+/**
+ * Validates a target with a {@link Validator} and then with the asynchronous constraints.
+ * All asynchronous checks of a target are started at once and run concurrently; the
+ * checks of the elements of a collection are coalesced into one call of
+ * {@link AsyncBatchConstraint#validValues(Set)}.<br>
+ * The violations are reported in the order of the synchronous ones first, then the
+ * asynchronous ones in the order of registration.
+ *
+ * <pre>
+ * AsyncValidator&lt;User&gt; validator = ValidatorBuilder.&lt;User&gt; of()
+ * 		.constraint(User::getName, "name", c -&gt; c.notBlank())
+ * 		.constraintAsync(User::getName, "name", usernameNotTaken).buildAsync();
+ * </pre>
+ *
+ * An <code>AsyncValidator</code> instance is immutable and can be used as a singleton.
+ *
+ * @param <T> the type of the instance to validate
+ * @since 0.12.0
+ */
+public class AsyncValidator<T> {
+	private final Validator<T> validator;
+
+	private final List<AsyncConstraintPredicates<T, ?>> asyncPredicatesList;
+
+	private final List<AsyncCollectionConstraint<T, ?, ?>> asyncCollectionConstraints;
+
+	private final String messageKeySeparator;
+
+	private final MessageFormatter messageFormatter;
+
+	private final boolean failFast;
+
+	public AsyncValidator(Validator<T> validator,
+			List<AsyncConstraintPredicates<T, ?>> asyncPredicatesList,
+			List<AsyncCollectionConstraint<T, ?, ?>> asyncCollectionConstraints,
+			String messageKeySeparator, MessageFormatter messageFormatter,
+			boolean failFast) {
+		this.validator = validator;
+		this.asyncPredicatesList = Collections
+				.unmodifiableList(new ArrayList<>(asyncPredicatesList));
+		this.asyncCollectionConstraints = Collections
+				.unmodifiableList(new ArrayList<>(asyncCollectionConstraints));
+		this.messageKeySeparator = messageKeySeparator;
+		this.messageFormatter = messageFormatter;
+		this.failFast = failFast;
+	}
+
+	/**
+	 * Returns the validator of the synchronous constraints
+	 */
+	public Validator<T> validator() {
+		return this.validator;
+	}
+
+	public CompletionStage<ConstraintViolations> validate(T target) {
+		return this.validate(target, Locale.getDefault(), ConstraintGroup.DEFAULT);
+	}
+
+	public CompletionStage<ConstraintViolations> validate(T target, Locale locale) {
+		return this.validate(target, locale, ConstraintGroup.DEFAULT);
+	}
+
+	public CompletionStage<ConstraintViolations> validate(T target,
+			ConstraintContext constraintContext) {
+		return this.validate(target, Locale.getDefault(), constraintContext);
+	}
+
+	/**
+	 * Validates the given target. If fail fast mode is enabled, the asynchronous
+	 * constraints are not checked when the synchronous ones are violated.
+	 *
+	 * @param target target to validate
+	 * @param locale the locale targeted for the violation messages.
+	 * @param constraintContext constraint context to validate
+	 * @return a stage completed with the constraint violations, or completed
+	 * exceptionally if one of the asynchronous checks failed
+	 */
+	public CompletionStage<ConstraintViolations> validate(T target, Locale locale,
+			ConstraintContext constraintContext) {
+		final ConstraintViolations violations = this.validator.validate(target, locale,
+				constraintContext);
+		if ((this.failFast && !violations.isEmpty())
+				|| (this.asyncPredicatesList.isEmpty()
+						&& this.asyncCollectionConstraints.isEmpty())) {
+			return CompletableFuture.completedFuture(violations);
+		}
+		final List<CompletableFuture<List<ConstraintViolation>>> futures = new ArrayList<>();
+		for (AsyncConstraintPredicates<T, ?> predicates : this.asyncPredicatesList) {
+			this.test(predicates, target, locale, futures);
+		}
+		for (AsyncCollectionConstraint<T, ?, ?> constraint : this.asyncCollectionConstraints) {
+			this.test(constraint, target, locale, futures);
+		}
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+				.thenApply(unused -> {
+					ConstraintViolations result = violations;
+					for (CompletableFuture<List<ConstraintViolation>> future : futures) {
+						for (ConstraintViolation violation : future.join()) {
+							if (result == violations) {
+								// the given violations may be the shared empty instance
+								result = new ConstraintViolations();
+								result.addAll(violations);
+							}
+							result.add(violation);
+							if (this.failFast) {
+								return result;
+							}
+						}
+					}
+					return result;
+				});
+	}
+
+	public CompletionStage<Validated<T>> validated(T target) {
+		return this.validated(target, Locale.getDefault(), ConstraintGroup.DEFAULT);
+	}
+
+	/**
+	 * Validates the given target and returns the result as a {@link Validated}.
+	 *
+	 * @param target target to validate
+	 * @param locale the locale targeted for the violation messages.
+	 * @param constraintContext constraint context to validate
+	 * @return a stage completed with the validation result
+	 */
+	public CompletionStage<Validated<T>> validated(T target, Locale locale,
+			ConstraintContext constraintContext) {
+		return this.validate(target, locale, constraintContext)
+				.thenApply(violations -> violations.isValid()
+						? Validated.of(Validation.success(target))
+						: Validated.of(Validation.failure(violations)));
+	}
+
+	private <V> void test(AsyncConstraintPredicates<T, V> predicates, T target,
+			Locale locale, List<CompletableFuture<List<ConstraintViolation>>> futures) {
+		final V value = predicates.toValue().apply(target);
+		if (value == null) {
+			return;
+		}
+		for (AsyncConstraint<V> constraint : predicates.constraints()) {
+			futures.add(start(() -> constraint.test(value)).thenApply(
+					valid -> Boolean.TRUE.equals(valid) ? Collections.emptyList()
+							: Collections.singletonList(this.violation(predicates.name(),
+									constraint, constraint, value, locale))));
+		}
+	}
+
+	private <E, V> void test(AsyncCollectionConstraint<T, E, V> constraint, T target,
+			Locale locale, List<CompletableFuture<List<ConstraintViolation>>> futures) {
+		final Collection<E> collection = constraint.toCollection().apply(target);
+		if (collection == null || collection.isEmpty()) {
+			return;
+		}
+		final List<V> values = new ArrayList<>(collection.size());
+		final Set<V> distinctValues = new LinkedHashSet<>();
+		for (E element : collection) {
+			final V value = (element == null) ? null
+					: constraint.toValue().apply(element);
+			values.add(value);
+			if (value != null) {
+				distinctValues.add(value);
+			}
+		}
+		if (distinctValues.isEmpty()) {
+			return;
+		}
+		final AsyncBatchConstraint<V> batchConstraint = constraint.constraint();
+		futures.add(start(() -> batchConstraint.validValues(distinctValues))
+				.thenApply(validValues -> {
+					final List<ConstraintViolation> violations = new ArrayList<>();
+					final ViolationPath collectionPath = ViolationPath
+							.root(constraint.name());
+					for (int i = 0; i < values.size(); i++) {
+						final V value = values.get(i);
+						if (value == null || validValues.contains(value)) {
+							continue;
+						}
+						violations.add(this.violation(
+								ViolationPath.of("", collectionPath, i,
+										this.messageKeySeparator, constraint.valueName()),
+								batchConstraint, value, locale));
+					}
+					return violations;
+				}));
+	}
+
+	/**
+	 * Starts an asynchronous check. A check that throws or returns <code>null</code>
+	 * instead of a stage results in a failed future, so that the failure is reported
+	 * through the stage returned by {@link #validate(Object, Locale, ConstraintContext)}.
+	 */
+	private static <R> CompletableFuture<? extends R> start(
+			Supplier<? extends CompletionStage<? extends R>> check) {
+		final CompletionStage<? extends R> stage;
+		try {
+			stage = check.get();
+		}
+		catch (RuntimeException e) {
+			final CompletableFuture<R> failed = new CompletableFuture<>();
+			failed.completeExceptionally(e);
+			return failed;
+		}
+		if (stage == null) {
+			final CompletableFuture<R> failed = new CompletableFuture<>();
+			failed.completeExceptionally(new NullPointerException(
+					"An asynchronous constraint returned null instead of a stage"));
+			return failed;
+		}
+		return stage.toCompletableFuture();
+	}
+
+	private <V> ConstraintViolation violation(String name, ViolationMessage message,
+			ViolatedArguments<V> arguments, V value, Locale locale) {
+		return new ConstraintViolation(name, message.messageKey(),
+				message.defaultMessageFormat(),
+				pad(name, arguments.arguments(value), value), this.messageFormatter,
+				locale);
+	}
+
+	private <V> ConstraintViolation violation(ViolationPath path,
+			AsyncBatchConstraint<V> constraint, V value, Locale locale) {
+		return new ConstraintViolation(path, constraint.messageKey(),
+				constraint.defaultMessageFormat(),
+				pad(null, constraint.arguments(value), value), false,
+				this.messageFormatter, locale);
+	}
+
+	private static Object[] pad(String name, Object[] args, Object value) {
+		final Object[] pad = new Object[args.length + 2];
+		pad[0] = name;
+		System.arraycopy(args, 0, pad, 1, args.length);
+		pad[pad.length - 1] = value;
+		return pad;
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core;
+
+import java.util.function.Function;
+
+import am.ik.yavi.jsr305.Nullable;
+
+/**
+ * Pre-resolved form of {@link ConstraintPredicates} that {@link Validator} evaluates.
+ * <br>
+ * The predicates are flattened into an array, the raw casts are done once, the null-guard
+ * of nested properties is resolved and the property name already has the validator's
+ * prefix applied. It is built once per {@link Validator} instance so that validation
+ * itself does only predicate evaluation.
+ *
+ * @param <T> the type of the instance to validate
+ * @since 0.12.0
+ */
+final class CompiledConstraintPredicates<T> {
+	final String name;
+
+	final String prefixedName;
+
+	final Function<T, Object> toValue;
+
+	@Nullable
+	final Function<T, Object> nested;
+
+	@Nullable
+	final Function<Object, Object> nestedToValue;
+
+	final ConstraintPredicate<Object>[] predicates;
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	CompiledConstraintPredicates(ConstraintPredicates<T, ?> predicates, String prefix) {
+		this.name = predicates.name();
+		this.prefixedName = prefix + predicates.name();
+		this.toValue = (Function<T, Object>) predicates.toValue();
+		if (predicates instanceof NestedConstraintPredicates) {
+			final NestedConstraintPredicates nestedPredicates = (NestedConstraintPredicates) predicates;
+			this.nested = nestedPredicates::nestedValue;
+			this.nestedToValue = nestedPredicates.nestedToValue();
+		}
+		else {
+			this.nested = null;
+			this.nestedToValue = null;
+		}
+		this.predicates = predicates.predicates().toArray(new ConstraintPredicate[0]);
+	}
+}
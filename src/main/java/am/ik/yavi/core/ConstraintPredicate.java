@@ -16,6 +16,7 @@
 package am.ik.yavi.core;
 
 import java.util.Optional;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -33,36 +34,98 @@ public class ConstraintPredicate<V> {
 
 	private final Predicate<V> predicate;
 
+	@Nullable
+	private final Function<V, Optional<ViolatedValue>> violatedValue;
+
+	@Nullable
+	private final Analyzed<V, ?> analyzed;
+
 	private ConstraintPredicate(Predicate<V> predicate, ViolationMessage violationMessage,
-			Supplier<Object[]> args, NullAs nullAs) {
+			Supplier<Object[]> args, NullAs nullAs,
+			@Nullable Function<V, Optional<ViolatedValue>> violatedValue) {
 		this(predicate, violationMessage.messageKey(),
-				violationMessage.defaultMessageFormat(), args, nullAs);
+				violationMessage.defaultMessageFormat(), args, nullAs, violatedValue,
+				null);
 	}
 
 	private ConstraintPredicate(Predicate<V> predicate, String messageKey,
-			String defaultMessageFormat, Supplier<Object[]> args, NullAs nullAs) {
+			String defaultMessageFormat, Supplier<Object[]> args, NullAs nullAs,
+			@Nullable Function<V, Optional<ViolatedValue>> violatedValue,
+			@Nullable Analyzed<V, ?> analyzed) {
 		this.predicate = predicate;
 		this.messageKey = messageKey;
 		this.defaultMessageFormat = defaultMessageFormat;
 		this.args = args;
 		this.nullAs = nullAs;
+		this.violatedValue = violatedValue;
+		this.analyzed = analyzed;
+	}
+
+	private ConstraintPredicate(Analyzed<V, ?> analyzed,
+			ViolationMessage violationMessage, Supplier<Object[]> args, NullAs nullAs) {
+		this(v -> analyzed.violatedValueOrNull(v) == null, violationMessage.messageKey(),
+				violationMessage.defaultMessageFormat(), args, nullAs,
+				v -> Optional.ofNullable(analyzed.violatedValueOrNull(v)), analyzed);
 	}
 
 	public static <V> ConstraintPredicate<V> of(Predicate<V> predicate,
 			ViolationMessage violationMessage, Supplier<Object[]> args, NullAs nullAs) {
-		return new ConstraintPredicate<>(predicate, violationMessage, args, nullAs);
+		return new ConstraintPredicate<>(predicate, violationMessage, args, nullAs, null);
 	}
 
 	public static <V> ConstraintPredicate<V> withViolatedValue(
 			Function<V, Optional<ViolatedValue>> violatedValue,
 			ViolationMessage violationMessage, Supplier<Object[]> args, NullAs nullAs) {
-		return new ConstraintPredicate<V>(v -> !violatedValue.apply(v).isPresent(),
-				violationMessage, args, nullAs) {
-			@Override
-			public Optional<ViolatedValue> violatedValue(@Nullable V target) {
-				return violatedValue.apply(target);
-			}
-		};
+		return new ConstraintPredicate<>(v -> !violatedValue.apply(v).isPresent(),
+				violationMessage, args, nullAs, violatedValue);
+	}
+
+	/**
+	 * Creates a predicate on the result of an analysis of the value, such as its size.
+	 * The analysis is applied at most once per value among the predicates on the same
+	 * value that share the same <code>analysis</code> instance, so an expensive analysis
+	 * is not repeated by each of them during a validation. A <code>null</code> value is
+	 * not analyzed and is invalid unless it is skipped by <code>nullAs</code>.
+	 *
+	 * @param analysis the function to analyze a non-null value with
+	 * @param predicate the predicate on the result of the analysis
+	 * @param violationMessage the message when the predicate fails
+	 * @param args the arguments of the message
+	 * @param nullAs whether a <code>null</code> value is valid
+	 * @return the constraint predicate
+	 * @since 0.12.0
+	 */
+	public static <V, A> ConstraintPredicate<V> of(Function<V, A> analysis,
+			Predicate<A> predicate, ViolationMessage violationMessage,
+			Supplier<Object[]> args, NullAs nullAs) {
+		return new ConstraintPredicate<>(
+				new Analyzed<V, A>(analysis,
+						(v, a) -> predicate.test(a) ? null : new ViolatedValue(v)),
+				violationMessage, args, nullAs);
+	}
+
+	/**
+	 * Creates a predicate on the result of an analysis of the value that reports a
+	 * violated value computed from the result, such as the size of a value that is too
+	 * long.
+	 *
+	 * @param analysis the function to analyze a non-null value with
+	 * @param violatedValue the violated value of the result of the analysis or empty if
+	 *     it is valid
+	 * @param violationMessage the message when the violated value is present
+	 * @param args the arguments of the message
+	 * @param nullAs whether a <code>null</code> value is valid
+	 * @return the constraint predicate
+	 * @see #of(Function, Predicate, ViolationMessage, Supplier, NullAs)
+	 * @since 0.12.0
+	 */
+	public static <V, A> ConstraintPredicate<V> withViolatedValue(Function<V, A> analysis,
+			Function<A, Optional<ViolatedValue>> violatedValue,
+			ViolationMessage violationMessage, Supplier<Object[]> args, NullAs nullAs) {
+		return new ConstraintPredicate<>(
+				new Analyzed<V, A>(analysis,
+						(v, a) -> violatedValue.apply(a).orElse(null)),
+				violationMessage, args, nullAs);
 	}
 
 	public Supplier<Object[]> args() {
@@ -82,24 +145,44 @@ public class ConstraintPredicate<V> {
 	}
 
 	public ConstraintPredicate<V> overrideMessage(ViolationMessage message) {
-		return new ConstraintPredicate<>(this.predicate, message, this.args, this.nullAs);
+		return new ConstraintPredicate<>(this.predicate, message, this.args, this.nullAs,
+				null);
 	}
 
 	public ConstraintPredicate<V> overrideMessage(String message) {
-		return new ConstraintPredicate<V>(this.predicate, this.messageKey, message,
-				this.args, this.nullAs) {
-			@Override
-			public Optional<ViolatedValue> violatedValue(@Nullable V target) {
-				return ConstraintPredicate.this.violatedValue(target);
-			}
-		};
+		return new ConstraintPredicate<>(this.predicate, this.messageKey, message,
+				this.args, this.nullAs, this.violatedValue, this.analyzed);
 	}
 
 	public final Predicate<V> predicate() {
 		return this.predicate;
 	}
 
+	/**
+	 * Tests whether the given value satisfies this constraint. Unlike
+	 * {@link #violatedValue(Object)}, this method does not build a
+	 * <code>ViolatedValue</code>, hence it does not allocate anything by itself.
+	 *
+	 * @param target the value to test
+	 * @return <code>true</code> if the value is valid
+	 * @since 0.12.0
+	 */
+	public final boolean test(@Nullable V target) {
+		return this.predicate.test(target);
+	}
+
+	/**
+	 * Returns whether the predicate is a blocking {@link CustomConstraint}.
+	 */
+	boolean isBlocking() {
+		return (this.predicate instanceof CustomConstraint)
+				&& ((CustomConstraint<V>) this.predicate).isBlocking();
+	}
+
 	public Optional<ViolatedValue> violatedValue(@Nullable V target) {
+		if (this.violatedValue != null) {
+			return this.violatedValue.apply(target);
+		}
 		Predicate<V> predicate = this.predicate();
 		if (predicate.test(target)) {
 			return Optional.empty();
@@ -109,4 +192,56 @@ public class ConstraintPredicate<V> {
 			return Optional.of(new ViolatedValue(target));
 		}
 	}
+
+	/**
+	 * Tests the target and returns its violated value if it is invalid. Unlike
+	 * {@link #violatedValue(Object)}, nothing is allocated for a valid target, and unlike
+	 * {@link #test(Object)} followed by {@link #violatedValue(Object)}, the violated
+	 * value function is applied only once.
+	 *
+	 * @return the violated value or <code>null</code> if the target is valid
+	 */
+	@Nullable
+	ViolatedValue violatedValueOrNull(@Nullable V target) {
+		if (this.violatedValue != null) {
+			return this.violatedValue.apply(target).orElse(null);
+		}
+		return this.predicate.test(target) ? null : new ViolatedValue(target);
+	}
+
+	/**
+	 * Returns the analysis shared among predicates or <code>null</code> if this predicate
+	 * tests the value directly.
+	 */
+	@Nullable
+	Function<V, ?> analysis() {
+		return (this.analyzed == null) ? null : this.analyzed.analysis;
+	}
+
+	/**
+	 * Returns the violated value of the non-null target whose analysis has already been
+	 * computed, or <code>null</code> if it is valid.
+	 */
+	@SuppressWarnings("unchecked")
+	@Nullable
+	ViolatedValue violatedValueOfAnalyzed(V target, @Nullable Object result) {
+		return ((Analyzed<V, Object>) this.analyzed).check.apply(target, result);
+	}
+
+	private static final class Analyzed<V, A> {
+		private final Function<V, A> analysis;
+
+		private final BiFunction<V, A, ViolatedValue> check;
+
+		Analyzed(Function<V, A> analysis, BiFunction<V, A, ViolatedValue> check) {
+			this.analysis = analysis;
+			this.check = check;
+		}
+
+		@Nullable
+		ViolatedValue violatedValueOrNull(@Nullable V target) {
+			return (target == null) ? new ViolatedValue(null)
+					: this.check.apply(target, this.analysis.apply(target));
+		}
+	}
 }
@@ -19,10 +19,11 @@ import java.util.Arrays;
 import java.util.Locale;
 import java.util.function.Function;
 
+import am.ik.yavi.jsr305.Nullable;
 import am.ik.yavi.message.MessageFormatter;
 
 public class ConstraintViolation {
-	private final Object[] args;
+	private volatile Object[] args;
 
 	private final String defaultMessageFormat;
 
@@ -32,12 +33,39 @@ public class ConstraintViolation {
 
 	private final String messageKey;
 
-	private final String name;
+	private volatile String name;
+
+	@Nullable
+	private final ViolationPath path;
+
+	private final boolean copyArgs;
 
 	public ConstraintViolation(String name, String messageKey,
 			String defaultMessageFormat, Object[] args, MessageFormatter messageFormatter,
 			Locale locale) {
 		this.name = name;
+		this.path = null;
+		this.copyArgs = false;
+		this.messageKey = messageKey;
+		this.defaultMessageFormat = defaultMessageFormat;
+		this.args = args;
+		this.messageFormatter = messageFormatter;
+		this.locale = locale;
+	}
+
+	/**
+	 * Creates a violation whose name is materialized from the given path on first access.
+	 * The first element of <code>args</code> is replaced with the materialized name at
+	 * that time, on a copy if <code>copyArgs</code> is true.
+	 *
+	 * @since 0.12.0
+	 */
+	ConstraintViolation(ViolationPath path, String messageKey,
+			String defaultMessageFormat, Object[] args, boolean copyArgs,
+			MessageFormatter messageFormatter, Locale locale) {
+		this.name = null;
+		this.path = path;
+		this.copyArgs = copyArgs;
 		this.messageKey = messageKey;
 		this.defaultMessageFormat = defaultMessageFormat;
 		this.args = args;
@@ -46,6 +74,7 @@ public class ConstraintViolation {
 	}
 
 	public Object[] args() {
+		this.materialize();
 		return this.args;
 	}
 
@@ -54,7 +83,7 @@ public class ConstraintViolation {
 	}
 
 	public ViolationDetail detail() {
-		return new ViolationDetail(this.messageKey, this.args, this.message());
+		return new ViolationDetail(this.messageKey, this.args(), this.message());
 	}
 
 	public Locale locale() {
@@ -63,7 +92,7 @@ public class ConstraintViolation {
 
 	public String message() {
 		return this.messageFormatter.format(this.messageKey, this.defaultMessageFormat,
-				this.args, this.locale);
+				this.args(), this.locale);
 	}
 
 	public String messageKey() {
@@ -71,25 +100,62 @@ public class ConstraintViolation {
 	}
 
 	public String name() {
+		this.materialize();
 		return this.name;
 	}
 
 	@Override
 	public String toString() {
-		return "ConstraintViolation{" + "name='" + name + '\'' + ", messageKey='"
+		return "ConstraintViolation{" + "name='" + name() + '\'' + ", messageKey='"
 				+ messageKey + '\'' + ", defaultMessageFormat='" + defaultMessageFormat
-				+ '\'' + ", args=" + Arrays.toString(args) + '}';
+				+ '\'' + ", args=" + Arrays.toString(args()) + '}';
 	}
 
 	public Object violatedValue() {
-		return this.args[this.args.length - 1];
+		// the last element is never replaced on materialization
+		final Object[] args = this.args;
+		return args[args.length - 1];
+	}
+
+	/**
+	 * Returns the path of this violation, or the name if it has already been
+	 * materialized, so that a derived path can refer to it without materializing it.
+	 */
+	Object nameSegment() {
+		final String name = this.name;
+		return (name != null || this.path == null) ? name : this.path;
+	}
+
+	/**
+	 * Returns a violation with the given path and the same message. The name of this
+	 * violation is not materialized.
+	 *
+	 * @since 0.12.0
+	 */
+	ConstraintViolation withPath(ViolationPath path) {
+		return new ConstraintViolation(path, this.messageKey, this.defaultMessageFormat,
+				this.args, true, this.messageFormatter, this.locale);
+	}
+
+	private void materialize() {
+		if (this.name != null || this.path == null) {
+			return;
+		}
+		final String name = this.path.toString();
+		final Object[] args = this.copyArgs ? this.args.clone() : this.args;
+		if (args.length > 0) {
+			args[0] = name;
+		}
+		this.args = args;
+		// published last so that a non-null name implies materialized args
+		this.name = name;
 	}
 
 	/**
 	 * @since 0.7.0
 	 */
 	public ConstraintViolation rename(Function<? super String, String> rename) {
-		final String newName = rename.apply(name);
+		final String newName = rename.apply(this.name());
 		final Object[] newArgs = this.args().clone();
 		if (newArgs.length > 0) {
 			newArgs[0] = newName;
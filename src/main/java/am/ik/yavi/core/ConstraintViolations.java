@@ -26,6 +26,12 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class ConstraintViolations implements List<ConstraintViolation> {
+	/**
+	 * The shared immutable empty instance returned for valid targets
+	 */
+	static final ConstraintViolations EMPTY = new ConstraintViolations(
+			Collections.emptyList());
+
 	private final List<ConstraintViolation> delegate;
 
 	/**
@@ -29,4 +29,17 @@ public interface CustomConstraint<V>
 	default Object[] arguments(@Nullable V violatedValue) {
 		return EMPTY_ARRAY;
 	}
+
+	/**
+	 * Returns whether this constraint blocks, for example on I/O. A blocking constraint
+	 * is tested on the executor of a {@link Validator} in parallel mode, concurrently
+	 * with the other blocking constraints of the same target.
+	 *
+	 * @return <code>true</code> if this constraint blocks
+	 * @see Validator#parallel(int, java.util.concurrent.Executor)
+	 * @since 0.12.0
+	 */
+	default boolean isBlocking() {
+		return false;
+	}
 }
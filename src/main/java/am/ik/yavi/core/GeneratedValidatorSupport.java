@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core;
+
+import java.text.Normalizer;
+
+import am.ik.yavi.jsr305.Nullable;
+
+/**
+ * Helpers called by the validators generated by
+ * <code>am.ik.yavi.processor.ConstraintMetaProcessor</code>. They share the semantics of
+ * the default constraints so that a generated validator reports the same violations as
+ * the equivalent validator built with <code>ValidatorBuilder</code>. Not intended to be
+ * used directly.
+ *
+ * @since 0.12.0
+ */
+public final class GeneratedValidatorSupport {
+	private GeneratedValidatorSupport() {
+	}
+
+	/**
+	 * Appends the violation, allocating the violations on the first one.
+	 *
+	 * @param violations violations so far or <code>null</code> if there are none
+	 * @param violation violation to append
+	 * @return the violations containing the given violation
+	 */
+	public static ConstraintViolations add(@Nullable ConstraintViolations violations,
+			ConstraintViolation violation) {
+		final ConstraintViolations v = (violations == null) ? new ConstraintViolations()
+				: violations;
+		v.add(violation);
+		return v;
+	}
+
+	/**
+	 * @param violations violations or <code>null</code> if there are none
+	 * @return the given violations or a new empty instance, which is mutable like the one
+	 * returned by the default <code>Validator</code>
+	 */
+	public static ConstraintViolations orEmpty(
+			@Nullable ConstraintViolations violations) {
+		return (violations == null) ? new ConstraintViolations() : violations;
+	}
+
+	/**
+	 * Counts the code points of the NFC-normalized value, the same as the size of the
+	 * default <code>CharSequenceConstraint</code>.
+	 *
+	 * @param value value to count
+	 * @return the size of the value
+	 */
+	public static int codePointSize(CharSequence value) {
+		final String s = value.toString();
+		for (int i = 0; i < s.length(); i++) {
+			if (s.charAt(i) >= 0x80) {
+				final String normalized = Normalizer.normalize(s, Normalizer.Form.NFC);
+				return normalized.codePointCount(0, normalized.length());
+			}
+		}
+		return s.length();
+	}
+
+	/**
+	 * @param value value to check
+	 * @return whether the value consists only of whitespaces, the same as the negation of
+	 * <code>CharSequenceConstraint#notBlank()</code>
+	 */
+	public static boolean isBlank(CharSequence value) {
+		for (int i = 0; i < value.length(); i++) {
+			if (!Character.isWhitespace(value.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
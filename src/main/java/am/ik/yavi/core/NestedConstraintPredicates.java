@@ -23,14 +23,42 @@ import am.ik.yavi.jsr305.Nullable;
 public class NestedConstraintPredicates<T, V, N> extends ConstraintPredicates<T, V> {
 	private final Function<T, N> nested;
 
+	private final Function<N, V> nestedToValue;
+
 	public NestedConstraintPredicates(Function<T, V> toValue, String name,
 			Deque<ConstraintPredicate<V>> constraintPredicates, Function<T, N> nested) {
+		this(toValue, name, constraintPredicates, nested, null);
+	}
+
+	/**
+	 * @param nestedToValue the function that returns the value from the (non-null) nested
+	 *     value. <code>toValue</code> must be equivalent to applying
+	 *     <code>nestedToValue</code> to the result of <code>nested</code>.
+	 * @since 0.12.0
+	 */
+	public NestedConstraintPredicates(Function<T, V> toValue, String name,
+			Deque<ConstraintPredicate<V>> constraintPredicates, Function<T, N> nested,
+			@Nullable Function<N, V> nestedToValue) {
 		super(toValue, name, constraintPredicates);
 		this.nested = nested;
+		this.nestedToValue = nestedToValue;
 	}
 
 	@Nullable
 	public N nestedValue(T target) {
 		return nested.apply(target);
 	}
+
+	/**
+	 * Returns the function that returns the value from the nested value so that the
+	 * nested chain does not need to be walked again once {@link #nestedValue(Object)} is
+	 * resolved.
+	 *
+	 * @return the function or <code>null</code> if unknown
+	 * @since 0.12.0
+	 */
+	@Nullable
+	public Function<N, V> nestedToValue() {
+		return this.nestedToValue;
+	}
 }
@@ -57,6 +57,10 @@ public class NestedValidator<T, N> implements Validatable<T> {
 		}
 	}
 
+	Validatable<N> validator() {
+		return this.validator;
+	}
+
 	public String getPrefix() {
 		return prefix;
 	}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Set;
+
+import am.ik.yavi.jsr305.Nullable;
+import am.ik.yavi.message.MessageFormatCache;
+import am.ik.yavi.message.MessageFormatter;
+import am.ik.yavi.message.MessageSourceMessageFormatter;
+import am.ik.yavi.message.SimpleMessageFormatter;
+
+/**
+ * Prepares validators that are built ahead of time, typically while a GraalVM native
+ * image is built.<br>
+ * If the application initializes YAVI and the class holding its validators at image build
+ * time, a validator held in a static field of that class is snapshotted into the image
+ * heap together with its compiled patterns and constraint tables. YAVI does not request
+ * build time initialization on its own, so the application opts in with its own flags.
+ * {@link #prepare(Validator, Locale...)} additionally parses the message formats of all
+ * constraints up front so that the first violations at run time do not parse them.
+ *
+ * <pre>
+ * public final class Validators {
+ * 	public static final Validator&lt;User&gt; USER = PreparedValidators
+ * 			.prepare(ValidatorBuilder.&lt;User&gt; of() //
+ * 					.constraint(User::getName, "name", c -&gt; c.notBlank()) //
+ * 					.build(), Locale.ENGLISH);
+ * }
+ * </pre>
+ *
+ * and in
+ * <code>META-INF/native-image/&lt;groupId&gt;/&lt;artifactId&gt;/native-image.properties</code>
+ * of the application:
+ *
+ * <pre>
+ * Args = --initialize-at-build-time=am.ik.yavi,com.example.Validators
+ * </pre>
+ *
+ * @since 0.12.0
+ */
+public final class PreparedValidators {
+	private PreparedValidators() {
+	}
+
+	/**
+	 * Parse the message formats of all constraints of the given validator, including
+	 * nested, collection and conditional validators, for the given locales. Only
+	 * validators using {@link SimpleMessageFormatter} or
+	 * {@link MessageSourceMessageFormatter}, whose default message formats are cached,
+	 * are prepared, since other formatters resolve their message formats on their own.
+	 *
+	 * @param validator validator to prepare
+	 * @param locales locales of the messages. The default locale is used if none is
+	 *     given.
+	 * @param <T> target class
+	 * @return the given validator
+	 */
+	public static <T> Validator<T> prepare(Validator<T> validator, Locale... locales) {
+		final Locale[] targetLocales = (locales.length == 0)
+				? new Locale[] { Locale.getDefault() }
+				: locales;
+		prepare(validator, targetLocales,
+				Collections.newSetFromMap(new IdentityHashMap<>()));
+		return validator;
+	}
+
+	private static void prepare(Validatable<?> validatable, Locale[] locales,
+			Set<Validatable<?>> prepared) {
+		if (validatable instanceof NestedValidator) {
+			prepare(((NestedValidator<?, ?>) validatable).validator(), locales, prepared);
+			return;
+		}
+		if (!(validatable instanceof Validator) || !prepared.add(validatable)) {
+			return;
+		}
+		final Validator<?> validator = (Validator<?>) validatable;
+		final MessageFormatCache cache = messageFormatCache(validator.messageFormatter());
+		if (cache != null) {
+			validator.forEachPredicates(predicates -> {
+				for (ConstraintPredicate<?> predicate : predicates.predicates()) {
+					for (Locale locale : locales) {
+						cache.messageFormat(predicate.defaultMessageFormat(), locale);
+					}
+				}
+			});
+			for (Locale locale : locales) {
+				// used for the null elements of collections
+				cache.messageFormat(
+						ViolationMessage.Default.OBJECT_NOT_NULL.defaultMessageFormat(),
+						locale);
+			}
+		}
+		validator.forEachCollectionValidator(collectionValidator -> prepare(
+				collectionValidator.validator(), locales, prepared));
+		validator.forEachConditionalValidator(
+				pair -> prepare(pair.second(), locales, prepared));
+	}
+
+	@Nullable
+	private static MessageFormatCache messageFormatCache(
+			MessageFormatter messageFormatter) {
+		if (messageFormatter instanceof SimpleMessageFormatter) {
+			return ((SimpleMessageFormatter) messageFormatter).messageFormatCache();
+		}
+		if (messageFormatter instanceof MessageSourceMessageFormatter) {
+			return ((MessageSourceMessageFormatter) messageFormatter)
+					.messageFormatCache();
+		}
+		return null;
+	}
+}
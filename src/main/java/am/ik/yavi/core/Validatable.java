@@ -16,6 +16,7 @@
 package am.ik.yavi.core;
 
 import java.util.Locale;
+import java.util.stream.Stream;
 
 import am.ik.yavi.fn.Validation;
 
@@ -72,6 +73,35 @@ public interface Validatable<T> {
 		return this.validate(target, Locale.getDefault(), constraintContext);
 	}
 
+	/**
+	 * Validates the targets of the given stream lazily. A target is validated when the
+	 * returned stream consumes it, and its violations are indexed by its position.
+	 *
+	 * @param targets targets to validate
+	 * @param locale the locale targeted for the violation messages.
+	 * @param constraintContext constraint context to validate
+	 * @return the stream of the validation results in the order of the targets
+	 * @see ValueValidator#validateStream(Stream, Locale, ConstraintContext)
+	 * @since 0.12.0
+	 */
+	default Stream<Validated<T>> validateStream(Stream<? extends T> targets,
+			Locale locale, ConstraintContext constraintContext) {
+		return this.applicative().validateStream(targets, locale, constraintContext);
+	}
+
+	/**
+	 * Validates the targets of the given stream lazily. <br>
+	 * {@code Locale.getDefault()} is used to locate the violation messages.
+	 * {@code ConstraintGroup.DEFAULT} is used as a constraint context.
+	 *
+	 * @param targets targets to validate
+	 * @return the stream of the validation results in the order of the targets
+	 * @since 0.12.0
+	 */
+	default Stream<Validated<T>> validateStream(Stream<? extends T> targets) {
+		return this.validateStream(targets, Locale.getDefault(), ConstraintGroup.DEFAULT);
+	}
+
 	/**
 	 * Returns the corresponding applicative validator
 	 * @return applicative validator
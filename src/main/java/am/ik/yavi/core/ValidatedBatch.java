@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import am.ik.yavi.fn.Validation;
+import am.ik.yavi.jsr305.Nullable;
+
+/**
+ * The result of validating a batch of targets at once.<br>
+ * The violations of all targets are kept in a single list, in the order of the targets.
+ * The violations of the target at <code>index</code> are the range from
+ * {@link #violationsStart(int)} (inclusive) to {@link #violationsEnd(int)} (exclusive) of
+ * {@link #violations()}.
+ *
+ * @param <X> value type in the case of success
+ * @since 0.12.0
+ */
+public final class ValidatedBatch<X> {
+	private final Object[] values;
+
+	private final List<ConstraintViolation> violations;
+
+	private final int[] violationsEnds;
+
+	private ValidatedBatch(Object[] values, List<ConstraintViolation> violations,
+			int[] violationsEnds) {
+		this.values = values;
+		this.violations = Collections.unmodifiableList(violations);
+		this.violationsEnds = violationsEnds;
+	}
+
+	/**
+	 * @return the number of validated targets
+	 */
+	public int size() {
+		return this.values.length;
+	}
+
+	/**
+	 * @return whether all targets are valid
+	 */
+	public boolean isValid() {
+		return this.violations.isEmpty();
+	}
+
+	/**
+	 * @param index index of the target
+	 * @return whether the target at the given index is valid
+	 */
+	public boolean isValid(int index) {
+		return this.violationsStart(index) == this.violationsEnd(index);
+	}
+
+	/**
+	 * @return the violations of all targets in the order of the targets
+	 */
+	public ConstraintViolations violations() {
+		return ConstraintViolations.of(this.violations);
+	}
+
+	/**
+	 * @param index index of the target
+	 * @return the violations of the target at the given index
+	 */
+	public ConstraintViolations violations(int index) {
+		return new ConstraintViolations(new ArrayList<>(this.violations
+				.subList(this.violationsStart(index), this.violationsEnd(index))));
+	}
+
+	/**
+	 * @param index index of the target
+	 * @return the index in {@link #violations()} of the first violation of the target
+	 */
+	public int violationsStart(int index) {
+		this.checkIndex(index);
+		return index == 0 ? 0 : this.violationsEnds[index - 1];
+	}
+
+	/**
+	 * @param index index of the target
+	 * @return the index in {@link #violations()} after the last violation of the target
+	 */
+	public int violationsEnd(int index) {
+		this.checkIndex(index);
+		return this.violationsEnds[index];
+	}
+
+	/**
+	 * @param index index of the target
+	 * @return the validated value of the target at the given index or <code>null</code>
+	 * if the target is invalid
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public X value(int index) {
+		this.checkIndex(index);
+		return (X) this.values[index];
+	}
+
+	/**
+	 * @param index index of the target
+	 * @return the result of the target at the given index
+	 */
+	public Validated<X> get(int index) {
+		if (this.isValid(index)) {
+			return Validated.of(Validation.success(this.value(index)));
+		}
+		return Validated.of(Validation.failure(this.violations(index)));
+	}
+
+	/**
+	 * @return the values of the valid targets in the order of the targets
+	 */
+	public List<X> validValues() {
+		final List<X> validValues = new ArrayList<>(this.values.length);
+		for (int i = 0; i < this.values.length; i++) {
+			if (this.isValid(i)) {
+				validValues.add(this.value(i));
+			}
+		}
+		return validValues;
+	}
+
+	/**
+	 * @return the indices of the invalid targets in ascending order
+	 */
+	public int[] invalidIndices() {
+		int count = 0;
+		final int[] indices = new int[this.values.length];
+		for (int i = 0; i < this.values.length; i++) {
+			if (!this.isValid(i)) {
+				indices[count++] = i;
+			}
+		}
+		return Arrays.copyOf(indices, count);
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= this.values.length) {
+			throw new IndexOutOfBoundsException(
+					"Index: " + index + ", Size: " + this.values.length);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "ValidatedBatch{" + "size=" + this.values.length + ", violations="
+				+ this.violations + '}';
+	}
+
+	static <X> Builder<X> builder(int size) {
+		return new Builder<>(size);
+	}
+
+	static final class Builder<X> {
+		private final Object[] values;
+
+		private final List<ConstraintViolation> violations = new ArrayList<>();
+
+		private final int[] violationsEnds;
+
+		private int size = 0;
+
+		Builder(int size) {
+			this.values = new Object[size];
+			this.violationsEnds = new int[size];
+		}
+
+		Builder<X> valid(@Nullable X value) {
+			this.values[this.size] = value;
+			this.violationsEnds[this.size++] = this.violations.size();
+			return this;
+		}
+
+		Builder<X> invalid(List<ConstraintViolation> violations) {
+			this.violations.addAll(violations);
+			this.violationsEnds[this.size++] = this.violations.size();
+			return this;
+		}
+
+		ValidatedBatch<X> build() {
+			if (this.size != this.values.length) {
+				throw new IllegalStateException(
+						"Expected " + this.values.length + " results but " + this.size);
+			}
+			return new ValidatedBatch<>(this.values, this.violations,
+					this.violationsEnds);
+		}
+	}
+}
@@ -15,18 +15,24 @@
  */
 package am.ik.yavi.core;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Deque;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import am.ik.yavi.fn.Pair;
+import am.ik.yavi.jsr305.Nullable;
 import am.ik.yavi.message.MessageFormatter;
 
 import static am.ik.yavi.core.ViolationMessage.Default.OBJECT_NOT_NULL;
@@ -40,6 +46,8 @@ import static am.ik.yavi.core.ViolationMessage.Default.OBJECT_NOT_NULL;
  * @author Toshiaki Maki
  */
 public class Validator<T> implements Validatable<T> {
+	private static final Object NO_VALUE = new Object();
+
 	private final List<CollectionValidator<T, ?, ?>> collectionValidators;
 
 	private final List<Pair<ConstraintCondition<T>, Validatable<T>>> conditionalValidators;
@@ -54,8 +62,34 @@ public class Validator<T> implements Validatable<T> {
 
 	private final boolean failFast;
 
+	private final boolean sharedEmptyViolations;
+
+	private final int parallelThreshold;
+
+	@Nullable
+	private final Executor parallelExecutor;
+
 	private final ApplicativeValidator<T> applicativeValidator = Validatable.super.applicative();
 
+	private final CompiledConstraintPredicates<T>[] compiledPredicates;
+
+	private final CollectionValidator<T, ?, ?>[] compiledCollectionValidators;
+
+	private final Validator<?>[] collectionElementValidators;
+
+	/**
+	 * The element validators used in chunk tasks. They do not inherit the parallel
+	 * executor, since a chunk task waiting for tasks queued on its own pool could
+	 * deadlock a bounded pool.
+	 */
+	private final Validator<?>[] chunkElementValidators;
+
+	private final ViolationPath[] collectionPaths;
+
+	private final boolean concurrentPredicates;
+
+	private final Pair<ConstraintCondition<T>, Validatable<T>>[] compiledConditionalValidators;
+
 	public Validator(String messageKeySeparator,
 			List<ConstraintPredicates<T, ?>> predicatesList,
 			List<CollectionValidator<T, ?, ?>> collectionValidators,
@@ -74,29 +108,88 @@ public class Validator<T> implements Validatable<T> {
 			List<Pair<ConstraintCondition<T>, Validatable<T>>> conditionalValidators,
 			MessageFormatter messageFormatter, boolean failFast) {
 		this(messageKeySeparator, predicatesList, collectionValidators,
-				conditionalValidators, messageFormatter, failFast, "");
+				conditionalValidators, messageFormatter, failFast, false);
 	}
 
+	/**
+	 * @since 0.12.0
+	 */
+	public Validator(String messageKeySeparator,
+			List<ConstraintPredicates<T, ?>> predicatesList,
+			List<CollectionValidator<T, ?, ?>> collectionValidators,
+			List<Pair<ConstraintCondition<T>, Validatable<T>>> conditionalValidators,
+			MessageFormatter messageFormatter, boolean failFast,
+			boolean sharedEmptyViolations) {
+		this(messageKeySeparator, predicatesList, collectionValidators,
+				conditionalValidators, messageFormatter, failFast, sharedEmptyViolations,
+				"", Integer.MAX_VALUE, null);
+	}
+
+	@SuppressWarnings("unchecked")
 	private Validator(String messageKeySeparator,
 			List<ConstraintPredicates<T, ?>> predicatesList,
 			List<CollectionValidator<T, ?, ?>> collectionValidators,
 			List<Pair<ConstraintCondition<T>, Validatable<T>>> conditionalValidators,
-			MessageFormatter messageFormatter, boolean failFast, String prefix) {
+			MessageFormatter messageFormatter, boolean failFast,
+			boolean sharedEmptyViolations, String prefix, int parallelThreshold,
+			@Nullable Executor parallelExecutor) {
 		this.messageKeySeparator = messageKeySeparator;
-		this.predicatesList = Collections.unmodifiableList(predicatesList);
-		this.collectionValidators = Collections.unmodifiableList(collectionValidators);
-		this.conditionalValidators = Collections.unmodifiableList(conditionalValidators);
+		this.predicatesList = Collections
+				.unmodifiableList(new ArrayList<>(predicatesList));
+		this.collectionValidators = Collections
+				.unmodifiableList(new ArrayList<>(collectionValidators));
+		this.conditionalValidators = Collections
+				.unmodifiableList(new ArrayList<>(conditionalValidators));
 		this.messageFormatter = messageFormatter;
 		this.failFast = failFast;
+		this.sharedEmptyViolations = sharedEmptyViolations;
+		this.parallelThreshold = parallelThreshold;
+		this.parallelExecutor = parallelExecutor;
 		this.prefix = (prefix == null || prefix.isEmpty()
 				|| prefix.endsWith(this.messageKeySeparator)) ? prefix
 						: prefix + this.messageKeySeparator;
+		this.compiledPredicates = predicatesList.stream().map(
+				predicates -> new CompiledConstraintPredicates<>(predicates, this.prefix))
+				.toArray(CompiledConstraintPredicates[]::new);
+		this.compiledCollectionValidators = collectionValidators
+				.toArray(new CollectionValidator[0]);
+		this.chunkElementValidators = collectionValidators.stream()
+				.map(collectionValidator -> {
+					final Validator<?> validator = collectionValidator.validator();
+					return validator.failFast == failFast ? validator
+							: validator.failFast(failFast);
+				}).toArray(Validator[]::new);
+		this.collectionElementValidators = Arrays.stream(this.chunkElementValidators)
+				// blocking constraints of the elements run on the same executor
+				.map(v -> (parallelExecutor != null && v.parallelExecutor == null
+						&& v.hasBlockingPredicates())
+								? v.parallel(Integer.MAX_VALUE, parallelExecutor)
+								: v)
+				.toArray(Validator[]::new);
+		this.collectionPaths = collectionValidators.stream().map(
+				collectionValidator -> ViolationPath.root(collectionValidator.name()))
+				.toArray(ViolationPath[]::new);
+		this.compiledConditionalValidators = conditionalValidators.toArray(new Pair[0]);
+		this.concurrentPredicates = parallelExecutor != null
+				&& this.hasBlockingPredicates();
+	}
+
+	private boolean hasBlockingPredicates() {
+		for (CompiledConstraintPredicates<T> predicates : this.compiledPredicates) {
+			for (ConstraintPredicate<Object> predicate : predicates.predicates) {
+				if (predicate.isBlocking()) {
+					return true;
+				}
+			}
+		}
+		return false;
 	}
 
 	public Validator<T> prefixed(String prefix) {
 		return new Validator<>(this.messageKeySeparator, this.predicatesList,
 				this.collectionValidators, this.conditionalValidators,
-				this.messageFormatter, this.failFast, prefix);
+				this.messageFormatter, this.failFast, this.sharedEmptyViolations, prefix,
+				this.parallelThreshold, this.parallelExecutor);
 	}
 
 	/**
@@ -109,7 +202,65 @@ public class Validator<T> implements Validatable<T> {
 	public Validator<T> failFast(boolean failFast) {
 		return new Validator<>(this.messageKeySeparator, this.predicatesList,
 				this.collectionValidators, this.conditionalValidators,
-				this.messageFormatter, failFast, this.prefix);
+				this.messageFormatter, failFast, this.sharedEmptyViolations, this.prefix,
+				this.parallelThreshold, this.parallelExecutor);
+	}
+
+	/**
+	 * Set whether to return a shared immutable empty <code>ConstraintViolations</code>
+	 * when the target is valid. If enabled, validating a valid target does not allocate
+	 * the result, but the returned <code>ConstraintViolations</code> can not be modified.
+	 *
+	 * @param sharedEmptyViolations whether to return a shared empty instance
+	 * @since 0.12.0
+	 */
+	public Validator<T> sharedEmptyViolations(boolean sharedEmptyViolations) {
+		return new Validator<>(this.messageKeySeparator, this.predicatesList,
+				this.collectionValidators, this.conditionalValidators,
+				this.messageFormatter, this.failFast, sharedEmptyViolations, this.prefix,
+				this.parallelThreshold, this.parallelExecutor);
+	}
+
+	/**
+	 * Validate the elements of collections defined by <code>forEach</code> in parallel
+	 * when a collection has at least <code>threshold</code> elements. The elements are
+	 * split into chunks that are validated concurrently on the given executor. The
+	 * violations are merged in the order of the elements, so the result is the same as
+	 * the sequential validation. In fail fast mode, the chunks stop as soon as a
+	 * violation is found in a preceding element.<br>
+	 * The calling thread validates a chunk by itself and waits for the others, so the
+	 * executor should not be a bounded pool that is also used to call the validator.<br>
+	 * The blocking {@link CustomConstraint}s of a target, including those of the elements
+	 * of collections smaller than the threshold, are also tested concurrently on the
+	 * executor. Their violations are merged in the order of declaration. The elements
+	 * validated in chunks test their blocking constraints in the chunk task itself, so
+	 * that a chunk never waits for tasks queued on the executor it occupies.
+	 * {@link VirtualThreads#newExecutor()} provides an executor suitable for them.
+	 *
+	 * @param threshold the minimum size of a collection to validate in parallel
+	 * @param executor executor to validate chunks on
+	 * @since 0.12.0
+	 */
+	public Validator<T> parallel(int threshold, Executor executor) {
+		if (threshold < 1) {
+			throw new IllegalArgumentException("threshold must be positive");
+		}
+		return new Validator<>(this.messageKeySeparator, this.predicatesList,
+				this.collectionValidators, this.conditionalValidators,
+				this.messageFormatter, this.failFast, this.sharedEmptyViolations,
+				this.prefix, threshold, Objects.requireNonNull(executor));
+	}
+
+	/**
+	 * Validate the elements of collections defined by <code>forEach</code> in parallel on
+	 * the common <code>ForkJoinPool</code>.
+	 *
+	 * @param threshold the minimum size of a collection to validate in parallel
+	 * @see #parallel(int, Executor)
+	 * @since 0.12.0
+	 */
+	public Validator<T> parallel(int threshold) {
+		return this.parallel(threshold, ForkJoinPool.commonPool());
 	}
 
 	/**
@@ -141,10 +292,73 @@ public class Validator<T> implements Validatable<T> {
 		this.conditionalValidators.forEach(action);
 	}
 
+	MessageFormatter messageFormatter() {
+		return this.messageFormatter;
+	}
+
 	@Override
 	public ConstraintViolations validate(T target, Locale locale,
 			ConstraintContext constraintContext) {
-		return this.validate(target, "", -1, locale, constraintContext);
+		final ConstraintViolations violations = this.validate(target, null, -1, locale,
+				constraintContext);
+		if (violations == ConstraintViolations.EMPTY && !this.sharedEmptyViolations) {
+			return new ConstraintViolations();
+		}
+		return violations;
+	}
+
+	/**
+	 * Validates all the given targets at once. The per-target setup of
+	 * {@link #validate(Object, Locale, ConstraintContext)} is done once for the whole
+	 * batch, and the violations of all targets are collected into one result, in which
+	 * the names of the violations are not indexed.
+	 *
+	 * @param targets targets to validate
+	 * @param locale the locale targeted for the violation messages.
+	 * @param constraintContext constraint context to validate
+	 * @return the batch result
+	 * @throws IllegalArgumentException if a target is {@code null}
+	 * @since 0.12.0
+	 */
+	public ValidatedBatch<T> validateAll(List<? extends T> targets, Locale locale,
+			ConstraintContext constraintContext) {
+		final ValidatedBatch.Builder<T> builder = ValidatedBatch.builder(targets.size());
+		for (T target : targets) {
+			final ConstraintViolations violations = this.validate(target, null, -1,
+					locale, constraintContext);
+			if (violations.isEmpty()) {
+				builder.valid(target);
+			}
+			else {
+				builder.invalid(violations);
+			}
+		}
+		return builder.build();
+	}
+
+	/**
+	 * @see #validateAll(List, Locale, ConstraintContext)
+	 * @since 0.12.0
+	 */
+	public ValidatedBatch<T> validateAll(List<? extends T> targets) {
+		return this.validateAll(targets, Locale.getDefault(), ConstraintGroup.DEFAULT);
+	}
+
+	/**
+	 * @see #validateAll(List, Locale, ConstraintContext)
+	 * @since 0.12.0
+	 */
+	public ValidatedBatch<T> validateAll(List<? extends T> targets, Locale locale) {
+		return this.validateAll(targets, locale, ConstraintGroup.DEFAULT);
+	}
+
+	/**
+	 * @see #validateAll(List, Locale, ConstraintContext)
+	 * @since 0.12.0
+	 */
+	public ValidatedBatch<T> validateAll(List<? extends T> targets,
+			ConstraintContext constraintContext) {
+		return this.validateAll(targets, Locale.getDefault(), constraintContext);
 	}
 
 	@Override
@@ -152,14 +366,17 @@ public class Validator<T> implements Validatable<T> {
 		return this.applicativeValidator;
 	}
 
-	private String indexedName(String name, String collectionName, int index) {
+	private ViolationPath collectionPath(int c, @Nullable ViolationPath collectionPath,
+			int index) {
 		if (index < 0) {
-			return name;
-		}
-		if (name.isEmpty()) {
-			return collectionName + "[" + index + "]";
+			return this.collectionPaths[c];
 		}
-		return collectionName + "[" + index + "]" + this.messageKeySeparator + name;
+		return ViolationPath.of("", collectionPath, index, this.messageKeySeparator,
+				this.compiledCollectionValidators[c].name());
+	}
+
+	private ViolationPath elementPath(ViolationPath collectionPath, int index) {
+		return ViolationPath.of("", collectionPath, index, this.messageKeySeparator, "");
 	}
 
 	private Object[] pad(String name, Object[] args, ViolatedValue violatedValue) {
@@ -171,97 +388,390 @@ public class Validator<T> implements Validatable<T> {
 	}
 
 	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private ConstraintViolations validate(T target, String collectionName, int index,
-			Locale locale, ConstraintContext constraintContext) {
+	private ConstraintViolations validate(T target,
+			@Nullable ViolationPath collectionPath, int index, Locale locale,
+			ConstraintContext constraintContext) {
 		if (target == null) {
 			throw new IllegalArgumentException("target must not be null");
 		}
-		final ConstraintViolations violations = new ConstraintViolations();
-		for (ConstraintPredicates<T, ?> predicates : this.predicatesList) {
-			if (predicates instanceof NestedConstraintPredicates) {
-				final NestedConstraintPredicates<T, ?, ?> nested = (NestedConstraintPredicates<T, ?, ?>) predicates;
-				final Object nestedValue = nested.nestedValue(target);
-				if (nestedValue == null) {
-					continue;
-				}
-			}
-			for (ConstraintPredicate<?> constraintPredicate : predicates.predicates()) {
-				final Object v = predicates.toValue().apply(target);
-				if (v == null && constraintPredicate.nullValidity().skipNull()) {
-					continue;
-				}
-				final Optional<ViolatedValue> violated = ((ConstraintPredicate) constraintPredicate)
-						.violatedValue(v);
-				if (violated.isPresent()) {
-					final ViolatedValue violatedValue = violated.get();
-					final String name = this.prefix
-							+ this.indexedName(predicates.name(), collectionName, index);
-					final Supplier<Object[]> argsSupplier = constraintPredicate.args();
-					final Object[] args = (argsSupplier instanceof ViolatedArguments)
-							? ((ViolatedArguments) argsSupplier)
-									.arguments(violatedValue.value())
-							: argsSupplier.get();
-					violations.add(new ConstraintViolation(name,
-							constraintPredicate.messageKey(),
-							constraintPredicate.defaultMessageFormat(),
-							pad(name, args, violatedValue), this.messageFormatter,
-							locale));
-					if (this.failFast) {
-						return violations;
-					}
-				}
-			}
+		// allocated lazily so that a valid target produces no garbage
+		ConstraintViolations violations = this.concurrentPredicates
+				? this.validatePredicatesConcurrently(target, collectionPath, index,
+						locale)
+				: this.validatePredicates(target, collectionPath, index, locale);
+		if (violations != null && this.failFast) {
+			return violations;
 		}
-		for (CollectionValidator<T, ?, ?> collectionValidator : this.collectionValidators) {
+		for (int c = 0; c < this.compiledCollectionValidators.length; c++) {
+			final CollectionValidator<T, ?, ?> collectionValidator = this.compiledCollectionValidators[c];
 			final Collection collection = collectionValidator.toCollection()
 					.apply(target);
 			if (collection != null) {
-				final Validator validator = collectionValidator.validator()
-						.failFast(this.failFast);
+				final Validator validator = this.collectionElementValidators[c];
+				if (this.parallelExecutor != null
+						&& collection.size() >= this.parallelThreshold) {
+					final List<ConstraintViolation> v = this.validateInParallel(
+							collection, this.chunkElementValidators[c],
+							this.collectionPath(c, collectionPath, index), locale,
+							constraintContext);
+					if (!v.isEmpty()) {
+						if (violations == null) {
+							violations = new ConstraintViolations();
+						}
+						violations.addAll(v);
+						if (this.failFast) {
+							return violations;
+						}
+					}
+					continue;
+				}
+				final ViolationPath nestedPath = this.collectionPath(c, collectionPath,
+						index);
 				int i = 0;
 				for (Object element : collection) {
-					final String nestedName = this.indexedName(collectionValidator.name(),
-							collectionName, index);
 					if (element != null) {
 						final ConstraintViolations v = validator.validate(element,
-								nestedName, i++, locale, constraintContext);
-						violations.addAll(v);
+								nestedPath, i++, locale, constraintContext);
+						if (!v.isEmpty()) {
+							if (violations == null) {
+								violations = new ConstraintViolations();
+							}
+							violations.addAll(v);
+						}
 					}
 					else {
-						final String name = this.indexedName("", nestedName, i++);
-						final ConstraintViolation v = notNullViolation(name, locale);
+						final ConstraintViolation v = notNullViolation(
+								this.elementPath(nestedPath, i++), locale);
+						if (violations == null) {
+							violations = new ConstraintViolations();
+						}
 						violations.add(v);
 					}
-					if (!violations.isEmpty() && this.failFast) {
+					if (violations != null && this.failFast) {
 						return violations;
 					}
 				}
 			}
 		}
-		for (Pair<ConstraintCondition<T>, Validatable<T>> pair : this.conditionalValidators) {
+		for (Pair<ConstraintCondition<T>, Validatable<T>> pair : this.compiledConditionalValidators) {
 			final ConstraintCondition<T> condition = pair.first();
 			if (condition.test(target, constraintContext)) {
 				final Validatable<T> validator = pair.second();
-				final ConstraintViolations constraintViolations = validator
-						.validate(target, locale, constraintContext);
+				final boolean internal = validator instanceof Validator;
+				final ConstraintViolations constraintViolations = internal
+						? ((Validator<T>) validator).validate(target, null, -1, locale,
+								constraintContext)
+						: validator.validate(target, locale, constraintContext);
 				for (ConstraintViolation violation : constraintViolations) {
-					final ConstraintViolation renamed = violation
-							.rename(name -> this.prefix
-									+ this.indexedName(name, collectionName, index));
+					final ConstraintViolation renamed;
+					if (index < 0 && "".equals(this.prefix)) {
+						renamed = internal ? violation : violation.rename(name -> name);
+					}
+					else {
+						renamed = violation.withPath(ViolationPath.of(this.prefix,
+								collectionPath, index, this.messageKeySeparator,
+								violation.nameSegment()));
+					}
+					if (violations == null) {
+						violations = new ConstraintViolations();
+					}
 					violations.add(renamed);
-					if (!violations.isEmpty() && this.failFast) {
+					if (this.failFast) {
 						return violations;
 					}
 				}
 			}
 		}
+		return (violations == null) ? ConstraintViolations.EMPTY : violations;
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private ConstraintViolation violation(CompiledConstraintPredicates<T> predicates,
+			ConstraintPredicate<Object> constraintPredicate, ViolatedValue violatedValue,
+			@Nullable ViolationPath collectionPath, int index, Locale locale) {
+		final Supplier<Object[]> argsSupplier = constraintPredicate.args();
+		final Object[] args = (argsSupplier instanceof ViolatedArguments)
+				? ((ViolatedArguments) argsSupplier).arguments(violatedValue.value())
+				: argsSupplier.get();
+		if (index < 0) {
+			final String name = predicates.prefixedName;
+			return new ConstraintViolation(name, constraintPredicate.messageKey(),
+					constraintPredicate.defaultMessageFormat(),
+					pad(name, args, violatedValue), this.messageFormatter, locale);
+		}
+		// the name is materialized only when it is read
+		return new ConstraintViolation(
+				ViolationPath.of(this.prefix, collectionPath, index,
+						this.messageKeySeparator, predicates.name),
+				constraintPredicate.messageKey(),
+				constraintPredicate.defaultMessageFormat(),
+				pad(null, args, violatedValue), false, this.messageFormatter, locale);
+	}
+
+	/**
+	 * Returns the value to test, or <code>NO_VALUE</code> if the nested object is
+	 * <code>null</code>.
+	 */
+	@Nullable
+	private static <T> Object value(CompiledConstraintPredicates<T> predicates,
+			T target) {
+		if (predicates.nested != null) {
+			final Object nestedValue = predicates.nested.apply(target);
+			if (nestedValue == null) {
+				return NO_VALUE;
+			}
+			return (predicates.nestedToValue != null)
+					? predicates.nestedToValue.apply(nestedValue)
+					: predicates.toValue.apply(target);
+		}
+		return predicates.toValue.apply(target);
+	}
+
+	@Nullable
+	private ConstraintViolations validatePredicates(T target,
+			@Nullable ViolationPath collectionPath, int index, Locale locale) {
+		ConstraintViolations violations = null;
+		for (CompiledConstraintPredicates<T> predicates : this.compiledPredicates) {
+			if (predicates.predicates.length == 0) {
+				continue;
+			}
+			final Object v = value(predicates, target);
+			if (v == NO_VALUE) {
+				continue;
+			}
+			// the last analysis of the value and its result, shared among the following
+			// predicates with the same analysis
+			Function<Object, ?> analysis = null;
+			Object analyzed = null;
+			for (ConstraintPredicate<Object> constraintPredicate : predicates.predicates) {
+				if (v == null && constraintPredicate.nullValidity().skipNull()) {
+					continue;
+				}
+				final Function<Object, ?> a = constraintPredicate.analysis();
+				final ViolatedValue violatedValue;
+				if (a == null || v == null) {
+					violatedValue = constraintPredicate.violatedValueOrNull(v);
+				}
+				else {
+					if (a != analysis) {
+						analysis = a;
+						analyzed = a.apply(v);
+					}
+					violatedValue = constraintPredicate.violatedValueOfAnalyzed(v,
+							analyzed);
+				}
+				if (violatedValue != null) {
+					if (violations == null) {
+						violations = new ConstraintViolations();
+					}
+					violations.add(this.violation(predicates, constraintPredicate,
+							violatedValue, collectionPath, index, locale));
+					if (this.failFast) {
+						return violations;
+					}
+				}
+			}
+		}
+		return violations;
+	}
+
+	/**
+	 * Tests the predicates, the blocking ones on the parallel executor. The violations
+	 * are merged in the order of the declaration of the predicates. In fail fast mode, no
+	 * predicate is tested after a violation of a non-blocking one, and the blocking ones
+	 * still running are cancelled when the result is known.
+	 */
+	@SuppressWarnings("unchecked")
+	@Nullable
+	private ConstraintViolations validatePredicatesConcurrently(T target,
+			@Nullable ViolationPath collectionPath, int index, Locale locale) {
+		// a ConstraintViolation, null or a CompletableFuture of either for each predicate
+		final List<Object> results = new ArrayList<>();
+		try {
+			boolean violated = false;
+			for (CompiledConstraintPredicates<T> predicates : this.compiledPredicates) {
+				if (violated) {
+					break;
+				}
+				if (predicates.predicates.length == 0) {
+					continue;
+				}
+				final Object v = value(predicates, target);
+				if (v == NO_VALUE) {
+					continue;
+				}
+				Function<Object, ?> analysis = null;
+				Object analyzed = null;
+				for (ConstraintPredicate<Object> constraintPredicate : predicates.predicates) {
+					if (v == null && constraintPredicate.nullValidity().skipNull()) {
+						continue;
+					}
+					final Function<Object, ?> a = constraintPredicate.analysis();
+					final Object result;
+					if (a != null && v != null) {
+						if (a != analysis) {
+							analysis = a;
+							analyzed = a.apply(v);
+						}
+						final ViolatedValue violatedValue = constraintPredicate
+								.violatedValueOfAnalyzed(v, analyzed);
+						result = (violatedValue == null) ? null
+								: this.violation(predicates, constraintPredicate,
+										violatedValue, collectionPath, index, locale);
+					}
+					else if (constraintPredicate.isBlocking()) {
+						result = CompletableFuture.supplyAsync(
+								() -> this.test(predicates, constraintPredicate, v,
+										collectionPath, index, locale),
+								this.parallelExecutor);
+					}
+					else {
+						result = this.test(predicates, constraintPredicate, v,
+								collectionPath, index, locale);
+					}
+					results.add(result);
+					if (this.failFast && result instanceof ConstraintViolation) {
+						// the following predicates cannot change the result
+						violated = true;
+						break;
+					}
+				}
+			}
+			ConstraintViolations violations = null;
+			for (Object result : results) {
+				final ConstraintViolation violation = (result instanceof CompletableFuture)
+						? join((CompletableFuture<ConstraintViolation>) result)
+						: (ConstraintViolation) result;
+				if (violation == null) {
+					continue;
+				}
+				if (violations == null) {
+					violations = new ConstraintViolations();
+				}
+				violations.add(violation);
+				if (this.failFast) {
+					return violations;
+				}
+			}
+			return violations;
+		}
+		finally {
+			// the tests not joined are not needed any more, which has no effect on the
+			// joined ones
+			for (Object result : results) {
+				if (result instanceof CompletableFuture) {
+					((CompletableFuture<?>) result).cancel(true);
+				}
+			}
+		}
+	}
+
+	@Nullable
+	private ConstraintViolation test(CompiledConstraintPredicates<T> predicates,
+			ConstraintPredicate<Object> constraintPredicate, @Nullable Object v,
+			@Nullable ViolationPath collectionPath, int index, Locale locale) {
+		final ViolatedValue violatedValue = constraintPredicate.violatedValueOrNull(v);
+		return (violatedValue == null) ? null
+				: this.violation(predicates, constraintPredicate, violatedValue,
+						collectionPath, index, locale);
+	}
+
+	private static <R> R join(CompletableFuture<R> future) {
+		try {
+			return future.join();
+		}
+		catch (CompletionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw e;
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private List<ConstraintViolation> validateInParallel(Collection<?> collection,
+			Validator validator, ViolationPath nestedPath, Locale locale,
+			ConstraintContext constraintContext) {
+		final Object[] elements = collection.toArray();
+		final int parallelism = (this.parallelExecutor instanceof ForkJoinPool)
+				? ((ForkJoinPool) this.parallelExecutor).getParallelism()
+				: Runtime.getRuntime().availableProcessors();
+		// a few chunks per worker to even out the load
+		final int chunks = Math.max(1, Math.min(elements.length, parallelism * 4));
+		final int chunkSize = (elements.length + chunks - 1) / chunks;
+		// the smallest index of an element with violations, used to cancel the chunks
+		// after it in fail fast mode
+		final AtomicInteger firstViolatedIndex = new AtomicInteger(Integer.MAX_VALUE);
+		final List<CompletableFuture<List<ConstraintViolation>>> futures = new ArrayList<>();
+		try {
+			for (int from = chunkSize; from < elements.length; from += chunkSize) {
+				if (this.failFast && firstViolatedIndex.get() < from) {
+					break;
+				}
+				final int begin = from;
+				final int end = Math.min(from + chunkSize, elements.length);
+				futures.add(
+						CompletableFuture
+								.supplyAsync(
+										() -> this.validateChunk(elements, begin, end,
+												validator, nestedPath, locale,
+												constraintContext, firstViolatedIndex),
+										this.parallelExecutor));
+			}
+			final List<ConstraintViolation> violations = this.validateChunk(elements, 0,
+					Math.min(chunkSize, elements.length), validator, nestedPath, locale,
+					constraintContext, firstViolatedIndex);
+			for (CompletableFuture<List<ConstraintViolation>> future : futures) {
+				if (this.failFast && !violations.isEmpty()) {
+					// the following chunks cannot change the result
+					break;
+				}
+				violations.addAll(join(future));
+			}
+			return violations;
+		}
+		finally {
+			// the chunks not joined are cancelled, which has no effect on the joined
+			// ones
+			for (CompletableFuture<List<ConstraintViolation>> future : futures) {
+				future.cancel(true);
+			}
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private List<ConstraintViolation> validateChunk(Object[] elements, int begin, int end,
+			Validator validator, ViolationPath nestedPath, Locale locale,
+			ConstraintContext constraintContext, AtomicInteger firstViolatedIndex) {
+		final List<ConstraintViolation> violations = new ArrayList<>();
+		for (int i = begin; i < end; i++) {
+			if (this.failFast && firstViolatedIndex.get() < i) {
+				break;
+			}
+			final Object element = elements[i];
+			if (element != null) {
+				violations.addAll(validator.validate(element, nestedPath, i, locale,
+						constraintContext));
+			}
+			else {
+				violations.add(notNullViolation(this.elementPath(nestedPath, i), locale));
+			}
+			if (this.failFast && !violations.isEmpty()) {
+				firstViolatedIndex.accumulateAndGet(i, Math::min);
+				break;
+			}
+		}
 		return violations;
 	}
 
-	private ConstraintViolation notNullViolation(String name, Locale locale) {
-		return new ConstraintViolation(name, OBJECT_NOT_NULL.messageKey(),
+	private ConstraintViolation notNullViolation(ViolationPath path, Locale locale) {
+		return new ConstraintViolation(path, OBJECT_NOT_NULL.messageKey(),
 				OBJECT_NOT_NULL.defaultMessageFormat(),
-				pad(name, new Object[] {}, new ViolatedValue(null)),
+				pad(null, new Object[] {}, new ViolatedValue(null)), false,
 				this.messageFormatter, locale);
 	}
 }
@@ -17,13 +17,18 @@ package am.ik.yavi.core;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import am.ik.yavi.fn.Validation;
 
@@ -120,6 +125,115 @@ public interface ValueValidator<T, X> {
 		return ValueValidator.liftOptional(this);
 	}
 
+	/**
+	 * Validate the values of the given stream lazily. A value is validated when the
+	 * returned stream consumes it, and its violations are indexed by its position as
+	 * {@link #liftList()} does. The results are not accumulated, so the memory usage does
+	 * not depend on the number of values.<br>
+	 * Closing the returned stream closes the given stream.
+	 *
+	 * @param values values to validate
+	 * @param locale the locale targeted for the violation messages
+	 * @param constraintContext constraint context to validate
+	 * @return the stream of the validation results in the order of the values
+	 * @since 0.12.0
+	 */
+	default Stream<Validated<X>> validateStream(Stream<? extends T> values, Locale locale,
+			ConstraintContext constraintContext) {
+		final Iterator<? extends T> iterator = values.iterator();
+		final Iterator<Validated<X>> validated = new Iterator<Validated<X>>() {
+			private int index = 0;
+
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public Validated<X> next() {
+				final T value = iterator.next();
+				final int i = this.index;
+				this.index = Math.addExact(i, 1);
+				return ValueValidator.this.validate(value, locale, constraintContext)
+						.indexed(i);
+			}
+		};
+		return StreamSupport
+				.stream(Spliterators.spliteratorUnknownSize(validated,
+						Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(values::close);
+	}
+
+	/**
+	 * @see #validateStream(Stream, Locale, ConstraintContext)
+	 * @since 0.12.0
+	 */
+	default Stream<Validated<X>> validateStream(Stream<? extends T> values) {
+		return this.validateStream(values, Locale.getDefault(), ConstraintGroup.DEFAULT);
+	}
+
+	/**
+	 * @see #validateStream(Stream, Locale, ConstraintContext)
+	 * @since 0.12.0
+	 */
+	default Stream<Validated<X>> validateStream(Stream<? extends T> values,
+			ConstraintContext constraintContext) {
+		return this.validateStream(values, Locale.getDefault(), constraintContext);
+	}
+
+	/**
+	 * Validate all the given values at once and collect the results into one batch
+	 * result, in which the names of the violations are not indexed.
+	 *
+	 * @param values values to validate
+	 * @param locale the locale targeted for the violation messages
+	 * @param constraintContext constraint context to validate
+	 * @return the batch result
+	 * @since 0.12.0
+	 */
+	default ValidatedBatch<X> validateAll(List<? extends T> values, Locale locale,
+			ConstraintContext constraintContext) {
+		final ValidatedBatch.Builder<X> builder = ValidatedBatch.builder(values.size());
+		for (T value : values) {
+			final Validated<X> validated = this.validate(value, locale,
+					constraintContext);
+			if (validated.isValid()) {
+				builder.valid(validated.valueNullable());
+			}
+			else {
+				builder.invalid(validated.errors());
+			}
+		}
+		return builder.build();
+	}
+
+	/**
+	 * @see #validateAll(List, Locale, ConstraintContext)
+	 * @since 0.12.0
+	 */
+	default ValidatedBatch<X> validateAll(List<? extends T> values) {
+		return this.validateAll(values, Locale.getDefault(), ConstraintGroup.DEFAULT);
+	}
+
+	/**
+	 * @see #validateAll(List, Locale, ConstraintContext)
+	 * @since 0.12.0
+	 */
+	default ValidatedBatch<X> validateAll(List<? extends T> values,
+			ConstraintContext constraintContext) {
+		return this.validateAll(values, Locale.getDefault(), constraintContext);
+	}
+
+	/**
+	 * Return a function that validates a stream lazily.
+	 *
+	 * @see #validateStream(Stream, Locale, ConstraintContext)
+	 * @since 0.12.0
+	 */
+	default Function<Stream<? extends T>, Stream<Validated<X>>> liftStream() {
+		return this::validateStream;
+	}
+
 	/**
 	 * @since 0.8.1
 	 */
@@ -73,9 +73,17 @@ public interface ViolationMessage {
 				"\"{0}\" must be a valid email address"), //
 		CHAR_SEQUENCE_IPV4("charSequence.ipv4", "\"{0}\" must be a valid IPv4"), //
 		CHAR_SEQUENCE_IPV6("charSequence.ipv6", "\"{0}\" must be a valid IPv6"), //
+		CHAR_SEQUENCE_IN_CIDR("charSequence.inCidr", "\"{0}\" must be in {1}"), //
+		CHAR_SEQUENCE_NOT_IN_CIDR("charSequence.notInCidr", "\"{0}\" must not be in {1}"), //
+		CHAR_SEQUENCE_IP_RANGE("charSequence.ipRange",
+				"\"{0}\" must be between {1} and {2}"), //
+		CHAR_SEQUENCE_NOT_PRIVATE_IP("charSequence.notPrivateIp",
+				"\"{0}\" must not be a private, loopback or link-local address"), //
 		CHAR_SEQUENCE_URL("charSequence.url", "\"{0}\" must be a valid URL"), //
 		CHAR_SEQUENCE_UUID("charSequence.uuid", "\"{0}\" must be a valid UUID"), //
 		CHAR_SEQUENCE_PATTERN("charSequence.pattern", "\"{0}\" must match {1}"), //
+		CHAR_SEQUENCE_PATTERN_EXHAUSTED("charSequence.patternExhausted",
+				"\"{0}\" could not be matched against {1} within the budget"), //
 		CHAR_SEQUENCE_LUHN("charSequence.luhn",
 				"the check digit for \"{0}\" is invalid, Luhn checksum failed"), //
 		CHAR_SEQUENCE_BOOLEAN("charSequence.boolean",
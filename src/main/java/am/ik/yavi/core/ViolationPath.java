@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core;
+
+import am.ik.yavi.jsr305.Nullable;
+
+/**
+ * A structured name of a constraint violation such as
+ * <code>items[12].address.zip</code>.<br>
+ * The segments are kept as references to the (interned) names of the constraints and the
+ * path is materialized into a <code>String</code> only when it is requested for the first
+ * time, so that validating large nested collections does not concatenate strings for
+ * elements that are not reported.
+ *
+ * @since 0.12.0
+ */
+final class ViolationPath {
+	private final String prefix;
+
+	@Nullable
+	private final ViolationPath collection;
+
+	private final int index;
+
+	private final String separator;
+
+	/**
+	 * The last segment, either a <code>String</code> or a <code>ViolationPath</code>
+	 */
+	private final Object name;
+
+	private volatile String materialized;
+
+	private ViolationPath(String prefix, @Nullable ViolationPath collection, int index,
+			String separator, Object name) {
+		this.prefix = prefix;
+		this.collection = collection;
+		this.index = index;
+		this.separator = separator;
+		this.name = name;
+	}
+
+	/**
+	 * Returns a path equivalent to
+	 * <code>prefix + collection + "[" + index + "]" + separator + name</code>, or
+	 * <code>prefix + name</code> if the index is negative. The separator is omitted if
+	 * the name is empty.
+	 *
+	 * @param prefix prefix of the path
+	 * @param collection path of the enclosing collection, ignored if the index is
+	 *     negative
+	 * @param index index in the enclosing collection
+	 * @param separator separator between the element and the name
+	 * @param name name of the last segment, either a <code>String</code> or a
+	 *     <code>ViolationPath</code>
+	 * @return the path
+	 */
+	static ViolationPath of(String prefix, @Nullable ViolationPath collection, int index,
+			String separator, Object name) {
+		return new ViolationPath(prefix, collection, index, separator, name);
+	}
+
+	/**
+	 * Returns a path of the root segment that has no enclosing collection.
+	 */
+	static ViolationPath root(String name) {
+		final ViolationPath path = new ViolationPath("", null, -1, "", name);
+		path.materialized = name;
+		return path;
+	}
+
+	@Override
+	public String toString() {
+		String materialized = this.materialized;
+		if (materialized == null) {
+			final StringBuilder builder = new StringBuilder();
+			this.appendTo(builder);
+			materialized = builder.toString();
+			this.materialized = materialized;
+		}
+		return materialized;
+	}
+
+	private void appendTo(StringBuilder builder) {
+		final String materialized = this.materialized;
+		if (materialized != null) {
+			builder.append(materialized);
+			return;
+		}
+		builder.append(this.prefix);
+		if (this.index < 0 || this.collection == null) {
+			appendName(builder, this.name);
+			return;
+		}
+		this.collection.appendTo(builder);
+		builder.append('[').append(this.index).append(']');
+		final int length = builder.length();
+		builder.append(this.separator);
+		final int nameStart = builder.length();
+		appendName(builder, this.name);
+		if (builder.length() == nameStart) {
+			// no separator for an empty name
+			builder.setLength(length);
+		}
+	}
+
+	private static void appendName(StringBuilder builder, Object name) {
+		if (name instanceof ViolationPath) {
+			((ViolationPath) name).appendTo(builder);
+		}
+		else {
+			builder.append(name);
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import am.ik.yavi.jsr305.Nullable;
+
+/**
+ * Executors for validators in parallel mode that run blocking constraints.<br>
+ * On Java 21 or later, {@link #newExecutor()} starts a virtual thread per task so that
+ * blocking constraints do not tie up platform threads. On older runtimes it falls back to
+ * a cached pool of daemon platform threads.
+ *
+ * <pre>
+ * Validator&lt;Order&gt; validator = ValidatorBuilder.&lt;Order&gt; of()
+ * 		.constraintOnTarget(skuExists, "sku") // skuExists.isBlocking() returns true
+ * 		.parallel(100, VirtualThreads.newExecutor()).build();
+ * </pre>
+ *
+ * @see Validator#parallel(int, java.util.concurrent.Executor)
+ * @see CustomConstraint#isBlocking()
+ * @since 0.12.0
+ */
+public final class VirtualThreads {
+	@Nullable
+	private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = newVirtualThreadPerTaskExecutorMethod();
+
+	private VirtualThreads() {
+	}
+
+	/**
+	 * Returns whether virtual threads are available on this runtime.
+	 */
+	public static boolean isAvailable() {
+		return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+	}
+
+	/**
+	 * Returns a new executor that runs each task on a new virtual thread, or on a cached
+	 * pool of daemon platform threads if virtual threads are not available.
+	 *
+	 * @return a new executor, which should be shut down when it is no longer used
+	 */
+	public static ExecutorService newExecutor() {
+		if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null) {
+			try {
+				return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR
+						.invoke(null);
+			}
+			catch (IllegalAccessException | InvocationTargetException e) {
+				// fall back to platform threads
+			}
+		}
+		return Executors.newCachedThreadPool(new DaemonThreadFactory());
+	}
+
+	@Nullable
+	private static Method newVirtualThreadPerTaskExecutorMethod() {
+		try {
+			final Method method = Executors.class
+					.getMethod("newVirtualThreadPerTaskExecutor");
+			// fails if virtual threads are a disabled preview feature
+			((ExecutorService) method.invoke(null)).shutdown();
+			return method;
+		}
+		catch (ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	static final class DaemonThreadFactory implements ThreadFactory {
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			final Thread thread = new Thread(runnable,
+					"yavi-blocking-" + this.count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.message;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import am.ik.yavi.jsr305.Nullable;
+
+/**
+ * A bounded and thread-safe cache of parsed <code>MessageFormat</code>s keyed by the pair
+ * of message format and locale.<br>
+ * Since <code>MessageFormat</code> is not thread-safe, a cached instance is never shared
+ * but cloned on every use, which is still much cheaper than parsing the pattern again.
+ * Once the cache holds <code>maxSize</code> entries, new formats are parsed without being
+ * cached.
+ *
+ * @since 0.12.0
+ */
+public final class MessageFormatCache {
+	public static final int DEFAULT_MAX_SIZE = 256;
+
+	private final ConcurrentMap<Key, MessageFormat> cache = new ConcurrentHashMap<>();
+
+	private final int maxSize;
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	public MessageFormatCache() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	public MessageFormatCache(int maxSize) {
+		if (maxSize < 0) {
+			throw new IllegalArgumentException("maxSize must not be negative");
+		}
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Format the given arguments with the (cached) <code>MessageFormat</code>.
+	 *
+	 * @param messageFormat message format pattern
+	 * @param args arguments to format
+	 * @param locale locale of the message
+	 * @return formatted message
+	 */
+	public String format(String messageFormat, Object[] args, @Nullable Locale locale) {
+		return this.messageFormat(messageFormat, locale).format(args);
+	}
+
+	/**
+	 * Return a <code>MessageFormat</code> for the given pattern and locale that the
+	 * caller can use exclusively.
+	 *
+	 * @param messageFormat message format pattern
+	 * @param locale locale of the message
+	 * @return a <code>MessageFormat</code> not shared with other callers
+	 */
+	public MessageFormat messageFormat(String messageFormat, @Nullable Locale locale) {
+		final Key key = new Key(messageFormat, locale);
+		final MessageFormat cached = this.cache.get(key);
+		if (cached != null) {
+			this.hitCount.increment();
+			return (MessageFormat) cached.clone();
+		}
+		this.missCount.increment();
+		final MessageFormat parsed = new MessageFormat(messageFormat, locale);
+		if (this.cache.size() < this.maxSize) {
+			this.cache.putIfAbsent(key, parsed);
+			return (MessageFormat) parsed.clone();
+		}
+		return parsed;
+	}
+
+	/**
+	 * @return the number of lookups served from the cache
+	 */
+	public long hitCount() {
+		return this.hitCount.sum();
+	}
+
+	/**
+	 * @return the number of lookups that had to parse the message format
+	 */
+	public long missCount() {
+		return this.missCount.sum();
+	}
+
+	/**
+	 * @return the number of cached formats
+	 */
+	public int size() {
+		return this.cache.size();
+	}
+
+	public int maxSize() {
+		return this.maxSize;
+	}
+
+	/**
+	 * Remove all cached formats and reset the counters.
+	 */
+	public void clear() {
+		this.cache.clear();
+		this.hitCount.reset();
+		this.missCount.reset();
+	}
+
+	@Override
+	public String toString() {
+		return "MessageFormatCache{" + "size=" + this.size() + ", maxSize=" + this.maxSize
+				+ ", hitCount=" + this.hitCount() + ", missCount=" + this.missCount()
+				+ '}';
+	}
+
+	static final class Key {
+		private final String messageFormat;
+
+		@Nullable
+		private final Locale locale;
+
+		private final int hashCode;
+
+		Key(String messageFormat, @Nullable Locale locale) {
+			this.messageFormat = messageFormat;
+			this.locale = locale;
+			this.hashCode = 31 * messageFormat.hashCode() + Objects.hashCode(locale);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			final Key that = (Key) o;
+			return this.messageFormat.equals(that.messageFormat)
+					&& Objects.equals(this.locale, that.locale);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+}
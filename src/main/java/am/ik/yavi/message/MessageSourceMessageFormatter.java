@@ -15,7 +15,6 @@
  */
 package am.ik.yavi.message;
 
-import java.text.MessageFormat;
 import java.util.Locale;
 import java.util.Objects;
 
@@ -43,20 +42,42 @@ import am.ik.yavi.jsr305.Nullable;
 public class MessageSourceMessageFormatter implements MessageFormatter {
 	private final MessageSource messageSource;
 
+	private final MessageFormatCache messageFormatCache;
+
 	public MessageSourceMessageFormatter(MessageSource messageSource) {
+		this(messageSource, new MessageFormatCache());
+	}
+
+	/**
+	 * @param messageSource message source to resolve messages from
+	 * @param messageFormatCache cache of parsed default message formats, which can be
+	 *     shared among formatters
+	 * @since 0.12.0
+	 */
+	public MessageSourceMessageFormatter(MessageSource messageSource,
+			MessageFormatCache messageFormatCache) {
 		this.messageSource = messageSource;
+		this.messageFormatCache = messageFormatCache;
 	}
 
 	@Override
 	public String format(String messageKey, String defaultMessageFormat, Object[] args,
 			Locale locale) {
-		final String defaultMessage = new MessageFormat(defaultMessageFormat, locale)
-				.format(args);
+		final String defaultMessage = this.messageFormatCache.format(defaultMessageFormat,
+				args, locale);
 		final String message = this.messageSource.getMessage(messageKey, args,
 				defaultMessage, locale);
 		return Objects.requireNonNull(message, defaultMessage);
 	}
 
+	/**
+	 * @return the cache of parsed default message formats
+	 * @since 0.12.0
+	 */
+	public MessageFormatCache messageFormatCache() {
+		return this.messageFormatCache;
+	}
+
 	/**
 	 * A compatible interface of Spring Framework's <code>MessageSource</code>.
 	 */
@@ -15,13 +15,35 @@
  */
 package am.ik.yavi.message;
 
-import java.text.MessageFormat;
 import java.util.Locale;
 
 public class SimpleMessageFormatter implements MessageFormatter {
+	private final MessageFormatCache messageFormatCache;
+
+	public SimpleMessageFormatter() {
+		this(new MessageFormatCache());
+	}
+
+	/**
+	 * @param messageFormatCache cache of parsed message formats, which can be shared
+	 *     among formatters
+	 * @since 0.12.0
+	 */
+	public SimpleMessageFormatter(MessageFormatCache messageFormatCache) {
+		this.messageFormatCache = messageFormatCache;
+	}
+
 	@Override
 	public String format(String messageKey, String defaultMessageFormat, Object[] args,
 			Locale locale) {
-		return new MessageFormat(defaultMessageFormat, locale).format(args);
+		return this.messageFormatCache.format(defaultMessageFormat, args, locale);
+	}
+
+	/**
+	 * @return the cache of parsed message formats
+	 * @since 0.12.0
+	 */
+	public MessageFormatCache messageFormatCache() {
+		return this.messageFormatCache;
 	}
 }
@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.meta;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates a <code>greaterThanOrEqual(min)</code> check for the annotated property into
+ * the <code>_XxxValidator</code> class. Integral properties are compared by value, while
+ * <code>CharSequence</code>, <code>Collection</code>, <code>Map</code> and array
+ * properties are compared by size.
+ *
+ * @see ConstraintTarget
+ * @since 0.12.0
+ */
+@Target({ ElementType.METHOD, ElementType.PARAMETER })
+@Retention(RetentionPolicy.SOURCE)
+public @interface GreaterThanOrEqual {
+	long value();
+}
@@ -20,7 +20,9 @@ import java.io.PrintWriter;
 import java.io.UncheckedIOException;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -34,17 +36,20 @@ import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
 import javax.lang.model.element.Name;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
 import javax.tools.JavaFileObject;
 
 import static am.ik.yavi.processor.ConstraintMetaTemplate.template;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
 import static javax.lang.model.element.ElementKind.CLASS;
+import static javax.lang.model.element.ElementKind.CONSTRUCTOR;
 import static javax.lang.model.element.ElementKind.METHOD;
 import static javax.lang.model.element.ElementKind.PARAMETER;
 import static javax.lang.model.type.TypeKind.BOOLEAN;
@@ -59,13 +64,31 @@ import static javax.lang.model.type.TypeKind.SHORT;
 import am.ik.yavi.fn.Pair;
 import am.ik.yavi.meta.ConstraintArguments;
 import am.ik.yavi.meta.ConstraintTarget;
+import am.ik.yavi.meta.GreaterThanOrEqual;
+import am.ik.yavi.meta.LessThanOrEqual;
+import am.ik.yavi.meta.NotBlank;
+import am.ik.yavi.meta.NotEmpty;
+import am.ik.yavi.meta.NotNull;
+import am.ik.yavi.meta.Pattern;
 
 /**
+ * Generates <code>_XxxMeta</code> classes for <code>@ConstraintTarget</code> and
+ * <code>@ConstraintArguments</code>. Since 0.12.0, also generates a
+ * <code>_XxxValidator</code> class implementing <code>Validatable</code> for the
+ * properties annotated with constraint annotations such as <code>@NotNull</code> or
+ * <code>@Pattern</code>. The constraints are evaluated in the declaration order.
+ *
  * @since 0.4.0
  */
 @SupportedAnnotationTypes({ "am.ik.yavi.meta.ConstraintTarget",
-		"am.ik.yavi.meta.ConstraintArguments" })
+		"am.ik.yavi.meta.ConstraintArguments", "am.ik.yavi.meta.NotNull",
+		"am.ik.yavi.meta.NotBlank", "am.ik.yavi.meta.NotEmpty", "am.ik.yavi.meta.Pattern",
+		"am.ik.yavi.meta.GreaterThanOrEqual", "am.ik.yavi.meta.LessThanOrEqual" })
 public class ConstraintMetaProcessor extends AbstractProcessor {
+	private static final List<String> constraintAnnotations = Arrays.asList(
+			NotNull.class.getName(), NotBlank.class.getName(), NotEmpty.class.getName(),
+			Pattern.class.getName(), GreaterThanOrEqual.class.getName(),
+			LessThanOrEqual.class.getName());
 
 	@Override
 	public SourceVersion getSupportedSourceVersion() {
@@ -75,6 +98,7 @@ public class ConstraintMetaProcessor extends AbstractProcessor {
 	@Override
 	public boolean process(Set<? extends TypeElement> annotations,
 			RoundEnvironment roundEnv) {
+		final Set<Element> constrained = new LinkedHashSet<>();
 		for (TypeElement typeElement : annotations) {
 			final Name qualifiedName = typeElement.getQualifiedName();
 			if (qualifiedName.contentEquals(ConstraintTarget.class.getName())) {
@@ -83,10 +107,156 @@ public class ConstraintMetaProcessor extends AbstractProcessor {
 			if (qualifiedName.contentEquals(ConstraintArguments.class.getName())) {
 				this.processConstraintArguments(typeElement, roundEnv);
 			}
+			if (constraintAnnotations.contains(qualifiedName.toString())) {
+				constrained.addAll(roundEnv.getElementsAnnotatedWith(typeElement));
+			}
+		}
+		if (!constrained.isEmpty()) {
+			this.processConstraints(constrained);
 		}
 		return true;
 	}
 
+	private void processConstraints(Set<Element> constrained) {
+		final Set<TypeElement> owners = new LinkedHashSet<>();
+		final Set<TypeElement> invalidOwners = new LinkedHashSet<>();
+		for (Element element : constrained) {
+			if (element.getKind() == METHOD) {
+				owners.add((TypeElement) element.getEnclosingElement());
+			}
+			else if (element.getKind() == PARAMETER) {
+				final Element executable = element.getEnclosingElement();
+				if (executable.getKind() != CONSTRUCTOR) {
+					// only the constructor parameters are properties
+					super.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+							"Constraints on a parameter are only supported on the parameters of a constructor",
+							element);
+					invalidOwners.add((TypeElement) executable.getEnclosingElement());
+				}
+				owners.add((TypeElement) executable.getEnclosingElement());
+			}
+		}
+		owners.removeAll(invalidOwners);
+		for (TypeElement owner : owners) {
+			// properties are validated in the declaration order
+			final List<ValidatorTemplate.Property> properties = new ArrayList<>();
+			for (Element member : owner.getEnclosedElements()) {
+				if (member.getKind() == METHOD && constrained.contains(member)) {
+					properties.add(property(member));
+				}
+				else if (member.getKind() == CONSTRUCTOR) {
+					for (Element parameter : ((ExecutableElement) member)
+							.getParameters()) {
+						if (constrained.contains(parameter)) {
+							properties.add(property(parameter));
+						}
+					}
+				}
+			}
+			this.writeValidatorFile(owner, properties);
+		}
+	}
+
+	private static ValidatorTemplate.Property property(Element element) {
+		final ConstraintTarget constraintTarget = element
+				.getAnnotation(ConstraintTarget.class);
+		final boolean getter = constraintTarget == null || constraintTarget.getter();
+		final boolean field = constraintTarget != null && constraintTarget.field();
+		final String name = element.getSimpleName().toString();
+		if (element.getKind() == METHOD) {
+			final TypeMirror type = ((ExecutableElement) element).getReturnType();
+			final String target = beanLowerCamel(
+					getter ? name.replaceFirst("^" + getterPrefix(type), "") : name);
+			return new ValidatorTemplate.Property(element, target,
+					field ? target : name + "()", type);
+		}
+		final TypeMirror type = element.asType();
+		return new ValidatorTemplate.Property(element, name, field ? name
+				: (getter ? getterPrefix(type) + beanUpperCamel(name) : name) + "()",
+				type);
+	}
+
+	private void writeValidatorFile(TypeElement owner,
+			List<ValidatorTemplate.Property> properties) {
+		final ValidatorTemplate template = new ValidatorTemplate(
+				super.processingEnv.getTypeUtils(), super.processingEnv.getElementUtils(),
+				super.processingEnv.getMessager());
+		final List<String> checks = properties.stream().map(template::property)
+				.collect(toList());
+		if (template.hasError()) {
+			return;
+		}
+		final String className = owner.getQualifiedName().toString();
+		final Pair<String, String> pair = splitClassName(className);
+		final String packageName = pair.first();
+		final String validatorSimpleClassName = "_" + pair.second().replace('.', '_')
+				+ "Validator";
+		final String validatorClassName = packageName.isEmpty() ? validatorSimpleClassName
+				: packageName + "." + validatorSimpleClassName;
+		try {
+			final JavaFileObject validatorFile = super.processingEnv.getFiler()
+					.createSourceFile(validatorClassName, owner);
+			try (final PrintWriter out = new PrintWriter(validatorFile.openWriter())) {
+				if (!packageName.isEmpty()) {
+					out.print("package ");
+					out.print(packageName);
+					out.println(";");
+					out.println();
+				}
+				out.println("import java.util.Locale;");
+				out.println("import java.util.regex.Pattern;");
+				out.println();
+				out.println("import am.ik.yavi.core.ConstraintContext;");
+				out.println("import am.ik.yavi.core.ConstraintViolation;");
+				out.println("import am.ik.yavi.core.ConstraintViolations;");
+				out.println("import am.ik.yavi.core.GeneratedValidatorSupport;");
+				out.println("import am.ik.yavi.core.Validatable;");
+				out.println("import am.ik.yavi.core.ViolationMessage;");
+				out.println("import am.ik.yavi.message.MessageFormatter;");
+				out.println("import am.ik.yavi.message.SimpleMessageFormatter;");
+				out.println();
+				out.println("// Generated at " + OffsetDateTime.now());
+				out.print(
+						owner.getModifiers().contains(Modifier.PUBLIC) ? "public " : "");
+				out.println("final class " + validatorSimpleClassName
+						+ " implements Validatable<" + className + "> {");
+				final List<String> patterns = template.patterns();
+				for (int i = 0; i < patterns.size(); i++) {
+					out.println("  private static final Pattern PATTERN_" + i
+							+ " = Pattern.compile("
+							+ ValidatorTemplate.literal(patterns.get(i)) + ");");
+				}
+				out.println();
+				out.println("  private final MessageFormatter messageFormatter;");
+				out.println();
+				out.println("  public " + validatorSimpleClassName + "() {");
+				out.println("    this(new SimpleMessageFormatter());");
+				out.println("  }");
+				out.println();
+				out.println("  public " + validatorSimpleClassName
+						+ "(MessageFormatter messageFormatter) {");
+				out.println("    this.messageFormatter = messageFormatter;");
+				out.println("  }");
+				out.println();
+				out.println("  @Override");
+				out.println("  public ConstraintViolations validate(" + className
+						+ " target, Locale locale, ConstraintContext constraintContext) {");
+				out.println("    if (target == null) {");
+				out.println(
+						"      throw new IllegalArgumentException(\"target must not be null\");");
+				out.println("    }");
+				out.println("    ConstraintViolations violations = null;");
+				checks.forEach(out::print);
+				out.println("    return GeneratedValidatorSupport.orEmpty(violations);");
+				out.println("  }");
+				out.println("}");
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
 	private void processConstraintTarget(TypeElement typeElement,
 			RoundEnvironment roundEnv) {
 		final Set<? extends Element> elementsAnnotatedWith = roundEnv
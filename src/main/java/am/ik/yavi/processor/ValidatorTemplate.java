@@ -0,0 +1,347 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+import am.ik.yavi.meta.GreaterThanOrEqual;
+import am.ik.yavi.meta.LessThanOrEqual;
+import am.ik.yavi.meta.NotBlank;
+import am.ik.yavi.meta.NotEmpty;
+import am.ik.yavi.meta.NotNull;
+import am.ik.yavi.meta.Pattern;
+
+import static am.ik.yavi.processor.ConstraintMetaProcessor.type;
+
+/**
+ * Renders the body of a generated validator. Every constraint is translated into an
+ * inlined check on a local variable, so the generated code needs neither lambdas nor
+ * reflection.
+ *
+ * @since 0.12.0
+ */
+class ValidatorTemplate {
+	private final Types types;
+
+	private final Elements elements;
+
+	private final Messager messager;
+
+	private final List<String> patterns = new ArrayList<>();
+
+	private boolean error;
+
+	ValidatorTemplate(Types types, Elements elements, Messager messager) {
+		this.types = types;
+		this.elements = elements;
+		this.messager = messager;
+	}
+
+	/**
+	 * A property to validate
+	 */
+	static final class Property {
+		final Element element;
+
+		final String name;
+
+		final String accessor;
+
+		final TypeMirror type;
+
+		Property(Element element, String name, String accessor, TypeMirror type) {
+			this.element = element;
+			this.name = name;
+			this.accessor = accessor;
+			this.type = type;
+		}
+	}
+
+	enum Kind {
+		CHAR_SEQUENCE, COLLECTION, MAP, ARRAY, INTEGRAL, OTHER
+	}
+
+	/**
+	 * @return whether an unsupported constraint has been reported
+	 */
+	boolean hasError() {
+		return this.error;
+	}
+
+	/**
+	 * @return the regular expressions to precompile. <code>PATTERN_n</code> refers to the
+	 * n-th one.
+	 */
+	List<String> patterns() {
+		return this.patterns;
+	}
+
+	String property(Property property) {
+		final Kind kind = this.kind(property.type);
+		final boolean primitive = property.type.getKind().isPrimitive();
+		final StringBuilder sb = new StringBuilder();
+		sb.append("    {\n");
+		sb.append("      final ").append(property.type).append(" value = target.")
+				.append(property.accessor).append(";\n");
+		final List<? extends AnnotationMirror> mirrors = property.element
+				.getAnnotationMirrors();
+		if (kind != Kind.INTEGRAL && mirrors.stream().anyMatch(
+				m -> is(m, GreaterThanOrEqual.class) || is(m, LessThanOrEqual.class))) {
+			sb.append("      final int size = (value == null) ? 0 : ")
+					.append(this.size(property, kind)).append(";\n");
+		}
+		for (AnnotationMirror mirror : mirrors) {
+			final Element element = property.element;
+			if (is(mirror, NotNull.class)) {
+				if (!primitive) {
+					sb.append(check(property, "value == null", "OBJECT_NOT_NULL", "",
+							"value"));
+				}
+			}
+			else if (is(mirror, NotBlank.class)) {
+				if (this.require(property, kind, NotBlank.class, Kind.CHAR_SEQUENCE)) {
+					sb.append(check(property,
+							"value == null || GeneratedValidatorSupport.isBlank(value)",
+							"CHAR_SEQUENCE_NOT_BLANK", "", "value"));
+				}
+			}
+			else if (is(mirror, NotEmpty.class)) {
+				if (this.require(property, kind, NotEmpty.class, Kind.CHAR_SEQUENCE,
+						Kind.COLLECTION, Kind.MAP, Kind.ARRAY)) {
+					final String empty = kind == Kind.ARRAY ? "value.length == 0"
+							: kind == Kind.CHAR_SEQUENCE ? "value.length() == 0"
+									: "value.isEmpty()";
+					sb.append(check(property, "value == null || " + empty,
+							"CONTAINER_NOT_EMPTY", "", "value"));
+				}
+			}
+			else if (is(mirror, Pattern.class)) {
+				if (this.require(property, kind, Pattern.class, Kind.CHAR_SEQUENCE)) {
+					final String regex = element.getAnnotation(Pattern.class).value();
+					try {
+						java.util.regex.Pattern.compile(regex);
+					}
+					catch (RuntimeException e) {
+						this.error("Invalid regular expression: " + e.getMessage(),
+								element);
+						continue;
+					}
+					final String field = "PATTERN_" + this.patterns.size();
+					this.patterns.add(regex);
+					sb.append(check(property,
+							"value != null && !" + field + ".matcher(value).matches()",
+							"CHAR_SEQUENCE_PATTERN", literal(regex) + ", ", "value"));
+				}
+			}
+			else if (is(mirror, GreaterThanOrEqual.class)) {
+				sb.append(this.compare(property, kind,
+						element.getAnnotation(GreaterThanOrEqual.class).value(), "<",
+						"GREATER_THAN_OR_EQUAL"));
+			}
+			else if (is(mirror, LessThanOrEqual.class)) {
+				sb.append(this.compare(property, kind,
+						element.getAnnotation(LessThanOrEqual.class).value(), ">",
+						"LESS_THAN_OR_EQUAL"));
+			}
+		}
+		sb.append("    }\n");
+		return sb.toString();
+	}
+
+	private String compare(Property property, Kind kind, long bound, String operator,
+			String message) {
+		final boolean primitive = property.type.getKind().isPrimitive();
+		if (kind == Kind.INTEGRAL) {
+			final String literal = this.integralLiteral(property, bound);
+			if (literal == null) {
+				return "";
+			}
+			return check(
+					property, (primitive ? "" : "value != null && ") + "value " + operator
+							+ " " + literal,
+					"NUMERIC_" + message, literal + ", ", "value");
+		}
+		if (!this.require(property, kind,
+				operator.equals("<") ? GreaterThanOrEqual.class : LessThanOrEqual.class,
+				Kind.CHAR_SEQUENCE, Kind.COLLECTION, Kind.MAP, Kind.ARRAY)) {
+			return "";
+		}
+		if (bound < Integer.MIN_VALUE || bound > Integer.MAX_VALUE) {
+			this.error("The size must be in the range of int: " + bound,
+					property.element);
+			return "";
+		}
+		return check(property, "value != null && size " + operator + " " + bound,
+				"CONTAINER_" + message, bound + ", ", "size");
+	}
+
+	private static String check(Property property, String condition, String message,
+			String args, String violatedValue) {
+		final String name = literal(property.name);
+		return "      if (" + condition + ") {\n"
+				+ "        violations = GeneratedValidatorSupport.add(violations,\n"
+				+ "            new ConstraintViolation(" + name + ",\n"
+				+ "                ViolationMessage.Default." + message
+				+ ".messageKey(),\n" + "                ViolationMessage.Default."
+				+ message + ".defaultMessageFormat(),\n"
+				+ "                new Object[] { " + name + ", " + args + violatedValue
+				+ " },\n" + "                this.messageFormatter, locale));\n"
+				+ "      }\n";
+	}
+
+	private String size(Property property, Kind kind) {
+		switch (kind) {
+		case CHAR_SEQUENCE:
+			return "GeneratedValidatorSupport.codePointSize(value)";
+		case ARRAY:
+			return "value.length";
+		default:
+			return "value.size()";
+		}
+	}
+
+	private boolean require(Property property, Kind kind,
+			Class<? extends java.lang.annotation.Annotation> annotation,
+			Kind... supported) {
+		for (Kind k : supported) {
+			if (k == kind) {
+				return true;
+			}
+		}
+		this.error("@" + annotation.getSimpleName() + " is not supported on "
+				+ property.type, property.element);
+		return false;
+	}
+
+	private String integralLiteral(Property property, long value) {
+		final String type = type(property.type);
+		final long min;
+		final long max;
+		final String literal;
+		if (type.equals(Byte.class.getName())) {
+			min = Byte.MIN_VALUE;
+			max = Byte.MAX_VALUE;
+			literal = "(byte) " + value;
+		}
+		else if (type.equals(Short.class.getName())) {
+			min = Short.MIN_VALUE;
+			max = Short.MAX_VALUE;
+			literal = "(short) " + value;
+		}
+		else if (type.equals(Integer.class.getName())) {
+			min = Integer.MIN_VALUE;
+			max = Integer.MAX_VALUE;
+			literal = String.valueOf(value);
+		}
+		else {
+			min = Long.MIN_VALUE;
+			max = Long.MAX_VALUE;
+			literal = value + "L";
+		}
+		if (value < min || value > max) {
+			this.error("The value is out of the range of " + type + ": " + value,
+					property.element);
+			return null;
+		}
+		return value < 0 ? "(" + literal + ")" : literal;
+	}
+
+	private Kind kind(TypeMirror type) {
+		final TypeKind typeKind = type.getKind();
+		if (typeKind == TypeKind.ARRAY) {
+			return Kind.ARRAY;
+		}
+		final String boxed = type(type);
+		if (boxed.equals(Byte.class.getName()) || boxed.equals(Short.class.getName())
+				|| boxed.equals(Integer.class.getName())
+				|| boxed.equals(Long.class.getName())) {
+			return Kind.INTEGRAL;
+		}
+		if (typeKind != TypeKind.DECLARED) {
+			return Kind.OTHER;
+		}
+		if (this.isSubtype(type, CharSequence.class)) {
+			return Kind.CHAR_SEQUENCE;
+		}
+		if (this.isSubtype(type, java.util.Collection.class)) {
+			return Kind.COLLECTION;
+		}
+		if (this.isSubtype(type, java.util.Map.class)) {
+			return Kind.MAP;
+		}
+		return Kind.OTHER;
+	}
+
+	private boolean isSubtype(TypeMirror type, Class<?> clazz) {
+		final TypeElement typeElement = this.elements.getTypeElement(clazz.getName());
+		return typeElement != null && this.types.isAssignable(this.types.erasure(type),
+				this.types.erasure(typeElement.asType()));
+	}
+
+	private void error(String message, Element element) {
+		this.error = true;
+		this.messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+	}
+
+	static boolean is(AnnotationMirror mirror,
+			Class<? extends java.lang.annotation.Annotation> annotation) {
+		return ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName()
+				.contentEquals(annotation.getName());
+	}
+
+	static String literal(String s) {
+		final StringBuilder sb = new StringBuilder("\"");
+		for (int i = 0; i < s.length(); i++) {
+			final char c = s.charAt(i);
+			switch (c) {
+			case '"':
+				sb.append("\\\"");
+				break;
+			case '\\':
+				sb.append("\\\\");
+				break;
+			case '\n':
+				sb.append("\\n");
+				break;
+			case '\r':
+				sb.append("\\r");
+				break;
+			case '\t':
+				sb.append("\\t");
+				break;
+			default:
+				if (c < 0x20 || c >= 0x7f) {
+					sb.append(String.format("\\u%04x", (int) c));
+				}
+				else {
+					sb.append(c);
+				}
+			}
+		}
+		return sb.append('"').toString();
+	}
+}
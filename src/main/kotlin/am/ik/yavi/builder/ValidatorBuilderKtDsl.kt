@@ -19,7 +19,11 @@ import am.ik.yavi.constraint.*
 import am.ik.yavi.constraint.array.*
 import am.ik.yavi.core.ConstraintCondition
 import am.ik.yavi.core.ConstraintGroup
+import am.ik.yavi.core.SuspendConstraint
+import am.ik.yavi.core.SuspendValidator
 import am.ik.yavi.core.Validator
+import am.ik.yavi.core.ViolationMessage
+import am.ik.yavi.message.SimpleMessageFormatter
 import java.math.BigDecimal
 import java.math.BigInteger
 import java.time.*
@@ -34,12 +38,64 @@ inline fun <T> validator(init: ValidatorBuilderKt<T>.() -> Unit): Validator<T> {
 	return builder.apply(init).build()
 }
 
-class ValidatorBuilderKt<T>(private val validatorBuilder: ValidatorBuilder<T>) {
+/**
+ * Validator DSL with suspend constraints
+ * @since 0.12.0
+ */
+inline fun <T> suspendValidator(init: ValidatorBuilderKt<T>.() -> Unit): SuspendValidator<T> {
+	val builder = ValidatorBuilderKt<T>(ValidatorBuilder())
+	return builder.apply(init).buildSuspend()
+}
+
+class ValidatorBuilderKt<T> private constructor(
+	private val validatorBuilder: ValidatorBuilder<T>,
+	private val suspendConstraints: MutableList<SuspendConstraint<T, *>>,
+	private val condition: ConstraintCondition<T>?
+) {
+
+	constructor(validatorBuilder: ValidatorBuilder<T>) : this(validatorBuilder, mutableListOf(), null)
 
 	fun build(): Validator<T> {
+		check(suspendConstraints.isEmpty()) { "Suspend constraints are registered. Use suspendValidator instead." }
 		return validatorBuilder.build()
 	}
 
+	/**
+	 * @since 0.12.0
+	 */
+	fun buildSuspend(): SuspendValidator<T> {
+		return SuspendValidator(
+			validatorBuilder.build(),
+			suspendConstraints.toList(),
+			validatorBuilder.messageFormatter ?: SimpleMessageFormatter(),
+			validatorBuilder.failFast
+		)
+	}
+
+	/**
+	 * Adds a constraint checked by the given suspend function. The suspend constraints of a
+	 * target run concurrently when validated by [SuspendValidator]. `null` values are not
+	 * checked.
+	 * @since 0.12.0
+	 */
+	fun <V> KProperty1<T, V?>.invokeSuspend(
+		violationMessage: ViolationMessage,
+		name: String = this.name,
+		predicate: suspend (V) -> Boolean
+	) {
+		suspendConstraints.add(SuspendConstraint(name, this::get, violationMessage, condition, predicate))
+	}
+
+	/**
+	 * @since 0.12.0
+	 */
+	fun <V> KProperty1<T, V?>.invokeSuspend(
+		messageKey: String,
+		defaultMessageFormat: String,
+		name: String = this.name,
+		predicate: suspend (V) -> Boolean
+	) = invokeSuspend(ViolationMessage.of(messageKey, defaultMessageFormat), name, predicate)
+
 	@JvmName("invokeTString")
 	operator fun KProperty1<T, String?>.invoke(block: CharSequenceConstraint<T, String?>.() -> Unit) =
 		validatorBuilder.constraint(this, this.name) { it.apply(block) }
@@ -509,12 +565,17 @@ class ValidatorBuilderKt<T>(private val validatorBuilder: ValidatorBuilder<T>) {
 		block: ValidatorBuilderKt<T>.() -> Unit
 	) =
 		validatorBuilder.constraintOnCondition(condition) {
-			ValidatorBuilderKt(it).apply(block).validatorBuilder
+			ValidatorBuilderKt(it, suspendConstraints, and(condition)).apply(block).validatorBuilder
 		}
 
 	fun onGroup(group: ConstraintGroup, block: ValidatorBuilderKt<T>.() -> Unit) =
 		validatorBuilder.constraintOnCondition(group.toCondition()) {
-			ValidatorBuilderKt(it).apply(block).validatorBuilder
+			ValidatorBuilderKt(it, suspendConstraints, and(group.toCondition())).apply(block).validatorBuilder
 		}
 
+	private fun and(other: ConstraintCondition<T>): ConstraintCondition<T> {
+		val current = condition ?: return other
+		return ConstraintCondition { target, context -> current.test(target, context) && other.test(target, context) }
+	}
+
 }
@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core
+
+import am.ik.yavi.fn.Validation
+import am.ik.yavi.message.MessageFormatter
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Semaphore
+import java.util.Locale
+
+/**
+ * A constraint checked by a suspend function, for example with a remote call.
+ * @since 0.12.0
+ */
+class SuspendConstraint<T, V>(
+	val name: String,
+	private val toValue: (T) -> V?,
+	private val violationMessage: ViolationMessage,
+	private val condition: ConstraintCondition<T>?,
+	private val predicate: suspend (V) -> Boolean
+) {
+	internal suspend fun test(
+		target: T,
+		locale: Locale,
+		constraintContext: ConstraintContext,
+		messageFormatter: MessageFormatter
+	): ConstraintViolation? {
+		if (condition != null && !condition.test(target, constraintContext)) {
+			return null
+		}
+		val value = toValue(target) ?: return null
+		return if (predicate(value)) null else ConstraintViolation(
+			name,
+			violationMessage.messageKey(),
+			violationMessage.defaultMessageFormat(),
+			arrayOf(name, value),
+			messageFormatter,
+			locale
+		)
+	}
+}
+
+/**
+ * Validates a target with a [Validator] and then with the suspend constraints, which run
+ * concurrently in a `coroutineScope`. The violations are reported in the order of the
+ * synchronous ones first, then the suspend ones in the order of declaration.
+ *
+ * ```
+ * val validator = suspendValidator<User> {
+ *     User::name {
+ *         notBlank()
+ *     }
+ *     User::name.invokeSuspend("user.nameNotTaken", "\"{0}\" is already taken") {
+ *         !userRepository.existsByName(it)
+ *     }
+ * }
+ * ```
+ * @since 0.12.0
+ */
+class SuspendValidator<T>(
+	val validator: Validator<T>,
+	private val constraints: List<SuspendConstraint<T, *>>,
+	private val messageFormatter: MessageFormatter,
+	private val failFast: Boolean
+) {
+	suspend fun validate(
+		target: T,
+		locale: Locale = Locale.getDefault(),
+		constraintContext: ConstraintContext = ConstraintGroup.DEFAULT
+	): ConstraintViolations {
+		val violations = validator.validate(target, locale, constraintContext)
+		if (constraints.isEmpty() || (failFast && !violations.isEmpty())) {
+			return violations
+		}
+		val results = coroutineScope {
+			constraints.map {
+				async { it.test(target, locale, constraintContext, messageFormatter) }
+			}.awaitAll()
+		}
+		if (results.all { it == null }) {
+			return violations
+		}
+		// the given violations may be the shared empty instance
+		val merged = ConstraintViolations()
+		merged.addAll(violations)
+		for (violation in results.filterNotNull()) {
+			merged.add(violation)
+			if (failFast) {
+				break
+			}
+		}
+		return merged
+	}
+
+	suspend fun validated(
+		target: T,
+		locale: Locale = Locale.getDefault(),
+		constraintContext: ConstraintContext = ConstraintGroup.DEFAULT
+	): Validated<T> {
+		val violations = validate(target, locale, constraintContext)
+		return if (violations.isValid) Validated.of(Validation.success(target))
+		else Validated.of(Validation.failure(violations))
+	}
+}
+
+/**
+ * Validates the elements of this flow with the given validator. Up to [concurrency]
+ * elements are validated concurrently, and the results are emitted in the order of the
+ * elements.
+ * @since 0.12.0
+ */
+fun <T> Flow<T>.validate(
+	validator: SuspendValidator<T>,
+	concurrency: Int = 1,
+	locale: Locale = Locale.getDefault(),
+	constraintContext: ConstraintContext = ConstraintGroup.DEFAULT
+): Flow<Validated<T>> {
+	require(concurrency > 0) { "concurrency must be positive" }
+	if (concurrency == 1) {
+		return map { validator.validated(it, locale, constraintContext) }
+	}
+	val upstream = this
+	return flow {
+		coroutineScope {
+			val permits = Semaphore(concurrency)
+			val results = Channel<Deferred<Validated<T>>>(Channel.UNLIMITED)
+			launch {
+				upstream.collect {
+					permits.acquire()
+					results.send(async { validator.validated(it, locale, constraintContext) })
+				}
+				results.close()
+			}
+			for (result in results) {
+				emit(result.await())
+				permits.release()
+			}
+		}
+	}
+}
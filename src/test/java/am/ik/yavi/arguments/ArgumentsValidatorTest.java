@@ -32,6 +32,7 @@ import am.ik.yavi.builder.StringValidatorBuilder;
 import am.ik.yavi.core.ConstraintViolations;
 import am.ik.yavi.core.ConstraintViolationsException;
 import am.ik.yavi.core.Validated;
+import am.ik.yavi.core.ValidatedBatch;
 import am.ik.yavi.core.ViolationMessage;
 import org.junit.jupiter.api.Test;
 
@@ -413,4 +414,20 @@ class ArgumentsValidatorTest {
 		assertThat(validated.errors().get(0).messageKey()).isEqualTo("object.notNull");
 		assertThat(validated.errors().get(0).args()[0]).isEqualTo("country");
 	}
+
+	@Test
+	void validateAll() {
+		final ValidatedBatch<User> batch = arguments3Validator.validateAll(Arrays.asList(
+				Arguments.of("foo", "foo@example.com", 30), Arguments.of("", "bar", 300),
+				Arguments.of("baz", "baz@example.com", 40)));
+		assertThat(batch.size()).isEqualTo(3);
+		assertThat(batch.isValid()).isFalse();
+		assertThat(batch.invalidIndices()).containsExactly(1);
+		assertThat(batch.value(0).getName()).isEqualTo("foo");
+		assertThat(batch.value(1)).isNull();
+		assertThat(batch.violations(1)).extracting(v -> v.name()).containsExactly("name",
+				"email", "email", "age");
+		assertThat(batch.validValues()).extracting(User::getName).containsExactly("foo",
+				"baz");
+	}
 }
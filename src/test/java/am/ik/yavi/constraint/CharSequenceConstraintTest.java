@@ -15,20 +15,37 @@
  */
 package am.ik.yavi.constraint;
 
+import am.ik.yavi.constraint.charsequence.CodePointsConstraint;
+import am.ik.yavi.constraint.charsequence.GuardedPattern;
+import am.ik.yavi.constraint.charsequence.MemoizedPattern;
 import am.ik.yavi.constraint.charsequence.variant.IdeographicVariationSequence;
 import am.ik.yavi.constraint.charsequence.variant.MongolianFreeVariationSelector;
+import am.ik.yavi.core.ConstraintPredicate;
+import am.ik.yavi.core.ConstraintPredicates;
+import am.ik.yavi.core.ConstraintViolation;
+import am.ik.yavi.core.ConstraintViolations;
+import am.ik.yavi.core.Validator;
+import am.ik.yavi.message.SimpleMessageFormatter;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class CharSequenceConstraintTest {
 
@@ -61,6 +78,22 @@ class CharSequenceConstraintTest {
 		assertThat(predicate.test(value)).isFalse();
 	}
 
+	@ParameterizedTest
+	@ValueSource(strings = { "abc@example.com", "abc@localhost", "abc@[192.168.1.10]",
+			"\"a b\"@example.com", "" })
+	void validStrictEmail(String value) {
+		Predicate<String> predicate = retrievePredicate(c -> c.strictEmail());
+		assertThat(predicate.test(value)).isTrue();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "example.com", "abc@@example.com", "東京@example.com",
+			"abc@192.168.1.10.", "abc@-example.com" })
+	void invalidStrictEmail(String value) {
+		Predicate<String> predicate = retrievePredicate(c -> c.strictEmail());
+		assertThat(predicate.test(value)).isFalse();
+	}
+
 	@ParameterizedTest
 	@ValueSource(strings = { "ab", "漢字" })
 	void validFixedSize(String value) {
@@ -251,6 +284,44 @@ class CharSequenceConstraintTest {
 		assertThat(predicate.test(value)).isFalse();
 	}
 
+	@Test
+	void patternSupplierIsCalledEveryTime() {
+		final AtomicInteger counter = new AtomicInteger();
+		Predicate<String> predicate = retrievePredicate(c -> c.pattern(() -> {
+			counter.incrementAndGet();
+			return Pattern.compile("[0-9]{4}");
+		}));
+		assertThat(predicate.test("1234")).isTrue();
+		assertThat(predicate.test("abcd")).isFalse();
+		assertThat(counter.get()).isEqualTo(2);
+	}
+
+	@Test
+	void memoizedPatternSupplier() {
+		final AtomicInteger counter = new AtomicInteger();
+		final AtomicReference<String> regex = new AtomicReference<>("[0-9]{4}");
+		final MemoizedPattern pattern = MemoizedPattern.of(() -> {
+			counter.incrementAndGet();
+			return Pattern.compile(regex.get());
+		});
+		Predicate<String> predicate = retrievePredicate(c -> c.pattern(pattern, true));
+		assertThat(predicate.test("1234")).isTrue();
+		assertThat(predicate.test("abcd")).isFalse();
+		assertThat(counter.get()).isEqualTo(1);
+		regex.set("[a-z]{4}");
+		assertThat(predicate.test("abcd")).isFalse();
+		pattern.invalidate();
+		assertThat(predicate.test("abcd")).isTrue();
+		assertThat(predicate.test("1234")).isFalse();
+		assertThat(counter.get()).isEqualTo(2);
+	}
+
+	@Test
+	void invalidRegexIsRejectedWhenDefined() {
+		assertThatThrownBy(() -> retrievePredicate(c -> c.pattern("[0-9")))
+				.isInstanceOf(PatternSyntaxException.class);
+	}
+
 	@ParameterizedTest
 	@ValueSource(strings = { "http://example.com", "https://example.com", "" })
 	void validUrl(String value) {
@@ -265,6 +336,22 @@ class CharSequenceConstraintTest {
 		assertThat(predicate.test(value)).isFalse();
 	}
 
+	@ParameterizedTest
+	@ValueSource(strings = { "http://example.com", "https://example.com/a?b#c",
+			"urn:isbn:0451450523", "" })
+	void validStrictUrl(String value) {
+		Predicate<String> predicate = retrievePredicate(c -> c.strictUrl());
+		assertThat(predicate.test(value)).isTrue();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "example.com", "http://example.com/a b",
+			"http://example.com/%zz", "http://[::1" })
+	void invalidStrictUrl(String value) {
+		Predicate<String> predicate = retrievePredicate(c -> c.strictUrl());
+		assertThat(predicate.test(value)).isFalse();
+	}
+
 	@ParameterizedTest
 	@MethodSource("randomUUIDs")
 	void validUUID(String value) {
@@ -531,6 +618,297 @@ class CharSequenceConstraintTest {
 		assertThat(predicate.test(value)).isFalse();
 	}
 
+	@Test
+	void sizeIsSharedAmongPredicatesForTheSameValue() {
+		final AtomicInteger counter = new AtomicInteger();
+		final CharSequenceConstraint<String, String> constraint = new CharSequenceConstraint<String, String>() {
+			@Override
+			protected String normalize(String s) {
+				counter.incrementAndGet();
+				return super.normalize(s);
+			}
+		};
+		constraint.notEmpty().greaterThan(1).lessThanOrEqual(3);
+		final Validator<String> validator = new Validator<>(".",
+				Collections.singletonList(new ConstraintPredicates<>(Function.identity(),
+						"value", constraint.predicates())),
+				Collections.emptyList(), Collections.emptyList(),
+				new SimpleMessageFormatter());
+		assertThat(validator.validate("\u3042\u3044\u3046").isValid()).isTrue();
+		assertThat(counter.get()).isEqualTo(1);
+		final ConstraintViolations violations = validator
+				.validate("\u3042\u3044\u3046\u3048");
+		assertThat(counter.get()).isEqualTo(2);
+		assertThat(violations).hasSize(1);
+		assertThat(violations.get(0).violatedValue()).isEqualTo(4);
+		// the same value in another validation is measured again
+		assertThat(validator.validate("\u3042\u3044\u3046").isValid()).isTrue();
+		assertThat(counter.get()).isEqualTo(3);
+	}
+
+	@Test
+	void sizeOfMutableCharSequenceIsNotCached() {
+		final CharSequenceConstraint<StringBuilder, StringBuilder> constraint = new CharSequenceConstraint<>();
+		final Predicate<StringBuilder> predicate = constraint.lessThanOrEqual(3)
+				.predicates().peekFirst().predicate();
+		final StringBuilder value = new StringBuilder("\u3042\u3044\u3046");
+		assertThat(predicate.test(value)).isTrue();
+		value.append("\u3048");
+		assertThat(predicate.test(value)).isFalse();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "", " ", " \t\n", "abc", " abc ", "\u3042\u3044\u3046",
+			"\u908a\udb40\udd01\u908a", "\ud842\udfb7\ud842\udfb7", "foo@example.com",
+			"http://example.com/a", "192.168.0.1", "::ffff:10.0.0.1", "12345",
+			"a\u180bb\u180cc" })
+	void sameResultsWithoutCopyingCharSequence(String value) {
+		final CharSequenceConstraint<String, String> strings = new CharSequenceConstraint<String, String>()
+				.variant(opts -> opts.ivs(IdeographicVariationSequence.IGNORE)
+						.fvs(MongolianFreeVariationSelector.IGNORE));
+		final CharSequenceConstraint<CharSequence, CharSequence> charSequences = new CharSequenceConstraint<CharSequence, CharSequence>()
+				.variant(opts -> opts.ivs(IdeographicVariationSequence.IGNORE)
+						.fvs(MongolianFreeVariationSelector.IGNORE));
+		for (CharSequenceConstraint<?, ?> constraint : new CharSequenceConstraint<?, ?>[] {
+				strings, charSequences }) {
+			constraint.contains("b").startsWith(" a").endsWith("c ").notBlank()
+					.greaterThan(2).lessThanOrEqual(3).fixedSize(4).email().url().ipv4()
+					.ipv6().inCidr("192.168.0.0/16").isInteger();
+		}
+		final CodePointsConstraint<CharSequence, CharSequence> codePoints = charSequences
+				.codePoints(0x20, 0x7e).asWhiteList();
+		final CodePointsConstraint<String, String> stringCodePoints = strings
+				.codePoints(0x20, 0x7e).asWhiteList();
+		final List<ConstraintPredicate<String>> expected = new ArrayList<>(
+				stringCodePoints.predicates());
+		final List<ConstraintPredicate<CharSequence>> actual = new ArrayList<>(
+				codePoints.predicates());
+		final CharSequence noCopy = new NoCopyCharSequence(value);
+		assertThat(actual).hasSameSizeAs(expected);
+		for (int i = 0; i < expected.size(); i++) {
+			assertThat(actual.get(i).predicate().test(noCopy))
+					.as(expected.get(i).messageKey())
+					.isEqualTo(expected.get(i).predicate().test(value));
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "\u0041\u030a\u0041\u030a", "\u0041\u030a\u908a\udb40\udd01",
+			"\u1100\u1161\u11a8", "\ud842", "\udfb7\ud842", "\ud87e\udc00\u3099",
+			"\u00c5\u212b" })
+	void sameSizeOfCharSequenceToBeNormalized(String value) {
+		for (Normalizer.Form form : Normalizer.Form.values()) {
+			final CharSequenceConstraint<String, String> strings = new CharSequenceConstraint<String, String>()
+					.normalizer(form)
+					.variant(opts -> opts.ivs(IdeographicVariationSequence.IGNORE));
+			final CharSequenceConstraint<StringBuilder, StringBuilder> builders = new CharSequenceConstraint<StringBuilder, StringBuilder>()
+					.normalizer(form)
+					.variant(opts -> opts.ivs(IdeographicVariationSequence.IGNORE));
+			for (int size = 0; size < 4; size++) {
+				assertThat(builders.fixedSize(size).predicates().peekLast().predicate()
+						.test(new StringBuilder(value))).as(form + " " + size)
+								.isEqualTo(strings.fixedSize(size).predicates().peekLast()
+										.predicate().test(value));
+			}
+		}
+	}
+
+	/**
+	 * A char sequence that fails the test if it is copied into a string
+	 */
+	static final class NoCopyCharSequence implements CharSequence {
+		private final String value;
+
+		NoCopyCharSequence(String value) {
+			this.value = value;
+		}
+
+		@Override
+		public int length() {
+			return this.value.length();
+		}
+
+		@Override
+		public char charAt(int index) {
+			return this.value.charAt(index);
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			return new NoCopyCharSequence(this.value.substring(start, end));
+		}
+
+		@Override
+		public String toString() {
+			throw new AssertionError("copied");
+		}
+	}
+
+	@Test
+	void guardedPattern() {
+		final GuardedPattern pattern = GuardedPattern.of("(.*a){12}", 100_000);
+		final List<ConstraintPredicate<String>> predicates = new ArrayList<>(
+				new CharSequenceConstraint<String, String>().pattern(pattern)
+						.predicates());
+		assertThat(predicates).extracting(ConstraintPredicate::messageKey)
+				.containsExactly("charSequence.patternExhausted", "charSequence.pattern");
+		final String attack = "aaaaaaaaaaaaaaaaaaaaaaaaaac";
+		assertThat(predicates).allMatch(p -> p.predicate().test("aaaaaaaaaaaa"));
+		assertThat(predicates.get(0).predicate().test("aac")).isTrue();
+		assertThat(predicates.get(1).predicate().test("aac")).isFalse();
+		assertThat(predicates.get(0).predicate().test(attack)).isFalse();
+		assertThat(predicates.get(1).predicate().test(attack)).isFalse();
+	}
+
+	@Test
+	void guardedPatternIsMatchedOncePerValidation() {
+		final GuardedPattern pattern = GuardedPattern.linear("[a-z]+[0-9]*");
+		final AtomicInteger reads = new AtomicInteger();
+		final Validator<CharSequence> validator = new Validator<>(".",
+				Collections.singletonList(
+						new ConstraintPredicates<>(Function.identity(), "value",
+								new CharSequenceConstraint<CharSequence, CharSequence>()
+										.pattern(pattern).predicates())),
+				Collections.emptyList(), Collections.emptyList(),
+				new SimpleMessageFormatter());
+		final CharSequence value = new CountingCharSequence("abc123", reads);
+		assertThat(pattern.outcome(value)).isEqualTo(GuardedPattern.Outcome.MATCHED);
+		final int readsPerMatching = reads.getAndSet(0);
+		assertThat(validator.validate(value).isValid()).isTrue();
+		assertThat(reads.get()).isEqualTo(readsPerMatching);
+		assertThat(validator.validate("ABC")).extracting(ConstraintViolation::messageKey)
+				.containsExactly("charSequence.pattern");
+	}
+
+	static final class CountingCharSequence implements CharSequence {
+		private final String value;
+
+		private final AtomicInteger reads;
+
+		CountingCharSequence(String value, AtomicInteger reads) {
+			this.value = value;
+			this.reads = reads;
+		}
+
+		@Override
+		public int length() {
+			return this.value.length();
+		}
+
+		@Override
+		public char charAt(int index) {
+			this.reads.incrementAndGet();
+			return this.value.charAt(index);
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			return this.value.subSequence(start, end);
+		}
+
+		@Override
+		public String toString() {
+			return this.value;
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "1234", "0000" })
+	void validPattern_linear(String value) {
+		Predicate<String> predicate = retrievePredicate(
+				c -> c.pattern(GuardedPattern.linear("[0-9]{4}")));
+		assertThat(predicate.test(value)).isTrue();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "10.1.2.3", "192.168.0.255", "2001:db8::1" })
+	void validInCidr(String value) {
+		Predicate<String> predicate = retrievePredicate(
+				c -> c.inCidr("10.0.0.0/8", "192.168.0.0/24", "2001:db8::/32"));
+		assertThat(predicate.test(value)).isTrue();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "", "11.0.0.1", "192.168.1.0", "2001:db9::1", "10.0.0.1/8",
+			"example.com" })
+	void invalidInCidr(String value) {
+		Predicate<String> predicate = retrievePredicate(
+				c -> c.inCidr("10.0.0.0/8", "192.168.0.0/24", "2001:db8::/32"));
+		assertThat(predicate.test(value)).isFalse();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "", "11.0.0.1", "2001:db9::1" })
+	void validNotInCidr(String value) {
+		Predicate<String> predicate = retrievePredicate(
+				c -> c.notInCidr("10.0.0.0/8", "2001:db8::/32"));
+		assertThat(predicate.test(value)).isTrue();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "10.1.2.3", "2001:db8::1" })
+	void invalidNotInCidr(String value) {
+		Predicate<String> predicate = retrievePredicate(
+				c -> c.notInCidr("10.0.0.0/8", "2001:db8::/32"));
+		assertThat(predicate.test(value)).isFalse();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "10.0.0.10", "10.0.0.15", "10.0.0.20" })
+	void validIpv4Range(String value) {
+		Predicate<String> predicate = retrievePredicate(
+				c -> c.ipv4Range("10.0.0.10", "10.0.0.20"));
+		assertThat(predicate.test(value)).isTrue();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "", "10.0.0.9", "10.0.0.21", "::ffff:10.0.0.15", "a" })
+	void invalidIpv4Range(String value) {
+		Predicate<String> predicate = retrievePredicate(
+				c -> c.ipv4Range("10.0.0.10", "10.0.0.20"));
+		assertThat(predicate.test(value)).isFalse();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "2001:db8::a", "2001:db8::f", "2001:db8::14%eth0" })
+	void validIpv6Range(String value) {
+		Predicate<String> predicate = retrievePredicate(
+				c -> c.ipv6Range("2001:db8::a", "2001:db8::14"));
+		assertThat(predicate.test(value)).isTrue();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "", "2001:db8::9", "2001:db8::15", "10.0.0.15" })
+	void invalidIpv6Range(String value) {
+		Predicate<String> predicate = retrievePredicate(
+				c -> c.ipv6Range("2001:db8::a", "2001:db8::14"));
+		assertThat(predicate.test(value)).isFalse();
+	}
+
+	@Test
+	void ipRangeOfWrongFamily() {
+		assertThatThrownBy(() -> new CharSequenceConstraint<String, String>()
+				.ipv4Range("::1", "::2")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new CharSequenceConstraint<String, String>()
+				.ipv6Range("10.0.0.1", "10.0.0.2"))
+						.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "", "8.8.8.8", "2001:4860:4860::8888" })
+	void validNotPrivateIp(String value) {
+		Predicate<String> predicate = retrievePredicate(c -> c.notPrivateIp());
+		assertThat(predicate.test(value)).isTrue();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "10.0.0.1", "172.16.0.1", "192.168.0.1", "127.0.0.1",
+			"169.254.169.254", "::1", "fd00::1", "fe80::1%eth0", "::ffff:127.0.0.1" })
+	void invalidNotPrivateIp(String value) {
+		Predicate<String> predicate = retrievePredicate(c -> c.notPrivateIp());
+		assertThat(predicate.test(value)).isFalse();
+	}
+
 	private static Predicate<String> retrievePredicate(
 			Function<CharSequenceConstraint<String, String>, CharSequenceConstraint<String, String>> constraint) {
 		return constraint.apply(new CharSequenceConstraint<>()).predicates().peekFirst()
@@ -15,6 +15,10 @@
  */
 package am.ik.yavi.constraint.charsequence;
 
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
 import java.util.function.Predicate;
 
 import org.junit.jupiter.api.Test;
@@ -75,4 +79,39 @@ class ByteSizeConstraintTest {
 		assertThat(predicate.test("あ")).isTrue(); // 3
 		assertThat(predicate.test("あa")).isFalse(); // 4
 	}
+
+	@Test
+	void charBuffer() {
+		Predicate<CharBuffer> predicate = new CharSequenceConstraint<CharBuffer, CharBuffer>()
+				.asByteArray().fixedSize(4).predicates().peekFirst().predicate();
+		assertThat(predicate.test(CharBuffer.wrap("xあaxx", 1, 3))).isTrue();
+		assertThat(predicate.test(CharBuffer.wrap("xあxx", 1, 2))).isFalse();
+	}
+
+	@Test
+	void sizeSameAsGetBytes() {
+		final Random random = new Random(20221018L);
+		final char[] candidates = { 'a', '~', '\u00e9', '\u07ff', '\u0800', '\u3042',
+				'\uffff', '\uD842', '\uDFB7', '\uDBFF', '\uDC00' };
+		final Charset[] charsets = { StandardCharsets.US_ASCII,
+				StandardCharsets.ISO_8859_1, StandardCharsets.UTF_16,
+				StandardCharsets.UTF_16LE, Charset.forName("Shift_JIS"),
+				Charset.forName("EUC-JP") };
+		for (int n = 0; n < 20_000; n++) {
+			final int length = random.nextInt(12);
+			final StringBuilder sb = new StringBuilder(length);
+			for (int i = 0; i < length; i++) {
+				sb.append(candidates[random.nextInt(candidates.length)]);
+			}
+			final String s = sb.toString();
+			assertThat(ByteSizeConstraint.utf8Size(sb)).as(s)
+					.isEqualTo(s.getBytes(StandardCharsets.UTF_8).length);
+			final Charset charset = charsets[n % charsets.length];
+			assertThat(ByteSizeConstraint.encodedSize(sb, charset)).as(s)
+					.isEqualTo(s.getBytes(charset).length);
+		}
+		final String large = new String(new char[1000]).replace('\0', '\u3042');
+		assertThat(ByteSizeConstraint.encodedSize(large, StandardCharsets.UTF_16))
+				.isEqualTo(2002);
+	}
 }
@@ -15,9 +15,12 @@
  */
 package am.ik.yavi.constraint.charsequence;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 
@@ -112,4 +115,30 @@ class CodePointsConstraintTest {
 		assertThat(predicate.violatedValue("ABCD").get().value())
 				.isEqualTo(Arrays.asList("A", "B"));
 	}
+
+	@Test
+	void customCodePointsAreNotReplaced() {
+		final Set<Integer> allowed = new HashSet<>(Arrays.asList(0x0041 /* A */));
+		final List<String> calls = new ArrayList<>();
+		CodePointsSet<String> whiteList = new CodePointsSet<String>() {
+			@Override
+			public Set<Integer> asSet() {
+				return allowed;
+			}
+
+			@Override
+			public boolean allIncluded(String s) {
+				calls.add(s);
+				return CodePointsSet.super.allIncluded(s);
+			}
+		};
+
+		ConstraintPredicate<String> predicate = new CharSequenceConstraint<String, String>()
+				.codePoints(whiteList).asWhiteList().predicates().peekFirst();
+
+		assertThat(predicate.violatedValue("AB").isPresent()).isTrue();
+		assertThat(calls).containsExactly("AB");
+		allowed.add(0x0042 /* B */);
+		assertThat(predicate.violatedValue("AB").isPresent()).isFalse();
+	}
 }
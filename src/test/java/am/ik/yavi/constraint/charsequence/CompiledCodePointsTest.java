@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.charsequence;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import am.ik.yavi.constraint.charsequence.CodePoints.CodePointsRanges;
+import am.ik.yavi.constraint.charsequence.CodePoints.CodePointsSet;
+import am.ik.yavi.constraint.charsequence.CodePoints.Range;
+
+class CompiledCodePointsTest {
+
+	@Test
+	void mergeRanges() {
+		CompiledCodePoints<String> codePoints = CompiledCodePoints
+				.ofRanges(Arrays.asList(Range.of(0x0061 /* a */, 0x007A /* z */),
+						Range.of(0x0041 /* A */, 0x005A /* Z */),
+						Range.of(0x0050 /* P */, 0x0060 /* ` */),
+						Range.single(0x0030 /* 0 */), Range.single(0x0031 /* 1 */)));
+		assertThat(codePoints.asRanges()).containsExactly(Range.of(0x0030, 0x0031),
+				Range.of(0x0041, 0x007A));
+	}
+
+	@Test
+	void includes() {
+		CompiledCodePoints<String> codePoints = CompiledCodePoints
+				.ofRanges(Arrays.asList(Range.of(0x3041 /* ぁ */, 0x309F /* ゟ */),
+						Range.of(0x1F600, 0x1F64F), Range.single(0x0041 /* A */)));
+		assertThat(codePoints.includes(0x0041)).isTrue();
+		assertThat(codePoints.includes(0x0042)).isFalse();
+		assertThat(codePoints.includes(0x3040)).isFalse();
+		assertThat(codePoints.includes(0x3041)).isTrue();
+		assertThat(codePoints.includes(0x309F)).isTrue();
+		assertThat(codePoints.includes(0x30A0)).isFalse();
+		assertThat(codePoints.includes(0x1F600)).isTrue();
+		assertThat(codePoints.includes(0x1F650)).isFalse();
+	}
+
+	@Test
+	void compileRanges() {
+		CodePointsRanges<String> ranges = () -> Arrays.asList(
+				Range.of(0x0041/* A */, 0x005A /* Z */),
+				Range.of(0x0061/* a */, 0x007A /* z */));
+		CodePoints<String> compiled = CompiledCodePoints.compile(ranges);
+		assertThat(compiled).isInstanceOf(CompiledCodePoints.class);
+		assertThat(CompiledCodePoints.compile(compiled)).isSameAs(compiled);
+		for (String s : Arrays.asList("", "ABcD", "AbCＤ", "AbあCＤ😀a😀")) {
+			assertThat(compiled.allExcludedCodePoints(s))
+					.containsExactlyElementsOf(ranges.allExcludedCodePoints(s));
+			assertThat(compiled.allIncluded(s))
+					.isEqualTo(ranges.allExcludedCodePoints(s).isEmpty());
+		}
+	}
+
+	@Test
+	void compileSet() {
+		CodePointsSet<String> set = () -> new HashSet<>(
+				Arrays.asList(0x0041 /* A */, 0x0042 /* B */, 0x1F600));
+		CodePoints<String> compiled = CompiledCodePoints.compile(set);
+		assertThat(compiled).isInstanceOf(CompiledCodePoints.class);
+		assertThat(compiled.allIncluded("AB😀BA")).isTrue();
+		assertThat(compiled.allExcludedCodePoints("ACB😁D")).containsExactly(0x0043,
+				0x1F601, 0x0044);
+		assertThat(compiled.noneIncluded("CD😁")).isTrue();
+		assertThat(compiled.noneIncluded("CD😀")).isFalse();
+	}
+
+	@Test
+	void allIncludedCodePoints() {
+		CompiledCodePoints<String> codePoints = CompiledCodePoints.ofSet(
+				new LinkedHashSet<>(Arrays.asList(0x0041 /* A */, 0x0042 /* B */)));
+		assertThat(codePoints.allIncludedCodePoints("xByAzB")).containsExactly(0x0042,
+				0x0041);
+		assertThat(codePoints.allIncludedCodePoints("xyz")).isEmpty();
+	}
+
+	@Test
+	void compileOthers() {
+		CodePoints<String> codePoints = s -> Collections.emptySet();
+		assertThat(CompiledCodePoints.compile(codePoints)).isSameAs(codePoints);
+	}
+}
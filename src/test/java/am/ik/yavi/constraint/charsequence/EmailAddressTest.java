@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.charsequence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import am.ik.yavi.constraint.inetaddress.InetAddressUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailAddressTest {
+	// the regular expression used by CharSequenceConstraint#email() before 0.12.0
+	static final String EMAIL_PART = "[^\\x00-\\x1F()<>@,;:\\\\\".\\[\\]\\s]";
+
+	static final String DOMAIN_PATTERN = EMAIL_PART + "+(\\." + EMAIL_PART + "+)*";
+
+	static final Pattern VALID_EMAIL_ADDRESS_REGEX = Pattern
+			.compile(
+					"^" + EMAIL_PART + "+(\\." + EMAIL_PART + "+)*@(" + DOMAIN_PATTERN
+							+ "|" + InetAddressUtils.IPV4_REGEX + ")$",
+					Pattern.CASE_INSENSITIVE);
+
+	static final List<String> edgeCases = Arrays.asList("", "@", "a@", "@a", "a@b",
+			"a@b.c", "a.b@c", ".a@b", "a.@b", "a..b@c", "a@.b", "a@b.", "a@b..c", "a@@b",
+			"a@b@c", "a b@c", "a@b c", "a\t@b", "\"a\"@b", "a\\b@c", "(a)@b", "<a>@b",
+			"a,b@c", "a;b@c", "a:b@c", "[a]@b", "a@[1.2.3.4]", "a@1.2.3.4", "a@256.1.1.1",
+			"あ@い.う", "a@b\u007f", "a@b\u0085", "a@b ", "a@b ", "a@b　", "😀@😀.com",
+			"\u0000@b", "a@b\n", "\na@b", "foo+bar@example.com",
+			"foo-bar_baz@sub.example.co.jp");
+
+	static final char[] alphabet = { 'a', 'Z', '0', '.', '@', '-', '"', '\\', '[', ']',
+			'(', ' ', '\t', '\u000b', '\u001f', '\u007f', '\u0085', ' ', 'あ', '\ud83d',
+			'\ude00', ',', ':' };
+
+	static List<String> inputs() {
+		final List<String> inputs = new ArrayList<>(edgeCases);
+		final Random random = new Random(20221018L);
+		for (int i = 0; i < 100_000; i++) {
+			final int length = random.nextInt(10);
+			final StringBuilder sb = new StringBuilder(length);
+			for (int j = 0; j < length; j++) {
+				sb.append(alphabet[random.nextInt(alphabet.length)]);
+			}
+			inputs.add(sb.toString());
+		}
+		return inputs;
+	}
+
+	@Test
+	void isEmailSameAsRegex() {
+		for (String input : inputs()) {
+			final boolean expected = VALID_EMAIL_ADDRESS_REGEX.matcher(input).matches();
+			assertThat(EmailAddress.isEmail(input)).as("\"%s\"", input)
+					.isEqualTo(expected);
+			assertThat(EmailAddress.isEmail(new StringBuilder(input))).as("\"%s\"", input)
+					.isEqualTo(expected);
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "a@example.com", "A.B.C@example.com",
+			"!#$%&'*+-/=?^_`{|}~@example.com", "\"a b\"@example.com",
+			"\"a\\\"b\"@example.com", "\"\"@example.com", "a@localhost", "a@a-b.c-d",
+			"a@0.example", "a@[127.0.0.1]", "a@[01.2.3.4]", "a@[ipv6:::1]",
+			"a@[IPv6:::1]", "a@[IPv6:2001:db8::8a2e:370:7334]",
+			"a@[IPv6:::ffff:192.0.2.1]",
+			"1234567890123456789012345678901234567890123456789012345678901234@example.com",
+			"a@123456789012345678901234567890123456789012345678901234567890123.com" })
+	void validRfc5321Mailbox(String value) {
+		assertThat(EmailAddress.isRfc5321Mailbox(value)).isTrue();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "", "@", "a@", "@example.com", "a", ".a@example.com",
+			"a.@example.com", "a..b@example.com", "a b@example.com", "\"a@example.com",
+			"\"a\"b@example.com", "\"\\\"@example.com", "(a)@example.com",
+			"あ@example.com", "a@例え.jp", "a@@example.com", "a@b@example.com",
+			"a@-example.com", "a@example-.com", "a@example..com", "a@.example.com",
+			"a@example.com.", "a@exa_mple.com", "a@[256.0.0.1]", "a@[1.2.3]",
+			"a@[ıPv6:::1]", "a@[1.2.3.4", "a@[::1]", "a@[IPv6:1.2.3.4]",
+			"a@[IPv6:fe80::1%eth0]", "a@[IPv6:::1/128]", "a@[IPv6:]",
+			"12345678901234567890123456789012345678901234567890123456789012345@example.com",
+			"a@1234567890123456789012345678901234567890123456789012345678901234.com",
+			" a@example.com", "a@example.com " })
+	void invalidRfc5321Mailbox(String value) {
+		assertThat(EmailAddress.isRfc5321Mailbox(value)).isFalse();
+	}
+
+	@Test
+	void rfc5321DomainLength() {
+		final StringBuilder domain = new StringBuilder();
+		while (domain.length() < 255) {
+			domain.append(domain.length() == 0 ? "a" : ".a");
+		}
+		assertThat(domain).hasSize(255);
+		assertThat(EmailAddress.isRfc5321Mailbox("a@" + domain)).isTrue();
+		assertThat(EmailAddress.isRfc5321Mailbox("a@a" + domain)).isFalse();
+	}
+}
@@ -75,6 +75,24 @@ class EmojiTest {
 		assertThat(Emoji.bestEffortCount(emoji)).isEqualTo(3);
 	}
 
+	@Test
+	void withoutEmoji() {
+		assertThat(Emoji.bestEffortCount("Hello World")).isEqualTo(11);
+		assertThat(Emoji.bestEffortCount("\u3042\u3044\u3046")).isEqualTo(3);
+		assertThat(Emoji.bestEffortCount("X\u200DX")).isEqualTo(1);
+		assertThat(Emoji.bestEffortCount(null)).isEqualTo(0);
+	}
+
+	@Test
+	void graphemeClusterCount() {
+		assertThat(Emoji.graphemeClusterCount("Hello World")).isEqualTo(11);
+		assertThat(Emoji.graphemeClusterCount("e\u0301")).isEqualTo(1);
+		assertThat(Emoji.graphemeClusterCount("a\r\nb")).isEqualTo(3);
+		assertThat(Emoji.graphemeClusterCount("\uD842\uDFB7")).isEqualTo(1);
+		assertThat(Emoji.graphemeClusterCount("")).isEqualTo(0);
+		assertThat(Emoji.graphemeClusterCount(null)).isEqualTo(0);
+	}
+
 	void verifyEmojiAll(String file) throws Exception {
 		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
 				this.getClass().getClassLoader().getResourceAsStream(file)))) {
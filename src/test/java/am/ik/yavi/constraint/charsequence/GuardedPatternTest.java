@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.charsequence;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+import am.ik.yavi.constraint.charsequence.GuardedPattern.Outcome;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GuardedPatternTest {
+	// takes seconds to reject the attack with backtracking
+	static final Pattern catastrophic = Pattern.compile("(.*a){12}");
+
+	static final String attack = "aaaaaaaaaaaaaaaaaaaaaaaaaac";
+
+	static final String matching = "aaaaaaaaaaaa";
+
+	@Test
+	void maxSteps() {
+		final GuardedPattern pattern = GuardedPattern.of(catastrophic, 100_000);
+		assertThat(pattern.outcome(matching)).isEqualTo(Outcome.MATCHED);
+		assertThat(pattern.outcome("aaac")).isEqualTo(Outcome.NOT_MATCHED);
+		assertThat(pattern.outcome(attack)).isEqualTo(Outcome.EXHAUSTED);
+		assertThat(pattern.outcome(new StringBuilder(attack)))
+				.isEqualTo(Outcome.EXHAUSTED);
+	}
+
+	@Test
+	void maxStepsOfString() {
+		final GuardedPattern pattern = GuardedPattern.of("[0-9]{4}", 4);
+		assertThat(pattern.pattern()).isEqualTo("[0-9]{4}");
+		assertThat(pattern.outcome("1234")).isEqualTo(Outcome.MATCHED);
+		assertThat(pattern.outcome("12345")).isEqualTo(Outcome.NOT_MATCHED);
+		assertThat(GuardedPattern.of("[0-9]{4}", 3).outcome("1234"))
+				.isEqualTo(Outcome.EXHAUSTED);
+	}
+
+	@Test
+	void timeout() {
+		final GuardedPattern pattern = GuardedPattern.of(catastrophic,
+				Duration.ofMillis(50));
+		assertThat(pattern.outcome(matching)).isEqualTo(Outcome.MATCHED);
+		assertThat(pattern.outcome("aaac")).isEqualTo(Outcome.NOT_MATCHED);
+		final long start = System.nanoTime();
+		assertThat(pattern.outcome(attack)).isEqualTo(Outcome.EXHAUSTED);
+		assertThat(Duration.ofNanos(System.nanoTime() - start))
+				.isLessThan(Duration.ofSeconds(5));
+	}
+
+	@Test
+	void interrupted() {
+		final GuardedPattern pattern = GuardedPattern.of(catastrophic, Long.MAX_VALUE);
+		Thread.currentThread().interrupt();
+		try {
+			assertThat(pattern.outcome(attack)).isEqualTo(Outcome.EXHAUSTED);
+			assertThat(Thread.currentThread().isInterrupted()).isTrue();
+		}
+		finally {
+			Thread.interrupted();
+		}
+	}
+
+	@Test
+	void exhaustionIsNotRemembered() {
+		final GuardedPattern pattern = GuardedPattern.of(Pattern.compile("[a-z]+"),
+				Duration.ofSeconds(10));
+		final String value = new String(new char[5000]).replace('\0', 'a');
+		Thread.currentThread().interrupt();
+		try {
+			assertThat(pattern.outcome(value)).isEqualTo(Outcome.EXHAUSTED);
+		}
+		finally {
+			Thread.interrupted();
+		}
+		assertThat(pattern.outcome(value)).isEqualTo(Outcome.MATCHED);
+	}
+
+	@Test
+	void linear() {
+		final GuardedPattern pattern = GuardedPattern.linear("(.*a){12}");
+		assertThat(pattern.pattern()).isEqualTo("(.*a){12}");
+		assertThat(pattern.outcome(matching)).isEqualTo(Outcome.MATCHED);
+		assertThat(pattern.outcome(attack)).isEqualTo(Outcome.NOT_MATCHED);
+	}
+
+	@Test
+	void outcomeOfSameStringIsShared() {
+		final GuardedPattern pattern = GuardedPattern.of(catastrophic, 100_000);
+		final String value = new String(matching.toCharArray());
+		assertThat(pattern.outcome(value)).isEqualTo(Outcome.MATCHED);
+		assertThat(pattern.outcome(value)).isEqualTo(Outcome.MATCHED);
+		final StringBuilder builder = new StringBuilder(matching);
+		assertThat(pattern.outcome(builder)).isEqualTo(Outcome.MATCHED);
+		builder.setCharAt(11, 'c');
+		assertThat(pattern.outcome(builder)).isEqualTo(Outcome.NOT_MATCHED);
+	}
+
+	@Test
+	void invalidBudget() {
+		assertThatThrownBy(() -> GuardedPattern.of(catastrophic, 0))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> GuardedPattern.of(catastrophic, Duration.ZERO))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> GuardedPattern.linear("(?=a)a"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.charsequence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LinearPatternTest {
+	static final List<String> patterns = Arrays.asList("", "a", "abc", "a|b", "a|", "|",
+			"(a|b)*c", "(?:ab)+", "(?<name>a)b", "a*", "a+", "a?", "a{2}", "a{2,}",
+			"a{2,3}", "a{0}", "a*?", "a+?b", "a{1,2}?", "(a*)*", "(a|)*b", "()", "()*",
+			".", ".*", "[abc]", "[^abc]", "[a-c]+", "[-a]", "[a-]", "[a\\-z]", "[\\d]",
+			"[^\\d\\s]", "[\\w-]+", "\\d+", "\\D", "\\w+", "\\W", "\\s", "\\S",
+			"\\.\\*\\+\\?\\(\\)\\[\\]\\{\\}\\|\\\\\\^\\$", "\\t\\n\\r\\f\\a\\e",
+			"\\x41\\u3042", "^a$", "^$", "a$", "\\Aa\\z", "a\\Z", "a$\\n", "a$\\r\\n",
+			"$a", "a^", "[0-9]{3}-[0-9]{4}", "[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+", "😀+",
+			"[😀-😂]", "[^😀]", ".{2}", "あ|い", "]", "}", "a]", "(a+)+b", "(a|aa)+$",
+			"(x+x+)+y", "[a&b]");
+
+	static final List<String> inputs = Arrays.asList("", "a", "b", "c", "aa", "aaa", "ab",
+			"abc", "aab", "ba", "abab", "1", "123", "123-4567", "a-z", "-", "_", " ",
+			"\t", "\n", "a\n", "a\r\n", "a\r", "a\u0085", "a ", "\n\n", "\r\n", "\n\r",
+			"a\n\n", "😀", "😁", "😀😀", "\ud83d", "\ud83da", "あ", "い", "é", ".", "*",
+			"]", "}", "a]", "foo@example.com", "\u0007\u001b", "Aあ", ".*+?()[]{}|\\^$",
+			"\t\n\r\f\u0007\u001b", "aaaaaaaaaaaab", "aaaaaaaaaaaa", "xxxxxxxxy", "a&b",
+			"&", "aaaa");
+
+	static final String alphabet = "ab().*+?|[]^$-\\{},0123dws";
+
+	@Test
+	void sameAsPattern() {
+		for (String regex : patterns) {
+			assertSameAsPattern(regex, inputs);
+		}
+	}
+
+	@Test
+	void randomPatternsSameAsPattern() {
+		final Random random = new Random(20221018L);
+		final List<String> inputs = new ArrayList<>(LinearPatternTest.inputs);
+		for (int i = 0; i < 200; i++) {
+			final StringBuilder sb = new StringBuilder();
+			final int length = random.nextInt(8);
+			for (int j = 0; j < length; j++) {
+				sb.append("ab1-\n ".charAt(random.nextInt(6)));
+			}
+			inputs.add(sb.toString());
+		}
+		int compiled = 0;
+		for (int i = 0; i < 20_000; i++) {
+			final StringBuilder sb = new StringBuilder();
+			final int length = 1 + random.nextInt(8);
+			for (int j = 0; j < length; j++) {
+				sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+			}
+			final String regex = sb.toString();
+			final LinearPattern linear;
+			try {
+				linear = LinearPattern.compile(regex);
+			}
+			catch (IllegalArgumentException e) {
+				continue;
+			}
+			compiled++;
+			final Pattern pattern;
+			try {
+				pattern = Pattern.compile(regex);
+			}
+			catch (PatternSyntaxException e) {
+				throw new AssertionError("\"" + regex + "\" is invalid", e);
+			}
+			for (String input : inputs) {
+				assertThat(linear.matches(input))
+						.as("\"%s\" against \"%s\"", input, regex)
+						.isEqualTo(pattern.matcher(input).matches());
+			}
+		}
+		assertThat(compiled).isGreaterThan(1_000);
+	}
+
+	static void assertSameAsPattern(String regex, List<String> inputs) {
+		final LinearPattern linear = LinearPattern.compile(regex);
+		final Pattern pattern = Pattern.compile(regex);
+		for (String input : inputs) {
+			assertThat(linear.matches(input)).as("\"%s\" against \"%s\"", input, regex)
+					.isEqualTo(pattern.matcher(input).matches());
+			assertThat(linear.matches(new StringBuilder(input)))
+					.as("\"%s\" against \"%s\"", input, regex)
+					.isEqualTo(pattern.matcher(input).matches());
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "(a)\\1", "(?=a)a", "(?!a)a", "(?<=a)a", "(?<!a)a", "(?>a)",
+			"(?i)a", "a*+", "a++", "\\ba", "\\p{Lu}", "[a-z&&[def]]", "[[a]]", "[]a]",
+			"\\Qa\\E", "\\k<name>", "\\uD83D\\uDE00", "*a", "a**", "a{", "a{1", "a{2,1}",
+			"a{,2}", "(a", "a)", "[a", "[b-a]", "\\", "a{100000}",
+			"(((a{100}){100}){100})", "^*", "\\R", "\\h", "\\x{41}", "\\0101" })
+	void unsupported(String regex) {
+		assertThatThrownBy(() -> LinearPattern.compile(regex))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void linearTime() {
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 100_000; i++) {
+			sb.append('a');
+		}
+		sb.append('c');
+		assertThat(LinearPattern.compile("(a+)+b").matches(sb)).isFalse();
+		assertThat(LinearPattern.compile("(a|aa)+").matches(sb)).isFalse();
+		assertThat(LinearPattern.compile("(a|aa)+c").matches(sb)).isTrue();
+	}
+}
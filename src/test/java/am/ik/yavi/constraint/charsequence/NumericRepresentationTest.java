@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.charsequence;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NumericRepresentationTest {
+	static final List<String> edgeCases = Arrays.asList("", "0", "-0", "+0", "-", "+",
+			"--1", "+-1", "-+1", "1-", "1+", " 1", "1 ", "\t1\n", "127", "128", "-128",
+			"-129", "32767", "32768", "-32768", "-32769", "2147483647", "2147483648",
+			"-2147483648", "-2147483649", "9223372036854775807", "9223372036854775808",
+			"-9223372036854775808", "-9223372036854775809", "00000000000000000000001",
+			"99999999999999999999999999999", "١٢٣", "１２", "𝟎", "1_000", "0x10", "1.",
+			".1", ".", "..1", "1..", "1.2.3", "1e", "1e+", "1e-", "1e5", "1E-5", "1e+5",
+			"1.5e10", ".e1", "e1", "1e1.5", "1e1e1", "1f", "1F", "1d", "1D", "1.0f",
+			"1e5d", "1ff", "1fd", ".f", "1.f", "f", "NaN", "-NaN", "+NaN", "NaNf", "nan",
+			"Infinity", "-Infinity", "Infinityd", "infinity", "Inf", " NaN ", "0x1p1",
+			"0X1P1", "0x1.8p1", "0x.8p1", "0x1.p1", "0x.p1", "0xp1", "0x1", "0x1p",
+			"0x1p-", "0x1p+1f", "0x1p1D", "-0x1p1", "+0x1p1", "0xABCDEFp0", "0xg1p1",
+			"0x1p1.5", "0x1.2.3p1", " 0x1p1 ", "1e2147483647", "1e2147483648",
+			"1e-2147483648", "1e-2147483649", "0.1e-2147483647", "0.1e-2147483648",
+			"1e0000000000000000005", "1e99999999999", "1e٥", "1.٥", "\u0000",
+			"\u00001\u0000", "1e2147483647.5", "1.5E+3", "-1.5e-3", "+.5", "-.", "+e1",
+			"123456789012345678901234567890.123456789012345678901234567890",
+			"-0.00000000000000000000000000000000000000000000000000001");
+
+	static final char[] alphabet = { '0', '1', '5', '9', '-', '+', '.', 'e', 'E', 'x',
+			'X', 'p', 'P', 'f', 'F', 'd', 'D', 'a', 'N', 'I', ' ', '\t', '\u0000', '٣',
+			'０', 'n' };
+
+	static List<String> inputs() {
+		final List<String> inputs = new ArrayList<>(edgeCases);
+		final Random random = new Random(20221018L);
+		for (int i = 0; i < 10_000; i++) {
+			final int length = random.nextInt(12);
+			final StringBuilder sb = new StringBuilder(length);
+			for (int j = 0; j < length; j++) {
+				sb.append(alphabet[random.nextInt(alphabet.length)]);
+			}
+			inputs.add(sb.toString());
+		}
+		// mostly digits to exercise the range checks
+		for (int i = 0; i < 5_000; i++) {
+			final int length = 1 + random.nextInt(21);
+			final StringBuilder sb = new StringBuilder(length);
+			if (random.nextBoolean()) {
+				sb.append('-');
+			}
+			for (int j = 0; j < length; j++) {
+				sb.append((char) ('0' + random.nextInt(10)));
+			}
+			inputs.add(sb.toString());
+		}
+		return inputs;
+	}
+
+	static void assertSameAsParser(Predicate<CharSequence> recognizer,
+			Function<String, ?> parser) {
+		for (String input : inputs()) {
+			boolean parsed;
+			try {
+				parser.apply(input);
+				parsed = true;
+			}
+			catch (NumberFormatException e) {
+				parsed = false;
+			}
+			assertThat(recognizer.test(input)).as("\"%s\"", input).isEqualTo(parsed);
+			assertThat(recognizer.test(new StringBuilder(input))).as("\"%s\"", input)
+					.isEqualTo(parsed);
+		}
+	}
+
+	@Test
+	void isByte() {
+		assertSameAsParser(NumericRepresentation::isByte, Byte::parseByte);
+	}
+
+	@Test
+	void isShort() {
+		assertSameAsParser(NumericRepresentation::isShort, Short::parseShort);
+	}
+
+	@Test
+	void isInteger() {
+		assertSameAsParser(NumericRepresentation::isInteger, Integer::parseInt);
+	}
+
+	@Test
+	void isLong() {
+		assertSameAsParser(NumericRepresentation::isLong, Long::parseLong);
+	}
+
+	@Test
+	void isFloat() {
+		assertSameAsParser(NumericRepresentation::isFloat, Float::parseFloat);
+	}
+
+	@Test
+	void isDouble() {
+		assertSameAsParser(NumericRepresentation::isDouble, Double::parseDouble);
+	}
+
+	@Test
+	void isBigInteger() {
+		assertSameAsParser(NumericRepresentation::isBigInteger, BigInteger::new);
+	}
+
+	@Test
+	void isBigDecimal() {
+		assertSameAsParser(NumericRepresentation::isBigDecimal, BigDecimal::new);
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.charsequence.variant;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VariantOptionsTest {
+	// U+908A U+E0100
+	static final String IVS = "邊󠄀";
+
+	// U+845B U+FE00
+	static final String SVS = "葛︀";
+
+	// U+1820 U+180B
+	static final String FVS = "ᠠ᠋";
+
+	// U+1F600, a supplementary character that is not a selector
+	static final String SMILE = "😀";
+
+	@Test
+	void notIgnoreAll() {
+		final VariantOptions options = VariantOptions.builder().build();
+		final String s = IVS + SVS + FVS;
+		assertThat(options.ignored(s)).isSameAs(s);
+	}
+
+	@Test
+	void ignoreAll() {
+		final VariantOptions options = VariantOptions.builder().ignoreAll().build();
+		assertThat(options.ignored(IVS + SVS + FVS + SMILE)).isEqualTo("邊葛ᠠ" + SMILE);
+	}
+
+	@Test
+	void ignoreEach() {
+		assertThat(VariantOptions.builder().svs(StandardizedVariationSequence.IGNORE)
+				.build().ignored(IVS + SVS + FVS)).isEqualTo(IVS + "葛" + FVS);
+		assertThat(VariantOptions.builder().ivs(IdeographicVariationSequence.IGNORE)
+				.build().ignored(IVS + SVS + FVS)).isEqualTo("邊" + SVS + FVS);
+		assertThat(VariantOptions.builder().fvs(MongolianFreeVariationSelector.IGNORE)
+				.build().ignored(IVS + SVS + FVS)).isEqualTo(IVS + SVS + "ᠠ");
+	}
+
+	@Test
+	void returnsTheSameStringWithoutSelectors() {
+		final VariantOptions options = VariantOptions.builder().ignoreAll().build();
+		final String s = "あいう" + SMILE + "abc";
+		assertThat(options.ignored(s)).isSameAs(s);
+		final String svsOnly = "邊" + SVS;
+		assertThat(VariantOptions.builder().ivs(IdeographicVariationSequence.IGNORE)
+				.build().ignored(svsOnly)).isSameAs(svsOnly);
+	}
+
+	@Test
+	void nullOrEmpty() {
+		final VariantOptions options = VariantOptions.builder().ignoreAll().build();
+		assertThat(options.ignored(null)).isEmpty();
+		assertThat(options.ignored("")).isEmpty();
+	}
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.inetaddress;
+
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InetAddressRangesTest {
+
+	@Test
+	void ipv4Cidrs() {
+		final InetAddressRanges ranges = InetAddressRanges.ofCidrs("10.0.0.0/8",
+				"192.168.1.0/24", "203.0.113.7", "0.0.0.0/32");
+		assertThat(ranges.contains("10.0.0.0")).isTrue();
+		assertThat(ranges.contains("10.255.255.255")).isTrue();
+		assertThat(ranges.contains("11.0.0.0")).isFalse();
+		assertThat(ranges.contains("9.255.255.255")).isFalse();
+		assertThat(ranges.contains("192.168.1.128")).isTrue();
+		assertThat(ranges.contains("192.168.2.1")).isFalse();
+		assertThat(ranges.contains("203.0.113.7")).isTrue();
+		assertThat(ranges.contains("203.0.113.8")).isFalse();
+		assertThat(ranges.contains("0.0.0.0")).isTrue();
+		assertThat(ranges.contains("0.0.0.1")).isFalse();
+		assertThat(ranges.contains(new StringBuilder("10.1.2.3"))).isTrue();
+		assertThat(ranges.contains("10.1.2")).isFalse();
+		assertThat(ranges.contains("::ffff:10.1.2.3")).isFalse();
+		assertThat(ranges.contains("")).isFalse();
+		assertThat(ranges)
+				.hasToString("[10.0.0.0/8, 192.168.1.0/24, 203.0.113.7, 0.0.0.0/32]");
+	}
+
+	@Test
+	void ipv6Cidrs() {
+		final InetAddressRanges ranges = InetAddressRanges.ofCidrs("2001:db8::/32",
+				"fe80::/10", "::1", "::ffff:10.0.0.0/104", "1:2:3:4:5:6:7:8/127");
+		assertThat(ranges.contains("2001:db8::")).isTrue();
+		assertThat(ranges.contains("2001:db8:ffff:ffff:ffff:ffff:ffff:ffff")).isTrue();
+		assertThat(ranges.contains("2001:db9::")).isFalse();
+		assertThat(ranges.contains("2001:db7:ffff:ffff:ffff:ffff:ffff:ffff")).isFalse();
+		assertThat(ranges.contains("fe80::1%eth0")).isTrue();
+		assertThat(ranges.contains("fe80::1%")).isFalse();
+		assertThat(ranges.contains("fe80::1/64")).isFalse();
+		assertThat(ranges.contains("fe80::1%eth0/64")).isFalse();
+		assertThat(ranges.contains("febf:ffff::")).isTrue();
+		assertThat(ranges.contains("fec0::")).isFalse();
+		assertThat(ranges.contains("::1")).isTrue();
+		assertThat(ranges.contains("::2")).isFalse();
+		assertThat(ranges.contains("::ffff:10.20.30.40")).isTrue();
+		assertThat(ranges.contains("::ffff:11.0.0.0")).isFalse();
+		assertThat(ranges.contains("10.20.30.40")).isFalse();
+		assertThat(ranges.contains("1:2:3:4:5:6:7:9")).isTrue();
+		assertThat(ranges.contains("1:2:3:4:5:6:7:a")).isFalse();
+		assertThat(ranges.contains("2001:db8::g")).isFalse();
+	}
+
+	@Test
+	void hostBitsAreIgnored() {
+		final InetAddressRanges ranges = InetAddressRanges.ofCidrs("10.1.2.3/8",
+				"2001:db8::1/32");
+		assertThat(ranges.contains("10.0.0.0")).isTrue();
+		assertThat(ranges.contains("2001:db8::")).isTrue();
+	}
+
+	@Test
+	void wholeSpace() {
+		final InetAddressRanges ranges = InetAddressRanges.ofCidrs("0.0.0.0/0", "::/0");
+		assertThat(ranges.contains("0.0.0.0")).isTrue();
+		assertThat(ranges.contains("255.255.255.255")).isTrue();
+		assertThat(ranges.contains("::")).isTrue();
+		assertThat(ranges.contains("ffff:ffff:ffff:ffff:ffff:ffff:ffff:ffff")).isTrue();
+	}
+
+	@Test
+	void adjacentBlocksAreMerged() {
+		final InetAddressRanges ranges = InetAddressRanges.ofCidrs("10.0.1.0/24",
+				"10.0.0.0/24", "::/64", "0:0:0:1::/64", "10.0.0.0/25");
+		assertThat(ranges.contains("10.0.0.255")).isTrue();
+		assertThat(ranges.contains("10.0.1.0")).isTrue();
+		assertThat(ranges.contains("10.0.2.0")).isFalse();
+		assertThat(ranges.contains("0:0:0:0:ffff:ffff:ffff:ffff")).isTrue();
+		assertThat(ranges.contains("0:0:0:1:ffff:ffff:ffff:ffff")).isTrue();
+		assertThat(ranges.contains("0:0:0:2::")).isFalse();
+	}
+
+	@Test
+	void manyIpv4CidrsSameAsBruteForce() {
+		final Random random = new Random(20221018L);
+		final List<String> cidrs = new ArrayList<>();
+		final List<long[]> blocks = new ArrayList<>();
+		for (int i = 0; i < 5_000; i++) {
+			final long address = random.nextInt() & 0xffffffffL;
+			final int prefix = 8 + random.nextInt(25);
+			cidrs.add(toIpv4(address) + "/" + prefix);
+			blocks.add(new long[] { address >>> (32 - prefix), prefix });
+		}
+		final InetAddressRanges ranges = InetAddressRanges.ofCidrs(cidrs);
+		for (int i = 0; i < 20_000; i++) {
+			// half of the addresses are near the blocks
+			final long address = i % 2 == 0 ? random.nextInt() & 0xffffffffL
+					: Long.parseLong(cidrs.get(random.nextInt(cidrs.size()))
+							.replaceAll("\\..*", "")) << 24 | (random.nextInt(1 << 24));
+			boolean expected = false;
+			for (long[] block : blocks) {
+				if (address >>> (32 - block[1]) == block[0]) {
+					expected = true;
+					break;
+				}
+			}
+			assertThat(ranges.contains(toIpv4(address))).as(toIpv4(address))
+					.isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void manyIpv6CidrsSameAsBruteForce() throws Exception {
+		final Random random = new Random(20221018L);
+		final List<String> cidrs = new ArrayList<>();
+		final List<BigInteger[]> blocks = new ArrayList<>();
+		for (int i = 0; i < 2_000; i++) {
+			final BigInteger address = new BigInteger(128, random).and(
+					BigInteger.ONE.shiftLeft(128).subtract(BigInteger.ONE).shiftLeft(112)
+							.not().or(BigInteger.valueOf(0x2001).shiftLeft(112)));
+			final int prefix = 16 + random.nextInt(113);
+			cidrs.add(toIpv6(address) + "/" + prefix);
+			blocks.add(new BigInteger[] { address.shiftRight(128 - prefix),
+					BigInteger.valueOf(prefix) });
+		}
+		final InetAddressRanges ranges = InetAddressRanges.ofCidrs(cidrs);
+		for (int i = 0; i < 10_000; i++) {
+			final BigInteger[] near = blocks.get(random.nextInt(blocks.size()));
+			final int prefix = near[1].intValue();
+			final BigInteger address = i % 2 == 0 ? new BigInteger(128, random)
+					: near[0].shiftLeft(128 - prefix)
+							.or(new BigInteger(128 - prefix, random));
+			boolean expected = false;
+			for (BigInteger[] block : blocks) {
+				if (address.shiftRight(128 - block[1].intValue()).equals(block[0])) {
+					expected = true;
+					break;
+				}
+			}
+			assertThat(ranges.contains(toIpv6(address))).as(toIpv6(address))
+					.isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void ofRange() {
+		final InetAddressRanges ipv4 = InetAddressRanges.ofRange("192.168.0.10",
+				"192.168.1.20");
+		assertThat(ipv4.contains("192.168.0.9")).isFalse();
+		assertThat(ipv4.contains("192.168.0.10")).isTrue();
+		assertThat(ipv4.contains("192.168.0.255")).isTrue();
+		assertThat(ipv4.contains("192.168.1.20")).isTrue();
+		assertThat(ipv4.contains("192.168.1.21")).isFalse();
+		assertThat(ipv4.contains("::ffff:192.168.0.10")).isFalse();
+		assertThat(ipv4).hasToString("[192.168.0.10-192.168.1.20]");
+		final InetAddressRanges ipv6 = InetAddressRanges.ofRange("2001:db8::10",
+				"2001:db8::1:0");
+		assertThat(ipv6.contains("2001:db8::f")).isFalse();
+		assertThat(ipv6.contains("2001:db8::10")).isTrue();
+		assertThat(ipv6.contains("2001:db8::ffff")).isTrue();
+		assertThat(ipv6.contains("2001:db8::1:0")).isTrue();
+		assertThat(ipv6.contains("2001:db8::1:1")).isFalse();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "10.0.0.0/33", "10.0.0.0/", "10.0.0.0/a", "10.0.0/8",
+			"::/129", "::/0128", "fe80::%eth0/10", "example.com", "" })
+	void invalidCidr(String cidr) {
+		assertThatThrownBy(() -> InetAddressRanges.ofCidrs(cidr))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void invalidRange() {
+		assertThatThrownBy(() -> InetAddressRanges.ofRange("10.0.0.2", "10.0.0.1"))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> InetAddressRanges.ofRange("::2", "::1"))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> InetAddressRanges.ofRange("10.0.0.1", "::1"))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> InetAddressRanges.ofRange("::1/128", "::2"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "10.0.0.1", "172.16.0.1", "172.31.255.255", "192.168.10.1",
+			"127.0.0.1", "169.254.1.1", "::1", "fc00::1", "fdff:ffff::1", "fe80::1%eth0",
+			"::ffff:192.168.0.1", "::ffff:127.0.0.1" })
+	void privateLoopbackAndLinkLocal(String address) {
+		assertThat(InetAddressRanges.privateLoopbackAndLinkLocal().contains(address))
+				.isTrue();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "8.8.8.8", "172.32.0.1", "172.15.255.255", "192.169.0.1",
+			"128.0.0.1", "169.255.0.1", "2001:4860:4860::8888", "fec0::1", "::2",
+			"::ffff:8.8.8.8", "not an address" })
+	void notPrivateLoopbackAndLinkLocal(String address) {
+		assertThat(InetAddressRanges.privateLoopbackAndLinkLocal().contains(address))
+				.isFalse();
+	}
+
+	static String toIpv4(long address) {
+		return (address >>> 24) + "." + ((address >>> 16) & 0xff) + "."
+				+ ((address >>> 8) & 0xff) + "." + (address & 0xff);
+	}
+
+	static String toIpv6(BigInteger address) throws Exception {
+		final byte[] bytes = new byte[16];
+		final byte[] value = address.toByteArray();
+		final int length = Math.min(value.length, 16);
+		System.arraycopy(value, value.length - length, bytes, 16 - length, length);
+		return InetAddress.getByAddress(bytes).getHostAddress();
+	}
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.constraint.inetaddress;
+
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InetAddressUtilsTest {
+	static final List<String> edgeCases = Arrays.asList("", "0.0.0.0", "1.2.3.4",
+			"255.255.255.255", "256.0.0.0", "01.2.3.4", "1.2.3", "1.2.3.4.5", "1..3.4",
+			".1.2.3", "1.2.3.", "1.2.3.04", "1.2.3.4\n", " 1.2.3.4", "١.2.3.4", "::", ":",
+			":::", "::1", "1::", "1::2", "1:::2", "::1::", "1:2:3:4:5:6:7:8",
+			"1:2:3:4:5:6:7", "1:2:3:4:5:6:7:8:9", "1:2:3:4:5:6:7::", "::2:3:4:5:6:7:8",
+			"1:2:3:4:5:6:7:8::", "::1:2:3:4:5:6:7:8", ":1::", "1::2:", "1:2:3:4:5:6::7:8",
+			"12345::", "abcd::EF01", "g::", "::ffff:1.2.3.4", "::1.2.3.4",
+			"1:2:3:4:5:6:1.2.3.4", "1:2:3:4:5:6:7:1.2.3.4", "1.2.3.4::", "::1.2.3.4:1",
+			"::01.2.3.4", "::1/128", "::1/129", "::1/0128", "::1/", "::1/1/1",
+			"fe80::1%eth0", "fe80::1%", "fe80::1%a%b", "fe80::1%a b", "fe80::1%a\tb",
+			"fe80::1%a:b/64", "fe80::1/64%eth0", "fe80::1%あ", "%eth0", "/64");
+
+	static final char[] alphabet = { '0', '1', 'f', 'F', 'g', ':', ':', ':', '.', '/',
+			'%', ' ', '9', '2', '5' };
+
+	static List<String> inputs() {
+		final List<String> inputs = new ArrayList<>(edgeCases);
+		final Random random = new Random(20221018L);
+		for (int i = 0; i < 200_000; i++) {
+			final int length = random.nextInt(14);
+			final StringBuilder sb = new StringBuilder(length);
+			for (int j = 0; j < length; j++) {
+				sb.append(alphabet[random.nextInt(alphabet.length)]);
+			}
+			inputs.add(sb.toString());
+		}
+		return inputs;
+	}
+
+	@Test
+	void isIpv4SameAsRegex() {
+		final Pattern pattern = Pattern.compile(InetAddressUtils.IPV4_REGEX);
+		for (String input : inputs()) {
+			assertThat(InetAddressUtils.isIpv4(input)).as("\"%s\"", input)
+					.isEqualTo(pattern.matcher(input).matches());
+		}
+	}
+
+	@Test
+	void isIpv6SameAsLegacy() {
+		for (String input : inputs()) {
+			assertThat(InetAddressUtils.isIpv6(input)).as("\"%s\"", input)
+					.isEqualTo(Legacy.isIpv6(input));
+			assertThat(
+					InetAddressUtils.isIpv6(new StringBuilder(input), 0, input.length()))
+							.as("\"%s\"", input).isEqualTo(Legacy.isIpv6(input));
+		}
+	}
+
+	@Test
+	void isIpv6RejectsSignsAndNonAsciiDigits() {
+		for (String input : Arrays.asList("+1::", "-0::", "::+f", "::１")) {
+			assertThat(InetAddressUtils.isIpv6(input)).as("\"%s\"", input).isFalse();
+		}
+	}
+
+	@Test
+	void isIpv6OfRange() {
+		assertThat(InetAddressUtils.isIpv6("[::1]", 1, 4)).isTrue();
+		assertThat(InetAddressUtils.isIpv4("[1.2.3.4]", 1, 8)).isTrue();
+		assertThat(InetAddressUtils.isIpv6("[::1]", 0, 4)).isFalse();
+	}
+
+	@Test
+	void parseSameAsInetAddress() throws Exception {
+		final long[] address = new long[2];
+		for (String input : inputs()) {
+			if (InetAddressUtils.parseIpv6(input, 0, input.length(), address)) {
+				final ByteBuffer expected = ByteBuffer
+						.wrap(InetAddress.getByName(input).getAddress());
+				if (expected.remaining() == 4) {
+					// IPv4-mapped addresses are converted into IPv4
+					assertThat(address[0]).as("\"%s\"", input).isZero();
+					assertThat(address[1]).as("\"%s\"", input).isEqualTo(
+							0xffff00000000L | (expected.getInt() & 0xffffffffL));
+				}
+				else {
+					assertThat(address[0]).as("\"%s\"", input)
+							.isEqualTo(expected.getLong());
+					assertThat(address[1]).as("\"%s\"", input)
+							.isEqualTo(expected.getLong());
+				}
+			}
+			final long ipv4 = InetAddressUtils.parseIpv4(input, 0, input.length());
+			if (ipv4 >= 0) {
+				final ByteBuffer expected = ByteBuffer
+						.wrap(InetAddress.getByName(input).getAddress());
+				assertThat(ipv4).as("\"%s\"", input)
+						.isEqualTo(expected.getInt() & 0xffffffffL);
+			}
+		}
+	}
+
+	/**
+	 * The implementation before 0.12.0, which was based on
+	 * <code>InetAddressValidator</code> of Commons Validator
+	 */
+	static class Legacy {
+		static final Pattern IPV4_PATTERN = Pattern.compile(InetAddressUtils.IPV4_REGEX);
+
+		static boolean isIpv6(String s) {
+			final String[] parts = s.split("/", -1);
+			if (parts.length > 2) {
+				return false;
+			}
+			if (parts.length == 2) {
+				if (!parts[1].matches("\\d{1,3}")) {
+					return false;
+				}
+				final int bits = Integer.parseInt(parts[1]);
+				if (bits < 0 || bits > 128) {
+					return false;
+				}
+			}
+			final String[] partsZoneIdRemoved = parts[0].split("%", -1);
+			if (partsZoneIdRemoved.length > 2) {
+				return false;
+			}
+			if ((partsZoneIdRemoved.length == 2)
+					&& !partsZoneIdRemoved[1].matches("[^\\s/%]+")) {
+				return false;
+			}
+			final String firstPart = partsZoneIdRemoved[0];
+			final boolean containsCompressedZeroes = firstPart.contains("::");
+			if (containsCompressedZeroes
+					&& (firstPart.indexOf("::") != firstPart.lastIndexOf("::"))) {
+				return false;
+			}
+			if ((firstPart.startsWith(":") && !firstPart.startsWith("::"))
+					|| (firstPart.endsWith(":") && !firstPart.endsWith("::"))) {
+				return false;
+			}
+			String[] octets = firstPart.split(":");
+			if (containsCompressedZeroes) {
+				final List<String> octetList = new ArrayList<>(Arrays.asList(octets));
+				if (firstPart.endsWith("::")) {
+					octetList.add("");
+				}
+				else if (firstPart.startsWith("::") && !octetList.isEmpty()) {
+					octetList.remove(0);
+				}
+				octets = octetList.toArray(new String[0]);
+			}
+			if (octets.length > 8) {
+				return false;
+			}
+			int validOctets = 0;
+			int emptyOctets = 0;
+			for (int index = 0; index < octets.length; index++) {
+				String octet = octets[index];
+				if (octet.isEmpty()) {
+					emptyOctets++;
+					if (emptyOctets > 1) {
+						return false;
+					}
+				}
+				else {
+					emptyOctets = 0;
+					if (index == octets.length - 1 && octet.contains(".")) {
+						if (!IPV4_PATTERN.matcher(octet).matches()) {
+							return false;
+						}
+						validOctets += 2;
+						continue;
+					}
+					if (octet.length() > 4) {
+						return false;
+					}
+					int octetInt = 0;
+					try {
+						octetInt = Integer.parseInt(octet, 16);
+					}
+					catch (NumberFormatException e) {
+						return false;
+					}
+					if (octetInt < 0 || octetInt > 0xffff) {
+						return false;
+					}
+				}
+				validOctets++;
+			}
+			if (validOctets > 8 || (validOctets < 8 && !containsCompressedZeroes)) {
+				return false;
+			}
+			return true;
+		}
+	}
+}
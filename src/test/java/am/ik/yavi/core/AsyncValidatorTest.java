@@ -0,0 +1,349 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
+
+import am.ik.yavi.builder.ValidatorBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncValidatorTest {
+	final InMemoryRepository repository = new InMemoryRepository();
+
+	final AsyncConstraint<String> usernameNotTaken = new AsyncConstraint<String>() {
+		@Override
+		public CompletionStage<Boolean> test(String value) {
+			return repository.isTaken(value).thenApply(taken -> !taken);
+		}
+
+		@Override
+		public String messageKey() {
+			return "username.notTaken";
+		}
+
+		@Override
+		public String defaultMessageFormat() {
+			return "\"{0}\" is already taken";
+		}
+	};
+
+	final AsyncBatchConstraint<String> skuExists = new AsyncBatchConstraint<String>() {
+		@Override
+		public CompletionStage<Set<String>> validValues(Set<String> values) {
+			return repository.findExistingSkus(values);
+		}
+
+		@Override
+		public Object[] arguments(String violatedValue) {
+			return new Object[] { violatedValue };
+		}
+
+		@Override
+		public String messageKey() {
+			return "sku.exists";
+		}
+
+		@Override
+		public String defaultMessageFormat() {
+			return "\"{0}\" refers to the unknown SKU {1}";
+		}
+	};
+
+	final AsyncValidator<Order> validator = ValidatorBuilder.<Order> of()
+			.constraint(Order::getUsername, "username", c -> c.notBlank())
+			.constraintAsync(Order::getUsername, "username", usernameNotTaken)
+			.forEachAsync(Order::getLines, "lines", Line::getSku, "sku", skuExists)
+			.buildAsync();
+
+	@Test
+	void valid() {
+		final ConstraintViolations violations = this.validator
+				.validate(new Order("alice", Arrays.asList(new Line("A"), new Line("B"))))
+				.toCompletableFuture().join();
+		assertThat(violations.isValid()).isTrue();
+	}
+
+	@Test
+	void invalid() {
+		final ConstraintViolations violations = this.validator
+				.validate(new Order("taken",
+						Arrays.asList(new Line("A"), new Line("X"), new Line("Y"))))
+				.toCompletableFuture().join();
+		assertThat(violations).extracting(ConstraintViolation::name)
+				.containsExactly("username", "lines[1].sku", "lines[2].sku");
+		assertThat(violations.get(0).message())
+				.isEqualTo("\"username\" is already taken");
+		assertThat(violations.get(1).message())
+				.isEqualTo("\"lines[1].sku\" refers to the unknown SKU X");
+	}
+
+	@Test
+	void synchronousViolationsComeFirst() {
+		final ConstraintViolations violations = this.validator
+				.validate(new Order("", Collections.singletonList(new Line("X"))))
+				.toCompletableFuture().join();
+		assertThat(violations).extracting(ConstraintViolation::name)
+				.containsExactly("username", "lines[0].sku");
+		assertThat(violations.get(0).messageKey()).isEqualTo("charSequence.notBlank");
+	}
+
+	@Test
+	void checksRunConcurrently() {
+		this.repository.deferred = true;
+		final CompletableFuture<ConstraintViolations> result = this.validator
+				.validate(new Order("taken", Collections.singletonList(new Line("X"))))
+				.toCompletableFuture();
+		// both lookups have been started before any of them completes
+		assertThat(this.repository.pending).hasSize(2);
+		assertThat(result).isNotDone();
+		this.repository.pending.forEach(Runnable::run);
+		assertThat(result.join()).hasSize(2);
+	}
+
+	@Test
+	void identicalLookupsAreCoalesced() {
+		final ConstraintViolations violations = this.validator
+				.validate(
+						new Order("alice",
+								Arrays.asList(new Line("A"), new Line("X"), new Line("A"),
+										null, new Line("X"))))
+				.toCompletableFuture().join();
+		assertThat(this.repository.skuLookups)
+				.containsExactly(new HashSet<>(Arrays.asList("A", "X")));
+		assertThat(violations).extracting(ConstraintViolation::name)
+				.containsExactly("lines[1].sku", "lines[4].sku");
+	}
+
+	@Test
+	void failFastSkipsAsyncChecks() {
+		final AsyncValidator<Order> validator = ValidatorBuilder.<Order> of()
+				.constraint(Order::getUsername, "username", c -> c.notBlank())
+				.constraintAsync(Order::getUsername, "username", usernameNotTaken)
+				.failFast(true).buildAsync();
+		final ConstraintViolations violations = validator
+				.validate(new Order(" ", Collections.emptyList())).toCompletableFuture()
+				.join();
+		assertThat(violations).hasSize(1);
+		assertThat(this.repository.usernameLookups).isEmpty();
+	}
+
+	@Test
+	void validated() {
+		final Order order = new Order("bob", Collections.singletonList(new Line("B")));
+		final Validated<Order> validated = this.validator.validated(order)
+				.toCompletableFuture().join();
+		assertThat(validated.isValid()).isTrue();
+		assertThat(validated.value()).isSameAs(order);
+	}
+
+	@Test
+	void failedLookup() {
+		this.repository.failure = new IllegalStateException("down");
+		assertThatThrownBy(
+				() -> this.validator.validate(new Order("alice", Collections.emptyList()))
+						.toCompletableFuture().join())
+								.isInstanceOf(CompletionException.class)
+								.hasCauseInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void constraintThrowingSynchronously() {
+		final AsyncValidator<Order> validator = ValidatorBuilder.<Order> of()
+				.constraintAsync(Order::getUsername, "username",
+						new AsyncConstraint<String>() {
+							@Override
+							public CompletionStage<Boolean> test(String value) {
+								throw new IllegalStateException("down");
+							}
+
+							@Override
+							public String messageKey() {
+								return "username.notTaken";
+							}
+
+							@Override
+							public String defaultMessageFormat() {
+								return "\"{0}\" is already taken";
+							}
+						})
+				.buildAsync();
+		final CompletableFuture<ConstraintViolations> result = validator
+				.validate(new Order("alice", Collections.emptyList()))
+				.toCompletableFuture();
+		assertThatThrownBy(result::join).isInstanceOf(CompletionException.class)
+				.hasCauseInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void batchConstraintReturningNull() {
+		final AsyncValidator<Order> validator = ValidatorBuilder.<Order> of()
+				.forEachAsync(Order::getLines, "lines", Line::getSku, "sku",
+						new AsyncBatchConstraint<String>() {
+							@Override
+							public CompletionStage<Set<String>> validValues(
+									Set<String> values) {
+								return null;
+							}
+
+							@Override
+							public String messageKey() {
+								return "sku.exists";
+							}
+
+							@Override
+							public String defaultMessageFormat() {
+								return "\"{0}\" refers to an unknown SKU";
+							}
+						})
+				.buildAsync();
+		final CompletableFuture<ConstraintViolations> result = validator
+				.validate(new Order("alice", Collections.singletonList(new Line("A"))))
+				.toCompletableFuture();
+		assertThatThrownBy(result::join).isInstanceOf(CompletionException.class)
+				.hasCauseInstanceOf(NullPointerException.class);
+	}
+
+	@Test
+	void buildWithAsyncConstraintsFails() {
+		assertThatThrownBy(() -> ValidatorBuilder.<Order> of()
+				.constraintAsync(Order::getUsername, "username", usernameNotTaken)
+				.build()).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void nestedAsyncConstraints() {
+		final AsyncValidator<Cart> validator = ValidatorBuilder.<Cart> of().nestIfPresent(
+				Cart::getOrder, "order",
+				b -> b.constraintAsync(Order::getUsername, "username", usernameNotTaken)
+						.forEachAsync(Order::getLines, "lines", Line::getSku, "sku",
+								skuExists))
+				.buildAsync();
+		final ConstraintViolations violations = validator
+				.validate(new Cart(
+						new Order("taken", Arrays.asList(new Line("A"), new Line("X")))))
+				.toCompletableFuture().join();
+		assertThat(violations).extracting(ConstraintViolation::name)
+				.containsExactly("order.username", "order.lines[1].sku");
+		assertThat(
+				validator.validate(new Cart(null)).toCompletableFuture().join().isValid())
+						.isTrue();
+	}
+
+	@Test
+	void buildWithNestedAsyncConstraintsFails() {
+		assertThatThrownBy(() -> ValidatorBuilder.<Cart> of()
+				.nest(Cart::getOrder, "order",
+						b -> b.constraintAsync(Order::getUsername, "username",
+								usernameNotTaken))
+				.build()).isInstanceOf(IllegalStateException.class);
+	}
+
+	static class InMemoryRepository {
+		final Set<String> takenUsernames = Collections.singleton("taken");
+
+		final Set<String> skus = new HashSet<>(Arrays.asList("A", "B", "C"));
+
+		final List<String> usernameLookups = new ArrayList<>();
+
+		final List<Set<String>> skuLookups = new ArrayList<>();
+
+		final List<Runnable> pending = new ArrayList<>();
+
+		boolean deferred = false;
+
+		RuntimeException failure;
+
+		CompletionStage<Boolean> isTaken(String username) {
+			this.usernameLookups.add(username);
+			return this.complete(this.takenUsernames.contains(username));
+		}
+
+		CompletionStage<Set<String>> findExistingSkus(Set<String> values) {
+			this.skuLookups.add(values);
+			return this.complete(values.stream().filter(this.skus::contains)
+					.collect(Collectors.toSet()));
+		}
+
+		private <R> CompletionStage<R> complete(R result) {
+			final CompletableFuture<R> future = new CompletableFuture<>();
+			if (this.failure != null) {
+				future.completeExceptionally(this.failure);
+			}
+			else if (this.deferred) {
+				this.pending.add(() -> future.complete(result));
+			}
+			else {
+				future.complete(result);
+			}
+			return future;
+		}
+	}
+
+	static class Order {
+		final String username;
+
+		final List<Line> lines;
+
+		Order(String username, List<Line> lines) {
+			this.username = username;
+			this.lines = lines;
+		}
+
+		String getUsername() {
+			return this.username;
+		}
+
+		List<Line> getLines() {
+			return this.lines;
+		}
+	}
+
+	static class Cart {
+		final Order order;
+
+		Cart(Order order) {
+			this.order = order;
+		}
+
+		Order getOrder() {
+			return this.order;
+		}
+	}
+
+	static class Line {
+		final String sku;
+
+		Line(String sku) {
+			this.sku = sku;
+		}
+
+		String getSku() {
+			return this.sku;
+		}
+	}
+}
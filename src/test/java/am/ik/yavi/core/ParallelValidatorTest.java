@@ -0,0 +1,431 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import am.ik.yavi.Address;
+import am.ik.yavi.Country;
+import am.ik.yavi.FormWithCollection;
+import am.ik.yavi.PhoneNumber;
+import am.ik.yavi.builder.ValidatorBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class ParallelValidatorTest {
+	final Validator<Address> addressValidator = ValidatorBuilder.<Address> of()
+			.constraint(Address::street, "street", c -> c.notBlank().lessThan(32))
+			.nest(Address::country, "country", Country.validator())
+			.nestIfPresent(Address::phoneNumber, "phoneNumber", PhoneNumber.validator())
+			.build();
+
+	final Validator<FormWithCollection> validator = ValidatorBuilder
+			.<FormWithCollection> of()
+			.forEach(FormWithCollection::getAddresses, "addresses", addressValidator)
+			.build();
+
+	ExecutorService executor;
+
+	@BeforeEach
+	void setUp() {
+		this.executor = Executors.newFixedThreadPool(4);
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.executor.shutdownNow();
+	}
+
+	static FormWithCollection form(int size) {
+		final List<Address> addresses = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			if (i % 97 == 13) {
+				addresses.add(null);
+			}
+			else if (i % 31 == 7) {
+				addresses.add(new Address(new Country("J"), "", null));
+			}
+			else {
+				addresses.add(new Address(new Country("JP"), "street " + i,
+						new PhoneNumber("090-1234-5678")));
+			}
+		}
+		return new FormWithCollection(addresses);
+	}
+
+	static List<String> describe(ConstraintViolations violations) {
+		return violations.stream().map(v -> v.name() + ": " + v.message())
+				.collect(Collectors.toList());
+	}
+
+	@Test
+	void sameViolationsAsSequential() {
+		final FormWithCollection form = form(5000);
+		final ConstraintViolations expected = this.validator.validate(form);
+		assertThat(expected).hasSizeGreaterThan(300);
+		final ConstraintViolations actual = this.validator.parallel(100, this.executor)
+				.validate(form);
+		assertThat(describe(actual)).containsExactlyElementsOf(describe(expected));
+	}
+
+	@Test
+	void builder() {
+		final FormWithCollection form = form(1000);
+		final Validator<FormWithCollection> parallel = ValidatorBuilder
+				.<FormWithCollection> of()
+				.forEach(FormWithCollection::getAddresses, "addresses", addressValidator)
+				.parallel(10).build();
+		assertThat(describe(parallel.validate(form)))
+				.containsExactlyElementsOf(describe(this.validator.validate(form)));
+	}
+
+	@Test
+	void prefixed() {
+		final FormWithCollection form = form(1000);
+		assertThat(describe(this.validator.parallel(10, this.executor).prefixed("form")
+				.validate(form))).containsExactlyElementsOf(
+						describe(this.validator.prefixed("form").validate(form)));
+	}
+
+	@Test
+	void smallerThanThreshold() {
+		final AtomicInteger threads = new AtomicInteger();
+		final Validator<FormWithCollection> parallel = this.validator.parallel(1001,
+				command -> {
+					threads.incrementAndGet();
+					command.run();
+				});
+		assertThat(describe(parallel.validate(form(1000))))
+				.containsExactlyElementsOf(describe(this.validator.validate(form(1000))));
+		assertThat(threads.get()).isZero();
+		parallel.validate(form(1001));
+		assertThat(threads.get()).isPositive();
+	}
+
+	@Test
+	void failFast() {
+		final FormWithCollection form = form(5000);
+		final ConstraintViolations expected = this.validator.failFast(true)
+				.validate(form);
+		assertThat(expected).hasSize(1);
+		final ConstraintViolations actual = this.validator.failFast(true)
+				.parallel(100, this.executor).validate(form);
+		assertThat(describe(actual)).containsExactlyElementsOf(describe(expected));
+	}
+
+	@Test
+	void failFastCancelsFollowingElements() {
+		final AtomicInteger count = new AtomicInteger();
+		final Validator<Address> countingValidator = ValidatorBuilder.<Address> of()
+				.constraint((Address a) -> {
+					count.incrementAndGet();
+					return a.street();
+				}, "street", c -> c.notBlank()).build();
+		final List<Address> addresses = new ArrayList<>();
+		for (int i = 0; i < 10000; i++) {
+			addresses.add(new Address(null, "", null));
+		}
+		final ConstraintViolations violations = ValidatorBuilder.<FormWithCollection> of()
+				.forEach(FormWithCollection::getAddresses, "addresses", countingValidator)
+				.failFast(true).parallel(100, this.executor).build()
+				.validate(new FormWithCollection(addresses));
+		assertThat(violations).hasSize(1);
+		assertThat(violations.get(0).name()).isEqualTo("addresses[0].street");
+		assertThat(count.get()).isLessThan(10000);
+	}
+
+	@Test
+	void failFastCancelsFollowingChunks() {
+		final AtomicInteger count = new AtomicInteger();
+		final Validator<Address> countingValidator = ValidatorBuilder.<Address> of()
+				.constraint((Address a) -> {
+					count.incrementAndGet();
+					return a.street();
+				}, "street", c -> c.notBlank()).build();
+		final List<Address> addresses = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			addresses.add(new Address(null, i == 0 ? "" : "street " + i, null));
+		}
+		// queues the chunks without running them
+		final List<Runnable> queued = new ArrayList<>();
+		final Validator<FormWithCollection> validator = ValidatorBuilder
+				.<FormWithCollection> of()
+				.forEach(FormWithCollection::getAddresses, "addresses", countingValidator)
+				.failFast(true).parallel(100, queued::add).build();
+		final ConstraintViolations violations = assertTimeoutPreemptively(
+				Duration.ofSeconds(10),
+				() -> validator.validate(new FormWithCollection(addresses)));
+		assertThat(violations).extracting(ConstraintViolation::name)
+				.containsExactly("addresses[0].street");
+		assertThat(queued).isNotEmpty();
+		queued.forEach(Runnable::run);
+		assertThat(count.get()).isEqualTo(1);
+	}
+
+	@Test
+	void exceptionIsPropagated() {
+		final Validator<Address> throwingValidator = ValidatorBuilder.<Address> of()
+				.constraint((Address a) -> {
+					if (a.street().equals("street 999")) {
+						throw new IllegalStateException("boom");
+					}
+					return a.street();
+				}, "street", c -> c.notBlank()).build();
+		final List<Address> addresses = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			addresses.add(new Address(null, "street " + i, null));
+		}
+		final Validator<FormWithCollection> validator = ValidatorBuilder
+				.<FormWithCollection> of()
+				.forEach(FormWithCollection::getAddresses, "addresses", throwingValidator)
+				.parallel(10, this.executor).build();
+		assertThatThrownBy(() -> validator.validate(new FormWithCollection(addresses)))
+				.isInstanceOf(IllegalStateException.class).hasMessage("boom");
+	}
+
+	@Test
+	void invalidThreshold() {
+		assertThatThrownBy(() -> this.validator.parallel(0))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	static CustomConstraint<Address> blocking(CountDownLatch latch, String messageKey) {
+		return new CustomConstraint<Address>() {
+			@Override
+			public boolean test(Address address) {
+				latch.countDown();
+				try {
+					// passes only if the other blocking constraint runs concurrently
+					return latch.await(10, TimeUnit.SECONDS)
+							&& !address.street().isEmpty();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return false;
+				}
+			}
+
+			@Override
+			public boolean isBlocking() {
+				return true;
+			}
+
+			@Override
+			public String messageKey() {
+				return messageKey;
+			}
+
+			@Override
+			public String defaultMessageFormat() {
+				return "\"{0}\" is invalid";
+			}
+		};
+	}
+
+	@Test
+	void blockingConstraintsRunConcurrently() {
+		final CountDownLatch latch = new CountDownLatch(2);
+		final Validator<Address> validator = ValidatorBuilder.<Address> of()
+				.constraint(Address::street, "street", c -> c.notBlank())
+				.constraintOnTarget(blocking(latch, "first"), "address")
+				.constraintOnTarget(blocking(latch, "second"), "address")
+				.parallel(Integer.MAX_VALUE, this.executor).build();
+		final ConstraintViolations violations = validator
+				.validate(new Address(new Country("JP"), "", null));
+		assertThat(violations).extracting(ConstraintViolation::messageKey)
+				.containsExactly("charSequence.notBlank", "first", "second");
+	}
+
+	@Test
+	void blockingConstraintsOfElements() {
+		final CountDownLatch latch = new CountDownLatch(2);
+		final Validator<Address> addressValidator = ValidatorBuilder.<Address> of()
+				.constraintOnTarget(blocking(latch, "first"), "address")
+				.constraintOnTarget(blocking(latch, "second"), "address").build();
+		final Validator<FormWithCollection> validator = ValidatorBuilder
+				.<FormWithCollection> of()
+				.forEach(FormWithCollection::getAddresses, "addresses", addressValidator)
+				.parallel(Integer.MAX_VALUE, this.executor).build();
+		final ConstraintViolations violations = validator.validate(new FormWithCollection(
+				Collections.singletonList(new Address(new Country("JP"), "", null))));
+		assertThat(violations).extracting(ConstraintViolation::name)
+				.containsExactly("addresses[0].address", "addresses[0].address");
+	}
+
+	@Test
+	void blockingConstraintsOfElementsInChunksOnBoundedPool() {
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final Validator<Address> addressValidator = ValidatorBuilder.<Address> of()
+					.constraintOnTarget(new CustomConstraint<Address>() {
+						@Override
+						public boolean test(Address address) {
+							try {
+								Thread.sleep(5);
+							}
+							catch (InterruptedException e) {
+								Thread.currentThread().interrupt();
+							}
+							return !address.street().isEmpty();
+						}
+
+						@Override
+						public boolean isBlocking() {
+							return true;
+						}
+
+						@Override
+						public String messageKey() {
+							return "slow";
+						}
+
+						@Override
+						public String defaultMessageFormat() {
+							return "\"{0}\" is invalid";
+						}
+					}, "address").build();
+			final Validator<FormWithCollection> validator = ValidatorBuilder
+					.<FormWithCollection> of().forEach(FormWithCollection::getAddresses,
+							"addresses", addressValidator)
+					.parallel(10, executor).build();
+			final List<Address> addresses = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				addresses.add(new Address(new Country("JP"), i % 10 == 3 ? "" : "street",
+						null));
+			}
+			// chunk tasks must not wait for tasks queued behind them on the same pool
+			final ConstraintViolations violations = assertTimeoutPreemptively(
+					Duration.ofSeconds(10),
+					() -> validator.validate(new FormWithCollection(addresses)));
+			assertThat(violations).extracting(ConstraintViolation::name).containsExactly(
+					"addresses[3].address", "addresses[13].address",
+					"addresses[23].address", "addresses[33].address",
+					"addresses[43].address", "addresses[53].address",
+					"addresses[63].address", "addresses[73].address",
+					"addresses[83].address", "addresses[93].address");
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	static CustomConstraint<Address> counting(AtomicInteger count, boolean valid) {
+		return new CustomConstraint<Address>() {
+			@Override
+			public boolean test(Address address) {
+				count.incrementAndGet();
+				return valid;
+			}
+
+			@Override
+			public boolean isBlocking() {
+				return true;
+			}
+
+			@Override
+			public String messageKey() {
+				return "counting";
+			}
+
+			@Override
+			public String defaultMessageFormat() {
+				return "\"{0}\" is invalid";
+			}
+		};
+	}
+
+	@Test
+	void failFastDoesNotStartBlockingConstraintsAfterViolation() {
+		final AtomicInteger count = new AtomicInteger();
+		final Validator<Address> validator = ValidatorBuilder.<Address> of()
+				.constraint(Address::street, "street", c -> c.notBlank())
+				.constraintOnTarget(counting(count, true), "address").failFast(true)
+				.parallel(Integer.MAX_VALUE, this.executor).build();
+		final ConstraintViolations violations = validator
+				.validate(new Address(new Country("JP"), "", null));
+		assertThat(violations).extracting(ConstraintViolation::name)
+				.containsExactly("street");
+		assertThat(count.get()).isZero();
+	}
+
+	@Test
+	void failFastCancelsBlockingConstraintsNotJoined() {
+		final AtomicInteger first = new AtomicInteger();
+		final AtomicInteger second = new AtomicInteger();
+		// runs the first task at once and queues the others
+		final List<Runnable> queued = new ArrayList<>();
+		final AtomicInteger submitted = new AtomicInteger();
+		final Validator<Address> validator = ValidatorBuilder.<Address> of()
+				.constraintOnTarget(counting(first, false), "first")
+				.constraintOnTarget(counting(second, true), "second").failFast(true)
+				.parallel(Integer.MAX_VALUE, task -> {
+					if (submitted.getAndIncrement() == 0) {
+						task.run();
+					}
+					else {
+						queued.add(task);
+					}
+				}).build();
+		final ConstraintViolations violations = validator
+				.validate(new Address(new Country("JP"), "street", null));
+		assertThat(violations).extracting(ConstraintViolation::name)
+				.containsExactly("first");
+		assertThat(queued).hasSize(1);
+		queued.forEach(Runnable::run);
+		assertThat(first.get()).isEqualTo(1);
+		assertThat(second.get()).isZero();
+	}
+
+	@Test
+	void blockingConstraintWithoutParallelModeRunsInline() {
+		final CountDownLatch latch = new CountDownLatch(1);
+		final Validator<Address> validator = ValidatorBuilder.<Address> of()
+				.constraintOnTarget(blocking(latch, "first"), "address").build();
+		assertThat(validator.validate(new Address(new Country("JP"), "street", null))
+				.isValid()).isTrue();
+	}
+
+	@Test
+	void virtualThreadsExecutor() {
+		final ExecutorService executor = VirtualThreads.newExecutor();
+		try {
+			final CountDownLatch latch = new CountDownLatch(2);
+			final Validator<Address> validator = ValidatorBuilder.<Address> of()
+					.constraintOnTarget(blocking(latch, "first"), "address")
+					.constraintOnTarget(blocking(latch, "second"), "address")
+					.parallel(Integer.MAX_VALUE, executor).build();
+			assertThat(validator.validate(new Address(new Country("JP"), "street", null))
+					.isValid()).isTrue();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+}
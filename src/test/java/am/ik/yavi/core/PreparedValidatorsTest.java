@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import am.ik.yavi.builder.ValidatorBuilder;
+import am.ik.yavi.message.MessageFormatCache;
+import am.ik.yavi.message.MessageSourceMessageFormatter;
+import am.ik.yavi.message.SimpleMessageFormatter;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PreparedValidatorsTest {
+
+	static class Shelf {
+		final String name;
+
+		final List<String> books;
+
+		Shelf(String name, List<String> books) {
+			this.name = name;
+			this.books = books;
+		}
+
+		String getName() {
+			return this.name;
+		}
+
+		List<String> getBooks() {
+			return this.books;
+		}
+	}
+
+	static class Library {
+		final String name;
+
+		final Shelf shelf;
+
+		final List<Shelf> shelves;
+
+		Library(String name, Shelf shelf, List<Shelf> shelves) {
+			this.name = name;
+			this.shelf = shelf;
+			this.shelves = shelves;
+		}
+
+		String getName() {
+			return this.name;
+		}
+
+		Shelf getShelf() {
+			return this.shelf;
+		}
+
+		List<Shelf> getShelves() {
+			return this.shelves;
+		}
+	}
+
+	final MessageFormatCache cache = new MessageFormatCache();
+
+	final Validator<Shelf> shelfValidator = ValidatorBuilder.<Shelf> of()
+			.messageFormatter(new SimpleMessageFormatter(this.cache))
+			.constraint(Shelf::getName, "name", c -> c.notBlank().lessThan(10))
+			.constraint(Shelf::getBooks, "books", c -> c.notEmpty()).build();
+
+	final Validator<Library> validator = ValidatorBuilder.<Library> of()
+			.messageFormatter(new SimpleMessageFormatter(this.cache))
+			.constraint(Library::getName, "name", c -> c.notNull())
+			.nest(Library::getShelf, "shelf", this.shelfValidator)
+			.forEach(Library::getShelves, "shelves", this.shelfValidator)
+			.constraintOnCondition((l, group) -> l.name != null,
+					b -> b.messageFormatter(new SimpleMessageFormatter(this.cache))
+							.constraint(Library::getName, "name",
+									c -> c.pattern("[A-Z].*")))
+			.build();
+
+	@Test
+	void prepareParsesAllMessageFormats() {
+		PreparedValidators.prepare(this.validator, Locale.ENGLISH, Locale.JAPANESE);
+		final long misses = this.cache.missCount();
+		final long hits = this.cache.hitCount();
+		assertThat(misses).isPositive();
+		final Library library = new Library("library", new Shelf("", Arrays.asList()),
+				Arrays.asList(new Shelf("long shelf name", Arrays.asList()), null));
+		final ConstraintViolations violations = this.validator.validate(library,
+				Locale.JAPANESE);
+		assertThat(violations).extracting(ConstraintViolation::message).containsExactly(
+				"\"shelf.name\" must not be blank", "\"shelf.books\" must not be empty",
+				"The size of \"shelves[0].name\" must be less than 10. The given size is 15",
+				"\"shelves[0].books\" must not be empty",
+				"\"shelves[1]\" must not be null", "\"name\" must match [A-Z].*");
+		assertThat(this.cache.missCount()).isEqualTo(misses);
+		assertThat(this.cache.hitCount()).isEqualTo(hits + violations.size());
+	}
+
+	@Test
+	void prepareParsesDefaultMessageFormatsOfMessageSource() {
+		final MessageFormatCache cache = new MessageFormatCache();
+		final Validator<Shelf> validator = ValidatorBuilder.<Shelf> of()
+				.messageFormatter(new MessageSourceMessageFormatter(
+						(code, args, defaultMessage, locale) -> defaultMessage, cache))
+				.constraint(Shelf::getName, "name", c -> c.notBlank()).build();
+		PreparedValidators.prepare(validator, Locale.ENGLISH);
+		final long misses = cache.missCount();
+		assertThat(misses).isPositive();
+		final ConstraintViolations violations = validator
+				.validate(new Shelf("", Arrays.asList()), Locale.ENGLISH);
+		assertThat(violations).extracting(ConstraintViolation::message)
+				.containsExactly("\"name\" must not be blank");
+		assertThat(cache.missCount()).isEqualTo(misses);
+	}
+
+	@Test
+	void prepareIsIdempotent() {
+		PreparedValidators.prepare(this.validator, Locale.ENGLISH);
+		final int size = this.cache.size();
+		final long misses = this.cache.missCount();
+		assertThat(PreparedValidators.prepare(this.validator, Locale.ENGLISH))
+				.isSameAs(this.validator);
+		assertThat(this.cache.size()).isEqualTo(size);
+		assertThat(this.cache.missCount()).isEqualTo(misses);
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import am.ik.yavi.User;
+import am.ik.yavi.builder.ValidatorBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ValidatedBatchTest {
+	final Validator<User> validator = ValidatorBuilder.<User> of()
+			.constraint(User::getName, "name", c -> c.notBlank().lessThanOrEqual(5))
+			.constraint(User::getAge, "age", c -> c.notNull().greaterThanOrEqual(0))
+			.build();
+
+	@Test
+	void validateAll() {
+		final User valid1 = new User("foo", null, 20);
+		final User invalid1 = new User("", null, -1);
+		final User valid2 = new User("bar", null, 30);
+		final User invalid2 = new User("foobarbaz", null, 40);
+		final ValidatedBatch<User> batch = this.validator
+				.validateAll(Arrays.asList(valid1, invalid1, valid2, invalid2));
+		assertThat(batch.size()).isEqualTo(4);
+		assertThat(batch.isValid()).isFalse();
+		assertThat(batch.isValid(0)).isTrue();
+		assertThat(batch.isValid(1)).isFalse();
+		assertThat(batch.invalidIndices()).containsExactly(1, 3);
+		assertThat(batch.violations()).hasSize(3);
+		assertThat(batch.violationsStart(1)).isEqualTo(0);
+		assertThat(batch.violationsEnd(1)).isEqualTo(2);
+		assertThat(batch.violationsStart(2)).isEqualTo(2);
+		assertThat(batch.violationsEnd(2)).isEqualTo(2);
+		assertThat(batch.violationsStart(3)).isEqualTo(2);
+		assertThat(batch.violationsEnd(3)).isEqualTo(3);
+		assertThat(batch.violations(1)).extracting(ConstraintViolation::name)
+				.containsExactly("name", "age");
+		assertThat(batch.violations(3).get(0).message()).isEqualTo(
+				"The size of \"name\" must be less than or equal to 5. The given size is 9");
+		assertThat(batch.value(0)).isSameAs(valid1);
+		assertThat(batch.value(1)).isNull();
+		assertThat(batch.validValues()).containsExactly(valid1, valid2);
+		assertThat(batch.get(2).value()).isSameAs(valid2);
+		assertThat(batch.get(3).errors()).hasSize(1);
+	}
+
+	@Test
+	void sameAsValidate() {
+		final User user = new User("", null, -1);
+		final ValidatedBatch<User> batch = this.validator.prefixed("user").failFast(true)
+				.validateAll(Collections.singletonList(user));
+		final ConstraintViolations violations = this.validator.prefixed("user")
+				.failFast(true).validate(user);
+		assertThat(batch.violations(0)).extracting(ConstraintViolation::name)
+				.containsExactlyElementsOf(
+						violations.stream().map(ConstraintViolation::name)::iterator);
+	}
+
+	@Test
+	void valueValidator() {
+		final ValidatedBatch<User> batch = this.validator.applicative().validateAll(
+				Arrays.asList(new User("foo", null, 1), new User("", null, 1)));
+		assertThat(batch.invalidIndices()).containsExactly(1);
+		assertThat(batch.violations(1).get(0).name()).isEqualTo("name");
+	}
+
+	@Test
+	void empty() {
+		final ValidatedBatch<User> batch = this.validator
+				.validateAll(Collections.emptyList());
+		assertThat(batch.size()).isZero();
+		assertThat(batch.isValid()).isTrue();
+		assertThatThrownBy(() -> batch.isValid(0))
+				.isInstanceOf(IndexOutOfBoundsException.class);
+	}
+
+	@Test
+	void nullTarget() {
+		assertThatThrownBy(
+				() -> this.validator.validateAll(Collections.singletonList(null)))
+						.isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -20,7 +20,9 @@ import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import am.ik.yavi.CalendarEntryLocalDateTime;
 import am.ik.yavi.CalendarEntryLocalTime;
@@ -36,6 +38,7 @@ import org.junit.jupiter.api.Test;
 
 import static am.ik.yavi.constraint.charsequence.variant.IdeographicVariationSequence.IGNORE;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.fail;
 
 class ValidatorTest {
@@ -360,6 +363,19 @@ class ValidatorTest {
 		assertThat(violations.isValid()).isTrue();
 	}
 
+	@Test
+	void graphemeClustersInValid() throws Exception {
+		User user = new User("Cafe\u0301 au lait", null, null);
+		Validator<User> validator = ValidatorBuilder.of(User.class)
+				.constraint(User::getName, "name",
+						c -> c.normalizer(null).graphemeClusters().lessThan(12))
+				.build();
+		ConstraintViolations violations = validator.validate(user);
+		assertThat(violations.size()).isEqualTo(1);
+		assertThat(violations.get(0).message()).isEqualTo(
+				"The size of \"name\" must be less than 12. The given size is 12");
+	}
+
 	@Test
 	void group() {
 		User user = new User("foobar", "foo@example.com", -1);
@@ -1085,6 +1101,115 @@ class ValidatorTest {
 				.startsWith("\"dateTime\" must be a past date");
 	}
 
+	@Test
+	void builderChangesAfterBuildDoNotAffectValidator() {
+		final ValidatorBuilder<User> builder = ValidatorBuilder.<User> of()
+				.constraint(User::getName, "name", c -> c.notBlank());
+		final Validator<User> validator = builder.build();
+		builder.constraint(User::getEmail, "email", c -> c.notBlank());
+		final ConstraintViolations violations = validator
+				.validate(new User("foo", "", 20));
+		assertThat(violations.isValid()).isTrue();
+		assertThat(builder.build().validate(new User("foo", "", 20))).hasSize(1);
+	}
+
+	@Test
+	void getterIsEvaluatedOncePerValidation() {
+		final AtomicInteger counter = new AtomicInteger();
+		final Validator<User> validator = ValidatorBuilder.<User> of()
+				.constraint((User u) -> {
+					counter.incrementAndGet();
+					return u.getName();
+				}, "name", c -> c.notBlank().greaterThan(1).lessThanOrEqual(20)
+						.startsWith("f").endsWith("o"))
+				.build();
+		assertThat(validator.validate(new User("foo", null, 0)).isValid()).isTrue();
+		assertThat(counter.get()).isEqualTo(1);
+		assertThat(validator.validate(new User("", null, 0))).hasSize(4);
+		assertThat(counter.get()).isEqualTo(2);
+	}
+
+	@Test
+	void nestedGetterIsEvaluatedOncePerValidation() {
+		final AtomicInteger nestedCounter = new AtomicInteger();
+		final AtomicInteger counter = new AtomicInteger();
+		final Validator<User> userValidator = ValidatorBuilder.<User> of()
+				.constraint((User u) -> {
+					counter.incrementAndGet();
+					return u.getName();
+				}, "name", c -> c.notBlank().greaterThan(1).lessThanOrEqual(20)).build();
+		final Validator<User> validator = ValidatorBuilder.<User> of().nest(u -> {
+			nestedCounter.incrementAndGet();
+			return u;
+		}, "user", userValidator).build();
+		final ConstraintViolations violations = validator.validate(new User("", null, 0));
+		assertThat(violations).hasSize(2);
+		assertThat(violations.get(0).name()).isEqualTo("user.name");
+		// once for the notNull constraint on "user" and once for "user.name"
+		assertThat(nestedCounter.get()).isEqualTo(2);
+		assertThat(counter.get()).isEqualTo(1);
+	}
+
+	@Test
+	void validReturnsMutableViolationsByDefault() {
+		final Validator<User> validator = validator();
+		final User user = new User("foo", "foo@example.com", 30);
+		user.setEnabled(true);
+		final ConstraintViolations violations = validator.validate(user);
+		assertThat(violations.isValid()).isTrue();
+		assertThat(violations).isNotSameAs(validator.validate(user));
+		violations.addAll(validator.validate(new User(null, null, null)));
+		assertThat(violations.isValid()).isFalse();
+	}
+
+	@Test
+	void validReturnsSharedEmptyViolations() {
+		final Validator<User> validator = ValidatorBuilder.<User> of()
+				.constraint(User::getName, "name", c -> c.notBlank())
+				.sharedEmptyViolations(true).build();
+		final ConstraintViolations violations = validator
+				.validate(new User("foo", null, 0));
+		assertThat(violations.isValid()).isTrue();
+		assertThat(violations).isSameAs(validator.validate(new User("bar", null, 0)));
+		assertThatThrownBy(
+				() -> violations.addAll(validator.validate(new User("", null, 0))))
+						.isInstanceOf(UnsupportedOperationException.class);
+		assertThat(validator.validate(new User("", null, 0))).hasSize(1);
+		assertThat(validator.validate(new User("foo", null, 0))).isEmpty();
+	}
+
+	@Test
+	void sharedEmptyViolationsIsKeptByDerivedValidators() {
+		final Validator<User> validator = ValidatorBuilder.<User> of()
+				.constraint(User::getName, "name", c -> c.notBlank())
+				.sharedEmptyViolations(true).build().prefixed("user").failFast(true);
+		final User user = new User("foo", null, 0);
+		assertThat(validator.validate(user)).isSameAs(validator.validate(user));
+		assertThat(validator.sharedEmptyViolations(false).validate(user))
+				.isNotSameAs(validator.sharedEmptyViolations(false).validate(user));
+	}
+
+	@Test
+	void violatedValueIsComputedOnceForInvalidValue() {
+		final AtomicInteger counter = new AtomicInteger();
+		final Validator<User> validator = ValidatorBuilder.<User> of()
+				.constraint(User::getName, "name", c -> {
+					c.predicates().add(ConstraintPredicate.withViolatedValue(v -> {
+						counter.incrementAndGet();
+						return v.isEmpty() ? Optional.of(new ViolatedValue(v.length()))
+								: Optional.empty();
+					}, ViolationMessage.Default.CONTAINER_NOT_EMPTY,
+							() -> new Object[] {}, NullAs.VALID));
+					return c;
+				}).build();
+		assertThat(validator.validate(new User("foo", null, 0)).isValid()).isTrue();
+		assertThat(counter.get()).isEqualTo(1);
+		final ConstraintViolations violations = validator.validate(new User("", null, 0));
+		assertThat(violations).hasSize(1);
+		assertThat(violations.get(0).violatedValue()).isEqualTo(0);
+		assertThat(counter.get()).isEqualTo(2);
+	}
+
 	Validator<User> validator() {
 		return ValidatorBuilder.<User> of() //
 				.constraint(User::getName, "name", c -> c.notNull() //
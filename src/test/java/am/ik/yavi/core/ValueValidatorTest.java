@@ -15,6 +15,13 @@
  */
 package am.ik.yavi.core;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 import am.ik.yavi.Address;
 import am.ik.yavi.Country;
 import am.ik.yavi.PhoneNumber;
@@ -72,4 +79,55 @@ class ValueValidatorTest {
 		assertThat(addressValidator.andThen(foreignAddressValidator)
 				.validate("J", "tokyo", "+0123456789").isValid()).isFalse();
 	}
+
+	@Test
+	void validateStream() {
+		final ValueValidator<String, Country> countryValidator = Country.validator()
+				.applicative().compose(Country::new);
+		final List<Validated<Country>> validated = countryValidator
+				.validateStream(Stream.of("JP", "J", "US", ""))
+				.collect(Collectors.toList());
+		assertThat(validated).hasSize(4);
+		assertThat(validated.get(0).value().name()).isEqualTo("JP");
+		assertThat(validated.get(1).errors()).hasSize(1);
+		assertThat(validated.get(1).errors().get(0).name()).isEqualTo("name[1]");
+		assertThat(validated.get(2).isValid()).isTrue();
+		assertThat(validated.get(3).errors()).hasSize(2);
+		assertThat(validated.get(3).errors().get(0).name()).isEqualTo("name[3]");
+	}
+
+	@Test
+	void validateStreamIsLazy() {
+		final AtomicInteger count = new AtomicInteger();
+		final AtomicBoolean closed = new AtomicBoolean();
+		final ValueValidator<Integer, Country> countryValidator = Country.validator()
+				.applicative().compose(i -> {
+					count.incrementAndGet();
+					return new Country(i % 10 == 0 ? "J" : "JP");
+				});
+		try (Stream<Validated<Country>> validated = countryValidator.validateStream(
+				Stream.iterate(1, i -> i + 1).onClose(() -> closed.set(true)))) {
+			final List<Validated<Country>> invalid = validated.filter(v -> !v.isValid())
+					.limit(3).collect(Collectors.toList());
+			assertThat(invalid).hasSize(3);
+			assertThat(invalid.get(2).errors().get(0).name()).isEqualTo("name[29]");
+			assertThat(count.get()).isEqualTo(30);
+		}
+		assertThat(closed.get()).isTrue();
+	}
+
+	@Test
+	void liftStream() {
+		final Function<Stream<? extends Country>, Stream<Validated<Country>>> validator = Country
+				.validator().applicative().liftStream();
+		assertThat(validator.apply(Stream.of(new Country("JP"), new Country("J")))
+				.filter(Validated::isValid).count()).isEqualTo(1);
+	}
+
+	@Test
+	void validatableValidateStream() {
+		assertThat(Country.validator()
+				.validateStream(Stream.of(new Country("JP"), new Country("J")))
+				.map(Validated::isValid)).containsExactly(true, false);
+	}
 }
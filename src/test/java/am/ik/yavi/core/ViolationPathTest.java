@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import am.ik.yavi.builder.ValidatorBuilder;
+import am.ik.yavi.message.SimpleMessageFormatter;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ViolationPathTest {
+
+	@Test
+	void materialize() {
+		final ViolationPath items = ViolationPath.root("items");
+		final ViolationPath item = ViolationPath.of("", items, 12, ".", "address");
+		assertThat(ViolationPath.of("", item, 3, ".", "zip").toString())
+				.isEqualTo("items[12].address[3].zip");
+		assertThat(ViolationPath.of("", item, 3, ".", "").toString())
+				.isEqualTo("items[12].address[3]");
+		assertThat(ViolationPath.of("order.", items, -1, ".", "zip").toString())
+				.isEqualTo("order.zip");
+		assertThat(ViolationPath
+				.of("order.", items, 0, ".", ViolationPath.of("", items, 1, ".", "zip"))
+				.toString()).isEqualTo("order.items[0].items[1].zip");
+	}
+
+	@Test
+	void nameIsMaterializedOnce() {
+		final ViolationPath path = ViolationPath.of("", ViolationPath.root("items"), 1,
+				".", "name");
+		assertThat(path.toString()).isSameAs(path.toString());
+	}
+
+	@Test
+	void violationArgsFollowTheName() {
+		final ConstraintViolation violation = new ConstraintViolation(
+				ViolationPath.of("", ViolationPath.root("items"), 1, ".", "name"),
+				"object.notNull", "\"{0}\" must not be null", new Object[] { null, null },
+				false, new SimpleMessageFormatter(), Locale.ENGLISH);
+		assertThat(violation.violatedValue()).isNull();
+		assertThat(violation.args()[0]).isEqualTo("items[1].name");
+		assertThat(violation.name()).isEqualTo("items[1].name");
+		assertThat(violation.message()).isEqualTo("\"items[1].name\" must not be null");
+		final ConstraintViolation moved = violation.withPath(ViolationPath.of("",
+				ViolationPath.root("orders"), 2, ".", violation.nameSegment()));
+		assertThat(moved.name()).isEqualTo("orders[2].items[1].name");
+		assertThat(moved.args()[0]).isEqualTo("orders[2].items[1].name");
+		assertThat(violation.args()[0]).isEqualTo("items[1].name");
+	}
+
+	@Test
+	void nestedCollectionsWithCondition() {
+		final Validator<Line> lineValidator = ValidatorBuilder.<Line> of()
+				._string(l -> l.sku, "sku", c -> c.notEmpty())
+				.constraintOnCondition((l, g) -> l.sku.isEmpty(), b -> b
+						._integer(l -> l.quantity, "quantity", c -> c.greaterThan(0)))
+				.build();
+		final Validator<Order> orderValidator = ValidatorBuilder.<Order> of()
+				.forEach(Order::getLines, "lines", lineValidator).build();
+		final Validator<Orders> validator = ValidatorBuilder.<Orders> of()
+				.forEach(Orders::getOrders, "orders", orderValidator).build();
+		final ConstraintViolations violations = validator.validate(new Orders(Arrays
+				.asList(new Order(Collections.singletonList(new Line("a", 1))), new Order(
+						Arrays.asList(new Line("b", 1), new Line("", 0), null)))));
+		assertThat(violations).extracting(ConstraintViolation::name).containsExactly(
+				"orders[1].lines[1].sku", "orders[1].lines[1].quantity",
+				"orders[1].lines[2]");
+		assertThat(violations.get(1).message())
+				.isEqualTo("\"orders[1].lines[1].quantity\" must be greater than 0");
+	}
+
+	static class Orders {
+		final List<Order> orders;
+
+		Orders(List<Order> orders) {
+			this.orders = orders;
+		}
+
+		List<Order> getOrders() {
+			return this.orders;
+		}
+	}
+
+	static class Order {
+		final List<Line> lines;
+
+		Order(List<Line> lines) {
+			this.lines = lines;
+		}
+
+		List<Line> getLines() {
+			return this.lines;
+		}
+	}
+
+	static class Line {
+		final String sku;
+
+		final Integer quantity;
+
+		Line(String sku, Integer quantity) {
+			this.sku = sku;
+			this.quantity = quantity;
+		}
+	}
+}
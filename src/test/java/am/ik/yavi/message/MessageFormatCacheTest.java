@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.message;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessageFormatCacheTest {
+
+	@Test
+	void format() {
+		final MessageFormatCache cache = new MessageFormatCache();
+		assertThat(cache.format("\"{0}\" must be less than {1}",
+				new Object[] { "age", 20 }, Locale.ENGLISH))
+						.isEqualTo("\"age\" must be less than 20");
+		assertThat(cache.format("\"{0}\" must be less than {1}",
+				new Object[] { "height", 1000 }, Locale.ENGLISH))
+						.isEqualTo("\"height\" must be less than 1,000");
+		assertThat(cache.format("\"{0}\" must be less than {1}",
+				new Object[] { "height", 1000 }, Locale.GERMAN))
+						.isEqualTo("\"height\" must be less than 1.000");
+		assertThat(cache.missCount()).isEqualTo(2);
+		assertThat(cache.hitCount()).isEqualTo(1);
+		assertThat(cache.size()).isEqualTo(2);
+	}
+
+	@Test
+	void returnsDistinctInstances() {
+		final MessageFormatCache cache = new MessageFormatCache();
+		assertThat(cache.messageFormat("{0}", Locale.ENGLISH))
+				.isNotSameAs(cache.messageFormat("{0}", Locale.ENGLISH));
+	}
+
+	@Test
+	void bounded() {
+		final MessageFormatCache cache = new MessageFormatCache(2);
+		for (int i = 0; i < 5; i++) {
+			assertThat(cache.format("{0}-" + i, new Object[] { "a" }, Locale.ENGLISH))
+					.isEqualTo("a-" + i);
+		}
+		assertThat(cache.size()).isEqualTo(2);
+		cache.format("{0}-4", new Object[] { "a" }, Locale.ENGLISH);
+		assertThat(cache.missCount()).isEqualTo(6);
+		cache.format("{0}-0", new Object[] { "a" }, Locale.ENGLISH);
+		assertThat(cache.hitCount()).isEqualTo(1);
+	}
+
+	@Test
+	void clear() {
+		final MessageFormatCache cache = new MessageFormatCache();
+		cache.format("{0}", new Object[] { "a" }, Locale.ENGLISH);
+		cache.format("{0}", new Object[] { "a" }, Locale.ENGLISH);
+		cache.clear();
+		assertThat(cache.size()).isZero();
+		assertThat(cache.hitCount()).isZero();
+		assertThat(cache.missCount()).isZero();
+	}
+
+	@Test
+	void concurrentFormat() throws Exception {
+		final MessageFormatCache cache = new MessageFormatCache();
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final List<Future<Boolean>> futures = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				final int n = i;
+				futures.add(
+						executor.submit(() -> cache
+								.format("\"{0}\" is {1}", new Object[] { "v" + n, n },
+										Locale.ENGLISH)
+								.equals("\"v" + n + "\" is " + n)));
+			}
+			for (Future<Boolean> future : futures) {
+				assertThat(future.get()).isTrue();
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+		assertThat(cache.hitCount() + cache.missCount()).isEqualTo(100);
+		assertThat(cache.size()).isEqualTo(1);
+	}
+
+	@Test
+	void sharedBySimpleMessageFormatter() {
+		final MessageFormatCache cache = new MessageFormatCache();
+		final SimpleMessageFormatter formatter = new SimpleMessageFormatter(cache);
+		formatter.format("demo", "{0} and {1}", new Object[] { "a", "b" },
+				Locale.ENGLISH);
+		new SimpleMessageFormatter(cache).format("demo", "{0} and {1}",
+				new Object[] { "c", "d" }, Locale.ENGLISH);
+		assertThat(formatter.messageFormatCache()).isSameAs(cache);
+		assertThat(cache.hitCount()).isEqualTo(1);
+		assertThat(cache.missCount()).isEqualTo(1);
+	}
+}
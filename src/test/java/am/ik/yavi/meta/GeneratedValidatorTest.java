@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.meta;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import am.ik.yavi.builder.ValidatorBuilder;
+import am.ik.yavi.core.ConstraintViolation;
+import am.ik.yavi.core.ConstraintViolations;
+import am.ik.yavi.core.Validator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeneratedValidatorTest {
+	static final Validator<Product> validator = ValidatorBuilder.<Product> of()
+			.constraint(Product::getName, "name", c -> c.notNull().lessThanOrEqual(20))
+			.constraint(Product::getCode, "code",
+					c -> c.notBlank().pattern("[A-Z]{3}-\\d{4}"))
+			.constraint(Product::getPrice, "price",
+					c -> c.greaterThanOrEqual(0).lessThanOrEqual(10000))
+			.constraint(Product::getStock, "stock", c -> c.greaterThanOrEqual(-1L))
+			.constraint(Product::getTags, "tags", c -> c.notEmpty().lessThanOrEqual(3))
+			.build();
+
+	static Stream<Product> products() {
+		return Stream.of(
+				new Product("Coffee", "ABC-1234", 500, 10L,
+						Collections.singletonList("drink")),
+				new Product(null, null, -1, -2L, null),
+				new Product("Cafe\u0301 au lait and croissant", " ", 10001, null,
+						Arrays.asList("a", "b", "c", "d")),
+				new Product("", "abc-1234", 0, -1L, Collections.emptyList()));
+	}
+
+	@ParameterizedTest
+	@MethodSource("products")
+	void sameViolationsAsRuntimeValidator(Product product) {
+		final ConstraintViolations expected = validator.validate(product, Locale.ENGLISH);
+		final ConstraintViolations actual = new _ProductValidator().validate(product,
+				Locale.ENGLISH);
+		assertThat(actual.isValid()).isEqualTo(expected.isValid());
+		assertThat(actual).hasSameSizeAs(expected);
+		for (int i = 0; i < expected.size(); i++) {
+			final ConstraintViolation e = expected.get(i);
+			final ConstraintViolation a = actual.get(i);
+			assertThat(a.name()).isEqualTo(e.name());
+			assertThat(a.messageKey()).isEqualTo(e.messageKey());
+			assertThat(a.message()).isEqualTo(e.message());
+			assertThat(a.args()).containsExactly(e.args());
+		}
+	}
+
+	@Test
+	void validResultIsMutable() {
+		final Product product = new Product("Coffee", "ABC-1234", 500, 10L,
+				Collections.singletonList("drink"));
+		final ConstraintViolations violations = new _ProductValidator().validate(product,
+				Locale.ENGLISH);
+		assertThat(violations.isValid()).isTrue();
+		violations.addAll(validator.validate(new Product(null, null, -1, -2L, null),
+				Locale.ENGLISH));
+		assertThat(violations.isValid()).isFalse();
+		assertThat(new _ProductValidator().validate(product, Locale.ENGLISH).isValid())
+				.isTrue();
+	}
+}
@@ -99,6 +99,30 @@ class ConstraintMetaProcessorTest {
 								.forResource("test/_Address_PhoneNumberMeta.java"));
 	}
 
+	@Test
+	void processConstraints() {
+		assertThat(JavaFileObjects.forResource("test/Product.java"))
+				.processedWith(new ConstraintMetaProcessor()) //
+				.compilesWithoutError().and().generatesSources(
+						JavaFileObjects.forResource("test/_ProductValidator.java"));
+	}
+
+	@Test
+	void processUnsupportedConstraint() {
+		assertThat(JavaFileObjects.forResource("test/InvalidProduct.java"))
+				.processedWith(new ConstraintMetaProcessor()) //
+				.failsToCompile()
+				.withErrorContaining("@NotBlank is not supported on int");
+	}
+
+	@Test
+	void processConstraintOnMethodParameter() {
+		assertThat(JavaFileObjects.forResource("test/InvalidProductService.java"))
+				.processedWith(new ConstraintMetaProcessor()) //
+				.failsToCompile().withErrorContaining(
+						"Constraints on a parameter are only supported on the parameters of a constructor");
+	}
+
 	@Test
 	void testBeanLowerCamel() {
 		Assertions.assertThat(ConstraintMetaProcessor.beanLowerCamel("Name"))
@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.core
+
+import am.ik.yavi.builder.suspendValidator
+import am.ik.yavi.builder.validator
+import am.ik.yavi.message.SimpleMessageFormatter
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.asFlow
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withTimeout
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.jupiter.api.Test
+import java.util.concurrent.atomic.AtomicInteger
+
+data class Account(val name: String?, val email: String?, val age: Int?)
+
+class SuspendValidatorTest {
+	private val takenNames = setOf("taken")
+
+	private val registeredEmails = setOf("taken@example.com")
+
+	private suspend fun nameExists(name: String): Boolean {
+		delay(10)
+		return takenNames.contains(name)
+	}
+
+	private suspend fun emailExists(email: String): Boolean {
+		delay(10)
+		return registeredEmails.contains(email)
+	}
+
+	private val validator = suspendValidator<Account> {
+		Account::name {
+			notBlank()
+		}
+		Account::name.invokeSuspend("account.nameNotTaken", "\"{0}\" is already taken") {
+			!nameExists(it)
+		}
+		Account::email.invokeSuspend("account.emailNotTaken", "\"{0}\" is already registered") {
+			!emailExists(it)
+		}
+	}
+
+	@Test
+	fun valid() {
+		val violations = runBlocking {
+			validator.validate(Account("foo", "foo@example.com", 20))
+		}
+		assertThat(violations.isValid).isTrue
+	}
+
+	@Test
+	fun invalid() {
+		val violations = runBlocking {
+			validator.validate(Account("taken", "taken@example.com", 20))
+		}
+		assertThat(violations.map { it.name() }).containsExactly("name", "email")
+		assertThat(violations[0].message()).isEqualTo("\"name\" is already taken")
+		assertThat(violations[1].message()).isEqualTo("\"email\" is already registered")
+	}
+
+	@Test
+	fun synchronousViolationsComeFirst() {
+		val violations = runBlocking {
+			validator.validate(Account("", "taken@example.com", 20))
+		}
+		assertThat(violations.map { it.messageKey() }).containsExactly(
+			"charSequence.notBlank",
+			"account.emailNotTaken"
+		)
+	}
+
+	@Test
+	fun nullIsNotChecked() {
+		val violations = runBlocking {
+			validator.validate(Account("foo", null, 20))
+		}
+		assertThat(violations.isValid).isTrue
+	}
+
+	@Test
+	fun constraintsRunConcurrently() {
+		val started = AtomicInteger()
+		val bothStarted = CompletableDeferred<Unit>()
+		suspend fun awaitOther(): Boolean {
+			if (started.incrementAndGet() == 2) {
+				bothStarted.complete(Unit)
+			}
+			// never completes if the constraints run one after another
+			bothStarted.await()
+			return true
+		}
+
+		val validator = suspendValidator<Account> {
+			Account::name.invokeSuspend("k", "m") { awaitOther() }
+			Account::email.invokeSuspend("k", "m") { awaitOther() }
+		}
+		val violations = runBlocking {
+			withTimeout(5000) {
+				validator.validate(Account("foo", "foo@example.com", 20))
+			}
+		}
+		assertThat(violations.isValid).isTrue
+	}
+
+	@Test
+	fun onCondition() {
+		val validator = suspendValidator<Account> {
+			onCondition({ account, _ -> (account.age ?: 0) >= 18 }) {
+				Account::name.invokeSuspend("account.nameNotTaken", "\"{0}\" is already taken") {
+					!nameExists(it)
+				}
+			}
+		}
+		val adult = runBlocking { validator.validate(Account("taken", null, 20)) }
+		val child = runBlocking { validator.validate(Account("taken", null, 10)) }
+		assertThat(adult.map { it.name() }).containsExactly("name")
+		assertThat(child.isValid).isTrue
+	}
+
+	@Test
+	fun failFast() {
+		val failFast = SuspendValidator(
+			validator<Account> {},
+			listOf(
+				SuspendConstraint("name", Account::name, ViolationMessage.of("k", "m"), null) { false },
+				SuspendConstraint("email", Account::email, ViolationMessage.of("k", "m"), null) { false }
+			),
+			SimpleMessageFormatter(),
+			true
+		)
+		val violations = runBlocking { failFast.validate(Account("taken", "taken@example.com", 1)) }
+		assertThat(violations.map { it.name() }).containsExactly("name")
+	}
+
+	@Test
+	fun buildWithSuspendConstraintsFails() {
+		assertThatThrownBy {
+			validator<Account> {
+				Account::name.invokeSuspend("k", "m") { true }
+			}
+		}.isInstanceOf(IllegalStateException::class.java)
+	}
+
+	@Test
+	fun flowWithBoundedConcurrency() {
+		val active = AtomicInteger()
+		val maxActive = AtomicInteger()
+		val validator = suspendValidator<Account> {
+			Account::age.invokeSuspend("account.even", "\"{0}\" must be even") {
+				maxActive.accumulateAndGet(active.incrementAndGet(), Math::max)
+				delay((10 - it % 10).toLong())
+				active.decrementAndGet()
+				it % 2 == 0
+			}
+		}
+		val results = runBlocking {
+			(1..50).map { Account("foo", null, it) }.asFlow()
+				.validate(validator, concurrency = 4).toList()
+		}
+		assertThat(results.map { it.isValid }).containsExactlyElementsOf((1..50).map { it % 2 == 0 })
+		assertThat(results.filter { it.isValid }.map { it.value().age })
+			.containsExactlyElementsOf((2..50 step 2).toList())
+		assertThat(maxActive.get()).isGreaterThan(1).isLessThanOrEqualTo(4)
+	}
+
+	@Test
+	fun flowSequential() {
+		val results = runBlocking {
+			listOf(Account("foo", null, 1), Account("taken", null, 2)).asFlow()
+				.validate(validator).toList()
+		}
+		assertThat(results.map { it.isValid }).containsExactly(true, false)
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package test;
+
+import java.util.List;
+
+import am.ik.yavi.meta.GreaterThanOrEqual;
+import am.ik.yavi.meta.LessThanOrEqual;
+import am.ik.yavi.meta.NotBlank;
+import am.ik.yavi.meta.NotEmpty;
+import am.ik.yavi.meta.NotNull;
+import am.ik.yavi.meta.Pattern;
+
+public class Product {
+	private final String name;
+
+	private final String code;
+
+	private final int price;
+
+	private final Long stock;
+
+	private final List<String> tags;
+
+	public Product(@NotNull @LessThanOrEqual(20) String name,
+			@NotBlank @Pattern("[A-Z]{3}-\\d{4}") String code,
+			@GreaterThanOrEqual(0) @LessThanOrEqual(10000) int price,
+			@GreaterThanOrEqual(-1) Long stock,
+			@NotEmpty @LessThanOrEqual(3) List<String> tags) {
+		this.name = name;
+		this.code = code;
+		this.price = price;
+		this.stock = stock;
+		this.tags = tags;
+	}
+
+	public String getName() {
+		return this.name;
+	}
+
+	public String getCode() {
+		return this.code;
+	}
+
+	public int getPrice() {
+		return this.price;
+	}
+
+	public Long getStock() {
+		return this.stock;
+	}
+
+	public List<String> getTags() {
+		return this.tags;
+	}
+}
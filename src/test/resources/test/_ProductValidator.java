@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package test;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import am.ik.yavi.core.ConstraintContext;
+import am.ik.yavi.core.ConstraintViolation;
+import am.ik.yavi.core.ConstraintViolations;
+import am.ik.yavi.core.GeneratedValidatorSupport;
+import am.ik.yavi.core.Validatable;
+import am.ik.yavi.core.ViolationMessage;
+import am.ik.yavi.message.MessageFormatter;
+import am.ik.yavi.message.SimpleMessageFormatter;
+
+// Generated at 2026-10-18T05:48:57.993564036Z
+public final class _ProductValidator implements Validatable<test.Product> {
+  private static final Pattern PATTERN_0 = Pattern.compile("[A-Z]{3}-\\d{4}");
+
+  private final MessageFormatter messageFormatter;
+
+  public _ProductValidator() {
+    this(new SimpleMessageFormatter());
+  }
+
+  public _ProductValidator(MessageFormatter messageFormatter) {
+    this.messageFormatter = messageFormatter;
+  }
+
+  @Override
+  public ConstraintViolations validate(test.Product target, Locale locale, ConstraintContext constraintContext) {
+    if (target == null) {
+      throw new IllegalArgumentException("target must not be null");
+    }
+    ConstraintViolations violations = null;
+    {
+      final java.lang.String value = target.getName();
+      final int size = (value == null) ? 0 : GeneratedValidatorSupport.codePointSize(value);
+      if (value == null) {
+        violations = GeneratedValidatorSupport.add(violations,
+            new ConstraintViolation("name",
+                ViolationMessage.Default.OBJECT_NOT_NULL.messageKey(),
+                ViolationMessage.Default.OBJECT_NOT_NULL.defaultMessageFormat(),
+                new Object[] { "name", value },
+                this.messageFormatter, locale));
+      }
+      if (value != null && size > 20) {
+        violations = GeneratedValidatorSupport.add(violations,
+            new ConstraintViolation("name",
+                ViolationMessage.Default.CONTAINER_LESS_THAN_OR_EQUAL.messageKey(),
+                ViolationMessage.Default.CONTAINER_LESS_THAN_OR_EQUAL.defaultMessageFormat(),
+                new Object[] { "name", 20, size },
+                this.messageFormatter, locale));
+      }
+    }
+    {
+      final java.lang.String value = target.getCode();
+      if (value == null || GeneratedValidatorSupport.isBlank(value)) {
+        violations = GeneratedValidatorSupport.add(violations,
+            new ConstraintViolation("code",
+                ViolationMessage.Default.CHAR_SEQUENCE_NOT_BLANK.messageKey(),
+                ViolationMessage.Default.CHAR_SEQUENCE_NOT_BLANK.defaultMessageFormat(),
+                new Object[] { "code", value },
+                this.messageFormatter, locale));
+      }
+      if (value != null && !PATTERN_0.matcher(value).matches()) {
+        violations = GeneratedValidatorSupport.add(violations,
+            new ConstraintViolation("code",
+                ViolationMessage.Default.CHAR_SEQUENCE_PATTERN.messageKey(),
+                ViolationMessage.Default.CHAR_SEQUENCE_PATTERN.defaultMessageFormat(),
+                new Object[] { "code", "[A-Z]{3}-\\d{4}", value },
+                this.messageFormatter, locale));
+      }
+    }
+    {
+      final int value = target.getPrice();
+      if (value < 0) {
+        violations = GeneratedValidatorSupport.add(violations,
+            new ConstraintViolation("price",
+                ViolationMessage.Default.NUMERIC_GREATER_THAN_OR_EQUAL.messageKey(),
+                ViolationMessage.Default.NUMERIC_GREATER_THAN_OR_EQUAL.defaultMessageFormat(),
+                new Object[] { "price", 0, value },
+                this.messageFormatter, locale));
+      }
+      if (value > 10000) {
+        violations = GeneratedValidatorSupport.add(violations,
+            new ConstraintViolation("price",
+                ViolationMessage.Default.NUMERIC_LESS_THAN_OR_EQUAL.messageKey(),
+                ViolationMessage.Default.NUMERIC_LESS_THAN_OR_EQUAL.defaultMessageFormat(),
+                new Object[] { "price", 10000, value },
+                this.messageFormatter, locale));
+      }
+    }
+    {
+      final java.lang.Long value = target.getStock();
+      if (value != null && value < (-1L)) {
+        violations = GeneratedValidatorSupport.add(violations,
+            new ConstraintViolation("stock",
+                ViolationMessage.Default.NUMERIC_GREATER_THAN_OR_EQUAL.messageKey(),
+                ViolationMessage.Default.NUMERIC_GREATER_THAN_OR_EQUAL.defaultMessageFormat(),
+                new Object[] { "stock", (-1L), value },
+                this.messageFormatter, locale));
+      }
+    }
+    {
+      final java.util.List<java.lang.String> value = target.getTags();
+      final int size = (value == null) ? 0 : value.size();
+      if (value == null || value.isEmpty()) {
+        violations = GeneratedValidatorSupport.add(violations,
+            new ConstraintViolation("tags",
+                ViolationMessage.Default.CONTAINER_NOT_EMPTY.messageKey(),
+                ViolationMessage.Default.CONTAINER_NOT_EMPTY.defaultMessageFormat(),
+                new Object[] { "tags", value },
+                this.messageFormatter, locale));
+      }
+      if (value != null && size > 3) {
+        violations = GeneratedValidatorSupport.add(violations,
+            new ConstraintViolation("tags",
+                ViolationMessage.Default.CONTAINER_LESS_THAN_OR_EQUAL.messageKey(),
+                ViolationMessage.Default.CONTAINER_LESS_THAN_OR_EQUAL.defaultMessageFormat(),
+                new Object[] { "tags", 3, size },
+                this.messageFormatter, locale));
+      }
+    }
+    return GeneratedValidatorSupport.orEmpty(violations);
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import am.ik.yavi.arguments.Arguments1;
+import am.ik.yavi.arguments.Arguments2;
+import am.ik.yavi.arguments.Arguments2Validator;
+import am.ik.yavi.arguments.Arguments3;
+import am.ik.yavi.arguments.Arguments3Validator;
+import am.ik.yavi.arguments.ArgumentsValidators;
+import am.ik.yavi.arguments.IntegerValidator;
+import am.ik.yavi.arguments.StringValidator;
+import am.ik.yavi.builder.ArgumentsValidatorBuilder;
+import am.ik.yavi.builder.IntegerValidatorBuilder;
+import am.ik.yavi.builder.StringValidatorBuilder;
+import am.ik.yavi.core.Validated;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the applicative paths, i.e. {@code ArgumentsNValidator} built by
+ * {@link ArgumentsValidatorBuilder} and {@code Arguments2Splitting} built by
+ * {@link ArgumentsValidators#split}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArgumentsValidatorBenchmark {
+	static final Arguments3Validator<String, String, String, Address> arguments3Validator = ArgumentsValidatorBuilder
+			.of((String street, String zip, String unused) -> new Address(street, zip))
+			.builder(b -> b
+					._string(Arguments1::arg1, "street",
+							c -> c.notBlank().lessThan(64))
+					._string(Arguments2::arg2, "zip",
+							c -> c.notBlank().pattern("[0-9]{3}-[0-9]{4}"))
+					._string(Arguments3::arg3, "note", c -> c.lessThanOrEqual(16)))
+			.build();
+
+	static final StringValidator<String> skuValidator = StringValidatorBuilder
+			.of("sku", c -> c.notBlank().lessThan(32)).build();
+
+	static final IntegerValidator<Integer> quantityValidator = IntegerValidatorBuilder
+			.of("quantity", c -> c.notNull().greaterThan(0).lessThanOrEqual(100))
+			.build();
+
+	static final Arguments2Validator<String, Integer, LineItem> splittingValidator = ArgumentsValidators
+			.split(skuValidator, quantityValidator)
+			.apply((sku, quantity) -> new LineItem(sku, quantity, null));
+
+	@Param({ "valid", "invalid" })
+	public String input;
+
+	private String street;
+
+	private String zip;
+
+	private String sku;
+
+	private Integer quantity;
+
+	@Setup
+	public void setup() {
+		final boolean valid = "valid".equals(this.input);
+		final Address address = Fixtures.address(valid);
+		this.street = address.getStreet();
+		this.zip = address.getZip();
+		this.sku = valid ? "SKU-1" : "";
+		this.quantity = valid ? 1 : 0;
+	}
+
+	@Benchmark
+	public Validated<Address> arguments3Validator() {
+		return arguments3Validator.validate(this.street, this.zip, "");
+	}
+
+	@Benchmark
+	public Validated<LineItem> arguments2Splitting() {
+		return splittingValidator.validate(this.sku, this.quantity);
+	}
+}
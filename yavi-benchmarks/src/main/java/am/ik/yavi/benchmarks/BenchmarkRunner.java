@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.util.Version;
+
+/**
+ * Runs the benchmarks with the GC profiler enabled so that allocation rates
+ * ({@code gc.alloc.rate.norm}) are reported next to the timings, and writes the result
+ * as a table to {@code results/results.txt} unless {@code -rff} is given. The table is
+ * preceded by a header describing the JDK, the JMH version and the machine, since the
+ * numbers are only comparable among runs in the same environment.
+ *
+ * Any regular JMH command line option is accepted, e.g.
+ * {@code java -jar target/benchmarks.jar ValidatorBenchmark -f 1}.
+ */
+public class BenchmarkRunner {
+	public static void main(String[] args)
+			throws RunnerException, CommandLineOptionException, IOException {
+		final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+		final OptionsBuilder builder = new OptionsBuilder();
+		builder.parent(commandLineOptions).addProfiler(GCProfiler.class);
+		File resultFile = null;
+		if (!commandLineOptions.getResult().hasValue()) {
+			final File results = new File("results");
+			results.mkdirs();
+			resultFile = new File(results, "results.txt");
+			builder.resultFormat(ResultFormatType.TEXT).result(resultFile.getPath());
+		}
+		final Options options = builder.build();
+		new Runner(options).run();
+		if (resultFile != null) {
+			prependHeader(resultFile.toPath());
+		}
+	}
+
+	static void prependHeader(Path resultFile) throws IOException {
+		final List<String> lines = new ArrayList<>();
+		lines.add("# JMH " + Version.getPlainVersion());
+		lines.add("# JDK " + System.getProperty("java.version") + ", "
+				+ System.getProperty("java.vm.name") + " "
+				+ System.getProperty("java.vm.version") + " ("
+				+ System.getProperty("java.vm.vendor") + ")");
+		lines.add("# OS " + System.getProperty("os.name") + " "
+				+ System.getProperty("os.version") + " " + System.getProperty("os.arch")
+				+ ", " + Runtime.getRuntime().availableProcessors() + " CPUs");
+		lines.add("");
+		lines.addAll(Files.readAllLines(resultFile, StandardCharsets.UTF_8));
+		Files.write(resultFile, lines, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.benchmarks;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import am.ik.yavi.builder.ValidatorBuilder;
+import am.ik.yavi.constraint.charsequence.codepoints.UnicodeCodePoints;
+import am.ik.yavi.core.ConstraintViolations;
+import am.ik.yavi.core.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks every constraint family in {@code am.ik.yavi.constraint} against a passing
+ * and a failing input.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConstraintBenchmark {
+	static final Instant NOW = Instant.parse("2022-06-01T00:00:00Z");
+
+	static final Map<String, Case<?>> CASES = new HashMap<>();
+
+	static {
+		register("bigDecimal", ValidatorBuilder.<BigDecimal> of()._bigDecimal(x -> x,
+				"value",
+				c -> c.greaterThan(BigDecimal.ZERO).lessThan(BigDecimal.valueOf(1000))),
+				BigDecimal.valueOf(100), BigDecimal.valueOf(-1));
+		register("bigInteger", ValidatorBuilder.<BigInteger> of()._bigInteger(x -> x,
+				"value",
+				c -> c.greaterThan(BigInteger.ZERO).lessThan(BigInteger.valueOf(1000))),
+				BigInteger.valueOf(100), BigInteger.valueOf(-1));
+		register("boolean",
+				ValidatorBuilder.<Boolean> of()._boolean(x -> x, "value", c -> c.isTrue()),
+				true, false);
+		register("byte", ValidatorBuilder.<Byte> of()._byte(x -> x, "value",
+				c -> c.greaterThan((byte) 0).lessThan((byte) 100)), (byte) 10,
+				(byte) -1);
+		register("character", ValidatorBuilder.<Character> of()._character(x -> x,
+				"value", c -> c.greaterThanOrEqual('a').lessThanOrEqual('z')), 'y',
+				'Y');
+		register("double", ValidatorBuilder.<Double> of()._double(x -> x, "value",
+				c -> c.greaterThan(0.0).lessThan(1000.0)), 100.0, -1.0);
+		register("float", ValidatorBuilder.<Float> of()._float(x -> x, "value",
+				c -> c.greaterThan(0.0f).lessThan(1000.0f)), 100.0f, -1.0f);
+		register("integer", ValidatorBuilder.<Integer> of()._integer(x -> x, "value",
+				c -> c.greaterThan(0).lessThan(1000)), 100, -1);
+		register("long", ValidatorBuilder.<Long> of()._long(x -> x, "value",
+				c -> c.greaterThan(0L).lessThan(1000L)), 100L, -1L);
+		register("short", ValidatorBuilder.<Short> of()._short(x -> x, "value",
+				c -> c.greaterThan((short) 0).lessThan((short) 1000)), (short) 100,
+				(short) -1);
+		register("object",
+				ValidatorBuilder.<String> of()._object(x -> x, "value",
+						c -> c.notNull().oneOf(Arrays.asList("red", "green", "blue"))),
+				"green", "yellow");
+		register("collection",
+				ValidatorBuilder.<List<String>> of()._collection(x -> x, "value",
+						c -> c.notEmpty().lessThan(10).unique()),
+				Arrays.asList("a", "b", "c"), Arrays.asList("a", "b", "a"));
+		final Map<String, String> validMap = Collections.singletonMap("key", "value");
+		register("map",
+				ValidatorBuilder.<Map<String, String>> of()._map(x -> x, "value",
+						c -> c.notEmpty().containsKey("key")),
+				validMap, Collections.singletonMap("other", "value"));
+		registerTemporal();
+		registerCharSequence();
+		registerArrays();
+	}
+
+	static void registerTemporal() {
+		register("instant", ValidatorBuilder.<Instant> of()._instant(x -> x, "value",
+				c -> c.before(() -> NOW)), NOW.minusSeconds(60), NOW.plusSeconds(60));
+		final LocalDateTime localDateTime = LocalDateTime.ofInstant(NOW,
+				ZoneOffset.UTC);
+		register("localDate",
+				ValidatorBuilder.<LocalDate> of()._localDate(x -> x, "value",
+						c -> c.before(localDateTime::toLocalDate)),
+				localDateTime.toLocalDate().minusDays(1),
+				localDateTime.toLocalDate().plusDays(1));
+		register("localDateTime",
+				ValidatorBuilder.<LocalDateTime> of()._localDateTime(x -> x, "value",
+						c -> c.before(() -> localDateTime)),
+				localDateTime.minusHours(1), localDateTime.plusHours(1));
+		register("localTime",
+				ValidatorBuilder.<LocalTime> of()._localTime(x -> x, "value",
+						c -> c.before(() -> LocalTime.NOON)),
+				LocalTime.NOON.minusHours(1), LocalTime.NOON.plusHours(1));
+		register("offsetDateTime",
+				ValidatorBuilder.<OffsetDateTime> of()._offsetDateTime(x -> x, "value",
+						c -> c.before(() -> localDateTime.atOffset(ZoneOffset.UTC))),
+				localDateTime.atOffset(ZoneOffset.UTC).minusHours(1),
+				localDateTime.atOffset(ZoneOffset.UTC).plusHours(1));
+		register("zonedDateTime",
+				ValidatorBuilder.<ZonedDateTime> of()._zonedDateTime(x -> x, "value",
+						c -> c.before(() -> localDateTime.atZone(ZoneOffset.UTC))),
+				localDateTime.atZone(ZoneOffset.UTC).minusHours(1),
+				localDateTime.atZone(ZoneOffset.UTC).plusHours(1));
+		register("year",
+				ValidatorBuilder.<Year> of()._year(x -> x, "value",
+						c -> c.before(() -> Year.of(2022))),
+				Year.of(2021), Year.of(2023));
+		register("yearMonth",
+				ValidatorBuilder.<YearMonth> of()._yearMonth(x -> x, "value",
+						c -> c.before(() -> YearMonth.of(2022, 6))),
+				YearMonth.of(2022, 5), YearMonth.of(2022, 7));
+	}
+
+	static void registerCharSequence() {
+		register("charSequence",
+				ValidatorBuilder.<String> of()._string(x -> x, "value",
+						c -> c.notBlank().greaterThan(1).lessThanOrEqual(255)),
+				"John Doe", " ");
+		register("pattern",
+				ValidatorBuilder.<String> of()._string(x -> x, "value",
+						c -> c.pattern("[0-9]{3}-[0-9]{4}")),
+				"150-0002", "150-002");
+		register("email",
+				ValidatorBuilder.<String> of()._string(x -> x, "value",
+						c -> c.email()),
+				"john.doe@example.com", "john.doe@@example.com");
+		register("url",
+				ValidatorBuilder.<String> of()._string(x -> x, "value", c -> c.url()),
+				"https://example.com/path?query=1", "example.com/path");
+		register("ipv4",
+				ValidatorBuilder.<String> of()._string(x -> x, "value", c -> c.ipv4()),
+				"192.168.1.10", "192.168.1.256");
+		register("ipv6",
+				ValidatorBuilder.<String> of()._string(x -> x, "value", c -> c.ipv6()),
+				"2001:db8::ff00:42:8329", "2001:db8:::ff00:42:8329");
+		register("isInteger",
+				ValidatorBuilder.<String> of()._string(x -> x, "value",
+						c -> c.isInteger()),
+				"123456", "123abc");
+		register("codePoints",
+				ValidatorBuilder.<String> of()._string(x -> x, "value",
+						c -> c.codePoints(UnicodeCodePoints.HIRAGANA).asWhiteList()),
+				"あいうえおかきくけこ", "あいうえおカキクケコ");
+		register("emoji",
+				ValidatorBuilder.<String> of()._string(x -> x, "value",
+						c -> c.emoji().lessThanOrEqual(3)),
+				"👍🏽👨‍👩‍👧",
+				"👍🏽👨‍👩‍👧🇯🇵🇺🇸");
+		register("byteSize",
+				ValidatorBuilder.<String> of()._string(x -> x, "value",
+						c -> c.asByteArray().lessThanOrEqual(16)),
+				"あいうえお", "あいうえおかきくけこ");
+		register("variant",
+				ValidatorBuilder.<String> of()._string(x -> x, "value",
+						c -> c.variant(opts -> opts.ignoreAll()).lessThanOrEqual(5)),
+				"葛󠄀飾区", "葛󠄀飾区葛飾区");
+	}
+
+	static void registerArrays() {
+		register("booleanArray", ValidatorBuilder.<boolean[]> of()._booleanArray(
+				x -> x, "value", c -> c.notEmpty().lessThan(8)),
+				new boolean[] { true, false }, new boolean[0]);
+		register("byteArray", ValidatorBuilder.<byte[]> of()._byteArray(x -> x,
+				"value", c -> c.notEmpty().lessThan(8)), new byte[] { 1, 2 },
+				new byte[0]);
+		register("charArray", ValidatorBuilder.<char[]> of()._charArray(x -> x,
+				"value", c -> c.notEmpty().lessThan(8)), new char[] { 'a', 'b' },
+				new char[0]);
+		register("doubleArray", ValidatorBuilder.<double[]> of()._doubleArray(x -> x,
+				"value", c -> c.notEmpty().lessThan(8)), new double[] { 1.0, 2.0 },
+				new double[0]);
+		register("floatArray", ValidatorBuilder.<float[]> of()._floatArray(x -> x,
+				"value", c -> c.notEmpty().lessThan(8)), new float[] { 1.0f, 2.0f },
+				new float[0]);
+		register("intArray", ValidatorBuilder.<int[]> of()._intArray(x -> x, "value",
+				c -> c.notEmpty().lessThan(8)), new int[] { 1, 2 }, new int[0]);
+		register("longArray", ValidatorBuilder.<long[]> of()._longArray(x -> x,
+				"value", c -> c.notEmpty().lessThan(8)), new long[] { 1L, 2L },
+				new long[0]);
+		register("shortArray", ValidatorBuilder.<short[]> of()._shortArray(x -> x,
+				"value", c -> c.notEmpty().lessThan(8)),
+				new short[] { (short) 1, (short) 2 }, new short[0]);
+		register("objectArray", ValidatorBuilder.<String[]> of()._objectArray(
+				x -> x, "value", c -> c.notEmpty().lessThan(8)),
+				new String[] { "a", "b" }, new String[0]);
+	}
+
+	static <V> void register(String name, ValidatorBuilder<V> builder, V valid,
+			V invalid) {
+		final Validator<V> validator = builder.build();
+		if (!validator.validate(valid).isValid()
+				|| validator.validate(invalid).isValid()) {
+			throw new IllegalStateException("Broken benchmark case: " + name);
+		}
+		CASES.put(name, new Case<>(validator, valid, invalid));
+	}
+
+	@Param({ "bigDecimal", "bigInteger", "boolean", "byte", "character", "double",
+			"float", "integer", "long", "short", "object", "collection", "map",
+			"instant", "localDate", "localDateTime", "localTime", "offsetDateTime",
+			"zonedDateTime", "year", "yearMonth", "charSequence", "pattern", "email",
+			"url", "ipv4", "ipv6", "isInteger", "codePoints", "emoji", "byteSize",
+			"variant", "booleanArray", "byteArray", "charArray", "doubleArray",
+			"floatArray", "intArray", "longArray", "shortArray", "objectArray" })
+	public String constraint;
+
+	@Param({ "valid", "invalid" })
+	public String input;
+
+	private Function<Object, ConstraintViolations> validate;
+
+	private Object target;
+
+	@Setup
+	@SuppressWarnings("unchecked")
+	public void setup() {
+		final Case<Object> c = (Case<Object>) CASES.get(this.constraint);
+		if (c == null) {
+			throw new IllegalArgumentException("Unknown constraint: " + this.constraint);
+		}
+		final Validator<Object> validator = c.validator;
+		this.validate = validator::validate;
+		this.target = "valid".equals(this.input) ? c.valid : c.invalid;
+	}
+
+	@Benchmark
+	public ConstraintViolations validate() {
+		return this.validate.apply(this.target);
+	}
+
+	static final class Case<V> {
+		final Validator<V> validator;
+
+		final V valid;
+
+		final V invalid;
+
+		Case(Validator<V> validator, V valid, V invalid) {
+			this.validator = validator;
+			this.valid = valid;
+			this.invalid = invalid;
+		}
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import am.ik.yavi.constraint.charsequence.Emoji;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link Emoji#bestEffortCount(String)} with the implementation that compiled
+ * its regular expressions on every call, and with
+ * {@link Emoji#graphemeClusterCount(String)}, on chat-like messages.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmojiBenchmark {
+	static final Map<String, String> MESSAGES = new HashMap<>();
+
+	static {
+		MESSAGES.put("ascii", "See you at the station at 7pm, don't be late!");
+		MESSAGES.put("japanese",
+				"\u660e\u65e5\u306f\u99c5\u3067\u0037\u6642\u306b\u5f85\u3061\u5408\u308f\u305b\u307e\u3057\u3087\u3046");
+		MESSAGES.put("emojiHeavy", "Happy birthday \uD83C\uDF89\uD83C\uDF82"
+				+ "\uD83D\uDC69\u200D\uD83D\uDC69\u200D\uD83D\uDC67\u200D\uD83D\uDC66"
+				+ "\uD83D\uDC4D\uD83C\uDFFD \u2764\uFE0F\u2615\uFE0F "
+				+ "\uD83C\uDDEF\uD83C\uDDF5\uD83C\uDDFA\uD83C\uDDF8 "
+				+ "\uD83E\uDDDD\uD83C\uDFFB\u200D\u2640\uFE0F 1\uFE0F\u20E3!!");
+	}
+
+	@Param({ "ascii", "japanese", "emojiHeavy" })
+	public String message;
+
+	String value;
+
+	@Setup
+	public void setup() {
+		this.value = MESSAGES.get(this.message);
+		if (Emoji.bestEffortCount(this.value) != LegacyEmoji
+				.bestEffortCount(this.value)) {
+			throw new IllegalStateException(
+					"Emoji.bestEffortCount differs from the legacy implementation for "
+							+ this.message);
+		}
+	}
+
+	@Benchmark
+	public int legacyBestEffortCount() {
+		return LegacyEmoji.bestEffortCount(this.value);
+	}
+
+	@Benchmark
+	public int bestEffortCount() {
+		return Emoji.bestEffortCount(this.value);
+	}
+
+	@Benchmark
+	public int graphemeClusterCount() {
+		return Emoji.graphemeClusterCount(this.value);
+	}
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared validators and inputs used across the benchmarks.
+ */
+final class Fixtures {
+	static final int ITEM_COUNT = 20;
+
+	private Fixtures() {
+	}
+
+	static Address address(boolean valid) {
+		return valid ? new Address("1-2-3 Shibuya", "150-0002")
+				: new Address("", "150");
+	}
+
+	static Customer customer(boolean valid) {
+		return valid
+				? new Customer("John Doe", "john.doe@example.com", address(true))
+				: new Customer("", "john.doe@@example.com", address(false));
+	}
+
+	static List<LineItem> items(boolean valid) {
+		final List<LineItem> items = new ArrayList<>(ITEM_COUNT);
+		for (int i = 0; i < ITEM_COUNT; i++) {
+			// only the last element is broken so that the whole collection is walked
+			final boolean broken = !valid && i == ITEM_COUNT - 1;
+			items.add(new LineItem(broken ? "" : "SKU-" + i, broken ? 0 : i + 1,
+					broken ? BigDecimal.ONE.negate() : BigDecimal.valueOf(100 + i)));
+		}
+		return items;
+	}
+
+	static Order order(boolean valid) {
+		return new Order(valid ? "ORD-0001" : "", customer(valid), address(valid),
+				items(valid), true);
+	}
+}
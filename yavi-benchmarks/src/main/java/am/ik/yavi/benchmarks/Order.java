@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.benchmarks;
+
+import java.util.List;
+
+public class Order {
+	private final String id;
+
+	private final Customer customer;
+
+	private final Address shippingAddress;
+
+	private final List<LineItem> items;
+
+	private final boolean express;
+
+	public Order(String id, Customer customer, Address shippingAddress,
+			List<LineItem> items, boolean express) {
+		this.id = id;
+		this.customer = customer;
+		this.shippingAddress = shippingAddress;
+		this.items = items;
+		this.express = express;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public Customer getCustomer() {
+		return customer;
+	}
+
+	public Address getShippingAddress() {
+		return shippingAddress;
+	}
+
+	public List<LineItem> getItems() {
+		return items;
+	}
+
+	public boolean isExpress() {
+		return express;
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import am.ik.yavi.builder.ValidatorBuilder;
+import am.ik.yavi.core.ConstraintViolations;
+import am.ik.yavi.core.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link Validator#validate(Object)} for the different ways a validator can
+ * be composed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidatorBenchmark {
+	static final Validator<Address> addressValidator = ValidatorBuilder
+			.<Address> of()
+			.constraint(Address::getStreet, "street", c -> c.notBlank().lessThan(64))
+			.constraint(Address::getZip, "zip",
+					c -> c.notBlank().pattern("[0-9]{3}-[0-9]{4}"))
+			.build();
+
+	static final Validator<LineItem> lineItemValidator = ValidatorBuilder
+			.<LineItem> of()
+			.constraint(LineItem::getSku, "sku", c -> c.notBlank().lessThan(32))
+			.constraint(LineItem::getQuantity, "quantity",
+					c -> c.greaterThan(0).lessThanOrEqual(100))
+			.constraint(LineItem::getPrice, "price", c -> c.notNull().positive())
+			.build();
+
+	static final Validator<Customer> flatValidator = ValidatorBuilder.<Customer> of()
+			.constraint(Customer::getName, "name",
+					c -> c.notBlank().greaterThan(1).lessThanOrEqual(255))
+			.constraint(Customer::getEmail, "email",
+					c -> c.notBlank().email().lessThanOrEqual(255))
+			.build();
+
+	static final Validator<Customer> nestedValidator = ValidatorBuilder
+			.<Customer> of()
+			.constraint(Customer::getName, "name",
+					c -> c.notBlank().greaterThan(1).lessThanOrEqual(255))
+			.nest(Customer::getAddress, "address", addressValidator).build();
+
+	static final Validator<Order> nestIfPresentValidator = ValidatorBuilder
+			.<Order> of().constraint(Order::getId, "id", c -> c.notBlank())
+			.nestIfPresent(Order::getShippingAddress, "shippingAddress",
+					addressValidator)
+			.build();
+
+	static final Validator<Order> forEachValidator = ValidatorBuilder.<Order> of()
+			.constraint(Order::getId, "id", c -> c.notBlank())
+			.forEach(Order::getItems, "items", lineItemValidator).build();
+
+	static final Validator<Order> conditionalValidator = ValidatorBuilder
+			.<Order> of().constraint(Order::getId, "id", c -> c.notBlank())
+			.constraintOnCondition((order, context) -> order.isExpress(),
+					b -> b.nest(Order::getShippingAddress, "shippingAddress",
+							addressValidator))
+			.build();
+
+	static final Validator<Order> orderValidator = ValidatorBuilder.<Order> of()
+			.constraint(Order::getId, "id", c -> c.notBlank().lessThan(32))
+			.nest(Order::getCustomer, "customer", nestedValidator)
+			.nestIfPresent(Order::getShippingAddress, "shippingAddress",
+					addressValidator)
+			.forEach(Order::getItems, "items", lineItemValidator).build();
+
+	@Param({ "valid", "invalid" })
+	public String input;
+
+	private Customer customer;
+
+	private Order order;
+
+	private Order orderWithoutShippingAddress;
+
+	@Setup
+	public void setup() {
+		final boolean valid = "valid".equals(this.input);
+		this.customer = Fixtures.customer(valid);
+		this.order = Fixtures.order(valid);
+		this.orderWithoutShippingAddress = new Order(this.order.getId(),
+				this.order.getCustomer(), null, this.order.getItems(),
+				this.order.isExpress());
+	}
+
+	@Benchmark
+	public ConstraintViolations flat() {
+		return flatValidator.validate(this.customer);
+	}
+
+	@Benchmark
+	public ConstraintViolations nest() {
+		return nestedValidator.validate(this.customer);
+	}
+
+	@Benchmark
+	public ConstraintViolations nestIfPresent() {
+		return nestIfPresentValidator.validate(this.order);
+	}
+
+	@Benchmark
+	public ConstraintViolations nestIfPresentAbsent() {
+		return nestIfPresentValidator.validate(this.orderWithoutShippingAddress);
+	}
+
+	@Benchmark
+	public ConstraintViolations forEach() {
+		return forEachValidator.validate(this.order);
+	}
+
+	@Benchmark
+	public ConstraintViolations constraintOnCondition() {
+		return conditionalValidator.validate(this.order);
+	}
+
+	@Benchmark
+	public ConstraintViolations composite() {
+		return orderValidator.validate(this.order);
+	}
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.flow;
+
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+
+import am.ik.yavi.core.ConstraintViolations;
+import am.ik.yavi.core.Validated;
+import am.ik.yavi.fn.Pair;
+
+/**
+ * A <code>Flow.Subscriber</code> that validates each item and routes the valid values to
+ * {@link #valid()} and the invalid items with their violations to {@link #invalid()}.
+ *
+ * <pre>
+ * PartitioningSubscriber&lt;Order, Order&gt; partitioning = ValidatingProcessor
+ * 		.builder(orderValidator).buildPartitioning();
+ * partitioning.valid().subscribe(orderWriter);
+ * partitioning.invalid().subscribe(deadLetterWriter);
+ * publisher.subscribe(partitioning);
+ * </pre>
+ *
+ * The upstream is requested only after both publishers have been subscribed. A result is
+ * emitted when the publisher it is routed to has demand, so a slow subscriber on either
+ * side slows down the whole stream. Results for a cancelled side are dropped; the
+ * upstream is cancelled when both sides are cancelled.
+ *
+ * @param <T> the type of the items
+ * @param <X> the type of the validated values
+ * @see ValidatingProcessor
+ * @since 0.12.0
+ */
+public final class PartitioningSubscriber<T, X> extends ValidatingSubscriber<T, X> {
+	private final Output<X> valid = new Output<>();
+
+	private final Output<Pair<T, ConstraintViolations>> invalid = new Output<>();
+
+	PartitioningSubscriber(ValidatingProcessor.Builder<T, X> builder) {
+		super(builder);
+	}
+
+	/**
+	 * Returns the publisher of the valid values
+	 */
+	public Flow.Publisher<X> valid() {
+		return this.valid;
+	}
+
+	/**
+	 * Returns the publisher of the invalid items and their violations
+	 */
+	public Flow.Publisher<Pair<T, ConstraintViolations>> invalid() {
+		return this.invalid;
+	}
+
+	@Override
+	boolean ready() {
+		return this.valid.subscriber != null && this.invalid.subscriber != null;
+	}
+
+	@Override
+	boolean tryEmit(Pair<T, Validated<X>> result) {
+		final Validated<X> validated = result.second();
+		return validated.isValid() ? this.valid.tryEmit(validated.value())
+				: this.invalid.tryEmit(new Pair<>(result.first(), validated.errors()));
+	}
+
+	@Override
+	void emitComplete() {
+		this.valid.subscriber.onComplete();
+		this.invalid.subscriber.onComplete();
+	}
+
+	@Override
+	void emitError(Throwable throwable) {
+		this.valid.subscriber.onError(throwable);
+		this.invalid.subscriber.onError(throwable);
+	}
+
+	final class Output<R> implements Flow.Publisher<R> {
+		final AtomicLong requested = new AtomicLong();
+
+		volatile Flow.Subscriber<? super R> subscriber;
+
+		volatile boolean cancelled;
+
+		@Override
+		public void subscribe(Flow.Subscriber<? super R> subscriber) {
+			Objects.requireNonNull(subscriber);
+			synchronized (this) {
+				if (this.subscriber != null) {
+					ValidatingProcessor.rejectSubscriber(subscriber);
+					return;
+				}
+				this.subscriber = subscriber;
+			}
+			subscriber.onSubscribe(new Flow.Subscription() {
+				@Override
+				public void request(long n) {
+					if (n <= 0) {
+						fail(new IllegalArgumentException("non-positive request: " + n
+								+ " (Reactive Streams §3.9)"));
+						return;
+					}
+					ValidatingProcessor.addRequest(requested, n);
+					drain();
+				}
+
+				@Override
+				public void cancel() {
+					cancelled = true;
+					if (valid.cancelled && invalid.cancelled) {
+						PartitioningSubscriber.this.cancel();
+					}
+					else {
+						// the results for this side are dropped from now on
+						drain();
+					}
+				}
+			});
+			start();
+		}
+
+		boolean tryEmit(R value) {
+			if (this.cancelled) {
+				return true;
+			}
+			if (!ValidatingProcessor.take(this.requested)) {
+				return false;
+			}
+			this.subscriber.onNext(value);
+			return true;
+		}
+	}
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.flow;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+import am.ik.yavi.core.ConstraintContext;
+import am.ik.yavi.core.ConstraintGroup;
+import am.ik.yavi.core.Validatable;
+import am.ik.yavi.core.Validated;
+import am.ik.yavi.core.ValueValidator;
+import am.ik.yavi.fn.Pair;
+import am.ik.yavi.jsr305.Nullable;
+
+/**
+ * A <code>Flow.Processor</code> that validates each item and emits the results as
+ * {@link Validated}.
+ *
+ * <pre>
+ * ValidatingProcessor&lt;Order, Order&gt; processor = ValidatingProcessor
+ * 		.builder(orderValidator).parallelism(4, executor).prefetch(64).build();
+ * publisher.subscribe(processor);
+ * processor.subscribe(subscriber);
+ * </pre>
+ *
+ * The processor requests the upstream in batches of <code>prefetch</code> items and
+ * replenishes the batch as the results are consumed, so at most <code>prefetch</code>
+ * items are buffered regardless of the downstream demand. With a parallelism greater than
+ * one, up to that many items are validated concurrently on the given executor and the
+ * results are emitted in the order of the items, or in the order of completion if
+ * <code>ordered(false)</code> is specified.<br>
+ * A processor accepts a single upstream and a single downstream subscriber.
+ *
+ * @param <T> the type of the items
+ * @param <X> the type of the validated values
+ * @since 0.12.0
+ */
+public final class ValidatingProcessor<T, X> extends ValidatingSubscriber<T, X>
+		implements Flow.Processor<T, Validated<X>> {
+	private final AtomicLong requested = new AtomicLong();
+
+	private volatile Flow.Subscriber<? super Validated<X>> downstream;
+
+	ValidatingProcessor(Builder<T, X> builder) {
+		super(builder);
+	}
+
+	/**
+	 * Returns a builder of processors that validate items with the given validator.
+	 */
+	public static <T> Builder<T, T> builder(Validatable<T> validator) {
+		return new Builder<>(validator.applicative());
+	}
+
+	/**
+	 * Returns a builder of processors that validate items with the given value validator.
+	 */
+	public static <T, X> Builder<T, X> builder(ValueValidator<T, X> validator) {
+		return new Builder<>(validator);
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super Validated<X>> subscriber) {
+		Objects.requireNonNull(subscriber);
+		synchronized (this) {
+			if (this.downstream != null) {
+				rejectSubscriber(subscriber);
+				return;
+			}
+			this.downstream = subscriber;
+		}
+		subscriber.onSubscribe(new Flow.Subscription() {
+			@Override
+			public void request(long n) {
+				if (n <= 0) {
+					fail(new IllegalArgumentException(
+							"non-positive request: " + n + " (Reactive Streams §3.9)"));
+					return;
+				}
+				addRequest(requested, n);
+				drain();
+			}
+
+			@Override
+			public void cancel() {
+				ValidatingProcessor.this.cancel();
+			}
+		});
+		this.start();
+	}
+
+	@Override
+	boolean ready() {
+		return this.downstream != null;
+	}
+
+	@Override
+	boolean tryEmit(Pair<T, Validated<X>> result) {
+		if (!take(this.requested)) {
+			return false;
+		}
+		this.downstream.onNext(result.second());
+		return true;
+	}
+
+	@Override
+	void emitComplete() {
+		this.downstream.onComplete();
+	}
+
+	@Override
+	void emitError(Throwable throwable) {
+		this.downstream.onError(throwable);
+	}
+
+	static void addRequest(AtomicLong requested, long n) {
+		requested.getAndUpdate(r -> (r + n < 0) ? Long.MAX_VALUE : r + n);
+	}
+
+	/**
+	 * Consumes one from the given demand. An unbounded demand is not consumed.
+	 */
+	static boolean take(AtomicLong requested) {
+		for (;;) {
+			final long r = requested.get();
+			if (r == 0) {
+				return false;
+			}
+			if (r == Long.MAX_VALUE || requested.compareAndSet(r, r - 1)) {
+				return true;
+			}
+		}
+	}
+
+	static void rejectSubscriber(Flow.Subscriber<?> subscriber) {
+		subscriber.onSubscribe(new Flow.Subscription() {
+			@Override
+			public void request(long n) {
+			}
+
+			@Override
+			public void cancel() {
+			}
+		});
+		subscriber.onError(new IllegalStateException("Only one subscriber is allowed"));
+	}
+
+	public static final class Builder<T, X> {
+		final ValueValidator<T, X> validator;
+
+		Locale locale = Locale.getDefault();
+
+		ConstraintContext constraintContext = ConstraintGroup.DEFAULT;
+
+		int parallelism = 1;
+
+		@Nullable
+		Executor executor;
+
+		boolean ordered = true;
+
+		int prefetch = 256;
+
+		Builder(ValueValidator<T, X> validator) {
+			this.validator = Objects.requireNonNull(validator);
+		}
+
+		public Builder<T, X> locale(Locale locale) {
+			this.locale = Objects.requireNonNull(locale);
+			return this;
+		}
+
+		public Builder<T, X> constraintContext(ConstraintContext constraintContext) {
+			this.constraintContext = Objects.requireNonNull(constraintContext);
+			return this;
+		}
+
+		/**
+		 * Validates up to <code>parallelism</code> items concurrently on the given
+		 * executor. With the parallelism of one (default), items are validated on the
+		 * thread that delivers them.
+		 */
+		public Builder<T, X> parallelism(int parallelism, Executor executor) {
+			if (parallelism < 1) {
+				throw new IllegalArgumentException("parallelism must be positive");
+			}
+			this.parallelism = parallelism;
+			this.executor = (parallelism == 1) ? null : Objects.requireNonNull(executor);
+			return this;
+		}
+
+		/**
+		 * Validates up to <code>parallelism</code> items concurrently on the common
+		 * <code>ForkJoinPool</code>.
+		 */
+		public Builder<T, X> parallelism(int parallelism) {
+			return this.parallelism(parallelism, ForkJoinPool.commonPool());
+		}
+
+		/**
+		 * Whether the results are emitted in the order of the items (default) or in the
+		 * order of completion. It matters only with a parallelism greater than one.
+		 */
+		public Builder<T, X> ordered(boolean ordered) {
+			this.ordered = ordered;
+			return this;
+		}
+
+		/**
+		 * The number of items requested from the upstream at once (default 256).
+		 */
+		public Builder<T, X> prefetch(int prefetch) {
+			if (prefetch < 1) {
+				throw new IllegalArgumentException("prefetch must be positive");
+			}
+			this.prefetch = prefetch;
+			return this;
+		}
+
+		public ValidatingProcessor<T, X> build() {
+			return new ValidatingProcessor<>(this);
+		}
+
+		/**
+		 * Builds a subscriber that routes the valid values and the invalid items to two
+		 * publishers.
+		 */
+		public PartitioningSubscriber<T, X> buildPartitioning() {
+			return new PartitioningSubscriber<>(this);
+		}
+	}
+}
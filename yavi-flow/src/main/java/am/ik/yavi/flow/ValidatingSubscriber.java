@@ -0,0 +1,327 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.flow;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import am.ik.yavi.core.ConstraintContext;
+import am.ik.yavi.core.Validated;
+import am.ik.yavi.core.ValueValidator;
+import am.ik.yavi.fn.Pair;
+import am.ik.yavi.jsr305.Nullable;
+
+/**
+ * The upstream side shared by {@link ValidatingProcessor} and
+ * {@link PartitioningSubscriber}. It requests the upstream in batches of
+ * <code>prefetch</code> items, validates them, optionally in parallel, and emits the
+ * results through {@link #tryEmit(Pair)} as far as the downstream demand allows.
+ *
+ * @param <T> the type of the items
+ * @param <X> the type of the validated values
+ * @since 0.12.0
+ */
+abstract class ValidatingSubscriber<T, X> implements Flow.Subscriber<T> {
+	private final ValueValidator<T, X> validator;
+
+	private final Locale locale;
+
+	private final ConstraintContext constraintContext;
+
+	private final int parallelism;
+
+	@Nullable
+	private final Executor executor;
+
+	private final boolean ordered;
+
+	private final int prefetch;
+
+	private final int limit;
+
+	/**
+	 * The results to emit. In ordered mode they are added on arrival, so the head may not
+	 * be completed yet. In unordered mode they are added on completion.
+	 */
+	private final Queue<CompletableFuture<Pair<T, Validated<X>>>> results = new ConcurrentLinkedQueue<>();
+
+	private final Queue<Runnable> pendingTasks = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger runningTasks = new AtomicInteger();
+
+	/**
+	 * The number of items received but not emitted yet
+	 */
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	private final AtomicInteger wip = new AtomicInteger();
+
+	private final AtomicBoolean started = new AtomicBoolean();
+
+	private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+	private volatile Flow.Subscription upstream;
+
+	private volatile boolean done;
+
+	private volatile boolean cancelled;
+
+	private boolean terminated;
+
+	/**
+	 * The number of items emitted since the last request to the upstream, accessed only
+	 * in {@link #drain()}
+	 */
+	private int consumed;
+
+	ValidatingSubscriber(ValidatingProcessor.Builder<T, X> builder) {
+		this.validator = builder.validator;
+		this.locale = builder.locale;
+		this.constraintContext = builder.constraintContext;
+		this.parallelism = builder.parallelism;
+		this.executor = builder.executor;
+		this.ordered = builder.ordered;
+		this.prefetch = builder.prefetch;
+		this.limit = builder.prefetch - (builder.prefetch >> 2);
+	}
+
+	@Override
+	public final void onSubscribe(Flow.Subscription subscription) {
+		Objects.requireNonNull(subscription);
+		if (this.upstream != null || this.cancelled) {
+			subscription.cancel();
+			return;
+		}
+		this.upstream = subscription;
+		this.start();
+	}
+
+	@Override
+	public final void onNext(T item) {
+		Objects.requireNonNull(item);
+		if (this.done || this.cancelled) {
+			return;
+		}
+		this.inFlight.incrementAndGet();
+		if (this.executor == null) {
+			final Pair<T, Validated<X>> result;
+			try {
+				result = this.validate(item);
+			}
+			catch (Throwable e) {
+				this.fail(e);
+				return;
+			}
+			this.results.add(CompletableFuture.completedFuture(result));
+			this.drain();
+			return;
+		}
+		final CompletableFuture<Pair<T, Validated<X>>> result = new CompletableFuture<>();
+		if (this.ordered) {
+			this.results.add(result);
+		}
+		this.pendingTasks.add(() -> {
+			try {
+				result.complete(this.validate(item));
+			}
+			catch (Throwable e) {
+				result.completeExceptionally(e);
+			}
+			if (!this.ordered) {
+				this.results.add(result);
+			}
+			this.runningTasks.decrementAndGet();
+			this.schedule();
+			this.drain();
+		});
+		this.schedule();
+	}
+
+	@Override
+	public final void onError(Throwable throwable) {
+		Objects.requireNonNull(throwable);
+		if (this.done) {
+			return;
+		}
+		this.error.compareAndSet(null, throwable);
+		this.done = true;
+		this.drain();
+	}
+
+	@Override
+	public final void onComplete() {
+		this.done = true;
+		this.drain();
+	}
+
+	/**
+	 * Returns whether all the downstream subscribers have subscribed.
+	 */
+	abstract boolean ready();
+
+	/**
+	 * Emits the given result if the downstream has demand for it.
+	 *
+	 * @param result the item and the result of its validation
+	 * @return <code>false</code> if the result could not be emitted due to lack of demand
+	 */
+	abstract boolean tryEmit(Pair<T, Validated<X>> result);
+
+	abstract void emitComplete();
+
+	abstract void emitError(Throwable throwable);
+
+	/**
+	 * Starts requesting the upstream once both the upstream and the downstream are
+	 * subscribed.
+	 */
+	final void start() {
+		final Flow.Subscription upstream = this.upstream;
+		if (upstream != null && this.ready() && this.started.compareAndSet(false, true)) {
+			upstream.request(this.prefetch);
+		}
+		this.drain();
+	}
+
+	final void cancel() {
+		this.cancelled = true;
+		final Flow.Subscription upstream = this.upstream;
+		if (upstream != null) {
+			upstream.cancel();
+		}
+		this.drain();
+	}
+
+	/**
+	 * Fails the whole stream, for example on an illegal request from the downstream.
+	 */
+	final void fail(Throwable throwable) {
+		if (this.error.compareAndSet(null, throwable)) {
+			final Flow.Subscription upstream = this.upstream;
+			if (upstream != null) {
+				upstream.cancel();
+			}
+			this.done = true;
+		}
+		this.drain();
+	}
+
+	private Pair<T, Validated<X>> validate(T item) {
+		return new Pair<>(item,
+				this.validator.validate(item, this.locale, this.constraintContext));
+	}
+
+	private void schedule() {
+		for (;;) {
+			final int running = this.runningTasks.get();
+			if (running >= this.parallelism || this.pendingTasks.isEmpty()) {
+				return;
+			}
+			if (!this.runningTasks.compareAndSet(running, running + 1)) {
+				continue;
+			}
+			final Runnable task = this.pendingTasks.poll();
+			if (task == null) {
+				this.runningTasks.decrementAndGet();
+				continue;
+			}
+			try {
+				this.executor.execute(task);
+			}
+			catch (RuntimeException e) {
+				this.runningTasks.decrementAndGet();
+				this.fail(e);
+				return;
+			}
+		}
+	}
+
+	final void drain() {
+		if (!this.ready() || this.wip.getAndIncrement() != 0) {
+			return;
+		}
+		int missed = 1;
+		for (;;) {
+			this.drainLoop();
+			missed = this.wip.addAndGet(-missed);
+			if (missed == 0) {
+				return;
+			}
+		}
+	}
+
+	private void drainLoop() {
+		if (this.terminated) {
+			return;
+		}
+		if (this.cancelled) {
+			this.terminated = true;
+			this.results.clear();
+			this.pendingTasks.clear();
+			return;
+		}
+		for (;;) {
+			final Throwable throwable = this.error.get();
+			if (throwable != null) {
+				this.terminate();
+				this.emitError(throwable);
+				return;
+			}
+			final CompletableFuture<Pair<T, Validated<X>>> head = this.results.peek();
+			if (head == null) {
+				if (this.done && this.inFlight.get() == 0) {
+					this.terminate();
+					this.emitComplete();
+				}
+				return;
+			}
+			if (!head.isDone()) {
+				return;
+			}
+			if (head.isCompletedExceptionally()) {
+				head.exceptionally(e -> {
+					this.error.compareAndSet(null, e);
+					return null;
+				});
+				this.upstream.cancel();
+				continue;
+			}
+			if (!this.tryEmit(head.join())) {
+				return;
+			}
+			this.results.poll();
+			this.inFlight.decrementAndGet();
+			if (++this.consumed == this.limit) {
+				this.consumed = 0;
+				this.upstream.request(this.limit);
+			}
+		}
+	}
+
+	private void terminate() {
+		this.terminated = true;
+		this.results.clear();
+		this.pendingTasks.clear();
+	}
+}
@@ -0,0 +1,324 @@
+/*
+ * Copyright (C) 2018-2022 Toshiaki Maki <makingx@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package am.ik.yavi.flow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import am.ik.yavi.builder.ValidatorBuilder;
+import am.ik.yavi.core.ConstraintViolations;
+import am.ik.yavi.core.Validated;
+import am.ik.yavi.core.Validator;
+import am.ik.yavi.fn.Pair;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ValidatingProcessorTest {
+	final Validator<Integer> validator = ValidatorBuilder.<Integer> of()
+			.constraintOnTarget(i -> i % 3 != 0, "value", "multipleOf3",
+					"\"{0}\" must not be a multiple of 3")
+			.build();
+
+	ExecutorService executor;
+
+	@BeforeEach
+	void setUp() {
+		this.executor = Executors.newFixedThreadPool(4);
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.executor.shutdownNow();
+	}
+
+	@Test
+	void validate() throws Exception {
+		final ValidatingProcessor<Integer, Integer> processor = ValidatingProcessor
+				.builder(this.validator).build();
+		final TestSubscriber<Validated<Integer>> subscriber = new TestSubscriber<>(
+				Long.MAX_VALUE);
+		processor.subscribe(subscriber);
+		new RangePublisher(1, 6).subscribe(processor);
+		final List<Validated<Integer>> results = subscriber.await();
+		assertThat(results).extracting(Validated::isValid).containsExactly(true, true,
+				false, true, true, false);
+		assertThat(results.get(2).errors().get(0).message())
+				.isEqualTo("\"value\" must not be a multiple of 3");
+	}
+
+	@Test
+	void backpressure() {
+		final RangePublisher publisher = new RangePublisher(1, 1000);
+		final ValidatingProcessor<Integer, Integer> processor = ValidatingProcessor
+				.builder(this.validator).prefetch(8).build();
+		final TestSubscriber<Validated<Integer>> subscriber = new TestSubscriber<>(0);
+		processor.subscribe(subscriber);
+		publisher.subscribe(processor);
+		// only the prefetch is requested until the downstream requests
+		assertThat(publisher.requested.get()).isEqualTo(8);
+		assertThat(subscriber.values).isEmpty();
+		subscriber.subscription.request(3);
+		assertThat(subscriber.values).hasSize(3);
+		assertThat(publisher.requested.get()).isEqualTo(8);
+		subscriber.subscription.request(3);
+		// replenished by the limit of 6 after 6 items are consumed
+		assertThat(publisher.requested.get()).isEqualTo(14);
+		assertThat(subscriber.values).hasSize(6);
+		assertThat(subscriber.completion).isNotDone();
+	}
+
+	@Test
+	void parallelOrdered() throws Exception {
+		final ValidatingProcessor<Integer, Integer> processor = ValidatingProcessor
+				.builder(this.slowValidator()).parallelism(4, this.executor).prefetch(16)
+				.build();
+		final TestSubscriber<Validated<Integer>> subscriber = new TestSubscriber<>(
+				Long.MAX_VALUE);
+		processor.subscribe(subscriber);
+		new RangePublisher(1, 200).subscribe(processor);
+		final List<Validated<Integer>> results = subscriber.await();
+		assertThat(results).hasSize(200);
+		assertThat(results.stream().filter(Validated::isValid).map(Validated::value)
+				.collect(Collectors.toList())).containsExactlyElementsOf(
+						IntStream.rangeClosed(1, 200).filter(i -> i % 3 != 0).boxed()
+								.collect(Collectors.toList()));
+	}
+
+	@Test
+	void parallelUnordered() throws Exception {
+		final ValidatingProcessor<Integer, Integer> processor = ValidatingProcessor
+				.builder(this.slowValidator()).parallelism(4, this.executor)
+				.ordered(false).prefetch(16).build();
+		final TestSubscriber<Validated<Integer>> subscriber = new TestSubscriber<>(
+				Long.MAX_VALUE);
+		processor.subscribe(subscriber);
+		new RangePublisher(1, 200).subscribe(processor);
+		final List<Validated<Integer>> results = subscriber.await();
+		assertThat(results).hasSize(200);
+		assertThat(results.stream().filter(Validated::isValid).map(Validated::value)
+				.collect(Collectors.toList())).containsExactlyInAnyOrderElementsOf(
+						IntStream.rangeClosed(1, 200).filter(i -> i % 3 != 0).boxed()
+								.collect(Collectors.toList()));
+	}
+
+	@Test
+	void validatorFailure() {
+		final Validator<Integer> validator = ValidatorBuilder.<Integer> of()
+				.constraintOnTarget(i -> {
+					if (i == 3) {
+						throw new IllegalStateException("boom");
+					}
+					return true;
+				}, "value", "k", "m").build();
+		final ValidatingProcessor<Integer, Integer> processor = ValidatingProcessor
+				.builder(validator).parallelism(2, this.executor).build();
+		final TestSubscriber<Validated<Integer>> subscriber = new TestSubscriber<>(
+				Long.MAX_VALUE);
+		processor.subscribe(subscriber);
+		final RangePublisher publisher = new RangePublisher(1, 10);
+		publisher.subscribe(processor);
+		assertThat(subscriber.completion).failsWithin(10, TimeUnit.SECONDS)
+				.withThrowableOfType(Exception.class)
+				.withRootCauseInstanceOf(IllegalStateException.class);
+		assertThat(subscriber.values).hasSize(2);
+		assertThat(publisher.cancelled).isTrue();
+	}
+
+	@Test
+	void validatorFailureWithoutExecutor() {
+		final Validator<Integer> validator = ValidatorBuilder.<Integer> of()
+				.constraintOnTarget(i -> {
+					if (i == 3) {
+						throw new IllegalStateException("boom");
+					}
+					return true;
+				}, "value", "k", "m").build();
+		final ValidatingProcessor<Integer, Integer> processor = ValidatingProcessor
+				.builder(validator).build();
+		final TestSubscriber<Validated<Integer>> subscriber = new TestSubscriber<>(
+				Long.MAX_VALUE);
+		processor.subscribe(subscriber);
+		final RangePublisher publisher = new RangePublisher(1, 10);
+		publisher.subscribe(processor);
+		assertThat(subscriber.completion).failsWithin(10, TimeUnit.SECONDS)
+				.withThrowableOfType(Exception.class)
+				.withRootCauseInstanceOf(IllegalStateException.class);
+		assertThat(subscriber.values).hasSize(2);
+		assertThat(publisher.cancelled).isTrue();
+	}
+
+	@Test
+	void secondSubscriberIsRejected() {
+		final ValidatingProcessor<Integer, Integer> processor = ValidatingProcessor
+				.builder(this.validator).build();
+		processor.subscribe(new TestSubscriber<>(1));
+		final TestSubscriber<Validated<Integer>> second = new TestSubscriber<>(1);
+		processor.subscribe(second);
+		assertThat(second.completion).isCompletedExceptionally();
+	}
+
+	@Test
+	void partition() throws Exception {
+		final PartitioningSubscriber<Integer, Integer> partitioning = ValidatingProcessor
+				.builder(this.validator).prefetch(4).buildPartitioning();
+		final TestSubscriber<Integer> valid = new TestSubscriber<>(Long.MAX_VALUE);
+		final TestSubscriber<Pair<Integer, ConstraintViolations>> invalid = new TestSubscriber<>(
+				Long.MAX_VALUE);
+		partitioning.valid().subscribe(valid);
+		final RangePublisher publisher = new RangePublisher(1, 10);
+		publisher.subscribe(partitioning);
+		// not requested until both sides are subscribed
+		assertThat(publisher.requested.get()).isZero();
+		partitioning.invalid().subscribe(invalid);
+		assertThat(valid.await()).containsExactly(1, 2, 4, 5, 7, 8, 10);
+		assertThat(invalid.await()).extracting(Pair::first).containsExactly(3, 6, 9);
+		assertThat(invalid.values.get(0).second().get(0).messageKey())
+				.isEqualTo("multipleOf3");
+	}
+
+	@Test
+	void partitionWaitsForTheSlowSide() {
+		final PartitioningSubscriber<Integer, Integer> partitioning = ValidatingProcessor
+				.builder(this.validator).buildPartitioning();
+		final TestSubscriber<Integer> valid = new TestSubscriber<>(Long.MAX_VALUE);
+		final TestSubscriber<Pair<Integer, ConstraintViolations>> invalid = new TestSubscriber<>(
+				0);
+		partitioning.valid().subscribe(valid);
+		partitioning.invalid().subscribe(invalid);
+		new RangePublisher(1, 10).subscribe(partitioning);
+		assertThat(valid.values).containsExactly(1, 2);
+		invalid.subscription.request(1);
+		assertThat(valid.values).containsExactly(1, 2, 4, 5);
+		invalid.subscription.cancel();
+		assertThat(valid.values).containsExactly(1, 2, 4, 5, 7, 8, 10);
+		assertThat(valid.completion).isDone();
+	}
+
+	Validator<Integer> slowValidator() {
+		return ValidatorBuilder.<Integer> of().constraintOnTarget(i -> {
+			try {
+				Thread.sleep(i % 5);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return i % 3 != 0;
+		}, "value", "multipleOf3", "\"{0}\" must not be a multiple of 3").build();
+	}
+
+	/**
+	 * Publishes the integers in the given range synchronously on request
+	 */
+	static class RangePublisher implements Flow.Publisher<Integer> {
+		final int end;
+
+		final AtomicLong requested = new AtomicLong();
+
+		volatile boolean cancelled;
+
+		int next;
+
+		RangePublisher(int start, int end) {
+			this.next = start;
+			this.end = end;
+		}
+
+		@Override
+		public void subscribe(Flow.Subscriber<? super Integer> subscriber) {
+			subscriber.onSubscribe(new Flow.Subscription() {
+				long demand;
+
+				boolean emitting;
+
+				@Override
+				public synchronized void request(long n) {
+					requested.addAndGet(n);
+					this.demand += n;
+					if (this.emitting) {
+						return;
+					}
+					this.emitting = true;
+					while (this.demand > 0 && next <= end && !cancelled) {
+						this.demand--;
+						subscriber.onNext(next++);
+					}
+					this.emitting = false;
+					if (next > end && !cancelled) {
+						cancelled = true;
+						subscriber.onComplete();
+					}
+				}
+
+				@Override
+				public void cancel() {
+					cancelled = true;
+				}
+			});
+		}
+	}
+
+	static class TestSubscriber<R> implements Flow.Subscriber<R> {
+		final List<R> values = new ArrayList<>();
+
+		final CompletableFuture<List<R>> completion = new CompletableFuture<>();
+
+		final long initialRequest;
+
+		Flow.Subscription subscription;
+
+		TestSubscriber(long initialRequest) {
+			this.initialRequest = initialRequest;
+		}
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+			if (this.initialRequest > 0) {
+				subscription.request(this.initialRequest);
+			}
+		}
+
+		@Override
+		public synchronized void onNext(R item) {
+			this.values.add(item);
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			this.completion.completeExceptionally(throwable);
+		}
+
+		@Override
+		public synchronized void onComplete() {
+			this.completion.complete(this.values);
+		}
+
+		List<R> await() throws Exception {
+			return this.completion.get(10, TimeUnit.SECONDS);
+		}
+	}
+}